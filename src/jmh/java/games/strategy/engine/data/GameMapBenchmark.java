@@ -0,0 +1,75 @@
+package games.strategy.engine.data;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Measures route and distance queries between random pairs of territories, the queries the AI makes the most.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class GameMapBenchmark {
+  private static final int PAIRS = 64;
+
+  @Param({"REVISED", "GLOBAL1940"})
+  public TestMapGameData game;
+
+  private GameMap map;
+  private final Territory[] from = new Territory[PAIRS];
+  private final Territory[] to = new Territory[PAIRS];
+
+  @Setup
+  public void setUp() throws Exception {
+    map = game.getGameData().getMap();
+    final List<Territory> territories = map.getTerritories();
+    final Random random = new Random(42);
+    for (int i = 0; i < PAIRS; i++) {
+      from[i] = territories.get(random.nextInt(territories.size()));
+      to[i] = territories.get(random.nextInt(territories.size()));
+    }
+    // build the distance index outside of the measurement
+    map.getDistance(from[0], to[0]);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PAIRS)
+  public void getRoute(final Blackhole blackhole) {
+    for (int i = 0; i < PAIRS; i++) {
+      blackhole.consume(map.getRoute(from[i], to[i]));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PAIRS)
+  public void getLandRoute(final Blackhole blackhole) {
+    for (int i = 0; i < PAIRS; i++) {
+      blackhole.consume(map.getRoute(from[i], to[i], Matches.territoryIsLand()));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PAIRS)
+  public void getDistance(final Blackhole blackhole) {
+    for (int i = 0; i < PAIRS; i++) {
+      blackhole.consume(map.getDistance(from[i], to[i]));
+    }
+  }
+}
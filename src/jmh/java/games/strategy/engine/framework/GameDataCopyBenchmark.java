@@ -0,0 +1,55 @@
+package games.strategy.engine.framework;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Compares making a copy of the game data with {@link GameDataUtils#cloneGameData}, which serializes the data for
+ * every copy, with taking a {@link GameDataCopier} snapshot once and copying from it, the way the odds calculator
+ * workers and the AI get their copies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class GameDataCopyBenchmark {
+  @Param({"REVISED", "GLOBAL1940"})
+  public TestMapGameData game;
+
+  private GameData data;
+  private GameDataCopier copier;
+
+  @Setup
+  public void setUp() throws Exception {
+    data = game.getGameData();
+    copier = GameDataCopier.snapshotOf(data, false, false);
+  }
+
+  @Benchmark
+  public GameData cloneGameData() {
+    return GameDataUtils.cloneGameData(data, false);
+  }
+
+  @Benchmark
+  public GameDataCopier snapshot() throws IOException {
+    return GameDataCopier.snapshotOf(data, false, false);
+  }
+
+  @Benchmark
+  public GameData copyFromSnapshot() throws IOException {
+    return copier.copy();
+  }
+}
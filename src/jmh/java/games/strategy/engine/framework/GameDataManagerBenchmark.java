@@ -0,0 +1,53 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Measures saving a game to memory and loading it back, which is most of the time an autosave or a player joining
+ * takes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class GameDataManagerBenchmark {
+  @Param({"REVISED", "GLOBAL1940"})
+  public TestMapGameData game;
+
+  private GameData data;
+  private byte[] savedGame;
+
+  @Setup
+  public void setUp() throws Exception {
+    data = game.getGameData();
+    savedGame = saveGame().toByteArray();
+  }
+
+  @Benchmark
+  public ByteArrayOutputStream saveGame() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(savedGame == null ? 1 << 16 : savedGame.length);
+    GameDataManager.saveGame(out, data);
+    return out;
+  }
+
+  @Benchmark
+  public GameData loadGame() throws IOException {
+    return GameDataManager.loadGame(new ByteArrayInputStream(savedGame), null);
+  }
+}
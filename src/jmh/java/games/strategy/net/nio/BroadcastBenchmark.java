@@ -0,0 +1,245 @@
+package games.strategy.net.nio;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import games.strategy.net.DefaultObjectStreamFactory;
+import games.strategy.net.INode;
+import games.strategy.net.MessageHeader;
+import games.strategy.net.Node;
+
+/**
+ * Measures how fast a server broadcasts to many clients, encoding the message once for every client the way the
+ * server used to, and once for all of them.
+ *
+ * <p>
+ * The clients are local sockets that are drained by a single thread, which counts the messages that arrive. Each
+ * operation is one broadcast to all clients, and waits until every client got it.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class BroadcastBenchmark {
+  @Param({"500"})
+  public int clients;
+
+  // the first error of the server socket or the drain, which fails the benchmark instead of leaving it waiting
+  private final AtomicReference<Exception> failure = new AtomicReference<>();
+  private final List<SocketChannel> serverChannels = new ArrayList<>();
+  private final List<SocketChannel> clientChannels = new ArrayList<>();
+  private INode serverNode;
+  private NioSocket nioSocket;
+  private Drain drain;
+  private final ArrayList<String> message = new ArrayList<>();
+
+  @Setup
+  public void setUp() throws IOException {
+    serverNode = new Node("server", InetAddress.getLoopbackAddress(), 0);
+    nioSocket = new NioSocket(new DefaultObjectStreamFactory(), new Listener(serverNode, failure), "Benchmark");
+    try (ServerSocketChannel serverSocket = ServerSocketChannel.open()) {
+      serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+      for (int i = 0; i < clients; i++) {
+        clientChannels.add(SocketChannel.open(serverSocket.getLocalAddress()));
+        final SocketChannel serverChannel = serverSocket.accept();
+        serverChannel.configureBlocking(false);
+        serverChannels.add(serverChannel);
+      }
+    }
+    drain = new Drain(clientChannels, failure);
+    final Thread drainThread = new Thread(drain, "Benchmark drain");
+    drainThread.setDaemon(true);
+    drainThread.start();
+    for (int i = 0; i < 20; i++) {
+      message.add("a broadcast message part " + i);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    nioSocket.shutDown();
+    drain.stop();
+    for (final SocketChannel channel : serverChannels) {
+      channel.close();
+    }
+  }
+
+  @Benchmark
+  public void encodePerClient() throws InterruptedException {
+    final long expected = drain.getMessageCount() + clients;
+    for (final SocketChannel channel : serverChannels) {
+      nioSocket.send(channel, new MessageHeader(serverNode, message));
+    }
+    drain.awaitMessageCount(expected);
+  }
+
+  @Benchmark
+  public void encodeOnce() throws InterruptedException {
+    final long expected = drain.getMessageCount() + clients;
+    nioSocket.send(serverChannels, new MessageHeader(serverNode, message));
+    drain.awaitMessageCount(expected);
+  }
+
+  private static final class Listener implements NioSocketListener {
+    private final INode localNode;
+    private final AtomicReference<Exception> failure;
+
+    Listener(final INode localNode, final AtomicReference<Exception> failure) {
+      this.localNode = localNode;
+      this.failure = failure;
+    }
+
+    @Override
+    public void socketUnqaurantined(final SocketChannel channel, final QuarantineConversation conversation) {}
+
+    @Override
+    public void socketError(final SocketChannel channel, final Exception error) {
+      failure.compareAndSet(null, error);
+    }
+
+    @Override
+    public void messageReceived(final MessageHeader message, final SocketChannel channel) {}
+
+    @Override
+    public INode getRemoteNode(final SocketChannel channel) {
+      return null;
+    }
+
+    @Override
+    public INode getLocalNode() {
+      return localNode;
+    }
+  }
+
+  /**
+   * Reads all client sockets, and counts the messages by their size headers.
+   */
+  private static final class Drain implements Runnable {
+    private final Selector selector;
+    private final AtomicLong messageCount = new AtomicLong();
+    private final AtomicReference<Exception> failure;
+    private volatile boolean running = true;
+
+    Drain(final List<SocketChannel> channels, final AtomicReference<Exception> failure) throws IOException {
+      this.failure = failure;
+      selector = Selector.open();
+      for (final SocketChannel channel : channels) {
+        channel.configureBlocking(false);
+        channel.register(selector, SelectionKey.OP_READ, new MessageCounter());
+      }
+    }
+
+    @Override
+    public void run() {
+      final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+      try {
+        while (running) {
+          selector.select();
+          for (final SelectionKey key : selector.selectedKeys()) {
+            buffer.clear();
+            if (((SocketChannel) key.channel()).read(buffer) < 0) {
+              key.cancel();
+              continue;
+            }
+            buffer.flip();
+            final int messages = ((MessageCounter) key.attachment()).count(buffer);
+            if (messages > 0) {
+              synchronized (messageCount) {
+                messageCount.addAndGet(messages);
+                messageCount.notifyAll();
+              }
+            }
+          }
+          selector.selectedKeys().clear();
+        }
+      } catch (final IOException | ClosedSelectorException e) {
+        // the selector is closed under the drain when the benchmark stops
+        if (running) {
+          failure.compareAndSet(null, e);
+          synchronized (messageCount) {
+            messageCount.notifyAll();
+          }
+        }
+      }
+    }
+
+    long getMessageCount() {
+      return messageCount.get();
+    }
+
+    void awaitMessageCount(final long expected) throws InterruptedException {
+      synchronized (messageCount) {
+        while (messageCount.get() < expected) {
+          if (failure.get() != null) {
+            throw new IllegalStateException("Broadcast failed", failure.get());
+          }
+          // a socket error does not wake up the wait, so look for one now and then
+          messageCount.wait(100);
+        }
+      }
+    }
+
+    void stop() throws IOException {
+      running = false;
+      for (final SelectionKey key : selector.keys()) {
+        key.channel().close();
+      }
+      selector.close();
+    }
+  }
+
+  /**
+   * Counts the messages in the stream read from one socket.
+   */
+  private static final class MessageCounter {
+    private int header;
+    private int headerBytes;
+    private int remaining;
+
+    int count(final ByteBuffer buffer) {
+      int messages = 0;
+      while (buffer.hasRemaining()) {
+        if (headerBytes < SocketWriteData.HEADER_SIZE) {
+          header = (header << 8) | (buffer.get() & 0xff);
+          if (++headerBytes == SocketWriteData.HEADER_SIZE) {
+            remaining = header ^ SocketReadData.MAGIC;
+          }
+        } else {
+          final int skip = Math.min(remaining, buffer.remaining());
+          buffer.position(buffer.position() + skip);
+          remaining -= skip;
+        }
+        if (headerBytes == SocketWriteData.HEADER_SIZE && remaining == 0) {
+          messages++;
+          header = 0;
+          headerBytes = 0;
+        }
+      }
+      return messages;
+    }
+  }
+}
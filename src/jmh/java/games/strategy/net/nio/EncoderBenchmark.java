@@ -0,0 +1,91 @@
+package games.strategy.net.nio;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import games.strategy.engine.chat.IChatChannel;
+import games.strategy.engine.message.HubInvoke;
+import games.strategy.engine.message.RemoteMethodCall;
+import games.strategy.net.DefaultObjectStreamFactory;
+import games.strategy.net.INode;
+import games.strategy.net.MessageHeader;
+import games.strategy.net.Node;
+
+/**
+ * Measures encoding and decoding a chat message broadcast, the way every remote call goes over the wire, without the
+ * sockets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class EncoderBenchmark {
+  private NioSocket socket;
+  private MessageHeader header;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() throws Exception {
+    final INode local = new Node("local", InetAddress.getLoopbackAddress(), 3300);
+    final INode remote = new Node("remote", InetAddress.getLoopbackAddress(), 3301);
+    socket = new NioSocket(new DefaultObjectStreamFactory(), new NioSocketListener() {
+      @Override
+      public void socketUnqaurantined(final SocketChannel channel, final QuarantineConversation conversation) {}
+
+      @Override
+      public void socketError(final SocketChannel channel, final Exception error) {}
+
+      @Override
+      public void messageReceived(final MessageHeader message, final SocketChannel channel) {}
+
+      @Override
+      public INode getRemoteNode(final SocketChannel channel) {
+        return remote;
+      }
+
+      @Override
+      public INode getLocalNode() {
+        return local;
+      }
+    }, "benchmark");
+    final RemoteMethodCall call = new RemoteMethodCall("games.strategy.engine.chat.IChatChannel.CHAT_CHANNEL",
+        "chatOccured", new Object[] {"hello, how is everyone doing?"}, new Class<?>[] {String.class},
+        IChatChannel.class);
+    header = new MessageHeader(remote, new HubInvoke(null, false, call));
+    final ByteBuffer data = socket.getEncoder().encode(header, null);
+    encoded = new byte[data.remaining() - SocketWriteData.HEADER_SIZE];
+    data.position(SocketWriteData.HEADER_SIZE);
+    data.get(encoded);
+    socket.getEncoder().release(data);
+  }
+
+  @TearDown
+  public void tearDown() {
+    socket.shutDown();
+  }
+
+  @Benchmark
+  public ByteBuffer encode() {
+    final ByteBuffer data = socket.getEncoder().encode(header, null);
+    socket.getEncoder().release(data);
+    return data;
+  }
+
+  @Benchmark
+  public MessageHeader decode() throws IOException, ClassNotFoundException {
+    return socket.getDecoder().decode(null, encoded);
+  }
+}
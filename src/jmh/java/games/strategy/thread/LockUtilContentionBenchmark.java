@@ -0,0 +1,70 @@
+package games.strategy.thread;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures read lock acquisitions through LockUtil for each lock order checking mode, the way the AI, the odds
+ * calculator workers and the renderer share the GameData read lock.
+ *
+ * <p>
+ * Every reader takes a lock of its own first and then the shared read lock, so that the lock order is checked on each
+ * acquisition of the shared lock. Compare thread counts with the JMH threads option, e.g.
+ * {@code -PjmhArgs="LockUtilContention -t 4"}; the results only say something about contention when the machine has
+ * at least that many cores.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class LockUtilContentionBenchmark {
+  @Param({"FULL", "SAMPLED", "OFF"})
+  public LockUtil.Mode mode;
+
+  private final ReadWriteLock sharedLock = new ReentrantReadWriteLock();
+  private LockUtil.Mode oldMode;
+
+  @Setup
+  public void setUp() {
+    oldMode = LockUtil.INSTANCE.getMode();
+    LockUtil.INSTANCE.setMode(mode);
+  }
+
+  @TearDown
+  public void tearDown() {
+    LockUtil.INSTANCE.setMode(oldMode);
+  }
+
+  /**
+   * The lock each reader thread holds while it takes the shared lock.
+   */
+  @State(Scope.Thread)
+  public static class Reader {
+    private final Lock ownLock = new ReentrantReadWriteLock().readLock();
+  }
+
+  @Benchmark
+  public void acquireSharedReadLock(final Reader reader) {
+    LockUtil.INSTANCE.acquireLock(reader.ownLock);
+    try {
+      LockUtil.INSTANCE.acquireLock(sharedLock.readLock());
+      LockUtil.INSTANCE.releaseLock(sharedLock.readLock());
+    } finally {
+      LockUtil.INSTANCE.releaseLock(reader.ownLock);
+    }
+  }
+}
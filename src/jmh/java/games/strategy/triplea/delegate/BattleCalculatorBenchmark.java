@@ -0,0 +1,78 @@
+package games.strategy.triplea.delegate;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.armour;
+import static games.strategy.triplea.delegate.GameDataTestUtil.bomber;
+import static games.strategy.triplea.delegate.GameDataTestUtil.fighter;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Measures sorting a mixed army into the order of loss used for default casualties, with and without the order of
+ * loss cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class BattleCalculatorBenchmark {
+  private GameData data;
+  private PlayerID germans;
+  private Territory battleSite;
+  private Collection<TerritoryEffect> territoryEffects;
+  private List<Unit> attackers;
+  private List<Unit> defenders;
+
+  @Setup
+  public void setUp() throws Exception {
+    data = TestMapGameData.REVISED.getGameData();
+    germans = germans(data);
+    final PlayerID russians = russians(data);
+    battleSite = territory("Karelia S.S.R.", data);
+    territoryEffects = TerritoryEffectHelper.getEffects(battleSite);
+    attackers = new ArrayList<>();
+    attackers.addAll(infantry(data).create(12, germans));
+    attackers.addAll(armour(data).create(6, germans));
+    attackers.addAll(fighter(data).create(4, germans));
+    attackers.addAll(bomber(data).create(2, germans));
+    defenders = new ArrayList<>();
+    defenders.addAll(infantry(data).create(16, russians));
+    defenders.addAll(armour(data).create(3, russians));
+    defenders.addAll(fighter(data).create(2, russians));
+  }
+
+  @Benchmark
+  public List<Unit> sortForCasualtiesCached() {
+    return BattleCalculator.sortUnitsForCasualties(attackers, false, germans, defenders, battleSite,
+        territoryEffects, data);
+  }
+
+  @Benchmark
+  public List<Unit> sortForCasualtiesUncached() {
+    BattleCalculator.clearOOLCache();
+    return BattleCalculator.sortUnitsForCasualties(attackers, false, germans, defenders, battleSite,
+        territoryEffects, data);
+  }
+}
@@ -0,0 +1,56 @@
+package games.strategy.triplea.delegate;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Route;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.dataObjects.MoveValidationResult;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.Match;
+
+/**
+ * Measures validating the non combat move of the German army out of Germany, which the move delegate and the AI do
+ * for every move they consider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class MoveValidatorBenchmark {
+  private GameData data;
+  private PlayerID germans;
+  private List<Unit> units;
+  private Route route;
+
+  @Setup
+  public void setUp() throws Exception {
+    data = TestMapGameData.REVISED.getGameData();
+    germans = germans(data);
+    route = new Route(territory("Germany", data), territory("Eastern Europe", data));
+    units = route.getStart().getUnits().getMatches(
+        Match.allOf(Matches.unitIsOwnedBy(germans), Matches.unitIsLand(), Matches.unitCanMove()));
+  }
+
+  @Benchmark
+  public MoveValidationResult validateMove() {
+    return MoveValidator.validateMove(units, route, germans, Collections.emptyList(), new HashMap<>(), true, null,
+        data);
+  }
+}
@@ -0,0 +1,59 @@
+package games.strategy.triplea.delegate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.Match;
+
+/**
+ * Measures filtering every unit on a large map with the kind of composite {@link Matches} the AI and the delegates
+ * build for each decision.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class UnitFilteringBenchmark {
+  private List<Unit> units;
+  private Match<Unit> ownedLandUnitThatCanMove;
+  private Match<Unit> enemyAirOrDamageable;
+
+  @Setup
+  public void setUp() throws Exception {
+    final GameData data = TestMapGameData.GLOBAL1940.getGameData();
+    final PlayerID germans = GameDataTestUtil.germans(data);
+    units = new ArrayList<>();
+    for (final Territory territory : data.getMap().getTerritories()) {
+      units.addAll(territory.getUnits().getUnits());
+    }
+    ownedLandUnitThatCanMove =
+        Match.allOf(Matches.unitIsOwnedBy(germans), Matches.unitIsLand(), Matches.unitCanMove());
+    enemyAirOrDamageable = Match.allOf(Matches.enemyUnit(germans, data),
+        Match.anyOf(Matches.unitIsAir(), Matches.unitCanBeDamaged()));
+  }
+
+  @Benchmark
+  public List<Unit> ownedLandUnitsThatCanMove() {
+    return Matches.getMatches(units, ownedLandUnitThatCanMove);
+  }
+
+  @Benchmark
+  public int enemyAirOrDamageableUnits() {
+    return Matches.countMatches(units, enemyAirOrDamageable);
+  }
+}
@@ -0,0 +1,74 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.armour;
+import static games.strategy.triplea.delegate.GameDataTestUtil.fighter;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.TerritoryEffectHelper;
+import games.strategy.triplea.xml.TestMapGameData;
+
+/**
+ * Measures simulating a mid sized land battle, the way the battle calculator and the AI estimate their odds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class OddsCalculatorBenchmark {
+  @Param({"200"})
+  public int runCount;
+
+  private OddsCalculator calculator;
+
+  @Setup
+  public void setUp() throws Exception {
+    final GameData data = TestMapGameData.REVISED.getGameData();
+    final PlayerID germans = germans(data);
+    final PlayerID russians = russians(data);
+    final Territory battleSite = territory("Karelia S.S.R.", data);
+    final List<Unit> attackers = new ArrayList<>();
+    attackers.addAll(infantry(data).create(10, germans));
+    attackers.addAll(armour(data).create(5, germans));
+    attackers.addAll(fighter(data).create(3, germans));
+    final List<Unit> defenders = new ArrayList<>();
+    defenders.addAll(infantry(data).create(12, russians));
+    defenders.addAll(armour(data).create(2, russians));
+    defenders.addAll(fighter(data).create(2, russians));
+    calculator = new OddsCalculator(data);
+    calculator.setCalculateData(germans, russians, battleSite, attackers, defenders, Collections.emptyList(),
+        TerritoryEffectHelper.getEffects(battleSite), runCount);
+  }
+
+  @TearDown
+  public void tearDown() {
+    calculator.shutdown();
+  }
+
+  @Benchmark
+  public AggregateResults calculate() {
+    return calculator.calculate();
+  }
+}
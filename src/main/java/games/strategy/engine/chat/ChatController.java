@@ -1,6 +1,9 @@
 package games.strategy.engine.chat;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -22,6 +25,11 @@ import games.strategy.net.Messengers;
 import games.strategy.util.Tuple;
 
 public class ChatController implements IChatController {
+  /**
+   * The classes of the chat that messenger object streams write by number. Only ever add to the end of the list.
+   */
+  public static final List<Class<?>> STREAM_CLASSES = Collections.unmodifiableList(Arrays.asList(
+      IChatController.Tag.class));
   private static final Logger logger = Logger.getLogger(ChatController.class.getName());
   private static final String CHAT_REMOTE = "_ChatRmt";
   private static final String CHAT_CHANNEL = "_ChatCtrl";
@@ -1,6 +1,7 @@
 package games.strategy.engine.data;
 
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.Set;
 
 import games.strategy.triplea.TripleAUnit;
@@ -51,4 +52,9 @@ public class BombingUnitDamageChange extends Change {
   public Change invert() {
     return new BombingUnitDamageChange(undoHits, hits);
   }
+
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return EnumSet.of(GameFact.UNITS);
+  }
 }
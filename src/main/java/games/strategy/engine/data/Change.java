@@ -1,6 +1,8 @@
 package games.strategy.engine.data;
 
 import java.io.Serializable;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Not an interface because we want the perform() method to be protected.
@@ -22,4 +24,11 @@ public abstract class Change implements Serializable {
   public boolean isEmpty() {
     return false;
   }
+
+  /**
+   * @return the kinds of facts performing this change can alter, all of them unless the change knows better.
+   */
+  public Set<GameFact> getChangedFacts() {
+    return EnumSet.allOf(GameFact.class);
+  }
 }
@@ -1,5 +1,7 @@
 package games.strategy.engine.data;
 
+import java.util.Set;
+
 import games.strategy.util.PropertyUtil;
 
 public class ChangeAttachmentChange extends Change {
@@ -80,6 +82,11 @@ public class ChangeAttachmentChange extends Change {
     return new ChangeAttachmentChange(attachedTo, attachmentName, oldValue, newValue, property, clearFirst);
   }
 
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return GameFact.ofAttachment(attachedTo, attachmentName);
+  }
+
   @Override
   public String toString() {
     return "ChangAttachmentChange attached to:" + attachedTo + " name:" + attachmentName + " new value:"
@@ -1,7 +1,9 @@
 package games.strategy.engine.data;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * A Change made of several changes.
@@ -43,6 +45,15 @@ public class CompositeChange extends Change {
     return new CompositeChange(newChanges);
   }
 
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    final Set<GameFact> facts = EnumSet.noneOf(GameFact.class);
+    for (final Change change : m_changes) {
+      facts.addAll(change.getChangedFacts());
+    }
+    return facts;
+  }
+
   @Override
   protected void perform(final GameData data) {
     for (final Change current : m_changes) {
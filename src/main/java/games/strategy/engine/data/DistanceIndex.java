@@ -0,0 +1,428 @@
+package games.strategy.engine.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.util.IntegerMap;
+import games.strategy.util.Match;
+
+/**
+ * Shortest distances and routes between the territories of a GameMap.
+ *
+ * <p>
+ * Territories are numbered by their position in the map, and the connections are kept as arrays of those numbers. For
+ * the conditions nearly all queries use (any territory, land only and water only, see {@link Connectivity}) the
+ * breadth first search from a territory is kept, so later distance queries from that territory are a lookup, and
+ * routes only have to follow the previous territory table back to the start. Any other condition is searched on each
+ * query, but over the arrays and without building any collections.
+ * </p>
+ *
+ * <p>
+ * The searches are only kept for the territories recently searched from, up to a fixed amount of memory per index.
+ * Keeping all of them would be quadratic in the territory count, and every copy of the game data has its own index.
+ * </p>
+ *
+ * <p>
+ * Routes with a {@link MovementCost} are found with A*, where the remaining cost is estimated from the number of
+ * territories still to go (which is never more than the real number, whatever the cost) and the minimum cost of a
+ * move.
+ * </p>
+ *
+ * <p>
+ * An index only knows the territories and connections it was created with, GameMap throws it away when they change.
+ * </p>
+ */
+final class DistanceIndex {
+  // about how many ints each of the caches may keep, 2 MB each
+  private static final int MAX_CACHED_INTS = 1 << 19;
+  // kept even for the largest maps, since a few starts make up most queries (e.g. the territories of a move)
+  private static final int MIN_CACHED_SEARCHES = 16;
+  private static final int UNREACHABLE = -1;
+
+  /**
+   * The conditions whose search trees are cached.
+   */
+  enum Connectivity {
+    ALL, LAND, WATER;
+
+    /**
+     * Returns the connectivity the given condition stands for, or null if there is none.
+     */
+    static Connectivity of(final Match<Territory> cond) {
+      if (cond == null || cond == Matches.territoryIsLandOrWater()) {
+        return ALL;
+      } else if (cond == Matches.territoryIsLand()) {
+        return LAND;
+      } else if (cond == Matches.territoryIsWater()) {
+        return WATER;
+      }
+      return null;
+    }
+  }
+
+  private final Territory[] territories;
+  private final Map<Territory, Integer> indexes;
+  private final int[][] neighbors;
+  // the territories that connect to each territory, which differ from its neighbors for one way connections
+  private final int[][] reverseNeighbors;
+  private final boolean[] isWater;
+  // the search trees by connectivity and start, see getSearchTreeKey
+  private final Cache<Integer, SearchTree> searchTrees;
+  // the number of territories from every territory to a target, by target
+  private final Cache<Integer, int[]> hopsToTarget;
+
+  DistanceIndex(final List<Territory> territoryList, final Map<Territory, Set<Territory>> connections) {
+    final int size = territoryList.size();
+    territories = territoryList.toArray(new Territory[size]);
+    indexes = new HashMap<>(size * 2);
+    isWater = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      indexes.put(territories[i], i);
+      isWater[i] = territories[i].isWater();
+    }
+    neighbors = new int[size][];
+    final int[] reverseNeighborCounts = new int[size];
+    for (int i = 0; i < size; i++) {
+      final Set<Territory> connected = connections.getOrDefault(territories[i], Collections.emptySet());
+      neighbors[i] = new int[connected.size()];
+      int j = 0;
+      for (final Territory neighbor : connected) {
+        neighbors[i][j] = indexes.get(neighbor);
+        reverseNeighborCounts[neighbors[i][j]]++;
+        j++;
+      }
+    }
+    reverseNeighbors = new int[size][];
+    for (int i = 0; i < size; i++) {
+      reverseNeighbors[i] = new int[reverseNeighborCounts[i]];
+    }
+    for (int i = 0; i < size; i++) {
+      for (final int neighbor : neighbors[i]) {
+        reverseNeighbors[neighbor][--reverseNeighborCounts[neighbor]] = i;
+      }
+    }
+    // a search tree is two ints per territory, the hops to a target one
+    searchTrees = CacheBuilder.newBuilder()
+        .maximumSize(Math.max(MIN_CACHED_SEARCHES, MAX_CACHED_INTS / Math.max(1, 2 * size)))
+        .build();
+    hopsToTarget = CacheBuilder.newBuilder()
+        .maximumSize(Math.max(MIN_CACHED_SEARCHES, MAX_CACHED_INTS / Math.max(1, size)))
+        .build();
+  }
+
+  /**
+   * Returns the distance between the territories, where every territory after the start matches the condition, or -1
+   * if there is no such route. A null condition matches any territory.
+   */
+  int getDistance(final Territory from, final Territory to, final Match<Territory> cond) {
+    final Integer start = indexes.get(from);
+    final Integer end = indexes.get(to);
+    if (start == null || end == null) {
+      return UNREACHABLE;
+    }
+    return getSearchTree(start, end, cond).distance[end];
+  }
+
+  /**
+   * Returns the distances of the territories from the start, where every territory after the start matches the
+   * condition, or -1 for the territories that can not be reached that way.
+   */
+  IntegerMap<Territory> getDistances(final Territory from, final Collection<Territory> targets,
+      final Match<Territory> cond) {
+    final IntegerMap<Territory> distances = new IntegerMap<>();
+    final Integer start = indexes.get(from);
+    final SearchTree tree = start == null ? null : getSearchTree(start, UNREACHABLE, cond);
+    for (final Territory target : targets) {
+      final Integer end = indexes.get(target);
+      distances.put(target, (tree == null || end == null) ? UNREACHABLE : tree.distance[end]);
+    }
+    return distances;
+  }
+
+  /**
+   * Returns a shortest route between the territories, where every territory after the start matches the condition, or
+   * null if there is no such route.
+   */
+  Route getRoute(final Territory from, final Territory to, final Match<Territory> cond) {
+    final Integer start = indexes.get(from);
+    final Integer end = indexes.get(to);
+    if (start == null || end == null) {
+      return null;
+    }
+    final SearchTree tree = getSearchTree(start, end, cond);
+    if (tree.distance[end] == UNREACHABLE) {
+      return null;
+    }
+    final List<Territory> route = new ArrayList<>(tree.distance[end] + 1);
+    for (int current = end; current != start; current = tree.previous[current]) {
+      route.add(territories[current]);
+    }
+    route.add(from);
+    Collections.reverse(route);
+    return new Route(route);
+  }
+
+  /**
+   * Returns the cheapest route between the territories for the movement cost, or null if there is no route.
+   */
+  Route getCheapestRoute(final Territory from, final Territory to, final MovementCost cost) {
+    final Integer start = indexes.get(from);
+    final Integer end = indexes.get(to);
+    if (start == null || end == null) {
+      return null;
+    }
+    final int[] hops = getHopsToTarget(end);
+    if (hops[start] == UNREACHABLE) {
+      return null;
+    }
+    final double minimumCost = Math.max(0, cost.getMinimumCost());
+    final double[] costSoFar = new double[territories.length];
+    Arrays.fill(costSoFar, Double.POSITIVE_INFINITY);
+    final int[] previous = new int[territories.length];
+    final boolean[] done = new boolean[territories.length];
+    final IndexedMinHeap open = new IndexedMinHeap(territories.length);
+    costSoFar[start] = 0;
+    previous[start] = UNREACHABLE;
+    open.addOrDecrease(start, minimumCost * hops[start]);
+    while (!open.isEmpty()) {
+      final int current = open.removeMin();
+      if (current == end) {
+        final List<Territory> route = new ArrayList<>();
+        for (int t = end; t != start; t = previous[t]) {
+          route.add(territories[t]);
+        }
+        route.add(from);
+        Collections.reverse(route);
+        return new Route(route);
+      }
+      done[current] = true;
+      for (final int neighbor : neighbors[current]) {
+        // territories that can not reach the end are not worth looking at
+        if (done[neighbor] || hops[neighbor] == UNREACHABLE) {
+          continue;
+        }
+        final double stepCost = cost.getCost(territories[current], territories[neighbor]);
+        if (stepCost < 0) {
+          continue;
+        }
+        final double newCost = costSoFar[current] + stepCost;
+        if (newCost < costSoFar[neighbor]) {
+          costSoFar[neighbor] = newCost;
+          previous[neighbor] = current;
+          open.addOrDecrease(neighbor, newCost + minimumCost * hops[neighbor]);
+        }
+      }
+    }
+    return null;
+  }
+
+  private int[] getHopsToTarget(final int end) {
+    int[] hops = hopsToTarget.getIfPresent(end);
+    if (hops == null) {
+      hops = searchBackwards(end);
+      hopsToTarget.put(end, hops);
+    }
+    return hops;
+  }
+
+  /**
+   * Breadth first search against the direction of the connections, which gives the number of territories from every
+   * territory to the end, or -1 where the end can not be reached.
+   */
+  private int[] searchBackwards(final int end) {
+    final int[] hops = new int[territories.length];
+    Arrays.fill(hops, UNREACHABLE);
+    hops[end] = 0;
+    final int[] queue = new int[territories.length];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = end;
+    while (head < tail) {
+      final int current = queue[head++];
+      for (final int neighbor : reverseNeighbors[current]) {
+        if (hops[neighbor] == UNREACHABLE) {
+          hops[neighbor] = hops[current] + 1;
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+    return hops;
+  }
+
+  private SearchTree getSearchTree(final int start, final int end, final Match<Territory> cond) {
+    final Connectivity connectivity = Connectivity.of(cond);
+    if (connectivity == null) {
+      return search(start, end, newMatchingPredicate(cond));
+    }
+    final int key = getSearchTreeKey(start, connectivity);
+    SearchTree tree = searchTrees.getIfPresent(key);
+    if (tree == null) {
+      // two threads may search at the same time, but they find the same tree so it doesn't matter which one is kept
+      tree = search(start, UNREACHABLE, newConnectivityPredicate(connectivity));
+      searchTrees.put(key, tree);
+    }
+    return tree;
+  }
+
+  private int getSearchTreeKey(final int start, final Connectivity connectivity) {
+    return connectivity.ordinal() * territories.length + start;
+  }
+
+  private IntPredicate newConnectivityPredicate(final Connectivity connectivity) {
+    switch (connectivity) {
+      case LAND:
+        return i -> !isWater[i];
+      case WATER:
+        return i -> isWater[i];
+      default:
+        return i -> true;
+    }
+  }
+
+  private IntPredicate newMatchingPredicate(final Match<Territory> cond) {
+    // 0 is not checked yet, 1 matches, 2 does not match, so the condition is checked at most once per territory
+    final byte[] matches = new byte[territories.length];
+    return i -> {
+      if (matches[i] == 0) {
+        matches[i] = cond.match(territories[i]) ? (byte) 1 : (byte) 2;
+      }
+      return matches[i] == 1;
+    };
+  }
+
+  /**
+   * Breadth first search from the start over the territories that match. Stops once the end is found, or searches
+   * the whole map if the end is -1.
+   */
+  private SearchTree search(final int start, final int end, final IntPredicate matches) {
+    final int[] distance = new int[territories.length];
+    final int[] previous = new int[territories.length];
+    Arrays.fill(distance, UNREACHABLE);
+    distance[start] = 0;
+    previous[start] = UNREACHABLE;
+    final int[] queue = new int[territories.length];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = start;
+    while (head < tail) {
+      final int current = queue[head++];
+      for (final int neighbor : neighbors[current]) {
+        if (distance[neighbor] == UNREACHABLE && matches.test(neighbor)) {
+          distance[neighbor] = distance[current] + 1;
+          previous[neighbor] = current;
+          if (neighbor == end) {
+            return new SearchTree(distance, previous);
+          }
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+    return new SearchTree(distance, previous);
+  }
+
+  /**
+   * A binary min heap of territory indexes by priority, where the priority of a territory in the heap can be lowered.
+   */
+  private static final class IndexedMinHeap {
+    private final int[] heap;
+    // the position of each territory in the heap, or -1 if it is not in it
+    private final int[] positions;
+    private final double[] priorities;
+    private int size = 0;
+
+    IndexedMinHeap(final int capacity) {
+      heap = new int[capacity];
+      positions = new int[capacity];
+      Arrays.fill(positions, -1);
+      priorities = new double[capacity];
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    void addOrDecrease(final int territory, final double priority) {
+      priorities[territory] = priority;
+      if (positions[territory] == -1) {
+        heap[size] = territory;
+        positions[territory] = size;
+        size++;
+      }
+      siftUp(positions[territory]);
+    }
+
+    int removeMin() {
+      final int min = heap[0];
+      positions[min] = -1;
+      size--;
+      if (size > 0) {
+        heap[0] = heap[size];
+        positions[heap[0]] = 0;
+        siftDown(0);
+      }
+      return min;
+    }
+
+    private void siftUp(int position) {
+      final int territory = heap[position];
+      while (position > 0) {
+        final int parent = (position - 1) / 2;
+        if (priorities[heap[parent]] <= priorities[territory]) {
+          break;
+        }
+        move(heap[parent], position);
+        position = parent;
+      }
+      move(territory, position);
+    }
+
+    private void siftDown(int position) {
+      final int territory = heap[position];
+      while (true) {
+        int child = 2 * position + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && priorities[heap[child + 1]] < priorities[heap[child]]) {
+          child++;
+        }
+        if (priorities[territory] <= priorities[heap[child]]) {
+          break;
+        }
+        move(heap[child], position);
+        position = child;
+      }
+      move(territory, position);
+    }
+
+    private void move(final int territory, final int position) {
+      heap[position] = territory;
+      positions[territory] = position;
+    }
+  }
+
+  /**
+   * The result of a breadth first search: the distance of each territory from the start, and the territory before it
+   * on a shortest route from the start.
+   */
+  private static final class SearchTree {
+    private final int[] distance;
+    private final int[] previous;
+
+    SearchTree(final int[] distance, final int[] previous) {
+      this.distance = distance;
+      this.previous = previous;
+    }
+  }
+}
@@ -4,6 +4,8 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Iterator;
@@ -12,6 +14,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -21,6 +25,7 @@ import games.strategy.engine.data.events.GameDataChangeListener;
 import games.strategy.engine.data.events.GameMapListener;
 import games.strategy.engine.data.events.TerritoryListener;
 import games.strategy.engine.data.properties.GameProperties;
+import games.strategy.engine.framework.GameDataUtils;
 import games.strategy.engine.framework.IGameLoader;
 import games.strategy.engine.framework.message.PlayerListing;
 import games.strategy.engine.history.History;
@@ -101,6 +106,14 @@ public class GameData implements Serializable {
   private IGameLoader loader;
   private final History gameHistory = new History(this);
   private transient volatile boolean testLockIsHeld = false;
+  // built when first needed, and from then on kept up to date by the unit collections of the territories
+  private transient volatile UnitIndex unitIndex;
+  // the units that threads see in territories instead of their own, see setPrivateUnits, created when first needed
+  private transient volatile ThreadLocal<Map<Territory, UnitCollection>> privateUnits;
+  // unit collections index their units by owner, so they need to know when the owner of a unit may have changed
+  private transient AtomicInteger unitOwnerChanges = new AtomicInteger();
+  // how many times each kind of fact has been changed, by ordinal
+  private transient AtomicLongArray changeCounts = new AtomicLongArray(GameFact.values().length);
   private final List<Tuple<IAttachment, ArrayList<Tuple<String, String>>>> attachmentOrderAndValues =
       new ArrayList<>();
   private final Hashtable<String, TerritoryEffect> territoryEffectList = new Hashtable<>();
@@ -116,6 +129,8 @@ public class GameData implements Serializable {
   private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
     in.defaultReadObject();
     lockUtil = LockUtil.INSTANCE;
+    changeCounts = new AtomicLongArray(GameFact.values().length);
+    unitOwnerChanges = new AtomicInteger();
   }
 
   /**
@@ -152,6 +167,123 @@ public class GameData implements Serializable {
     return unitsList;
   }
 
+  /**
+   * @return where each unit on the map is, and what each transport is transporting.
+   */
+  public UnitIndex getUnitIndex() {
+    UnitIndex index = unitIndex;
+    if (index == null) {
+      // units can not be moved while it is built, so no update to it is missed
+      acquireReadLock();
+      try {
+        synchronized (unitsList) {
+          index = unitIndex;
+          if (index == null) {
+            index = new UnitIndex(this);
+            unitIndex = index;
+          }
+        }
+      } finally {
+        releaseReadLock();
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Creates a collection to keep units in that only the threads that set it with
+   * {@link #setPrivateUnits(Territory, UnitCollection)} see in the territory. The units added to it are still found
+   * through the unit index, as being in the territory, so they should not be in the unit list of this game data, see
+   * {@link GameDataUtils#copyUnitsDetachedFromGameData(Collection, GameData)}.
+   */
+  public UnitCollection newPrivateUnits(final Territory territory) {
+    // units added to the collection are only indexed if the index has already been built
+    getUnitIndex();
+    return new UnitCollection(territory, this);
+  }
+
+  /**
+   * Makes the current thread see the units of the collection in the territory, rather than the units actually in it,
+   * until {@link #clearPrivateUnits()} is called. This lets several threads simulate battles in the same territory of
+   * one game data, each with its own units, without copying the whole game data for each of them.
+   */
+  public void setPrivateUnits(final Territory territory, final UnitCollection units) {
+    ThreadLocal<Map<Territory, UnitCollection>> privateUnits = this.privateUnits;
+    if (privateUnits == null) {
+      synchronized (this) {
+        privateUnits = this.privateUnits;
+        if (privateUnits == null) {
+          privateUnits = new ThreadLocal<>();
+          this.privateUnits = privateUnits;
+        }
+      }
+    }
+    Map<Territory, UnitCollection> unitsByTerritory = privateUnits.get();
+    if (unitsByTerritory == null) {
+      unitsByTerritory = new HashMap<>();
+      privateUnits.set(unitsByTerritory);
+    }
+    unitsByTerritory.put(territory, units);
+  }
+
+  /**
+   * Makes the current thread see the units actually in territories again.
+   */
+  public void clearPrivateUnits() {
+    final ThreadLocal<Map<Territory, UnitCollection>> privateUnits = this.privateUnits;
+    if (privateUnits != null) {
+      privateUnits.remove();
+    }
+  }
+
+  /**
+   * @return the units the current thread sees in the territory instead of its own, or {@code null} if none.
+   */
+  UnitCollection getPrivateUnits(final Territory territory) {
+    final ThreadLocal<Map<Territory, UnitCollection>> privateUnits = this.privateUnits;
+    if (privateUnits == null) {
+      return null;
+    }
+    final Map<Territory, UnitCollection> units = privateUnits.get();
+    return units == null ? null : units.get(territory);
+  }
+
+  void unitAdded(final Unit unit, final Territory territory) {
+    final UnitIndex index = unitIndex;
+    if (index != null) {
+      index.unitAdded(unit, territory);
+    }
+  }
+
+  void unitRemoved(final Unit unit, final Territory territory) {
+    final UnitIndex index = unitIndex;
+    if (index != null) {
+      index.unitRemoved(unit, territory);
+    }
+  }
+
+  /**
+   * @return how many times the owner of a unit has been changed since this game data was created or loaded.
+   */
+  public int getUnitOwnerChanges() {
+    return unitOwnerChanges.get();
+  }
+
+  void unitOwnerChanged() {
+    unitOwnerChanges.incrementAndGet();
+    factChanged(GameFact.UNITS);
+  }
+
+  /**
+   * Keeps the unit index up to date when the transport of a unit is set.
+   */
+  public void unitTransportChanged(final Unit unit, final Unit oldTransport, final Unit newTransport) {
+    final UnitIndex index = unitIndex;
+    if (index != null) {
+      index.transportChanged(unit, oldTransport, newTransport);
+    }
+  }
+
   /**
    * @return list of Players in the game.
    */
@@ -499,12 +631,28 @@ public class GameData implements Serializable {
     try {
       acquireWriteLock();
       change.perform(this);
+      change.getChangedFacts().forEach(this::factChanged);
     } finally {
       releaseWriteLock();
     }
     notifyGameDataChanged(change);
   }
 
+  /**
+   * @return how many times the kind of fact has been changed in this game data since it was created or loaded, by
+   *         performing a change, or by one of the setters listed in {@link GameFact}.
+   */
+  public long getChangeCount(final GameFact fact) {
+    return changeCounts.get(fact.ordinal());
+  }
+
+  /**
+   * Counts a change to the kind of fact made other than by a change, see {@link GameFact} for who calls this.
+   */
+  public void factChanged(final GameFact fact) {
+    changeCounts.incrementAndGet(fact.ordinal());
+  }
+
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder();
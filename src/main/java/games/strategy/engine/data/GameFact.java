@@ -0,0 +1,56 @@
+package games.strategy.engine.data;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import games.strategy.triplea.attachments.AbstractTriggerAttachment;
+
+/**
+ * The kinds of facts about a game that a change can alter. Something worked out from some kinds of facts can remember
+ * {@link GameData#getChangeCount(GameFact)} for each of them, and is still up to date as long as none of those counts
+ * has moved on.
+ *
+ * <p>
+ * Every change performed through {@link GameData#performChange(Change)} counts the facts it alters. Besides those,
+ * only these setters count a fact, because they are also called directly while a game is set up or by the engine:
+ * </p>
+ * <ul>
+ * <li>{@link #TERRITORY_OWNERS}: {@link Territory#setOwner(PlayerID)}.</li>
+ * <li>{@link #UNITS}: adding or removing units from a {@link UnitCollection}, and {@link Unit#setOwner(PlayerID)}.</li>
+ * <li>{@link #RELATIONSHIPS}: {@link RelationshipTracker#setRelationship(PlayerID, PlayerID, RelationshipType)}.</li>
+ * <li>{@link #PROPERTIES}: {@link games.strategy.engine.data.properties.GameProperties#set(String, Object)} and adding
+ * editable or player properties.</li>
+ * </ul>
+ *
+ * <p>
+ * Anything else changed directly is not counted: the setters of attachments called while a game is parsed or by
+ * attachments themselves, the value of an editable property set from the options screen before a game starts, the
+ * state of AI players, and the properties of units other than through a change. Whatever remembers change counts
+ * must not read such state, or only read it before the first count is taken.
+ * </p>
+ */
+public enum GameFact {
+  TERRITORY_OWNERS,
+  /** Where units are, and their properties such as hits and movement. */
+  UNITS,
+  RESOURCES,
+  /** Who is at war with or allied to whom. */
+  RELATIONSHIPS,
+  /** The tech advances available to players, see {@link #ATTACHMENTS} for those they have. */
+  TECHNOLOGY,
+  /** Any property of any attachment, other than those of triggers. */
+  ATTACHMENTS,
+  /** The properties of triggers, such as their uses, which are only read to fire them. */
+  TRIGGERS,
+  BATTLE_RECORDS,
+  /** The game options, see {@link GameData#getProperties()}. */
+  PROPERTIES;
+
+  /**
+   * @return the facts a change to a property of the attachment alters.
+   */
+  public static Set<GameFact> ofAttachment(final Attachable attachedTo, final String attachmentName) {
+    final IAttachment attachment = attachedTo == null ? null : attachedTo.getAttachment(attachmentName);
+    return EnumSet.of(attachment instanceof AbstractTriggerAttachment ? TRIGGERS : ATTACHMENTS);
+  }
+}
@@ -11,6 +11,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import games.strategy.performance.Metrics;
+import games.strategy.performance.Timer;
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.util.IntegerMap;
 import games.strategy.util.Match;
@@ -21,6 +23,8 @@ import games.strategy.util.Match;
  */
 public class GameMap extends GameDataComponent implements Iterable<Territory> {
   private static final long serialVersionUID = -4606700588396439283L;
+  private static final Timer routeTimer = Metrics.timer("route.shortest");
+  private static final Timer cheapestRouteTimer = Metrics.timer("route.cheapest");
   private final List<Territory> m_territories = new ArrayList<>();
   // note that all entries are unmodifiable
   private final Map<Territory, Set<Territory>> m_connections = new HashMap<>();
@@ -30,6 +34,8 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
   // otherwise, m_gridDimensions.length is the number of dimensions,
   // and each element is the size of a dimension
   private int[] m_gridDimensions = null;
+  // built on first use, and thrown away whenever the territories or connections change
+  private transient volatile DistanceIndex m_distanceIndex = null;
 
   GameMap(final GameData data) {
     super(data);
@@ -75,6 +81,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
 
   protected void reorderTerritoryList() {
     Collections.sort(m_territories, TERRITORY_GRID_ORDERING);
+    m_distanceIndex = null;
   }
 
   private static final Comparator<Territory> TERRITORY_GRID_ORDERING = (t1, t2) -> {
@@ -150,6 +157,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     m_territories.add(t1);
     m_connections.put(t1, Collections.emptySet());
     m_territoryLookup.put(t1.getName(), t1);
+    m_distanceIndex = null;
   }
 
   /**
@@ -187,6 +195,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     final Set<Territory> modified = new HashSet<>(current);
     modified.add(to);
     m_connections.put(from, Collections.unmodifiableSet(modified));
+    m_distanceIndex = null;
   }
 
   /**
@@ -362,11 +371,16 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (t1 == t2) {
       return new Route(t1);
     }
-    if (getNeighbors(t1, cond).contains(t2)) {
+    final Set<Territory> neighbors = m_connections.get(t1);
+    if (neighbors != null && neighbors.contains(t2) && (cond == null || cond.match(t2))) {
       return new Route(t1, t2);
     }
-    final RouteFinder engine = new RouteFinder(this, cond);
-    return engine.findRoute(t1, t2);
+    final long start = routeTimer.start();
+    try {
+      return getDistanceIndex().getRoute(t1, t2, cond);
+    } finally {
+      routeTimer.stop(start);
+    }
   }
 
   /**
@@ -423,8 +437,28 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (getNeighbors(t1, allCond).contains(t2)) {
       return new Route(t1, t2);
     }
-    final CompositeRouteFinder engine = new CompositeRouteFinder(this, matches);
-    return engine.findRoute(t1, t2);
+    return getCheapestRoute(t1, t2, MovementCost.of(matches));
+  }
+
+  /**
+   * @param t1
+   *        start territory of the route
+   * @param t2
+   *        end territory of the route
+   * @param cost
+   *        cost of each move along the route
+   * @return the route between two territories with the lowest total cost, or null if no route exists.
+   */
+  public Route getCheapestRoute(final Territory t1, final Territory t2, final MovementCost cost) {
+    if (t1 == t2) {
+      return new Route(t1);
+    }
+    final long start = cheapestRouteTimer.start();
+    try {
+      return getDistanceIndex().getCheapestRoute(t1, t2, cost);
+    } finally {
+      cheapestRouteTimer.stop(start);
+    }
   }
 
   public Route getCompositeRoute_IgnoreEnd(final Territory t1, final Territory t2,
@@ -458,54 +492,15 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (t1.equals(t2)) {
       return 0;
     }
-    final Set<Territory> frontier = new HashSet<>();
-    frontier.add(t1);
-    return getDistance(0, new HashSet<>(), frontier, t2, cond);
-  }
-
-  /**
-   * Guaranteed that frontier doesn't contain target.
-   * Territories on the frontier are not target. They represent the extent of paths already searched.
-   * Territories in searched have already been on the frontier.
-   */
-  private int getDistance(final int distance, final Set<Territory> searched, final Set<Territory> frontier,
-      final Territory target, final Match<Territory> cond) {
-    // add the frontier to the searched
-    searched.addAll(frontier);
-    // find the new frontier
-    final Set<Territory> newFrontier = new HashSet<>();
-    final Iterator<Territory> frontierIterator = frontier.iterator();
-    while (frontierIterator.hasNext()) {
-      final Territory onFrontier = frontierIterator.next();
-      final Set<Territory> connections = m_connections.get(onFrontier);
-      final Iterator<Territory> connectionIterator = connections.iterator();
-      while (connectionIterator.hasNext()) {
-        final Territory nextFrontier = connectionIterator.next();
-        if (cond == null || cond.match(nextFrontier)) {
-          newFrontier.add(nextFrontier);
-        }
-      }
-    }
-    if (newFrontier.contains(target)) {
-      return distance + 1;
-    }
-    newFrontier.removeAll(searched);
-    if (newFrontier.isEmpty()) {
-      return -1;
-    }
-    return getDistance(distance + 1, searched, newFrontier, target, cond);
+    return getDistanceIndex().getDistance(t1, t2, cond);
   }
 
   public IntegerMap<Territory> getDistance(final Territory target, final Collection<Territory> territories,
       final Match<Territory> condition) {
-    final IntegerMap<Territory> distances = new IntegerMap<>();
     if (target == null || territories == null || territories.isEmpty()) {
-      return distances;
-    }
-    for (final Territory t : territories) {
-      distances.put(t, getDistance(target, t, condition));
+      return new IntegerMap<>();
     }
-    return distances;
+    return getDistanceIndex().getDistances(target, territories, condition);
   }
 
   /**
@@ -588,6 +583,16 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * If the actual territories in the map are deleted, or new ones added, call this.
    */
   public void notifyChanged() {
+    m_distanceIndex = null;
     getData().notifyMapDataChanged();
   }
+
+  private DistanceIndex getDistanceIndex() {
+    DistanceIndex distanceIndex = m_distanceIndex;
+    if (distanceIndex == null) {
+      distanceIndex = new DistanceIndex(m_territories, m_connections);
+      m_distanceIndex = distanceIndex;
+    }
+    return distanceIndex;
+  }
 }
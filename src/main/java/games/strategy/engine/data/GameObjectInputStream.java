@@ -2,15 +2,16 @@ package games.strategy.engine.data;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
 
 import games.strategy.engine.framework.GameObjectStreamFactory;
+import games.strategy.net.CompactObjectInputStream;
 
 /**
  * Please refer to the comments on GameObjectOutputStream.
  */
-public class GameObjectInputStream extends ObjectInputStream {
+public class GameObjectInputStream extends CompactObjectInputStream {
   private final GameObjectStreamFactory m_dataSource;
+  private final boolean m_resolveUnits;
 
   /**
    * Creates new GameObjectReader.
@@ -21,8 +22,44 @@ public class GameObjectInputStream extends ObjectInputStream {
    *        input stream
    */
   public GameObjectInputStream(final GameObjectStreamFactory dataSource, final InputStream input) throws IOException {
-    super(input);
+    this(dataSource, input, true);
+  }
+
+  /**
+   * Creates new GameObjectReader.
+   *
+   * @param dataSource
+   *        data source
+   * @param input
+   *        input stream
+   * @param resolveUnits
+   *        if false, units read from the stream are neither replaced by nor registered as the units of the game data,
+   *        so the stream yields private copies of them
+   */
+  public GameObjectInputStream(final GameObjectStreamFactory dataSource, final InputStream input,
+      final boolean resolveUnits) throws IOException {
+    this(dataSource, input, resolveUnits, false);
+  }
+
+  /**
+   * Creates new GameObjectReader.
+   *
+   * @param dataSource
+   *        data source
+   * @param input
+   *        input stream
+   * @param resolveUnits
+   *        if false, units read from the stream are neither replaced by nor registered as the units of the game data,
+   *        so the stream yields private copies of them
+   * @param compact
+   *        if true, the stream was written by a compact GameObjectOutputStream, otherwise it is plain java
+   *        serialization
+   */
+  public GameObjectInputStream(final GameObjectStreamFactory dataSource, final InputStream input,
+      final boolean resolveUnits, final boolean compact) throws IOException {
+    super(input, compact ? GameObjectOutputStream.CLASS_TABLE : null);
     m_dataSource = dataSource;
+    m_resolveUnits = resolveUnits;
     enableResolveObject(true);
   }
 
@@ -42,7 +79,7 @@ public class GameObjectInputStream extends ObjectInputStream {
       return m_dataSource.getData();
     } else if ((obj instanceof GameObjectStreamData)) {
       return ((GameObjectStreamData) obj).getReference(getData());
-    } else if (obj instanceof Unit) {
+    } else if (obj instanceof Unit && m_resolveUnits) {
       return resolveUnit((Unit) obj);
     } else {
       return obj;
@@ -1,8 +1,14 @@
 package games.strategy.engine.data;
 
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
+
+import games.strategy.engine.chat.ChatController;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.net.ClassTable;
+import games.strategy.net.CompactObjectOutputStream;
+import games.strategy.triplea.TripleAUnit;
 
 /**
  * To maintain == relationships and the singleton nature of many classes in GameData
@@ -14,17 +20,53 @@ import java.io.OutputStream;
  * by the GameObjectInputStream is the territory with that name beloning to the GameData associated
  * with the GameObjectInputStream.
  * This ensures the state of the territory remains consistent.
+ *
+ * <p>
+ * The changes sent to every node all the time, and the units they carry, are in our {@link #CLASS_TABLE}, so a compact
+ * stream writes them without their full class descriptors. A stream that is not compact writes plain java
+ * serialization, for anything that is read by another engine or stored, see {@link CompactObjectOutputStream}.
+ * </p>
  */
-public class GameObjectOutputStream extends ObjectOutputStream {
+public class GameObjectOutputStream extends CompactObjectOutputStream {
   /**
-   * Creates a new instance of GameObjectOutputStream.
+   * The classes written by number by game object streams. Only ever add to the end of the list.
+   */
+  public static final ClassTable CLASS_TABLE = ClassTable.BASIC
+      .extend(ChatController.STREAM_CLASSES)
+      .extend(Arrays.asList(
+          GameObjectStreamData.class,
+          GameObjectStreamData.GameType.class,
+          GameDataComponent.class,
+          Unit.class,
+          TripleAUnit.class,
+          Change.class,
+          CompositeChange.class,
+          ChangeAttachmentChange.class,
+          UnitHitsChange.class,
+          BombingUnitDamageChange.class))
+      .extend(ChangeFactory.CHANGE_CLASSES);
+
+  /**
+   * Creates a new instance of GameObjectOutputStream, that writes plain java serialization.
    *
    * @param output
    *        output stream
    */
   public GameObjectOutputStream(final OutputStream output) throws IOException {
-    super(output);
-    enableReplaceObject(true);
+    this(output, false);
+  }
+
+  /**
+   * Creates a new instance of GameObjectOutputStream.
+   *
+   * @param output
+   *        output stream
+   * @param compact
+   *        if true, the classes of our class table are written by number, so only a compact GameObjectInputStream of
+   *        the same engine can read the stream
+   */
+  public GameObjectOutputStream(final OutputStream output, final boolean compact) throws IOException {
+    super(output, compact ? CLASS_TABLE : null);
   }
 
   @Override
@@ -35,6 +77,6 @@ public class GameObjectOutputStream extends ObjectOutputStream {
         return new GameObjectStreamData(named);
       }
     }
-    return obj;
+    return super.replaceObject(obj);
   }
 }
@@ -91,6 +91,17 @@ public class GameSequence extends GameDataComponent implements Iterable<GameStep
     m_currentIndex = newIndex;
   }
 
+  /**
+   * Moves the sequence to the given round and step index, as returned by {@link #getRound()} and
+   * {@link #getStepIndex()}. Used when bringing a loaded game up to date with an incremental save.
+   */
+  public void setRoundAndStepIndex(final int round, final int stepIndex) {
+    synchronized (m_currentStepMutex) {
+      m_round = round - m_roundOffset;
+      setStepIndex(stepIndex);
+    }
+  }
+
   /**
    * @return boolean whether the round has changed.
    */
@@ -0,0 +1,76 @@
+package games.strategy.engine.data;
+
+import java.util.Map;
+
+import games.strategy.util.Match;
+
+/**
+ * The cost of moving from a territory into a neighboring one, used by {@link GameMap#getCheapestRoute} to find the
+ * cheapest route between two territories.
+ *
+ * <p>
+ * The cost may depend on the territory moved into (terrain, ownership) and on the connection taken (canals). A
+ * negative cost means the move is not possible at all.
+ * </p>
+ */
+@FunctionalInterface
+public interface MovementCost {
+  /**
+   * @return the cost of moving from one territory into the other, which is a neighbor of it, or a negative number if
+   *         that move is not allowed.
+   */
+  double getCost(Territory from, Territory to);
+
+  /**
+   * The cheapest that any allowed move can be. The route search uses this to estimate the remaining cost from the
+   * number of territories still to go, so it must never be more than what {@link #getCost} returns for an allowed move.
+   * The default of 0 is always safe, but gives no estimate at all.
+   */
+  default double getMinimumCost() {
+    return 0;
+  }
+
+  /**
+   * @return a cost of 1 for moving into any territory that matches the condition.
+   */
+  static MovementCost of(final Match<Territory> cond) {
+    return new MovementCost() {
+      @Override
+      public double getCost(final Territory from, final Territory to) {
+        return cond.match(to) ? 1 : -1;
+      }
+
+      @Override
+      public double getMinimumCost() {
+        return 1;
+      }
+    };
+  }
+
+  /**
+   * @param scores
+   *        the cost of moving into a territory matching each condition. If a territory matches several of them, the
+   *        lowest cost is used, and territories that match none of them can not be moved into.
+   * @return the cost of moving into a territory by the best condition it matches.
+   */
+  static MovementCost of(final Map<Match<Territory>, Integer> scores) {
+    final int minimumScore = scores.values().stream().mapToInt(Integer::intValue).min().orElse(0);
+    return new MovementCost() {
+      @Override
+      public double getCost(final Territory from, final Territory to) {
+        int bestScore = Integer.MAX_VALUE;
+        for (final Map.Entry<Match<Territory>, Integer> entry : scores.entrySet()) {
+          if (entry.getValue() < bestScore && entry.getKey().match(to)) {
+            bestScore = entry.getValue();
+          }
+        }
+        return bestScore == Integer.MAX_VALUE ? -1 : bestScore;
+      }
+
+      @Override
+      public double getMinimumCost() {
+        return Math.max(0, minimumScore);
+      }
+    };
+  }
+}
@@ -27,6 +27,7 @@ public class RelationshipTracker extends RelationshipInterpreter {
    */
   public void setRelationship(final PlayerID p1, final PlayerID p2, final RelationshipType r) {
     m_relationships.put(new RelatedPlayers(p1, p2), new Relationship(r));
+    relationshipsChanged();
   }
 
   /**
@@ -34,6 +35,13 @@ public class RelationshipTracker extends RelationshipInterpreter {
    */
   protected void setRelationship(final PlayerID p1, final PlayerID p2, final RelationshipType r, final int roundValue) {
     m_relationships.put(new RelatedPlayers(p1, p2), new Relationship(r, roundValue));
+    relationshipsChanged();
+  }
+
+  private void relationshipsChanged() {
+    if (getData() != null) {
+      getData().factChanged(GameFact.RELATIONSHIPS);
+    }
   }
 
   /**
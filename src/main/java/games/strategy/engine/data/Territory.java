@@ -49,14 +49,24 @@ public class Territory extends NamedAttachable implements NamedUnitHolder, Compa
       newOwner = PlayerID.NULL_PLAYERID;
     }
     m_owner = newOwner;
+    getData().factChanged(GameFact.TERRITORY_OWNERS);
     getData().notifyTerritoryOwnerChanged(this);
   }
 
   /**
-   * Get the units in this territory.
+   * Get the units in this territory, or the units the current thread keeps in it instead, see
+   * {@link GameData#setPrivateUnits(Territory, UnitCollection)}.
    */
   @Override
   public UnitCollection getUnits() {
+    final UnitCollection privateUnits = getData() == null ? null : getData().getPrivateUnits(this);
+    return privateUnits == null ? m_units : privateUnits;
+  }
+
+  /**
+   * @return the units actually in this territory, whatever units the current thread keeps in it instead.
+   */
+  UnitCollection getOwnUnits() {
     return m_units;
   }
 
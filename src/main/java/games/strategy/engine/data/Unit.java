@@ -94,7 +94,13 @@ public class Unit extends GameDataComponent {
     if (player == null) {
       player = PlayerID.NULL_PLAYERID;
     }
+    final PlayerID oldOwner = m_owner;
     m_owner = player;
+    // the owner is set when the unit is created, which no unit collection has to know about, and unit collections are
+    // only told once it is set, so that an index they build right away already has the new owner
+    if (oldOwner != null && oldOwner != player && getData() != null) {
+      getData().unitOwnerChanged();
+    }
   }
 
   @Override
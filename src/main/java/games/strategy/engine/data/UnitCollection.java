@@ -7,7 +7,6 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.util.IntegerMap;
@@ -18,8 +17,17 @@ import games.strategy.util.Match;
  */
 public class UnitCollection extends GameDataComponent implements Collection<Unit> {
   private static final long serialVersionUID = -3534037864426122864L;
+  // also the lock that changes to the units and the index by owner and type are made under, together, so that readers
+  // that don't hold the data lock, such as the UI, never see or build an index that is out of step with the units
   private final List<Unit> m_units = new ArrayList<>();
   private final NamedUnitHolder m_holder;
+  // the units by owner and type, built when first needed and then kept up to date, guarded by m_units
+  // a collection is not told when one of its units changes owner, so any owner change in the game drops the index of
+  // every collection, which is built again from its units the next time it is needed; owners change rarely (captures
+  // and triggers), so this costs much less than keeping track of which collection holds each unit
+  private transient UnitsByOwnerAndType m_byOwnerAndType;
+  // how many times the units have been changed since this collection was created or loaded, guarded by m_units
+  private transient long m_changeCount;
 
   /**
    * Creates new UnitCollection.
@@ -36,22 +44,63 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
 
   @Override
   public boolean add(final Unit unit) {
-    final boolean result = m_units.add(unit);
-    m_holder.notifyChanged();
+    final boolean result;
+    synchronized (m_units) {
+      result = m_units.add(unit);
+      m_changeCount++;
+      final UnitsByOwnerAndType byOwnerAndType = getByOwnerAndTypeIfBuilt();
+      if (byOwnerAndType != null) {
+        byOwnerAndType.add(unit);
+      }
+    }
+    if (m_holder instanceof Territory) {
+      getData().unitAdded(unit, (Territory) m_holder);
+    }
+    unitsChanged();
     return result;
   }
 
   @Override
   public boolean addAll(final Collection<? extends Unit> units) {
-    final boolean result = m_units.addAll(units);
-    m_holder.notifyChanged();
+    final boolean result;
+    synchronized (m_units) {
+      result = m_units.addAll(units);
+      m_changeCount++;
+      final UnitsByOwnerAndType byOwnerAndType = getByOwnerAndTypeIfBuilt();
+      if (byOwnerAndType != null) {
+        units.forEach(byOwnerAndType::add);
+      }
+    }
+    if (m_holder instanceof Territory) {
+      for (final Unit unit : units) {
+        getData().unitAdded(unit, (Territory) m_holder);
+      }
+    }
+    unitsChanged();
     return result;
   }
 
   @Override
   public boolean removeAll(final Collection<?> units) {
-    final boolean result = m_units.removeAll(units);
-    m_holder.notifyChanged();
+    final boolean result;
+    synchronized (m_units) {
+      result = m_units.removeAll(units);
+      m_changeCount++;
+      final UnitsByOwnerAndType byOwnerAndType = getByOwnerAndTypeIfBuilt();
+      if (byOwnerAndType != null) {
+        for (final Object unit : units) {
+          if (unit instanceof Unit) {
+            byOwnerAndType.removeAll((Unit) unit);
+          }
+        }
+      }
+    }
+    if (m_holder instanceof Territory) {
+      for (final Object unit : units) {
+        unitRemoved(unit);
+      }
+    }
+    unitsChanged();
     return result;
   }
 
@@ -59,25 +108,76 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
     return m_units.size();
   }
 
+  /**
+   * @return how many times units have been added to or removed from this collection since it was created or loaded,
+   *         something worked out from the units can remember it and is still up to date as long as it has not moved
+   *         on, and no unit has changed owner, see {@link GameData#getUnitOwnerChanges()}.
+   */
+  public long getChangeCount() {
+    synchronized (m_units) {
+      return m_changeCount;
+    }
+  }
+
   int getUnitCount(final UnitType type) {
-    return (int) m_units.stream().filter(u -> u.getType().equals(type)).count();
+    synchronized (m_units) {
+      return getByOwnerAndType().getCount(type);
+    }
   }
 
   public int getUnitCount(final UnitType type, final PlayerID owner) {
-    return (int) m_units.stream().filter(u -> u.getType().equals(type) && u.getOwner().equals(owner)).count();
+    synchronized (m_units) {
+      return getByOwnerAndType().getCount(owner, type);
+    }
   }
 
   int getUnitCount(final PlayerID owner) {
-    return (int) m_units.stream().filter(u -> u.getOwner().equals(owner)).count();
+    synchronized (m_units) {
+      return getByOwnerAndType().getCount(owner);
+    }
+  }
+
+  // must hold the lock of m_units
+  private UnitsByOwnerAndType getByOwnerAndType() {
+    final UnitsByOwnerAndType byOwnerAndType = getByOwnerAndTypeIfBuilt();
+    if (byOwnerAndType != null) {
+      return byOwnerAndType;
+    }
+    final UnitsByOwnerAndType built = new UnitsByOwnerAndType(m_units, getUnitOwnerChanges());
+    m_byOwnerAndType = built;
+    return built;
+  }
+
+  // must hold the lock of m_units
+  private UnitsByOwnerAndType getByOwnerAndTypeIfBuilt() {
+    final UnitsByOwnerAndType byOwnerAndType = m_byOwnerAndType;
+    if (byOwnerAndType == null || byOwnerAndType.isCurrent(getUnitOwnerChanges())) {
+      return byOwnerAndType;
+    }
+    m_byOwnerAndType = null;
+    return null;
+  }
+
+  private int getUnitOwnerChanges() {
+    return getData() == null ? 0 : getData().getUnitOwnerChanges();
   }
 
   @Override
   public boolean containsAll(final Collection<?> units) {
-    // much faster for large sets
-    if (m_units.size() > 500 && units.size() > 500) {
-      return new HashSet<>(m_units).containsAll(units);
+    synchronized (m_units) {
+      // finding each unit goes through the units of its owner and type, so for many units in large groups a set of all
+      // the units is much faster
+      if (m_units.size() > 500 && units.size() > 500) {
+        return new HashSet<>(m_units).containsAll(units);
+      }
+      final UnitsByOwnerAndType byOwnerAndType = getByOwnerAndType();
+      for (final Object unit : units) {
+        if (!(unit instanceof Unit) || !byOwnerAndType.contains((Unit) unit)) {
+          return false;
+        }
+      }
+      return true;
     }
-    return m_units.containsAll(units);
   }
 
   /**
@@ -143,9 +243,9 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
    * @return map of UnitType (only of units for the specified player).
    */
   public IntegerMap<UnitType> getUnitsByType(final PlayerID id) {
-    final IntegerMap<UnitType> count = new IntegerMap<>();
-    m_units.stream().filter(unit -> unit.getOwner().equals(id)).forEach(unit -> count.add(unit.getType(), 1));
-    return count;
+    synchronized (m_units) {
+      return getByOwnerAndType().getCountsByType(id);
+    }
   }
 
   @Override
@@ -163,7 +263,9 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
    */
   public Set<PlayerID> getPlayersWithUnits() {
     // note nulls are handled by PlayerID.NULL_PLAYERID
-    return m_units.stream().map(unit -> unit.getOwner()).collect(Collectors.toSet());
+    synchronized (m_units) {
+      return new HashSet<>(getByOwnerAndType().getOwners());
+    }
   }
 
   /**
@@ -171,12 +273,19 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
    */
   public IntegerMap<PlayerID> getPlayerUnitCounts() {
     final IntegerMap<PlayerID> count = new IntegerMap<>();
-    m_units.stream().forEach(unit -> count.add(unit.getOwner(), 1));
+    synchronized (m_units) {
+      final UnitsByOwnerAndType byOwnerAndType = getByOwnerAndType();
+      for (final PlayerID owner : byOwnerAndType.getOwners()) {
+        count.put(owner, byOwnerAndType.getCount(owner));
+      }
+    }
     return count;
   }
 
   public boolean hasUnitsFromMultiplePlayers() {
-    return getPlayersWithUnits().size() > 1;
+    synchronized (m_units) {
+      return getByOwnerAndType().getOwners().size() > 1;
+    }
   }
 
   public NamedUnitHolder getHolder() {
@@ -218,7 +327,12 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
 
   @Override
   public boolean contains(Object object) {
-    return m_units.contains(object);
+    if (!(object instanceof Unit)) {
+      return false;
+    }
+    synchronized (m_units) {
+      return getByOwnerAndType().contains((Unit) object);
+    }
   }
 
   @Override
@@ -233,19 +347,68 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
 
   @Override
   public boolean remove(Object object) {
-    final boolean result = m_units.remove(object);
-    m_holder.notifyChanged();
+    final boolean result;
+    synchronized (m_units) {
+      result = m_units.remove(object);
+      m_changeCount++;
+      final UnitsByOwnerAndType byOwnerAndType = getByOwnerAndTypeIfBuilt();
+      if (result && byOwnerAndType != null) {
+        byOwnerAndType.remove((Unit) object);
+      }
+    }
+    if (result && m_holder instanceof Territory) {
+      unitRemoved(object);
+    }
+    unitsChanged();
     return result;
   }
 
   @Override
   public boolean retainAll(Collection<?> collection) {
-    return m_units.retainAll(collection);
+    if (m_holder instanceof Territory) {
+      for (final Unit unit : m_units) {
+        if (!collection.contains(unit)) {
+          unitRemoved(unit);
+        }
+      }
+    }
+    final boolean result;
+    synchronized (m_units) {
+      result = m_units.retainAll(collection);
+      m_changeCount++;
+      m_byOwnerAndType = null;
+    }
+    if (getData() != null) {
+      getData().factChanged(GameFact.UNITS);
+    }
+    return result;
   }
 
   @Override
   public void clear() {
-    m_units.clear();
+    if (m_holder instanceof Territory) {
+      for (final Unit unit : m_units) {
+        unitRemoved(unit);
+      }
+    }
+    synchronized (m_units) {
+      m_units.clear();
+      m_changeCount++;
+      m_byOwnerAndType = null;
+    }
+    unitsChanged();
+  }
+
+  private void unitsChanged() {
+    if (getData() != null) {
+      getData().factChanged(GameFact.UNITS);
+    }
     m_holder.notifyChanged();
   }
+
+  private void unitRemoved(final Object unit) {
+    if (unit instanceof Unit) {
+      getData().unitRemoved((Unit) unit, (Territory) m_holder);
+    }
+  }
 }
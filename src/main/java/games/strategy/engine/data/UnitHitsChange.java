@@ -1,6 +1,7 @@
 package games.strategy.engine.data;
 
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.Set;
 
 import games.strategy.util.IntegerMap;
@@ -20,6 +21,13 @@ public class UnitHitsChange extends Change {
     return m_hits.keySet();
   }
 
+  /**
+   * @return The number of hits the specified unit will have after this change is performed.
+   */
+  public int getHits(final Unit unit) {
+    return m_hits.getInt(unit);
+  }
+
   public UnitHitsChange(final IntegerMap<Unit> hits) {
     m_hits = hits.copy();
     m_undoHits = new IntegerMap<>();
@@ -45,4 +53,9 @@ public class UnitHitsChange extends Change {
   public Change invert() {
     return new UnitHitsChange(m_undoHits, m_hits);
   }
+
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return EnumSet.of(GameFact.UNITS);
+  }
 }
@@ -0,0 +1,121 @@
+package games.strategy.engine.data;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import games.strategy.triplea.TripleAUnit;
+
+/**
+ * Where each unit on the map is, and which units each transport is transporting.
+ *
+ * <p>
+ * The index is built from the map the first time it is needed, and from then on kept up to date as units are added to
+ * and removed from territories, and as the transport of a unit is set, which the changes that move units do. Use
+ * {@link GameData#getUnitIndex()} to get it.
+ * </p>
+ */
+public final class UnitIndex {
+  private final GameData m_data;
+  private final Map<Unit, Territory> m_territories = new IdentityHashMap<>();
+  // the units whose transported by is each transport, wherever they are
+  private final Map<Unit, Set<Unit>> m_cargo = new IdentityHashMap<>();
+
+  UnitIndex(final GameData data) {
+    m_data = data;
+    for (final Territory territory : data.getMap().getTerritories()) {
+      for (final Unit unit : territory.getOwnUnits()) {
+        m_territories.put(unit, territory);
+      }
+    }
+    for (final Unit unit : data.getUnits()) {
+      addCargo(unit);
+    }
+    // units that are not kept in the units list of the game, such as those of battle simulations
+    for (final Unit unit : m_territories.keySet()) {
+      if (!isInGame(unit)) {
+        addCargo(unit);
+      }
+    }
+  }
+
+  private boolean isInGame(final Unit unit) {
+    return m_data.getUnits().get(unit.getID()) == unit;
+  }
+
+  private void addCargo(final Unit unit) {
+    if (unit instanceof TripleAUnit) {
+      final Unit transport = ((TripleAUnit) unit).getTransportedBy();
+      if (transport != null) {
+        getCargo(transport).add(unit);
+      }
+    }
+  }
+
+  private Set<Unit> getCargo(final Unit transport) {
+    return m_cargo.computeIfAbsent(transport, k -> Collections.newSetFromMap(new IdentityHashMap<>()));
+  }
+
+  /**
+   * @return the territory the unit is in, or {@code null} if it is not on the map.
+   */
+  public synchronized Territory getTerritory(final Unit unit) {
+    return m_territories.get(unit);
+  }
+
+  /**
+   * @return true if any unit in the same territory as the transport is transported by it.
+   */
+  public synchronized boolean isTransporting(final Unit transport) {
+    final Set<Unit> cargo = m_cargo.get(transport);
+    if (cargo == null || cargo.isEmpty()) {
+      return false;
+    }
+    final Territory territory = m_territories.get(transport);
+    if (territory == null) {
+      return false;
+    }
+    for (final Unit unit : cargo) {
+      if (m_territories.get(unit) == territory) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  synchronized void unitAdded(final Unit unit, final Territory territory) {
+    m_territories.put(unit, territory);
+    // the transport of units in the game is kept up to date as it is set, but units that are not in the game, such as
+    // the private copies of battle simulations, are only known here while they are on the map
+    if (!isInGame(unit)) {
+      addCargo(unit);
+    }
+  }
+
+  synchronized void unitRemoved(final Unit unit, final Territory territory) {
+    m_territories.remove(unit, territory);
+    if (!isInGame(unit) && unit instanceof TripleAUnit) {
+      removeCargo(unit, ((TripleAUnit) unit).getTransportedBy());
+    }
+  }
+
+  synchronized void transportChanged(final Unit unit, final Unit oldTransport, final Unit newTransport) {
+    removeCargo(unit, oldTransport);
+    if (newTransport != null) {
+      getCargo(newTransport).add(unit);
+    }
+  }
+
+  private void removeCargo(final Unit unit, final Unit transport) {
+    if (transport != null) {
+      final Set<Unit> cargo = m_cargo.get(transport);
+      if (cargo != null) {
+        cargo.remove(unit);
+        if (cargo.isEmpty()) {
+          m_cargo.remove(transport);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package games.strategy.engine.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import games.strategy.util.IntegerMap;
+
+/**
+ * The units of a {@link UnitCollection} grouped by owner and type, in the order they are in the collection, so that
+ * counting them and finding a unit does not have to go through all of them.
+ *
+ * <p>
+ * The type of a unit never changes, but its owner can, without the collection knowing. So the index remembers how many
+ * times the owner of a unit in the game had changed when it was built, see {@link GameData#getUnitOwnerChanges()},
+ * and is out of date once that is no longer the number. That is any owner change in the game, not only of its own
+ * units, so every collection builds its index again after one.
+ * </p>
+ */
+final class UnitsByOwnerAndType {
+  private final int m_unitOwnerChanges;
+  private final Map<PlayerID, Map<UnitType, List<Unit>>> m_units = new HashMap<>();
+
+  UnitsByOwnerAndType(final Iterable<Unit> units, final int unitOwnerChanges) {
+    m_unitOwnerChanges = unitOwnerChanges;
+    for (final Unit unit : units) {
+      add(unit);
+    }
+  }
+
+  boolean isCurrent(final int unitOwnerChanges) {
+    return m_unitOwnerChanges == unitOwnerChanges;
+  }
+
+  void add(final Unit unit) {
+    m_units.computeIfAbsent(unit.getOwner(), k -> new HashMap<>())
+        .computeIfAbsent(unit.getType(), k -> new ArrayList<>()).add(unit);
+  }
+
+  /**
+   * Removes every occurrence of the unit, as {@link List#removeAll(java.util.Collection)} does.
+   */
+  void removeAll(final Unit unit) {
+    final Map<UnitType, List<Unit>> byType = m_units.get(unit.getOwner());
+    if (byType == null) {
+      return;
+    }
+    final List<Unit> units = byType.get(unit.getType());
+    if (units == null) {
+      return;
+    }
+    units.removeAll(Collections.singleton(unit));
+    if (units.isEmpty()) {
+      byType.remove(unit.getType());
+      if (byType.isEmpty()) {
+        m_units.remove(unit.getOwner());
+      }
+    }
+  }
+
+  /**
+   * Removes the first occurrence of the unit, as {@link List#remove(Object)} does.
+   */
+  void remove(final Unit unit) {
+    final List<Unit> units = get(unit.getOwner(), unit.getType());
+    if (units.remove(unit) && units.isEmpty()) {
+      removeAll(unit);
+    }
+  }
+
+  /**
+   * @return whether the unit is in the collection, going through the units of its owner and type.
+   */
+  boolean contains(final Unit unit) {
+    return get(unit.getOwner(), unit.getType()).contains(unit);
+  }
+
+  private List<Unit> get(final PlayerID owner, final UnitType type) {
+    final Map<UnitType, List<Unit>> byType = m_units.get(owner);
+    if (byType == null) {
+      return new ArrayList<>(0);
+    }
+    final List<Unit> units = byType.get(type);
+    return units == null ? new ArrayList<>(0) : units;
+  }
+
+  int getCount(final PlayerID owner, final UnitType type) {
+    return get(owner, type).size();
+  }
+
+  int getCount(final UnitType type) {
+    int count = 0;
+    for (final Map<UnitType, List<Unit>> byType : m_units.values()) {
+      final List<Unit> units = byType.get(type);
+      if (units != null) {
+        count += units.size();
+      }
+    }
+    return count;
+  }
+
+  int getCount(final PlayerID owner) {
+    final Map<UnitType, List<Unit>> byType = m_units.get(owner);
+    if (byType == null) {
+      return 0;
+    }
+    int count = 0;
+    for (final List<Unit> units : byType.values()) {
+      count += units.size();
+    }
+    return count;
+  }
+
+  IntegerMap<UnitType> getCountsByType(final PlayerID owner) {
+    final IntegerMap<UnitType> counts = new IntegerMap<>();
+    final Map<UnitType, List<Unit>> byType = m_units.get(owner);
+    if (byType != null) {
+      for (final Map.Entry<UnitType, List<Unit>> entry : byType.entrySet()) {
+        counts.put(entry.getKey(), entry.getValue().size());
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * @return the owners of the units, each of whom has at least one unit.
+   */
+  Set<PlayerID> getOwners() {
+    return m_units.keySet();
+  }
+}
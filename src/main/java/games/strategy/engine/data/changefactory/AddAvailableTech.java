@@ -1,7 +1,11 @@
 package games.strategy.engine.data.changefactory;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameFact;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.TechnologyFrontier;
 import games.strategy.triplea.delegate.TechAdvance;
@@ -34,4 +38,9 @@ class AddAvailableTech extends Change {
   public Change invert() {
     return new RemoveAvailableTech(m_frontier, m_tech, m_player);
   }
+
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return EnumSet.of(GameFact.TECHNOLOGY);
+  }
 }
@@ -1,10 +1,13 @@
 package games.strategy.engine.data.changefactory;
 
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 
 import games.strategy.engine.data.BattleRecordsList;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameFact;
 import games.strategy.triplea.delegate.dataObjects.BattleRecords;
 
 class AddBattleRecordsChange extends Change {
@@ -40,6 +43,11 @@ class AddBattleRecordsChange extends Change {
     return new RemoveBattleRecordsChange(m_recordsToAdd, m_round);
   }
 
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return EnumSet.of(GameFact.BATTLE_RECORDS);
+  }
+
   @Override
   public String toString() {
     // This only occurs when serialization went badly, or something cannot be serialized.
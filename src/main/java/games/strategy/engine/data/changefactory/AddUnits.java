@@ -2,9 +2,12 @@ package games.strategy.engine.data.changefactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
 
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameFact;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitCollection;
 import games.strategy.engine.data.UnitHolder;
@@ -35,6 +38,11 @@ class AddUnits extends Change {
     return new RemoveUnits(m_name, m_type, m_units);
   }
 
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return EnumSet.of(GameFact.UNITS);
+  }
+
   @Override
   protected void perform(final GameData data) {
     final UnitHolder holder = data.getUnitHolder(m_name, m_type);
@@ -1,8 +1,11 @@
 package games.strategy.engine.data.changefactory;
 
+import java.util.Set;
+
 import games.strategy.engine.data.Attachable;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameFact;
 import games.strategy.engine.data.IAttachment;
 import games.strategy.util.PropertyUtil;
 
@@ -40,6 +43,11 @@ class AttachmentPropertyResetUndo extends Change {
     return new AttachmentPropertyReset(m_attachedTo, m_attachmentName, m_newValue, m_property);
   }
 
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return GameFact.ofAttachment(m_attachedTo, m_attachmentName);
+  }
+
   @Override
   public String toString() {
     return "AttachmentPropertyClearUndo attached to:" + m_attachedTo + " name:" + m_attachmentName + " new value:"
@@ -0,0 +1,101 @@
+package games.strategy.engine.data.changefactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+
+/**
+ * Compacts a list of changes into one change with the same effect, by merging the changes that set the same unit
+ * property, or add to the same resource of a player.
+ *
+ * <p>
+ * Unit properties are only ever set by {@link ObjectPropertyChange}, and resources only changed by
+ * {@link ChangeResourceChange}, and no change reads either of them when it is performed. So a change to one of them
+ * can be merged into the first change to the same property or resource, even if other changes come between them. All
+ * other changes are kept as they are, in the same order.
+ * </p>
+ */
+final class ChangeCompactor {
+  private final List<Change> m_changes = new ArrayList<>();
+  // the index in m_changes of the merged change of each unit property, by unit and property name
+  private final Map<Object, Map<String, Integer>> m_propertyChanges = new IdentityHashMap<>();
+  // the index in m_changes of the merged change of each resource, by player and resource name
+  private final Map<String, Integer> m_resourceChanges = new HashMap<>();
+
+  private ChangeCompactor() {}
+
+  static Change compact(final List<Change> changes) {
+    final ChangeCompactor compactor = new ChangeCompactor();
+    for (final Change change : changes) {
+      compactor.add(change);
+    }
+    return compactor.toChange();
+  }
+
+  private void add(final Change change) {
+    if (change instanceof CompositeChange) {
+      for (final Change child : ((CompositeChange) change).getChanges()) {
+        add(child);
+      }
+    } else if (change instanceof ObjectPropertyChange) {
+      addPropertyChange((ObjectPropertyChange) change);
+    } else if (change instanceof ChangeResourceChange) {
+      addResourceChange((ChangeResourceChange) change);
+    } else {
+      m_changes.add(change);
+    }
+  }
+
+  private void addPropertyChange(final ObjectPropertyChange change) {
+    final Map<String, Integer> properties = m_propertyChanges.computeIfAbsent(change.getObject(), k -> new HashMap<>());
+    final Integer index = properties.get(change.getProperty());
+    if (index == null) {
+      properties.put(change.getProperty(), m_changes.size());
+      m_changes.add(change);
+    } else {
+      final ObjectPropertyChange first = (ObjectPropertyChange) m_changes.get(index);
+      m_changes.set(index, new ObjectPropertyChange(change.getObject(), change.getProperty(), change.getNewValue(),
+          first.getOldValue()));
+    }
+  }
+
+  private void addResourceChange(final ChangeResourceChange change) {
+    final String key = change.getPlayer() + '\0' + change.getResource();
+    final Integer index = m_resourceChanges.get(key);
+    if (index == null) {
+      m_resourceChanges.put(key, m_changes.size());
+      m_changes.add(change);
+    } else {
+      final ChangeResourceChange first = (ChangeResourceChange) m_changes.get(index);
+      m_changes.set(index, new ChangeResourceChange(change.getPlayer(), change.getResource(),
+          first.getQuantity() + change.getQuantity()));
+    }
+  }
+
+  private Change toChange() {
+    final List<Change> changes = new ArrayList<>(m_changes.size());
+    for (final Change change : m_changes) {
+      if (!isNoChange(change)) {
+        changes.add(change);
+      }
+    }
+    return new CompositeChange(changes);
+  }
+
+  private static boolean isNoChange(final Change change) {
+    if (change instanceof ObjectPropertyChange) {
+      final ObjectPropertyChange propertyChange = (ObjectPropertyChange) change;
+      return Objects.equals(propertyChange.getNewValue(), propertyChange.getOldValue());
+    }
+    if (change instanceof ChangeResourceChange) {
+      return ((ChangeResourceChange) change).getQuantity() == 0;
+    }
+    return false;
+  }
+}
@@ -1,7 +1,9 @@
 package games.strategy.engine.data.changefactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import games.strategy.engine.data.Attachable;
@@ -44,6 +46,33 @@ import games.strategy.util.IntegerMap;
  * </p>
  */
 public class ChangeFactory {
+  /**
+   * The classes of the changes made here, in a fixed order since game object streams write them by their position.
+   * Only ever add to the end of the list.
+   */
+  public static final List<Class<? extends Change>> CHANGE_CLASSES = Collections.unmodifiableList(Arrays.asList(
+      AddAttachmentChange.class,
+      AddAvailableTech.class,
+      AddBattleRecordsChange.class,
+      AddProductionRule.class,
+      AddUnits.class,
+      AttachmentPropertyReset.class,
+      AttachmentPropertyResetUndo.class,
+      ChangeResourceChange.class,
+      GenericTechChange.class,
+      ObjectPropertyChange.class,
+      OwnerChange.class,
+      PlayerOwnerChange.class,
+      PlayerWhoAmIChange.class,
+      ProductionFrontierChange.class,
+      RelationshipChange.class,
+      RemoveAttachmentChange.class,
+      RemoveAvailableTech.class,
+      RemoveBattleRecordsChange.class,
+      RemoveProductionRule.class,
+      RemoveUnits.class,
+      SetPropertyChange.class));
+
   public static final Change EMPTY_CHANGE = new Change() {
     private static final long serialVersionUID = -5514560889478876641L;
 
@@ -200,6 +229,14 @@ public class ChangeFactory {
     return new ObjectPropertyChange(unit, propertyName, newValue);
   }
 
+  /**
+   * @return one change with the same effect as performing the given changes in order, where the changes that set the
+   *         same unit property, or add to the same resource of a player, have been merged into one.
+   */
+  public static Change compact(final List<Change> changes) {
+    return ChangeCompactor.compact(changes);
+  }
+
   public static Change addBattleRecords(final BattleRecords records, final GameData data) {
     return new AddBattleRecordsChange(records, data);
   }
@@ -1,7 +1,11 @@
 package games.strategy.engine.data.changefactory;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameFact;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Resource;
 import games.strategy.engine.data.ResourceCollection;
@@ -21,17 +25,34 @@ class ChangeResourceChange extends Change {
     m_quantity = quantity;
   }
 
-  private ChangeResourceChange(final String player, final String resource, final int quantity) {
+  ChangeResourceChange(final String player, final String resource, final int quantity) {
     m_player = player;
     m_resource = resource;
     m_quantity = quantity;
   }
 
+  String getPlayer() {
+    return m_player;
+  }
+
+  String getResource() {
+    return m_resource;
+  }
+
+  int getQuantity() {
+    return m_quantity;
+  }
+
   @Override
   public Change invert() {
     return new ChangeResourceChange(m_player, m_resource, -m_quantity);
   }
 
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return EnumSet.of(GameFact.RESOURCES);
+  }
+
   @Override
   protected void perform(final GameData data) {
     final Resource resource = data.getResourceList().getResource(m_resource);
@@ -1,8 +1,12 @@
 package games.strategy.engine.data.changefactory;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import games.strategy.engine.data.Attachable;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameFact;
 import games.strategy.triplea.attachments.TechAttachment;
 
 class GenericTechChange extends Change {
@@ -52,6 +56,11 @@ class GenericTechChange extends Change {
     return new GenericTechChange(m_attachedTo, m_attachmentName, m_oldValue, m_newValue, m_property);
   }
 
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return EnumSet.of(GameFact.TECHNOLOGY);
+  }
+
   @Override
   public String toString() {
     return "GenericTechChange attached to:" + m_attachedTo + " name:" + m_attachmentName + " new value:" + m_newValue
@@ -2,9 +2,13 @@ package games.strategy.engine.data.changefactory;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.util.EnumSet;
+import java.util.Set;
 
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameFact;
+import games.strategy.engine.data.Unit;
 import games.strategy.util.PropertyUtil;
 
 public class ObjectPropertyChange extends Change {
@@ -22,7 +26,7 @@ public class ObjectPropertyChange extends Change {
     m_oldValue = PropertyUtil.getPropertyFieldObject(property, object);
   }
 
-  private ObjectPropertyChange(final Object object, final String property, final Object newValue,
+  ObjectPropertyChange(final Object object, final String property, final Object newValue,
       final Object oldValue) {
     m_object = object;
     // prevent multiple copies of the property names being held in the game
@@ -36,11 +40,32 @@ public class ObjectPropertyChange extends Change {
     m_property = m_property.intern();
   }
 
+  Object getObject() {
+    return m_object;
+  }
+
+  String getProperty() {
+    return m_property;
+  }
+
+  Object getNewValue() {
+    return m_newValue;
+  }
+
+  Object getOldValue() {
+    return m_oldValue;
+  }
+
   @Override
   public Change invert() {
     return new ObjectPropertyChange(m_object, m_property, m_oldValue, m_newValue);
   }
 
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return m_object instanceof Unit ? EnumSet.of(GameFact.UNITS) : super.getChangedFacts();
+  }
+
   @Override
   protected void perform(final GameData data) {
     PropertyUtil.set(m_property, m_newValue, m_object);
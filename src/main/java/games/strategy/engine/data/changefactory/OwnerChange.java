@@ -1,7 +1,11 @@
 package games.strategy.engine.data.changefactory;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameFact;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 
@@ -51,6 +55,11 @@ class OwnerChange extends Change {
     return new OwnerChange(m_territory, m_old, m_new);
   }
 
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return EnumSet.of(GameFact.TERRITORY_OWNERS);
+  }
+
   @Override
   protected void perform(final GameData data) {
     // both names could be null
@@ -1,7 +1,11 @@
 package games.strategy.engine.data.changefactory;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameFact;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.RelationshipType;
 import games.strategy.engine.data.Territory;
@@ -39,6 +43,11 @@ class RelationshipChange extends Change {
     return new RelationshipChange(m_player1, m_player2, m_NewRelation, m_OldRelation);
   }
 
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return EnumSet.of(GameFact.RELATIONSHIPS);
+  }
+
   @Override
   protected void perform(final GameData data) {
     data.getRelationshipTracker().setRelationship(data.getPlayerList().getPlayerID(m_player1),
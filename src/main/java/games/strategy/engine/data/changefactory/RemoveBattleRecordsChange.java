@@ -1,10 +1,13 @@
 package games.strategy.engine.data.changefactory;
 
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 
 import games.strategy.engine.data.BattleRecordsList;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameFact;
 import games.strategy.triplea.delegate.dataObjects.BattleRecords;
 
 class RemoveBattleRecordsChange extends Change {
@@ -31,6 +34,11 @@ class RemoveBattleRecordsChange extends Change {
     return new AddBattleRecordsChange(m_recordsToRemove, m_round);
   }
 
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return EnumSet.of(GameFact.BATTLE_RECORDS);
+  }
+
   @Override
   public String toString() {
     // This only occurs when serialization went badly, or something cannot be serialized.
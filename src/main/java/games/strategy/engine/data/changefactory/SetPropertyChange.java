@@ -1,7 +1,11 @@
 package games.strategy.engine.data.changefactory;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameFact;
 import games.strategy.engine.data.properties.GameProperties;
 
 class SetPropertyChange extends Change {
@@ -27,6 +31,11 @@ class SetPropertyChange extends Change {
     return new SetPropertyChange(m_property, m_oldValue, m_value);
   }
 
+  @Override
+  public Set<GameFact> getChangedFacts() {
+    return EnumSet.of(GameFact.PROPERTIES);
+  }
+
   @Override
   protected void perform(final GameData data) {
     data.getProperties().set(m_property, m_value);
@@ -19,6 +19,7 @@ import java.util.zip.GZIPOutputStream;
 import games.strategy.debug.ClientLogger;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameDataComponent;
+import games.strategy.engine.data.GameFact;
 
 /**
  * Properties of the current game. <br>
@@ -71,6 +72,7 @@ public class GameProperties extends GameDataComponent {
       constantProperties.put(key, value);
       ordering.add(key);
     }
+    propertiesChanged();
   }
 
   /**
@@ -121,6 +123,7 @@ public class GameProperties extends GameDataComponent {
     // add to the editable properties
     editableProperties.put(property.getName(), property);
     ordering.add(property.getName());
+    propertiesChanged();
   }
 
   /**
@@ -144,6 +147,13 @@ public class GameProperties extends GameDataComponent {
       playerProperties = new HashMap<>();
     }
     playerProperties.put(property.getName(), property);
+    propertiesChanged();
+  }
+
+  private void propertiesChanged() {
+    if (getData() != null) {
+      getData().factChanged(GameFact.PROPERTIES);
+    }
   }
 
   public IEditableProperty getPlayerProperty(final String name) {
@@ -0,0 +1,130 @@
+package games.strategy.engine.framework;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.history.History;
+
+/**
+ * Creates deep copies of a {@link GameData} without going through the save game format.
+ *
+ * <p>
+ * The copies are still made with Java serialization of the data classes, only into an in-memory snapshot and back,
+ * rather than by walking the object graph by hand. That keeps every attachment and tracker type copied correctly as
+ * they change, at the cost of the serialization overhead itself.
+ * </p>
+ *
+ * <p>
+ * A copier captures the object graph of the game data once, when it is created, into an uncompressed in-memory
+ * snapshot. Unlike {@link GameDataManager#saveGame(OutputStream, GameData)}, no engine version header is written, the
+ * snapshot is neither GZIP'd nor copied into a second buffer, and the game history may be left out entirely. Each call
+ * to {@link #copy()} rebuilds a complete, independent object graph from the snapshot with object identity preserved
+ * (e.g. a unit in a territory is the same instance as the unit in the game's {@code UnitsList}).
+ * </p>
+ *
+ * <p>
+ * Threading: the game data read lock only needs to be held while creating the copier. {@link #copy()} does not touch
+ * the original game data and may be called concurrently from multiple threads, so callers that need several copies
+ * (such as odds calculator workers) pay for walking the original game data only once.
+ * </p>
+ */
+public final class GameDataCopier {
+  private final byte[] snapshot;
+  private final int snapshotLength;
+  private final boolean includesDelegates;
+
+  private GameDataCopier(final byte[] snapshot, final int snapshotLength, final boolean includesDelegates) {
+    this.snapshot = snapshot;
+    this.snapshotLength = snapshotLength;
+    this.includesDelegates = includesDelegates;
+  }
+
+  /**
+   * Captures a snapshot of the specified game data.
+   * <strong>You should have the game data's read or write lock before calling this method</strong>
+   *
+   * @param data The game data to capture.
+   * @param copyDelegates {@code true} if the state of the game data's delegates should be included in the copies.
+   * @param copyHistory {@code true} if the game history should be included in the copies; otherwise each copy starts
+   *        with an empty history.
+   *
+   * @return A copier that creates copies of the game data as it was when this method was called.
+   *
+   * @throws IOException If the game data cannot be captured.
+   */
+  public static GameDataCopier snapshotOf(final GameData data, final boolean copyDelegates, final boolean copyHistory)
+      throws IOException {
+    checkNotNull(data);
+
+    final SnapshotOutputStream sink = new SnapshotOutputStream();
+    try (final ObjectOutputStream out = new CopierObjectOutputStream(sink, copyHistory)) {
+      out.writeObject(data);
+      if (copyDelegates) {
+        GameDataManager.writeDelegates(data, out);
+      }
+    }
+    return new GameDataCopier(sink.getBuffer(), sink.size(), copyDelegates);
+  }
+
+  /**
+   * Creates a new deep copy of the captured game data.
+   *
+   * @return A new game data instance that shares no mutable state with the original or with any other copy.
+   *
+   * @throws IOException If the snapshot cannot be read.
+   */
+  public GameData copy() throws IOException {
+    try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(snapshot, 0, snapshotLength))) {
+      final GameData data = (GameData) in.readObject();
+      if (includesDelegates) {
+        GameDataManager.loadDelegates(in, data);
+      }
+      data.postDeSerialize();
+      return data;
+    } catch (final ClassNotFoundException e) {
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * @return The size in bytes of the captured snapshot.
+   */
+  public int getSnapshotSize() {
+    return snapshotLength;
+  }
+
+  /**
+   * Exposes its internal buffer so the snapshot does not have to be copied out of the stream.
+   */
+  private static final class SnapshotOutputStream extends ByteArrayOutputStream {
+    SnapshotOutputStream() {
+      super(64 * 1024);
+    }
+
+    byte[] getBuffer() {
+      return buf;
+    }
+  }
+
+  private static final class CopierObjectOutputStream extends ObjectOutputStream {
+    private final boolean copyHistory;
+
+    CopierObjectOutputStream(final OutputStream out, final boolean copyHistory) throws IOException {
+      super(out);
+      this.copyHistory = copyHistory;
+      enableReplaceObject(!copyHistory);
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj) {
+      return copyHistory ? obj : History.emptyIfSerializedHistory(obj);
+    }
+  }
+}
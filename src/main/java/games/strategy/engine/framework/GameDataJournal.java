@@ -0,0 +1,339 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nullable;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.delegate.IDelegate;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.engine.history.SerializationWriter;
+
+/**
+ * A saved game that is written as a checkpoint of the whole game, followed by records of only what happened since the
+ * save before them. Saving the game again appends a record to the file, instead of writing the whole game each time.
+ *
+ * <p>
+ * A record holds what was written to the history since the save before it, which includes every change to the game
+ * data, and the position in the game sequence and the state of the delegates, which are not kept as changes. Once a
+ * number of records have been appended, or they have grown larger than the checkpoint, the next save writes a new
+ * checkpoint and replaces the file, so loading never has to replay much.
+ * </p>
+ *
+ * <p>
+ * {@link GameDataManager#loadGame(InputStream, String)} recognizes these files, and loads them by loading the last
+ * checkpoint and replaying the records after it. A record that was not completely written is ignored.
+ * </p>
+ */
+public final class GameDataJournal {
+  private static final int MAGIC = 0x544a4e4c;
+  private static final int CHECKPOINT = 1;
+  private static final int DELTA = 2;
+  static final int DEFAULT_RECORDS_PER_CHECKPOINT = 20;
+
+  private final File file;
+  private final int recordsPerCheckpoint;
+
+  // what has been taken to be written, guarded by this
+  private int takenMark = -1;
+  private int recordsSinceCheckpoint;
+  private long checkpointSize;
+  private long recordsSizeSinceCheckpoint;
+
+  // what has been written to the file, guarded by writeLock
+  private final Object writeLock = new Object();
+  private int writtenMark = -1;
+  private long writtenLength;
+  private long writtenLastModified;
+
+  private volatile boolean checkpointNeeded;
+
+  public GameDataJournal(final File file) {
+    this(file, DEFAULT_RECORDS_PER_CHECKPOINT);
+  }
+
+  GameDataJournal(final File file, final int recordsPerCheckpoint) {
+    this.file = file;
+    this.recordsPerCheckpoint = recordsPerCheckpoint;
+  }
+
+  /**
+   * Writing what was taken by {@link GameDataJournal#take(GameData)} to the file.
+   */
+  @FunctionalInterface
+  public interface Write {
+    void write() throws IOException;
+  }
+
+  /**
+   * Takes what needs to be saved of the game now, which is the whole game the first time and whenever a new checkpoint
+   * is due, and otherwise only what happened since the last time. Nothing may be written to the history of the game
+   * while this runs, so it should be called with delegate execution blocked, as for any other save.
+   *
+   * <p>
+   * The returned writes must be done in the order they were taken, but can be done later and on another thread. If
+   * one of them fails, those taken after it are skipped until the next checkpoint.
+   * </p>
+   *
+   * @param data The game data to save. Its history starts recording what is written to it, if it was not already.
+   *
+   * @return The write of what was taken to the file.
+   *
+   * @throws IOException If an error occurs while serializing the game.
+   */
+  public synchronized Write take(final GameData data) throws IOException {
+    final HistoryWriter historyWriter = data.getHistory().getHistoryWriter();
+    historyWriter.startRecording();
+    final int mark = historyWriter.getRecordedCount();
+    if (takenMark < 0 || checkpointNeeded || recordsSinceCheckpoint >= recordsPerCheckpoint
+        || recordsSizeSinceCheckpoint > checkpointSize || !historyWriter.isRecordedSince(takenMark)) {
+      checkpointNeeded = false;
+      final GameDataManager.SerializedGame game = GameDataManager.serializeGame(data);
+      takenMark = mark;
+      historyWriter.trimTo(this, mark);
+      recordsSinceCheckpoint = 0;
+      recordsSizeSinceCheckpoint = 0;
+      checkpointSize = game.getSize();
+      return () -> writeCheckpoint(game, mark);
+    }
+    final int from = takenMark;
+    final byte[] record = serializeRecord(data, historyWriter.getRecordedSince(from));
+    takenMark = mark;
+    // a failed write is followed by a checkpoint, so what was taken is never needed again
+    historyWriter.trimTo(this, mark);
+    recordsSinceCheckpoint++;
+    recordsSizeSinceCheckpoint += record.length;
+    return () -> appendRecord(record, from, mark);
+  }
+
+  /**
+   * @return a record of the history operations, and of the game sequence position and the delegate states as they are
+   *         now, uncompressed.
+   */
+  static byte[] serializeRecord(final GameData data, final List<SerializationWriter> historyOperations)
+      throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    // plain serialization, like the checkpoint, so the version check of the checkpoint also covers the records
+    try (final ObjectOutputStream out = new GameObjectOutputStream(bytes)) {
+      data.acquireReadLock();
+      try {
+        out.writeObject(historyOperations);
+        out.writeInt(data.getSequence().getRound());
+        out.writeInt(data.getSequence().getStepIndex());
+        final Map<String, Serializable> delegateStates = new LinkedHashMap<>();
+        for (final IDelegate delegate : data.getDelegateList()) {
+          delegateStates.put(delegate.getName(), delegate.saveState());
+        }
+        out.writeObject(delegateStates);
+      } finally {
+        data.releaseReadLock();
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  private void writeCheckpoint(final GameDataManager.SerializedGame game, final int mark) throws IOException {
+    synchronized (writeLock) {
+      try {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        game.writeTo(compressed);
+        GameDataManager.replaceFile(file, os -> {
+          final DataOutputStream out = new DataOutputStream(os);
+          out.writeInt(MAGIC);
+          writeRecord(out, CHECKPOINT, compressed.toByteArray());
+          out.flush();
+        });
+        writtenMark = mark;
+        writtenLength = Integer.BYTES + recordLength(compressed.size());
+        writtenLastModified = file.lastModified();
+      } catch (final IOException e) {
+        writeFailed();
+        throw e;
+      }
+    }
+  }
+
+  private void appendRecord(final byte[] record, final int from, final int mark) throws IOException {
+    synchronized (writeLock) {
+      if (writtenMark != from) {
+        // a write before this one failed, so appending this would leave out what it had
+        writeFailed();
+        return;
+      }
+      try {
+        final byte[] compressed = compress(record);
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+          if (channel.size() != writtenLength || file.lastModified() != writtenLastModified) {
+            // the file was changed by something else, appending to it would not give the game we saved
+            throw new IOException("Saved game changed since it was last written: " + file);
+          }
+          channel.position(writtenLength);
+          final DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+          writeRecord(out, DELTA, compressed);
+          out.flush();
+        }
+        writtenMark = mark;
+        writtenLength += recordLength(compressed.length);
+        writtenLastModified = file.lastModified();
+      } catch (final IOException e) {
+        writeFailed();
+        throw e;
+      }
+    }
+  }
+
+  private void writeFailed() {
+    writtenMark = -1;
+    checkpointNeeded = true;
+  }
+
+  static byte[] compress(final byte[] bytes) throws IOException {
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+    try (final OutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(bytes);
+    }
+    return compressed.toByteArray();
+  }
+
+  private static void writeRecord(final DataOutputStream out, final int type, final byte[] bytes) throws IOException {
+    out.writeByte(type);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * @param checkpoint The compressed checkpoint.
+   * @param record The compressed record of what happened after the checkpoint, or {@code null} if none.
+   *
+   * @return a journal in memory, as it would be written to a file.
+   */
+  static byte[] toBytes(final byte[] checkpoint, final @Nullable byte[] record) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(Integer.BYTES + (int) recordLength(checkpoint.length)
+        + (record == null ? 0 : (int) recordLength(record.length)));
+    final DataOutputStream out = new DataOutputStream(bytes);
+    try {
+      out.writeInt(MAGIC);
+      writeRecord(out, CHECKPOINT, checkpoint);
+      if (record != null) {
+        writeRecord(out, DELTA, record);
+      }
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static long recordLength(final int size) {
+    return 1 + Integer.BYTES + size;
+  }
+
+  /**
+   * @return true if the stream starts like a journal. The stream must support mark and reset, and is left where it was.
+   */
+  static boolean isJournal(final InputStream is) throws IOException {
+    is.mark(Integer.BYTES);
+    try {
+      return new DataInputStream(is).readInt() == MAGIC;
+    } catch (final EOFException e) {
+      return false;
+    } finally {
+      is.reset();
+    }
+  }
+
+  /**
+   * Loads the game saved in a journal, as of the last complete record in it.
+   *
+   * @param is The stream from which the journal will be read. The caller is responsible for closing this stream.
+   * @param path The path to the file from which the journal originated or {@code null} if none.
+   *
+   * @return The loaded game data, or {@code null} if the checkpoint was saved by an incompatible engine.
+   *
+   * @throws IOException If an error occurs while loading the game.
+   */
+  static GameData load(final InputStream is, final @Nullable String path) throws IOException {
+    final DataInputStream in = new DataInputStream(is);
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a saved game journal");
+    }
+    byte[] checkpoint = null;
+    final List<byte[]> records = new ArrayList<>();
+    for (int type = in.read(); type >= 0; type = in.read()) {
+      final byte[] bytes;
+      try {
+        final int length = in.readInt();
+        if (length < 0) {
+          throw new IOException("Corrupt saved game journal, record length: " + length);
+        }
+        bytes = new byte[length];
+        in.readFully(bytes);
+      } catch (final EOFException e) {
+        // the game was being saved when this record was cut off, load it as of the record before
+        break;
+      }
+      if (type == CHECKPOINT) {
+        checkpoint = bytes;
+        records.clear();
+      } else if (type == DELTA) {
+        records.add(bytes);
+      } else {
+        throw new IOException("Corrupt saved game journal, record type: " + type);
+      }
+    }
+    if (checkpoint == null) {
+      throw new IOException("Saved game journal has no checkpoint");
+    }
+    final GameData data = GameDataManager.loadSingleGame(new ByteArrayInputStream(checkpoint), path);
+    if (data == null) {
+      return null;
+    }
+    for (final byte[] record : records) {
+      replayRecord(data, record);
+    }
+    return data;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void replayRecord(final GameData data, final byte[] record) throws IOException {
+    // the records after a checkpoint were written by the engine that wrote the checkpoint, which loading it checked
+    try (final ObjectInputStream in = new GameObjectInputStream(new GameObjectStreamFactory(data),
+        new GZIPInputStream(new ByteArrayInputStream(record)))) {
+      final List<SerializationWriter> historyOperations = (List<SerializationWriter>) in.readObject();
+      final int round = in.readInt();
+      final int stepIndex = in.readInt();
+      final Map<String, Serializable> delegateStates = (Map<String, Serializable>) in.readObject();
+      data.getHistory().getHistoryWriter().replay(historyOperations);
+      data.getSequence().setRoundAndStepIndex(round, stepIndex);
+      for (final Map.Entry<String, Serializable> entry : delegateStates.entrySet()) {
+        final IDelegate delegate = data.getDelegateList().getDelegate(entry.getKey());
+        if (delegate != null) {
+          delegate.loadState(entry.getValue());
+        }
+      }
+    } catch (final ClassNotFoundException e) {
+      throw new IOException(e);
+    }
+  }
+}
@@ -6,12 +6,16 @@ import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
@@ -87,6 +91,17 @@ public final class GameDataManager {
   public static GameData loadGame(final InputStream is, final @Nullable String path) throws IOException {
     checkNotNull(is);
 
+    final InputStream input = is.markSupported() ? is : new BufferedInputStream(is);
+    if (GameDataJournal.isJournal(input)) {
+      return GameDataJournal.load(input, path);
+    }
+    return loadSingleGame(input, path);
+  }
+
+  /**
+   * Loads a game that was saved whole, and not as a {@link GameDataJournal}.
+   */
+  static GameData loadSingleGame(final InputStream is, final @Nullable String path) throws IOException {
     return ClientSetting.TEST_USE_PROXY_SERIALIZATION.booleanValue()
         ? loadGameInProxySerializationFormat(is)
         : loadGameInSerializationFormat(is, path);
@@ -264,7 +279,7 @@ public final class GameDataManager {
      */
   }
 
-  private static void loadDelegates(final ObjectInputStream input, final GameData data)
+  static void loadDelegates(final ObjectInputStream input, final GameData data)
       throws ClassNotFoundException, IOException {
     for (Object endMarker = input.readObject(); !endMarker.equals(DELEGATE_LIST_END); endMarker = input.readObject()) {
       final String name = (String) input.readObject();
@@ -307,14 +322,36 @@ public final class GameDataManager {
       final GameData gameData,
       final boolean includeDelegates)
       throws IOException {
+    serializeGame(gameData, includeDelegates).writeTo(os);
+  }
+
+  /**
+   * Serializes the specified game data in memory, so that it can be compressed and written to disk later without
+   * holding up the game.
+   *
+   * @param gameData The game data to save.
+   *
+   * @return The saved game, ready to be written with {@link SerializedGame#writeTo(OutputStream)}.
+   *
+   * @throws IOException If an error occurs while serializing the game.
+   */
+  public static SerializedGame serializeGame(final GameData gameData) throws IOException {
+    checkNotNull(gameData);
+
+    return serializeGame(gameData, true);
+  }
+
+  private static SerializedGame serializeGame(final GameData gameData, final boolean includeDelegates)
+      throws IOException {
     if (ClientSetting.TEST_USE_PROXY_SERIALIZATION.booleanValue()) {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream(25000);
       saveGameInProxySerializationFormat(
-          os,
+          bytes,
           gameData,
           Collections.singletonMap(GameDataMemento.ExportOptionName.EXCLUDE_DELEGATES, !includeDelegates));
-    } else {
-      saveGameInSerializationFormat(os, gameData, includeDelegates);
+      return new SerializedGame(bytes.toByteArray(), true);
     }
+    return serializeGameInSerializationFormat(gameData, includeDelegates);
   }
 
   @VisibleForTesting
@@ -345,8 +382,7 @@ public final class GameDataManager {
     }
   }
 
-  private static void saveGameInSerializationFormat(
-      final OutputStream sink,
+  private static SerializedGame serializeGameInSerializationFormat(
       final GameData data,
       final boolean saveDelegateInfo)
       throws IOException {
@@ -365,13 +401,11 @@ public final class GameDataManager {
     } finally {
       data.releaseReadLock();
     }
-    try (final GZIPOutputStream zippedOut = new GZIPOutputStream(sink)) {
-      // now write to file
-      zippedOut.write(bytes.toByteArray());
-    }
+    outStream.flush();
+    return new SerializedGame(bytes.toByteArray(), false);
   }
 
-  private static void writeDelegates(final GameData data, final ObjectOutputStream out) throws IOException {
+  static void writeDelegates(final GameData data, final ObjectOutputStream out) throws IOException {
     final Iterator<IDelegate> iter = data.getDelegateList().iterator();
     while (iter.hasNext()) {
       out.writeObject(DELEGATE_START);
@@ -386,4 +420,90 @@ public final class GameDataManager {
     // mark end of delegate section
     out.writeObject(DELEGATE_LIST_END);
   }
+
+  /**
+   * A game that has been serialized in memory, but not written anywhere yet.
+   */
+  public static final class SerializedGame {
+    private final byte[] bytes;
+    private final boolean compressed;
+
+    private SerializedGame(final byte[] bytes, final boolean compressed) {
+      this.bytes = bytes;
+      this.compressed = compressed;
+    }
+
+    /**
+     * @return the number of bytes the game takes in memory.
+     */
+    int getSize() {
+      return bytes.length;
+    }
+
+    /**
+     * Compresses the game and writes it to the specified stream.
+     *
+     * @param os The stream to which the game will be written. The caller is responsible for closing this stream; it
+     *        will not be closed when this method returns.
+     *
+     * @throws IOException If an error occurs while writing the game.
+     */
+    public void writeTo(final OutputStream os) throws IOException {
+      if (compressed) {
+        os.write(bytes);
+      } else {
+        final GZIPOutputStream zippedOut = new GZIPOutputStream(os);
+        zippedOut.write(bytes);
+        zippedOut.finish();
+      }
+      os.flush();
+    }
+
+    /**
+     * Compresses the game and writes it to the specified file. The game is written to a temporary file next to it
+     * first, which then replaces the file, so the file always holds a complete game even if writing fails halfway.
+     *
+     * @param file The file to which the game will be written.
+     *
+     * @throws IOException If an error occurs while writing the game.
+     */
+    public void writeTo(final File file) throws IOException {
+      replaceFile(file, this::writeTo);
+    }
+  }
+
+  /**
+   * Writes something to an output stream.
+   */
+  @FunctionalInterface
+  interface StreamWriter {
+    void writeTo(OutputStream os) throws IOException;
+  }
+
+  /**
+   * Writes the specified file to a temporary file next to it first, which then replaces the file, so the file is
+   * either left as it was or completely written even if writing fails halfway. The temporary file is deleted when
+   * writing fails, without hiding why it failed.
+   */
+  static void replaceFile(final File file, final StreamWriter writer) throws IOException {
+    final File directory = file.getAbsoluteFile().getParentFile();
+    final File temp = File.createTempFile(file.getName(), ".tmp", directory);
+    boolean replaced = false;
+    try {
+      try (final OutputStream os = new FileOutputStream(temp)) {
+        writer.writeTo(os);
+      }
+      try {
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (final AtomicMoveNotSupportedException e) {
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+      replaced = true;
+    } finally {
+      if (!replaced && !temp.delete()) {
+        temp.deleteOnExit();
+      }
+    }
+  }
 }
@@ -4,10 +4,15 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import games.strategy.debug.ClientLogger;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
 import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.data.Unit;
 
 public class GameDataUtils {
   public static GameData cloneGameData(final GameData data) {
@@ -19,13 +24,17 @@ public class GameDataUtils {
    * <strong>You should have the game data's read or write lock before calling this method</strong>
    */
   public static GameData cloneGameData(final GameData data, final boolean copyDelegates) {
+    return cloneGameData(data, copyDelegates, true);
+  }
+
+  /**
+   * Create a deep copy of GameData, optionally leaving out the game history. Copies without history are much smaller
+   * and faster to create, and are intended for simulations (AI, battle calculator) that never look at the history.
+   * <strong>You should have the game data's read or write lock before calling this method</strong>
+   */
+  public static GameData cloneGameData(final GameData data, final boolean copyDelegates, final boolean copyHistory) {
     try {
-      ByteArrayOutputStream sink = new ByteArrayOutputStream(10000);
-      GameDataManager.saveGame(sink, data, copyDelegates);
-      sink.close();
-      final ByteArrayInputStream source = new ByteArrayInputStream(sink.toByteArray());
-      sink = null;
-      return GameDataManager.loadGame(source, null);
+      return GameDataCopier.snapshotOf(data, copyDelegates, copyHistory).copy();
     } catch (final IOException ex) {
       ClientLogger.logQuietly(ex);
       return null;
@@ -40,13 +49,13 @@ public class GameDataUtils {
   public static <T> T translateIntoOtherGameData(final T object, final GameData translateInto) {
     try {
       ByteArrayOutputStream sink = new ByteArrayOutputStream(1024);
-      try (final GameObjectOutputStream out = new GameObjectOutputStream(sink)) {
+      try (final GameObjectOutputStream out = new GameObjectOutputStream(sink, true)) {
         out.writeObject(object);
       }
       final ByteArrayInputStream source = new ByteArrayInputStream(sink.toByteArray());
       sink = null;
       final GameObjectStreamFactory factory = new GameObjectStreamFactory(translateInto);
-      final ObjectInputStream in = factory.create(source);
+      final ObjectInputStream in = factory.createCompact(source);
       try {
         return (T) in.readObject();
       } catch (final ClassNotFoundException ex) {
@@ -57,4 +66,33 @@ public class GameDataUtils {
       throw new RuntimeException(ioe);
     }
   }
+
+  /**
+   * Creates private copies of units (and of any units they reference, such as their transports) for use with the
+   * specified game data. Unlike {@link #translateIntoOtherGameData(Object, GameData)}, the copies are not registered
+   * with the game data, so they can be modified without affecting the game data or anyone else sharing it. The copies
+   * are equal to the original units.
+   */
+  public static List<Unit> copyUnitsDetachedFromGameData(final Collection<Unit> units, final GameData data) {
+    try {
+      ByteArrayOutputStream sink = new ByteArrayOutputStream(1024);
+      try (final GameObjectOutputStream out = new GameObjectOutputStream(sink, true)) {
+        out.writeObject(new ArrayList<>(units));
+      }
+      final ByteArrayInputStream source = new ByteArrayInputStream(sink.toByteArray());
+      sink = null;
+      final ObjectInputStream in =
+          new GameObjectInputStream(new GameObjectStreamFactory(data), source, false, true);
+      try {
+        @SuppressWarnings("unchecked")
+        final List<Unit> copies = (List<Unit>) in.readObject();
+        return copies;
+      } catch (final ClassNotFoundException ex) {
+        // should never happen
+        throw new RuntimeException(ex);
+      }
+    } catch (final IOException ioe) {
+      throw new RuntimeException(ioe);
+    }
+  }
 }
@@ -9,6 +9,7 @@ import java.io.OutputStream;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameObjectInputStream;
 import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.net.ClassTable;
 import games.strategy.net.IObjectStreamFactory;
 
 public class GameObjectStreamFactory implements IObjectStreamFactory {
@@ -28,6 +29,21 @@ public class GameObjectStreamFactory implements IObjectStreamFactory {
     return new GameObjectOutputStream(stream);
   }
 
+  @Override
+  public ClassTable getClassTable() {
+    return GameObjectOutputStream.CLASS_TABLE;
+  }
+
+  @Override
+  public ObjectInputStream createCompact(final InputStream stream) throws IOException {
+    return new GameObjectInputStream(this, stream, true, true);
+  }
+
+  @Override
+  public ObjectOutputStream createCompact(final OutputStream stream) throws IOException {
+    return new GameObjectOutputStream(stream, true);
+  }
+
   public void setData(final GameData data) {
     m_data = data;
   }
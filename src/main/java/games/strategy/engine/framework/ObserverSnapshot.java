@@ -0,0 +1,47 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.history.HistoryWriter;
+
+/**
+ * The game as sent to observers joining it while it is running, kept serialized between joins.
+ *
+ * <p>
+ * The whole game is serialized and compressed once, as the checkpoint of a {@link GameDataJournal}. Observers that
+ * join after that get the checkpoint, followed by a record of what was written to the history since it was taken,
+ * which is much quicker to serialize than the whole game. Once that record grows to half the size of the checkpoint,
+ * the next observer to join takes a new checkpoint.
+ * </p>
+ */
+final class ObserverSnapshot {
+  private byte[] checkpoint;
+  private int checkpointMark;
+
+  /**
+   * Nothing may be written to the history of the game while this runs, so it should be called with delegate execution
+   * blocked.
+   *
+   * @return the game as it is now, in a form that {@link GameDataManager#loadGame(java.io.InputStream, String)} loads.
+   */
+  synchronized byte[] take(final GameData data) throws IOException {
+    final HistoryWriter historyWriter = data.getHistory().getHistoryWriter();
+    historyWriter.startRecording();
+    final int mark = historyWriter.getRecordedCount();
+    if (checkpoint != null && historyWriter.isRecordedSince(checkpointMark)) {
+      final byte[] record = GameDataJournal.compress(
+          GameDataJournal.serializeRecord(data, historyWriter.getRecordedSince(checkpointMark)));
+      if (record.length <= checkpoint.length / 2) {
+        return GameDataJournal.toBytes(checkpoint, record);
+      }
+    }
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream(25000);
+    GameDataManager.serializeGame(data).writeTo(compressed);
+    checkpoint = compressed.toByteArray();
+    checkpointMark = mark;
+    historyWriter.trimTo(this, mark);
+    return GameDataJournal.toBytes(checkpoint, null);
+  }
+}
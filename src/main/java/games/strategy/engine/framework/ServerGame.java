@@ -2,14 +2,19 @@ package games.strategy.engine.framework;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import games.strategy.debug.ClientLogger;
@@ -49,6 +54,8 @@ import games.strategy.engine.random.PlainRandomSource;
 import games.strategy.engine.random.RandomStats;
 import games.strategy.net.INode;
 import games.strategy.net.Messengers;
+import games.strategy.performance.Metrics;
+import games.strategy.performance.Timer;
 import games.strategy.triplea.TripleAPlayer;
 import games.strategy.triplea.settings.ClientSetting;
 
@@ -79,6 +86,31 @@ public class ServerGame extends AbstractGame {
    * Has the delegate signaled that delegate execution should stop.
    */
   private volatile boolean m_delegateExecutionStopped = false;
+  /**
+   * How long stopping the game waits for the autosaves taken so far to be written.
+   */
+  private static final long AUTO_SAVE_WRITE_TIMEOUT_SECONDS = 30;
+  /**
+   * Compresses and writes the autosaves in the order they were taken, so the game does not wait for the disk.
+   */
+  private final ExecutorService m_autoSaveWriter = Executors.newSingleThreadExecutor(r -> {
+    final Thread thread = new Thread(r, "Autosave writer");
+    thread.setDaemon(true);
+    return thread;
+  });
+  /**
+   * The autosave files by name. Each is a journal, so saving to it again only appends what happened since.
+   */
+  private final Map<String, GameDataJournal> m_autoSaveJournals = new HashMap<>();
+  /**
+   * The game as sent to observers joining it, so that each of them does not have to serialize the whole game again.
+   */
+  private final ObserverSnapshot m_observerSnapshot = new ObserverSnapshot();
+  /**
+   * Observers that asked to join at about the same time are sent the game together, while delegate execution is
+   * blocked once for all of them.
+   */
+  private final List<WaitingObserver> m_waitingObservers = new ArrayList<>();
 
   /**
    * @param data
@@ -164,45 +196,94 @@ public class ServerGame extends AbstractGame {
 
   public void addObserver(final IObserverWaitingToJoin blockingObserver,
       final IObserverWaitingToJoin nonBlockingObserver, final INode newNode) {
+    final WaitingObserver observer = new WaitingObserver(blockingObserver, nonBlockingObserver, newNode);
+    synchronized (m_waitingObservers) {
+      m_waitingObservers.add(observer);
+    }
     try {
       if (!m_delegateExecutionManager.blockDelegateExecution(2000)) {
-        nonBlockingObserver.cannotJoinGame("Could not block delegate execution");
+        cannotJoinIfStillWaiting(observer, "Could not block delegate execution");
         return;
       }
     } catch (final InterruptedException e) {
-      nonBlockingObserver.cannotJoinGame(e.getMessage());
+      cannotJoinIfStillWaiting(observer, e.getMessage());
       return;
     }
+    final List<WaitingObserver> observers;
+    synchronized (m_waitingObservers) {
+      observers = new ArrayList<>(m_waitingObservers);
+      m_waitingObservers.clear();
+    }
     try {
-      final CountDownLatch waitOnObserver = new CountDownLatch(1);
-      final ByteArrayOutputStream sink = new ByteArrayOutputStream(1000);
-      saveGame(sink);
-      (new Thread(() -> {
+      // empty if this observer already joined together with others that asked at about the same time
+      if (observers.isEmpty()) {
+        return;
+      }
+      final byte[] gameData = m_observerSnapshot.take(m_data);
+      final Map<String, INode> playerMapping = m_playerManager.getPlayerMapping();
+      for (final WaitingObserver waiting : observers) {
+        (new Thread(() -> {
+          try {
+            waiting.m_blockingObserver.joinGame(gameData, playerMapping);
+            waiting.m_joined.countDown();
+          } catch (final ConnectionLostException cle) {
+            System.out.println("Connection lost to observer while joining: " + waiting.m_node.getName());
+          } catch (final Exception e) {
+            ClientLogger.logQuietly(e);
+          }
+        }, "Waiting on observer to finish joining: " + waiting.m_node.getName())).start();
+      }
+      final long deadline =
+          System.nanoTime() + TimeUnit.SECONDS.toNanos(ClientSetting.SERVER_OBSERVER_JOIN_WAIT_TIME.intValue());
+      for (final WaitingObserver waiting : observers) {
         try {
-          blockingObserver.joinGame(sink.toByteArray(), m_playerManager.getPlayerMapping());
-          waitOnObserver.countDown();
-        } catch (final ConnectionLostException cle) {
-          System.out.println("Connection lost to observer while joining: " + newNode.getName());
-        } catch (final Exception e) {
+          if (!waiting.m_joined.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            waiting.m_nonBlockingObserver.cannotJoinGame("Taking too long to join.");
+          }
+        } catch (final InterruptedException e) {
           ClientLogger.logQuietly(e);
+          waiting.m_nonBlockingObserver.cannotJoinGame(e.getMessage());
         }
-      }, "Waiting on observer to finish joining: " + newNode.getName())).start();
-      try {
-        if (!waitOnObserver.await(ClientSetting.SERVER_OBSERVER_JOIN_WAIT_TIME.intValue(), TimeUnit.SECONDS)) {
-          nonBlockingObserver.cannotJoinGame("Taking too long to join.");
-        }
-      } catch (final InterruptedException e) {
-        ClientLogger.logQuietly(e);
-        nonBlockingObserver.cannotJoinGame(e.getMessage());
       }
     } catch (final Exception e) {
       ClientLogger.logQuietly(e);
-      nonBlockingObserver.cannotJoinGame(e.getMessage());
+      for (final WaitingObserver waiting : observers) {
+        waiting.m_nonBlockingObserver.cannotJoinGame(e.getMessage());
+      }
     } finally {
       m_delegateExecutionManager.resumeDelegateExecution();
     }
   }
 
+  private void cannotJoinIfStillWaiting(final WaitingObserver observer, final String reason) {
+    final boolean stillWaiting;
+    synchronized (m_waitingObservers) {
+      stillWaiting = m_waitingObservers.remove(observer);
+    }
+    // otherwise another thread has taken it, and is sending it the game
+    if (stillWaiting) {
+      observer.m_nonBlockingObserver.cannotJoinGame(reason);
+    }
+  }
+
+  /**
+   * An observer that asked to join the game, and has not been sent it yet.
+   */
+  private static final class WaitingObserver {
+    private final IObserverWaitingToJoin m_blockingObserver;
+    private final IObserverWaitingToJoin m_nonBlockingObserver;
+    private final INode m_node;
+    private final CountDownLatch m_joined = new CountDownLatch(1);
+
+    private WaitingObserver(final IObserverWaitingToJoin blockingObserver,
+        final IObserverWaitingToJoin nonBlockingObserver, final INode node) {
+      m_blockingObserver = blockingObserver;
+      m_nonBlockingObserver = nonBlockingObserver;
+      m_node = node;
+    }
+  }
+
+
   private void setupDelegateMessaging(final GameData data) {
     for (final IDelegate delegate : data.getDelegateList()) {
       addDelegateMessenger(delegate);
@@ -320,6 +401,8 @@ public class ServerGame extends AbstractGame {
       m_channelMessenger.unregisterChannelSubscriber(m_gameModifiedChannel, IGame.GAME_MODIFICATION_CHANNEL);
       m_remoteMessenger.unregisterRemote(SERVER_REMOTE);
       m_vault.shutDown();
+      m_autoSaveWriter.shutdown();
+      awaitAutoSaveWrites();
       final Iterator<IGamePlayer> localPlayersIter = m_gamePlayers.values().iterator();
       while (localPlayersIter.hasNext()) {
         final IGamePlayer gp = localPlayersIter.next();
@@ -346,6 +429,20 @@ public class ServerGame extends AbstractGame {
     }
   }
 
+  /**
+   * Waits a while for the autosave writer to finish, its thread is a daemon and would otherwise be killed in the middle
+   * of a write when the game exits right after stopping.
+   */
+  private void awaitAutoSaveWrites() {
+    try {
+      if (!m_autoSaveWriter.awaitTermination(AUTO_SAVE_WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        ClientLogger.logQuietly("Autosaves not written within " + AUTO_SAVE_WRITE_TIMEOUT_SECONDS + " seconds");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   private void autoSave(final String fileName) {
     final File autoSaveDir = new File(
         ClientSetting.SAVE_GAMES_FOLDER_PATH.value()
@@ -353,7 +450,33 @@ public class ServerGame extends AbstractGame {
     if (!autoSaveDir.exists()) {
       autoSaveDir.mkdirs();
     }
-    saveGame(new File(autoSaveDir, fileName));
+    final GameDataJournal journal =
+        m_autoSaveJournals.computeIfAbsent(fileName, name -> new GameDataJournal(new File(autoSaveDir, name)));
+    final GameDataJournal.Write journalWrite;
+    try {
+      blockDelegateExecution();
+      try {
+        journalWrite = journal.take(m_data);
+      } finally {
+        m_delegateExecutionManager.resumeDelegateExecution();
+      }
+    } catch (final IOException e) {
+      ClientLogger.logQuietly(e);
+      return;
+    }
+    final Runnable write = () -> {
+      try {
+        journalWrite.write();
+      } catch (final IOException e) {
+        ClientLogger.logQuietly(e);
+      }
+    };
+    try {
+      m_autoSaveWriter.execute(write);
+    } catch (final RejectedExecutionException e) {
+      // the game is stopping, write it now
+      write.run();
+    }
   }
 
   private void autoSaveBefore(final IDelegate currentDelegate) {
@@ -367,14 +490,31 @@ public class ServerGame extends AbstractGame {
 
   @Override
   public void saveGame(final File f) {
-    try (FileOutputStream fout = new FileOutputStream(f)) {
-      saveGame(fout);
+    try {
+      serializeGame().writeTo(f);
     } catch (final IOException e) {
       ClientLogger.logQuietly(e);
     }
   }
 
   private void saveGame(final OutputStream out) throws IOException {
+    serializeGame().writeTo(out);
+  }
+
+  /**
+   * Serializes the game while delegate execution is blocked. Compressing and writing it can then be done after the
+   * delegates have been let go.
+   */
+  private GameDataManager.SerializedGame serializeGame() throws IOException {
+    blockDelegateExecution();
+    try {
+      return GameDataManager.serializeGame(m_data);
+    } finally {
+      m_delegateExecutionManager.resumeDelegateExecution();
+    }
+  }
+
+  private void blockDelegateExecution() throws IOException {
     try {
       if (!m_delegateExecutionManager.blockDelegateExecution(6000)) {
         throw new IOException("Could not lock delegate execution");
@@ -382,11 +522,6 @@ public class ServerGame extends AbstractGame {
     } catch (final InterruptedException ie) {
       throw new IOException(ie.getMessage());
     }
-    try {
-      GameDataManager.saveGame(out, m_data);
-    } finally {
-      m_delegateExecutionManager.resumeDelegateExecution();
-    }
   }
 
   private void runStep(final boolean stepIsRestoredFromSavedGame) {
@@ -457,10 +592,14 @@ public class ServerGame extends AbstractGame {
    * @return true if the step should autosave.
    */
   private void endStep() {
+    final IDelegate delegate = getCurrentStep().getDelegate();
     m_delegateExecutionManager.enterDelegateExecution();
+    final Timer timer = Metrics.timer("delegate." + delegate.getName() + ".end");
+    final long start = timer.start();
     try {
-      getCurrentStep().getDelegate().end();
+      delegate.end();
     } finally {
+      timer.stop(start);
       m_delegateExecutionManager.leaveDelegateExecution();
     }
     getCurrentStep().incrementRunCount();
@@ -504,12 +643,15 @@ public class ServerGame extends AbstractGame {
       addPlayerTypesToGameData(m_gamePlayers.values(), m_playerManager, bridge);
     }
     notifyGameStepChanged(stepIsRestoredFromSavedGame);
+    final IDelegate delegate = getCurrentStep().getDelegate();
     m_delegateExecutionManager.enterDelegateExecution();
+    final Timer timer = Metrics.timer("delegate." + delegate.getName() + ".start");
+    final long start = timer.start();
     try {
-      final IDelegate delegate = getCurrentStep().getDelegate();
       delegate.setDelegateBridgeAndPlayer(bridge);
       delegate.start();
     } finally {
+      timer.stop(start);
       m_delegateExecutionManager.leaveDelegateExecution();
     }
   }
@@ -523,6 +665,20 @@ public class ServerGame extends AbstractGame {
     if (!getCurrentStep().getDelegate().delegateCurrentlyRequiresUserInput()) {
       return;
     }
+    final String delegateName = getCurrentStep().getDelegate().getName();
+    final Timer timer = Metrics.timer("delegate." + delegateName + ".player");
+    final long start = timer.start();
+    try {
+      startPlayerStep(playerId);
+    } finally {
+      timer.stop(start);
+    }
+  }
+
+  /**
+   * Hands the current step to its player, and returns once the player has finished it.
+   */
+  private void startPlayerStep(final PlayerID playerId) {
     final IGamePlayer player = m_gamePlayers.get(playerId);
     if (player != null) {
       // a local player
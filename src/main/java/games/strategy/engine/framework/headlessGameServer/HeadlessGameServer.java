@@ -30,6 +30,7 @@ import games.strategy.engine.framework.startup.ui.ServerSetupPanel;
 import games.strategy.engine.framework.ui.SaveGameFileChooser;
 import games.strategy.net.INode;
 import games.strategy.net.IServerMessenger;
+import games.strategy.performance.Metrics;
 import games.strategy.sound.ClipPlayer;
 import games.strategy.triplea.Constants;
 import games.strategy.triplea.settings.ClientSetting;
@@ -660,6 +661,7 @@ public class HeadlessGameServer {
 
     handleHeadlessGameServerArgs();
     ClipPlayer.setBeSilentInPreferencesWithoutAffectingCurrent(true);
+    Metrics.startLoggingIfConfigured();
     try {
       new HeadlessGameServer();
     } catch (final Exception e) {
@@ -65,6 +65,9 @@ public class ClientModel implements IMessengerErrorListener {
   public static final RemoteName CLIENT_READY_CHANNEL =
       new RemoteName("games.strategy.engine.framework.startup.mc.ClientModel.CLIENT_READY_CHANNEL", IServerReady.class);
   private static final Logger logger = Logger.getLogger(ClientModel.class.getName());
+  // how long the calls without return values a game client makes (chat, status, vault) wait to be sent to the server
+  // together, unless set with UnifiedMessenger.BATCH_WINDOW_PROPERTY
+  private static final long DEFAULT_INVOKE_BATCH_WINDOW_MILLIS = 5;
   private IRemoteModelListener m_listener = IRemoteModelListener.NULL_LISTENER;
   private IChannelMessenger m_channelMessenger;
   private IRemoteMessenger m_remoteMessenger;
@@ -161,6 +164,8 @@ public class ClientModel implements IMessengerErrorListener {
     }
     m_messenger.addErrorListener(this);
     final UnifiedMessenger unifiedMessenger = new UnifiedMessenger(m_messenger);
+    unifiedMessenger.setBatchWindow(
+        Math.max(0, Long.getLong(UnifiedMessenger.BATCH_WINDOW_PROPERTY, DEFAULT_INVOKE_BATCH_WINDOW_MILLIS)));
     m_channelMessenger = new ChannelMessenger(unifiedMessenger);
     m_remoteMessenger = new RemoteMessenger(unifiedMessenger);
     m_channelMessenger.registerChannelSubscriber(m_channelListener, IClientChannel.CHANNEL_NAME);
@@ -21,6 +21,7 @@ import games.strategy.engine.framework.startup.mc.GameSelectorModel;
 import games.strategy.engine.lobby.server.GameDescription;
 import games.strategy.engine.lobby.server.GameDescription.GameStatus;
 import games.strategy.engine.lobby.server.ILobbyGameController;
+import games.strategy.engine.lobby.server.LobbyObjectStreamFactory;
 import games.strategy.engine.lobby.server.LobbyServer;
 import games.strategy.engine.lobby.server.RemoteHostUtils;
 import games.strategy.engine.lobby.server.login.LobbyLoginValidator;
@@ -110,7 +111,7 @@ public class InGameLobbyWatcher {
       System.out.println("host:" + host + " port:" + port);
       final String mac = MacFinder.getHashedMacAddress();
       final ClientMessenger messenger = new ClientMessenger(host, Integer.parseInt(port),
-          getRealName(hostedBy) + "_" + LOBBY_WATCHER_NAME, mac, login);
+          getRealName(hostedBy) + "_" + LOBBY_WATCHER_NAME, mac, new LobbyObjectStreamFactory(), login);
       final UnifiedMessenger um = new UnifiedMessenger(messenger);
       final RemoteMessenger rm = new RemoteMessenger(um);
       final HeartBeat h = new HeartBeat(messenger.getServerNode());
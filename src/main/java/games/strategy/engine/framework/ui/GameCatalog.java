@@ -0,0 +1,197 @@
+package games.strategy.engine.framework.ui;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import games.strategy.debug.ClientLogger;
+import games.strategy.engine.data.GameData;
+import games.strategy.triplea.Constants;
+
+/**
+ * The games found in each map file the last time it was scanned, kept on disk so that maps which have not changed
+ * since do not have to be opened and parsed again when the game chooser is shown.
+ *
+ * <p>
+ * A map file is a map zip, or a game xml of a map folder. What was found in it is only used while the file has the same
+ * size and modification time, and the catalog is dropped altogether when it was written by another engine version,
+ * which may parse maps differently.
+ * </p>
+ */
+final class GameCatalog {
+  private final File file;
+  private final String engineVersion;
+  private final Map<String, CatalogedFile> previous;
+  private final Map<String, CatalogedFile> current = new ConcurrentHashMap<>();
+
+  private GameCatalog(final File file, final String engineVersion, final Map<String, CatalogedFile> previous) {
+    this.file = file;
+    this.engineVersion = engineVersion;
+    this.previous = previous;
+  }
+
+  /**
+   * Reads the catalog from the file, or starts an empty one if there is none or it can't be used.
+   */
+  static GameCatalog load(final File file, final String engineVersion) {
+    if (file.exists()) {
+      try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+        if (engineVersion.equals(in.readUTF())) {
+          @SuppressWarnings("unchecked")
+          final Map<String, CatalogedFile> catalogedFiles = (Map<String, CatalogedFile>) in.readObject();
+          return new GameCatalog(file, engineVersion, catalogedFiles);
+        }
+      } catch (final IOException | ClassNotFoundException | ClassCastException e) {
+        // an unreadable catalog only means every map is scanned again
+        ClientLogger.logQuietly(e);
+      }
+    }
+    return new GameCatalog(file, engineVersion, Collections.emptyMap());
+  }
+
+  /**
+   * @return the games found in the map file the last time it was scanned, if it has not changed since.
+   */
+  Optional<List<Game>> getGames(final File mapFile) {
+    final CatalogedFile cataloged = previous.get(mapFile.getAbsolutePath());
+    if (cataloged == null || cataloged.length != mapFile.length() || cataloged.lastModified != mapFile.lastModified()) {
+      return Optional.empty();
+    }
+    current.put(mapFile.getAbsolutePath(), cataloged);
+    return Optional.of(cataloged.games);
+  }
+
+  /**
+   * Records the games found in the map file. Safe to call from several threads scanning map files at once.
+   */
+  void putGames(final File mapFile, final List<Game> games) {
+    current.put(mapFile.getAbsolutePath(),
+        new CatalogedFile(mapFile.length(), mapFile.lastModified(), new ArrayList<>(games)));
+  }
+
+  /**
+   * Writes the map files recorded or looked up since the catalog was loaded, which drops the maps that are gone.
+   */
+  void save() {
+    if (current.equals(previous)) {
+      return;
+    }
+    try {
+      if (file.getParentFile() != null && !file.getParentFile().exists()) {
+        file.getParentFile().mkdirs();
+      }
+      try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+        out.writeUTF(engineVersion);
+        out.writeObject(new HashMap<>(current));
+      }
+    } catch (final IOException e) {
+      ClientLogger.logQuietly(e);
+    }
+  }
+
+  private static final class CatalogedFile implements Serializable {
+    private static final long serialVersionUID = 4571960637219830215L;
+    private final long length;
+    private final long lastModified;
+    private final List<Game> games;
+
+    CatalogedFile(final long length, final long lastModified, final List<Game> games) {
+      this.length = length;
+      this.lastModified = lastModified;
+      this.games = games;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof CatalogedFile)) {
+        return false;
+      }
+      final CatalogedFile other = (CatalogedFile) obj;
+      return length == other.length && lastModified == other.lastModified && games.equals(other.games);
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(lastModified);
+    }
+  }
+
+  /**
+   * What the game chooser shows about a game before it is chosen.
+   */
+  static final class Game implements Serializable {
+    private static final long serialVersionUID = -3104573658209415622L;
+    private final String location;
+    private final String gameName;
+    private final String mapName;
+    private final int playerCount;
+    private final String gameVersion;
+    private final String notes;
+
+    Game(final String location, final String gameName, final String mapName, final int playerCount,
+        final String gameVersion, final String notes) {
+      this.location = location;
+      this.gameName = gameName;
+      this.mapName = mapName;
+      this.playerCount = playerCount;
+      this.gameVersion = gameVersion;
+      this.notes = notes;
+    }
+
+    static Game of(final String location, final GameData data) {
+      final String mapName = (String) data.getProperties().get(Constants.MAP_NAME);
+      if (mapName == null || mapName.trim().length() == 0) {
+        throw new IllegalStateException("Map name property not set on game");
+      }
+      return new Game(location, data.getGameName(), mapName, data.getPlayerList().size(),
+          String.valueOf(data.getGameVersion()), data.getProperties().get("notes", ""));
+    }
+
+    String getLocation() {
+      return location;
+    }
+
+    String getGameName() {
+      return gameName;
+    }
+
+    String getMapName() {
+      return mapName;
+    }
+
+    int getPlayerCount() {
+      return playerCount;
+    }
+
+    String getGameVersion() {
+      return gameVersion;
+    }
+
+    String getNotes() {
+      return notes;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      return obj instanceof Game && location.equals(((Game) obj).location);
+    }
+
+    @Override
+    public int hashCode() {
+      return location.hashCode();
+    }
+  }
+}
@@ -3,6 +3,7 @@ package games.strategy.engine.framework.ui;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.Comparator;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
@@ -15,13 +16,14 @@ import games.strategy.engine.data.EngineVersionException;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParseException;
 import games.strategy.engine.data.GameParser;
-import games.strategy.triplea.Constants;
 import games.strategy.util.UrlStreams;
 
 public class NewGameChooserEntry {
   private final URI url;
   private GameData gameData;
   private boolean gameDataFullyLoaded = false;
+  // what the chooser shows about the game, which stays the same when the game data is parsed again
+  private final GameCatalog.Game game;
   private final String gameNameAndMapNameProperty;
 
   static Comparator<NewGameChooserEntry> getComparator() {
@@ -32,7 +34,7 @@ public class NewGameChooserEntry {
       }
 
       private String getLowerCaseComparable(final NewGameChooserEntry newGameChooserEntry) {
-        return newGameChooserEntry.getGameData().getGameName().toLowerCase();
+        return newGameChooserEntry.getGameName().toLowerCase();
       }
     };
   }
@@ -45,6 +47,7 @@ public class NewGameChooserEntry {
 
     final Optional<InputStream> inputStream = UrlStreams.openStream(uri);
     if (!inputStream.isPresent()) {
+      game = null;
       gameNameAndMapNameProperty = "";
       // this means the map was deleted out from under us.
       return;
@@ -54,10 +57,25 @@ public class NewGameChooserEntry {
       final boolean delayParsing = true;
       gameData = new GameParser(uri.toString()).parse(input, gameName, delayParsing);
       gameDataFullyLoaded = false;
-      gameNameAndMapNameProperty = getGameName() + ":" + getMapNameProperty();
+      game = GameCatalog.Game.of(uri.toString(), gameData);
+      gameNameAndMapNameProperty = getGameName() + ":" + getMapName();
     }
   }
 
+  /**
+   * Creates an entry for a game found in a map file the last time it was scanned, which is not parsed until it is
+   * chosen.
+   */
+  NewGameChooserEntry(final GameCatalog.Game game) throws URISyntaxException {
+    url = new URI(game.getLocation());
+    this.game = game;
+    gameNameAndMapNameProperty = getGameName() + ":" + getMapName();
+  }
+
+  GameCatalog.Game getCatalogedGame() {
+    return game;
+  }
+
   public void fullyParseGameData() throws GameParseException {
     // TODO: We should be setting this in the the constructor. At this point, you have to call methods in the
     // correct order for things to work, and that is bads.
@@ -121,17 +139,23 @@ public class NewGameChooserEntry {
   }
 
   public String getGameName() {
-    return gameData.getGameName();
+    return game.getGameName();
   }
 
-  // the user may have selected a map skin instead of this map folder, so don't use this for anything except our
-  // equals/hashcode below
-  private String getMapNameProperty() {
-    final String mapName = (String) gameData.getProperties().get(Constants.MAP_NAME);
-    if (mapName == null || mapName.trim().length() == 0) {
-      throw new IllegalStateException("Map name property not set on game");
-    }
-    return mapName;
+  public String getMapName() {
+    return game.getMapName();
+  }
+
+  public int getPlayerCount() {
+    return game.getPlayerCount();
+  }
+
+  public String getGameVersion() {
+    return game.getGameVersion();
+  }
+
+  public String getNotes() {
+    return game.getNotes();
   }
 
   @Override
@@ -177,12 +201,8 @@ public class NewGameChooserEntry {
       return false;
     }
     final NewGameChooserEntry other = (NewGameChooserEntry) obj;
-    if (gameData == null && other.gameData != null) {
+    if (game == null || other.game == null) {
       return false;
-    } else {
-      if (other.gameData == null) {
-        return false;
-      }
     }
     return this.gameNameAndMapNameProperty.equals(other.gameNameAndMapNameProperty);
   }
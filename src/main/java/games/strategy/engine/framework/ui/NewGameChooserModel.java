@@ -11,8 +11,15 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -25,6 +32,7 @@ import org.xml.sax.SAXParseException;
 import com.google.common.collect.Sets;
 
 import games.strategy.debug.ClientLogger;
+import games.strategy.engine.ClientContext;
 import games.strategy.engine.ClientFileSystemHelper;
 import games.strategy.engine.data.EngineVersionException;
 import games.strategy.engine.data.GameParseException;
@@ -33,9 +41,12 @@ import games.strategy.ui.SwingAction;
 
 public class NewGameChooserModel extends DefaultListModel<NewGameChooserEntry> {
   private static final long serialVersionUID = -2044689419834812524L;
+  private static final String CATALOG_FILE_NAME = "gameCatalog.cache";
+  // parsing a game is mostly cpu bound, and many more threads would only compete for the disk
+  private static final int MAX_SCANNING_THREADS = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), 8));
 
   private enum ZipProcessingResult {
-    SUCCESS, ERROR
+    SUCCESS, NOT_PARSED, ERROR
   }
 
   NewGameChooserModel() {
@@ -66,20 +77,72 @@ public class NewGameChooserModel extends DefaultListModel<NewGameChooserEntry> {
     return Arrays.asList(files);
   }
 
+  /**
+   * Scans the map files in parallel, skipping those found unchanged in the game catalog. The games are added in the
+   * order of the map files, so the same game in two map files is taken from the same one as when scanning in turn.
+   */
   private static Set<NewGameChooserEntry> parseMapFiles() {
+    final GameCatalog catalog = GameCatalog.load(
+        new File(ClientFileSystemHelper.getUserRootFolder(), CATALOG_FILE_NAME),
+        ClientContext.engineVersion().toString());
+    // asking whether to delete a corrupt zip has to wait for the scan, the scanning threads can't block on the ui
+    final Map<File, Optional<String>> corruptZipFiles = new ConcurrentSkipListMap<>();
+    final ExecutorService executor = Executors.newFixedThreadPool(MAX_SCANNING_THREADS, r -> {
+      final Thread thread = new Thread(r, "Map scanner");
+      thread.setDaemon(true);
+      return thread;
+    });
     final Set<NewGameChooserEntry> parsedMapSet = Sets.newHashSet();
-    for (final File map : allMapFiles()) {
-      if (map.isDirectory()) {
-        parsedMapSet.addAll(populateFromDirectory(map));
-      } else if (map.isFile() && map.getName().toLowerCase().endsWith(".zip")) {
-        parsedMapSet.addAll(populateFromZip(map));
+    try {
+      final List<Future<List<NewGameChooserEntry>>> scans = new ArrayList<>();
+      for (final File map : allMapFiles()) {
+        if (map.isDirectory()) {
+          scans.add(executor.submit(() -> populateFromDirectory(map, catalog)));
+        } else if (map.isFile() && map.getName().toLowerCase().endsWith(".zip")) {
+          scans.add(executor.submit(() -> populateFromZip(map, catalog, corruptZipFiles)));
+        }
+      }
+      for (final Future<List<NewGameChooserEntry>> scan : scans) {
+        try {
+          parsedMapSet.addAll(scan.get());
+        } catch (final ExecutionException e) {
+          ClientLogger.logQuietly(e.getCause());
+        }
       }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      executor.shutdownNow();
     }
+    catalog.save();
+    corruptZipFiles.forEach(NewGameChooserModel::confirmWithUserAndThenDeleteCorruptZipFile);
     return parsedMapSet;
   }
 
-  private static List<NewGameChooserEntry> populateFromZip(final File map) {
+  private static List<NewGameChooserEntry> createEntries(final List<GameCatalog.Game> games) {
+    final List<NewGameChooserEntry> entries = new ArrayList<>();
+    for (final GameCatalog.Game game : games) {
+      try {
+        entries.add(new NewGameChooserEntry(game));
+      } catch (final URISyntaxException e) {
+        ClientLogger.logQuietly(e);
+      }
+    }
+    return entries;
+  }
+
+  private static List<GameCatalog.Game> getCatalogedGames(final List<NewGameChooserEntry> entries) {
+    return entries.stream().map(NewGameChooserEntry::getCatalogedGame).collect(Collectors.toList());
+  }
+
+  private static List<NewGameChooserEntry> populateFromZip(final File map, final GameCatalog catalog,
+      final Map<File, Optional<String>> corruptZipFiles) {
+    final Optional<List<GameCatalog.Game>> catalogedGames = catalog.getGames(map);
+    if (catalogedGames.isPresent()) {
+      return createEntries(catalogedGames.get());
+    }
     boolean badMapZip = false;
+    boolean allParsed = true;
     final List<NewGameChooserEntry> entries = new ArrayList<>();
 
     try (ZipFile zipFile = new ZipFile(map);
@@ -93,14 +156,19 @@ public class NewGameChooserModel extends DefaultListModel<NewGameChooserEntry> {
             badMapZip = true;
             break;
           }
+          allParsed &= result == ZipProcessingResult.SUCCESS;
         }
       }
     } catch (final IOException e) {
-      confirmWithUserAndThenDeleteCorruptZipFile(map, Optional.of(e.getMessage()));
+      corruptZipFiles.put(map, Optional.ofNullable(e.getMessage()));
+      return entries;
     }
 
     if (badMapZip) {
-      confirmWithUserAndThenDeleteCorruptZipFile(map, Optional.empty());
+      corruptZipFiles.put(map, Optional.empty());
+    } else if (allParsed) {
+      // games that could not be parsed are left out of the catalog, so their errors are reported again next time
+      catalog.putGames(map, getCatalogedGames(entries));
     }
     return entries;
   }
@@ -113,7 +181,9 @@ public class NewGameChooserModel extends DefaultListModel<NewGameChooserEntry> {
       return ZipProcessingResult.ERROR;
     }
     try {
-      addNewGameChooserEntry(entries, new URI(url.toString().replace(" ", "%20")));
+      if (!addNewGameChooserEntry(entries, new URI(url.toString().replace(" ", "%20")))) {
+        return ZipProcessingResult.NOT_PARSED;
+      }
     } catch (final URISyntaxException e) {
       // only happens when URI couldn't be build and therefore no entry was added. That's fine ..
     }
@@ -158,13 +228,18 @@ public class NewGameChooserModel extends DefaultListModel<NewGameChooserEntry> {
    *        list of entries where to add the new entry.
    * @param uri
    *        URI of the new entry
+   * @return whether the game could be parsed.
    */
-  private static void addNewGameChooserEntry(final List<NewGameChooserEntry> entries, final URI uri) {
+  private static boolean addNewGameChooserEntry(final List<NewGameChooserEntry> entries, final URI uri) {
     try {
       final NewGameChooserEntry newEntry = createEntry(uri);
-      if (newEntry != null && !entries.contains(newEntry)) {
+      if (newEntry.getCatalogedGame() == null) {
+        return false;
+      }
+      if (!entries.contains(newEntry)) {
         entries.add(newEntry);
       }
+      return true;
     } catch (final EngineVersionException e) {
       System.out.println(e.getMessage());
     } catch (final SAXParseException e) {
@@ -176,11 +251,12 @@ public class NewGameChooserModel extends DefaultListModel<NewGameChooserEntry> {
       System.err.println("Could not parse:" + uri);
       ClientLogger.logQuietly(e);
     }
+    return false;
   }
 
   public NewGameChooserEntry findByName(final String name) {
     for (int i = 0; i < size(); i++) {
-      if (get(i).getGameData().getGameName().equals(name)) {
+      if (get(i).getGameName().equals(name)) {
         return get(i);
       }
     }
@@ -192,7 +268,7 @@ public class NewGameChooserModel extends DefaultListModel<NewGameChooserEntry> {
     return new NewGameChooserEntry(uri);
   }
 
-  private static List<NewGameChooserEntry> populateFromDirectory(final File mapDir) {
+  private static List<NewGameChooserEntry> populateFromDirectory(final File mapDir, final GameCatalog catalog) {
     final List<NewGameChooserEntry> entries = new ArrayList<>();
 
     // use contents under a "mapDir/map" folder if present, otherwise use the "mapDir/" contents directly
@@ -207,7 +283,17 @@ public class NewGameChooserModel extends DefaultListModel<NewGameChooserEntry> {
     }
     for (final File game : games.listFiles()) {
       if (game.isFile() && game.getName().toLowerCase().endsWith("xml")) {
-        addNewGameChooserEntry(entries, game.toURI());
+        final Optional<List<GameCatalog.Game>> catalogedGames = catalog.getGames(game);
+        final List<NewGameChooserEntry> gameEntries;
+        if (catalogedGames.isPresent()) {
+          gameEntries = createEntries(catalogedGames.get());
+        } else {
+          gameEntries = new ArrayList<>();
+          if (addNewGameChooserEntry(gameEntries, game.toURI())) {
+            catalog.putGames(game, getCatalogedGames(gameEntries));
+          }
+        }
+        gameEntries.stream().filter(entry -> !entries.contains(entry)).forEach(entries::add);
       }
     }
     return entries;
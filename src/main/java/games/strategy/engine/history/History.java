@@ -2,6 +2,7 @@ package games.strategy.engine.history;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 
@@ -12,6 +13,7 @@ import javax.swing.tree.DefaultTreeModel;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.changefactory.ChangeFactory;
 import games.strategy.triplea.ui.history.HistoryPanel;
 
 /**
@@ -31,6 +33,10 @@ public class History extends DefaultTreeModel {
 
   private final HistoryWriter m_writer = new HistoryWriter(this);
   private final List<Change> m_changes = new ArrayList<>();
+  // the rounds in the order they were started, which is also the order of their change start indices
+  private final List<Round> m_rounds = new ArrayList<>();
+  // the compacted changes of each round that is over, by round index, or null where not compacted yet
+  private final List<Change> m_roundDigests = new ArrayList<>();
   private final GameData m_data;
   private HistoryNode m_currentNode;
 
@@ -92,16 +98,20 @@ public class History extends DefaultTreeModel {
     return lastChangeIndex;
   }
 
-  public Change getDelta(final HistoryNode start, final HistoryNode end) {
+  /**
+   * Returns the change that takes the game data from the state at one node to the state at another. Rounds that are
+   * completely in between are done by one compacted change each, so going to a node many rounds away does not have to
+   * perform every change made on the way.
+   */
+  public synchronized Change getDelta(final HistoryNode start, final HistoryNode end) {
     assertCorrectThread();
     final int firstChange = getLastChange(start);
     final int lastChange = getLastChange(end);
     if (firstChange == lastChange) {
       return null;
     }
-    final List<Change> changes =
-        m_changes.subList(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
-    final Change compositeChange = new CompositeChange(changes);
+    final Change compositeChange =
+        getChanges(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
     if (lastChange >= firstChange) {
       return compositeChange;
     } else {
@@ -109,6 +119,56 @@ public class History extends DefaultTreeModel {
     }
   }
 
+  private Change getChanges(final int from, final int to) {
+    final List<Change> changes = new ArrayList<>();
+    int index = from;
+    for (int round = getFirstRoundStartingAtOrAfter(from); round + 1 < m_rounds.size()
+        && getRoundStart(round + 1) <= to; round++) {
+      changes.addAll(m_changes.subList(index, getRoundStart(round)));
+      changes.add(getRoundDigest(round));
+      index = getRoundStart(round + 1);
+    }
+    changes.addAll(m_changes.subList(index, to));
+    return new CompositeChange(changes);
+  }
+
+  private int getRoundStart(final int round) {
+    return m_rounds.get(round).getChangeStartIndex();
+  }
+
+  private int getFirstRoundStartingAtOrAfter(final int changeIndex) {
+    int low = 0;
+    int high = m_rounds.size();
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (getRoundStart(middle) < changeIndex) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the changes of a round that is over, compacted into one change.
+   */
+  private Change getRoundDigest(final int round) {
+    while (m_roundDigests.size() <= round) {
+      m_roundDigests.add(null);
+    }
+    Change digest = m_roundDigests.get(round);
+    if (digest == null) {
+      digest = ChangeFactory.compact(m_changes.subList(getRoundStart(round), getRoundStart(round + 1)));
+      m_roundDigests.set(round, digest);
+    }
+    return digest;
+  }
+
+  synchronized void roundStarted(final Round round) {
+    m_rounds.add(round);
+  }
+
   public synchronized void gotoNode(final HistoryNode node) {
     assertCorrectThread();
     getGameData().acquireWriteLock();
@@ -154,6 +214,8 @@ public class History extends DefaultTreeModel {
       while (!nodesToRemove.isEmpty()) {
         this.removeNodeFromParent(nodesToRemove.remove(0));
       }
+      m_rounds.removeIf(round -> round.getParent() == null);
+      m_roundDigests.clear();
     } finally {
       getGameData().releaseWriteLock();
     }
@@ -173,6 +235,18 @@ public class History extends DefaultTreeModel {
     return new SerializedHistory(this, m_data, m_changes);
   }
 
+  /**
+   * Returns a replacement for the serialized form of a history that deserializes to an empty history of the same game
+   * data. Any object that is not the serialized form of a history is returned unchanged. Used by object streams that
+   * copy game data for calculations which never look at the history.
+   */
+  public static Object emptyIfSerializedHistory(final Object obj) {
+    if (obj instanceof SerializedHistory) {
+      return ((SerializedHistory) obj).withoutNodes();
+    }
+    return obj;
+  }
+
   List<Change> getChanges() {
     return m_changes;
   }
@@ -216,6 +290,10 @@ class SerializedHistory implements Serializable {
     }
   }
 
+  SerializedHistory withoutNodes() {
+    return new SerializedHistory(new History(m_data), m_data, Collections.emptyList());
+  }
+
   public Object readResolve() {
     final History history = new History(m_data);
     final HistoryWriter historyWriter = history.getHistoryWriter();
@@ -249,6 +327,10 @@ class ChangeSerializationWriter implements SerializationWriter {
     aChange = change;
   }
 
+  Change getChange() {
+    return aChange;
+  }
+
   @Override
   public void write(final HistoryWriter writer) {
     writer.addChange(aChange);
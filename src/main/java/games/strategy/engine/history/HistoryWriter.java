@@ -1,6 +1,10 @@
 package games.strategy.engine.history;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.swing.SwingUtilities;
 
@@ -13,8 +17,17 @@ import games.strategy.engine.data.PlayerID;
  */
 public class HistoryWriter implements Serializable {
   private static final long serialVersionUID = 4230519614567508061L;
+  // the most operations kept for readers that have fallen behind, older ones are dropped even if still needed
+  static final int MAX_RECORDED = 10000;
   private final History m_history;
   private HistoryNode m_current;
+  // the operations written since recording started and still needed by a reader, so that incremental saves only need
+  // to write what is new, all guarded by this
+  private transient List<SerializationWriter> m_recorded;
+  // the number of operations recorded before the first one still in m_recorded
+  private transient int m_recordedBase;
+  // the first operation each reader still needs, readers that are gone no longer keep anything
+  private transient Map<Object, Integer> m_readerMarks;
 
   public HistoryWriter(final History history) {
     m_history = history;
@@ -55,6 +68,7 @@ public class HistoryWriter implements Serializable {
     }
     final Step currentStep = new Step(stepName, delegateName, player, m_history.getChanges().size(), stepDisplayName);
     addToAndSetCurrent(currentStep);
+    record(currentStep.getWriter());
   }
 
   public void startNextRound(final int round) {
@@ -71,6 +85,8 @@ public class HistoryWriter implements Serializable {
     final Round currentRound = new Round(round, m_history.getChanges().size());
     m_current = (HistoryNode) m_history.getRoot();
     addToAndSetCurrent(currentRound);
+    m_history.roundStarted(currentRound);
+    record(currentRound.getWriter());
   }
 
   private void closeCurrent() {
@@ -122,6 +138,7 @@ public class HistoryWriter implements Serializable {
     }
     final Event event = new Event(eventName, m_history.getChanges().size());
     addToAndSetCurrent(event);
+    record(event.getWriter());
   }
 
   private boolean isCurrentEvent() {
@@ -147,6 +164,7 @@ public class HistoryWriter implements Serializable {
       startEvent("???");
     }
     addToCurrent(node);
+    record(node.getWriter());
   }
 
   /**
@@ -160,6 +178,7 @@ public class HistoryWriter implements Serializable {
       startEvent("Bad Event for change: \n" + change.toString());
     }
     m_history.changeAdded(change);
+    record(new ChangeSerializationWriter(change));
   }
 
   public void setRenderingData(final Object details) {
@@ -176,5 +195,115 @@ public class HistoryWriter implements Serializable {
       m_history.getGameData().releaseWriteLock();
     }
     m_history.goToEnd();
+    record(new RenderingDataWriter(details));
+  }
+
+  /**
+   * Starts keeping every operation written to the history from now on, so they can be saved or sent later with
+   * {@link #getRecordedSince(int)}. Only the server's history writer needs to do this.
+   *
+   * <p>
+   * Operations are kept until every reader has said with {@link #trimTo(Object, int)} that it no longer needs them,
+   * but at most the last {@value #MAX_RECORDED} of them are kept for a reader that has fallen behind.
+   * </p>
+   */
+  public synchronized void startRecording() {
+    if (m_recorded == null) {
+      m_recorded = new ArrayList<>();
+      m_readerMarks = new WeakHashMap<>();
+    }
+  }
+
+  /**
+   * @return the number of operations recorded since {@link #startRecording()} was called, including those that have
+   *         been dropped since.
+   */
+  public synchronized int getRecordedCount() {
+    return m_recorded == null ? 0 : m_recordedBase + m_recorded.size();
+  }
+
+  /**
+   * @return true if the operations recorded after the first {@code index} of them are all still kept.
+   */
+  public synchronized boolean isRecordedSince(final int index) {
+    return m_recorded != null && index >= m_recordedBase && index <= getRecordedCount();
+  }
+
+  /**
+   * @return the operations recorded after the first {@code index} of them, in the order they were written.
+   *
+   * @throws IllegalStateException If some of them have already been dropped, see {@link #isRecordedSince(int)}.
+   */
+  public synchronized List<SerializationWriter> getRecordedSince(final int index) {
+    if (m_recorded == null) {
+      throw new IllegalStateException("Not recording");
+    }
+    if (!isRecordedSince(index)) {
+      throw new IllegalStateException(
+          "Operations since " + index + " no longer recorded, first kept:" + m_recordedBase);
+    }
+    return new ArrayList<>(m_recorded.subList(index - m_recordedBase, m_recorded.size()));
+  }
+
+  /**
+   * Tells that the reader only needs the operations recorded after the first {@code mark} of them from now on, and
+   * drops the operations that no reader needs anymore.
+   *
+   * @param reader Whatever reads the recorded operations, it stops keeping them once it is garbage collected.
+   */
+  public synchronized void trimTo(final Object reader, final int mark) {
+    if (m_recorded == null) {
+      throw new IllegalStateException("Not recording");
+    }
+    m_readerMarks.put(reader, mark);
+    trim(m_readerMarks.values().stream().mapToInt(Integer::intValue).min().orElse(mark));
+  }
+
+  // drops the operations before the mark, must hold the lock of this
+  private void trim(final int mark) {
+    final int count = Math.min(mark, getRecordedCount()) - m_recordedBase;
+    if (count > 0) {
+      m_recorded.subList(0, count).clear();
+      m_recordedBase += count;
+    }
+  }
+
+  private synchronized void record(final SerializationWriter operation) {
+    if (m_recorded != null) {
+      m_recorded.add(operation);
+      // only trimmed now and then, each trim moves all the operations kept
+      if (m_recorded.size() >= 2 * MAX_RECORDED) {
+        trim(getRecordedCount() - MAX_RECORDED);
+      }
+    }
+  }
+
+  /**
+   * Writes operations recorded by another history writer to this history, and performs their changes on the game
+   * data, which must be at the end of this history. Used to bring a loaded game up to date with what was written
+   * after it was saved.
+   */
+  public void replay(final List<SerializationWriter> operations) {
+    for (final SerializationWriter operation : operations) {
+      operation.write(this);
+      if (operation instanceof ChangeSerializationWriter) {
+        m_history.getGameData().performChange(((ChangeSerializationWriter) operation).getChange());
+      }
+    }
+  }
+}
+
+
+class RenderingDataWriter implements SerializationWriter {
+  private static final long serialVersionUID = 2917463128532416734L;
+  private final Object m_renderingData;
+
+  public RenderingDataWriter(final Object renderingData) {
+    m_renderingData = renderingData;
+  }
+
+  @Override
+  public void write(final HistoryWriter writer) {
+    writer.setRenderingData(m_renderingData);
   }
 }
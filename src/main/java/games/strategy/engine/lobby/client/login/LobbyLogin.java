@@ -10,6 +10,7 @@ import javax.swing.JOptionPane;
 
 import games.strategy.engine.ClientFileSystemHelper;
 import games.strategy.engine.lobby.client.LobbyClient;
+import games.strategy.engine.lobby.server.LobbyObjectStreamFactory;
 import games.strategy.engine.lobby.server.LobbyServer;
 import games.strategy.engine.lobby.server.login.LobbyLoginValidator;
 import games.strategy.engine.lobby.server.login.RsaAuthenticator;
@@ -71,7 +72,7 @@ public class LobbyLogin {
     try {
       final String mac = MacFinder.getHashedMacAddress();
       final ClientMessenger messenger = new ClientMessenger(lobbyServerProperties.host, lobbyServerProperties.port,
-          panel.getUserName(), mac, new IConnectionLogin() {
+          panel.getUserName(), mac, new LobbyObjectStreamFactory(), new IConnectionLogin() {
             private final AtomicReference<String> internalError = new AtomicReference<>();
 
             @Override
@@ -153,7 +154,7 @@ public class LobbyLogin {
     try {
       final String mac = MacFinder.getHashedMacAddress();
       final ClientMessenger messenger = new ClientMessenger(lobbyServerProperties.host, lobbyServerProperties.port,
-          createAccount.getUserName(), mac, new IConnectionLogin() {
+          createAccount.getUserName(), mac, new LobbyObjectStreamFactory(), new IConnectionLogin() {
             @Override
             public void notifyFailedLogin(final String message) {
               JOptionPane.showMessageDialog(parentWindow, message, "Login Failed", JOptionPane.ERROR_MESSAGE);
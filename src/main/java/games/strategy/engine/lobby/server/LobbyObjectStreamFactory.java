@@ -0,0 +1,27 @@
+package games.strategy.engine.lobby.server;
+
+import java.util.Arrays;
+
+import games.strategy.engine.chat.ChatController;
+import games.strategy.net.ClassTable;
+import games.strategy.net.DefaultObjectStreamFactory;
+
+/**
+ * The object streams of the messengers connected to the lobby server, which also write the lobby and chat classes by
+ * number.
+ */
+public class LobbyObjectStreamFactory extends DefaultObjectStreamFactory {
+  /**
+   * The classes written by number by lobby object streams. Only ever add to the end of the list.
+   */
+  public static final ClassTable CLASS_TABLE = ClassTable.BASIC
+      .extend(ChatController.STREAM_CLASSES)
+      .extend(Arrays.asList(
+          GameDescription.class,
+          GameDescription.GameStatus.class));
+
+  @Override
+  public ClassTable getClassTable() {
+    return CLASS_TABLE;
+  }
+}
@@ -11,6 +11,7 @@ import games.strategy.engine.lobby.server.login.LobbyLoginValidator;
 import games.strategy.net.IServerMessenger;
 import games.strategy.net.Messengers;
 import games.strategy.net.ServerMessenger;
+import games.strategy.performance.Metrics;
 import games.strategy.sound.ClipPlayer;
 import games.strategy.util.Version;
 
@@ -24,7 +25,7 @@ public class LobbyServer {
   private LobbyServer(final int port) {
     final IServerMessenger server;
     try {
-      server = new ServerMessenger(ADMIN_USERNAME, port);
+      server = new ServerMessenger(ADMIN_USERNAME, port, new LobbyObjectStreamFactory());
     } catch (final IOException ex) {
       logger.log(Level.SEVERE, ex.toString());
       throw new IllegalStateException(ex.getMessage());
@@ -63,6 +64,7 @@ public class LobbyServer {
       logger.info("Trying to listen on port:" + port);
       new LobbyServer(port);
       logger.info("Lobby started");
+      Metrics.startLoggingIfConfigured();
     } catch (final Exception ex) {
       logger.log(Level.SEVERE, ex.toString(), ex);
     }
@@ -0,0 +1,25 @@
+package games.strategy.engine.message;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import games.strategy.engine.message.unifiedmessenger.InvokeBatch;
+
+public class HubInvokeBatch extends InvokeBatch {
+  private static final long serialVersionUID = -4718238516407193582L;
+
+  public HubInvokeBatch() {
+    super();
+  }
+
+  public HubInvokeBatch(final List<RemoteMethodCall> calls) {
+    super(calls);
+  }
+
+  /**
+   * @return the calls as invocations that do not need return values, in order.
+   */
+  public List<HubInvoke> getInvokes() {
+    return getCalls().stream().map(call -> new HubInvoke(null, false, call)).collect(Collectors.toList());
+  }
+}
@@ -1,8 +1,17 @@
 package games.strategy.engine.message;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -10,43 +19,99 @@ import games.strategy.util.Tuple;
 
 class RemoteInterfaceHelper {
   private static final Logger logger = Logger.getLogger(RemoteInterfaceHelper.class.getName());
+  // every remote interface gets its table built once, the first time it is called
+  private static final ClassValue<MethodTable> methodTables = new ClassValue<MethodTable>() {
+    @Override
+    protected MethodTable computeValue(final Class<?> remoteInterface) {
+      return new MethodTable(remoteInterface);
+    }
+  };
 
   static int getNumber(final String methodName, final Class<?>[] argTypes, final Class<?> remoteInterface) {
-    final Method[] methods = remoteInterface.getMethods();
-    Arrays.sort(methods, methodComparator);
-    if (logger.isLoggable(Level.FINEST)) {
-      logger.fine("Sorted methods:" + Arrays.asList(methods));
+    return methodTables.get(remoteInterface).getNumber(methodName, argTypes);
+  }
+
+  static Tuple<String, Class<?>[]> getMethodInfo(final int methodNumber, final Class<?> remoteInterface) {
+    final Method method = getMethod(methodNumber, remoteInterface);
+    return Tuple.of(method.getName(), method.getParameterTypes());
+  }
+
+  static Method getMethod(final int methodNumber, final Class<?> remoteInterface) {
+    return methodTables.get(remoteInterface).methods[methodNumber];
+  }
+
+  /**
+   * @return a handle of type (Object, Object[])Object that calls the method on its first argument, with the elements of
+   *         the array as the arguments of the method. Like {@link Method#invoke(Object, Object...)}, anything the
+   *         method throws is wrapped in an {@link InvocationTargetException}, so it can be told apart from arguments
+   *         that do not match the method.
+   */
+  static MethodHandle getMethodHandle(final int methodNumber, final Class<?> remoteInterface) {
+    return methodTables.get(remoteInterface).handles[methodNumber];
+  }
+
+  /**
+   * The methods of a remote interface in the order they are numbered, and handles to call them.
+   */
+  private static final class MethodTable {
+    private final Method[] methods;
+    private final MethodHandle[] handles;
+    // the numbers of the methods with each name, overloads are rare
+    private final Map<String, int[]> numbersByName = new HashMap<>();
+
+    MethodTable(final Class<?> remoteInterface) {
+      methods = remoteInterface.getMethods();
+      Arrays.sort(methods, methodComparator);
+      if (logger.isLoggable(Level.FINEST)) {
+        logger.fine("Sorted methods:" + Arrays.asList(methods));
+      }
+      handles = new MethodHandle[methods.length];
+      final Map<String, List<Integer>> numbers = new HashMap<>();
+      for (int i = 0; i < methods.length; i++) {
+        handles[i] = toHandle(methods[i]);
+        numbers.computeIfAbsent(methods[i].getName(), name -> new ArrayList<>()).add(i);
+      }
+      numbers.forEach((name, list) -> numbersByName.put(name, list.stream().mapToInt(Integer::intValue).toArray()));
     }
-    for (int i = 0; i < methods.length; i++) {
-      if (methods[i].getName().equals(methodName)) {
-        final Class<?>[] types = methods[i].getParameterTypes();
-        // both null
-        if (types == argTypes) {
-          return i;
-        } else if (types != null && argTypes != null && types.length == argTypes.length) {
-          boolean match = true;
-          for (int j = 0; j < argTypes.length; j++) {
-            if (!argTypes[j].equals(types[j])) {
-              match = false;
-              break;
-            }
-          }
-          if (match) {
-            return i;
+
+    int getNumber(final String methodName, final Class<?>[] argTypes) {
+      final int[] numbers = numbersByName.get(methodName);
+      if (numbers != null) {
+        for (final int number : numbers) {
+          if (Arrays.equals(methods[number].getParameterTypes(), argTypes)) {
+            return number;
           }
         }
       }
+      throw new IllegalStateException("Method not found");
     }
-    throw new IllegalStateException("Method not found");
-  }
 
-  static Tuple<String, Class<?>[]> getMethodInfo(final int methodNumber, final Class<?> remoteInterface) {
-    final Method[] methods = remoteInterface.getMethods();
-    Arrays.sort(methods, methodComparator);
-    if (logger.isLoggable(Level.FINEST)) {
-      logger.fine("Sorted methods:" + Arrays.asList(methods));
+    private static MethodHandle toHandle(final Method method) {
+      try {
+        // remote interfaces are not always public
+        method.setAccessible(true);
+      } catch (final SecurityException e) {
+        logger.log(Level.FINE, "Can not make accessible:" + method, e);
+      }
+      try {
+        final MethodHandle target = MethodHandles.lookup().unreflect(method);
+        final MethodHandle wrapTargetException = MethodHandles.dropArguments(
+            MethodHandles.filterArguments(
+                MethodHandles.throwException(target.type().returnType(), InvocationTargetException.class), 0,
+                MethodHandles.lookup().findConstructor(InvocationTargetException.class,
+                    MethodType.methodType(void.class, Throwable.class))),
+            1, target.type().parameterList());
+        MethodHandle handle = MethodHandles.catchException(target, Throwable.class, wrapTargetException)
+            .asSpreader(Object[].class, method.getParameterCount());
+        if (Modifier.isStatic(method.getModifiers())) {
+          // getMethods() includes static interface methods, they are numbered but ignore the implementor
+          handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+      } catch (final IllegalAccessException | NoSuchMethodException e) {
+        throw new IllegalStateException("Can not call remote method:" + method, e);
+      }
     }
-    return Tuple.of(methods[methodNumber].getName(), methods[methodNumber].getParameterTypes());
   }
 
   /**
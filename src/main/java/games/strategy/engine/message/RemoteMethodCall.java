@@ -4,6 +4,8 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -12,8 +14,6 @@ import javax.annotation.Nullable;
 
 import com.google.common.annotations.VisibleForTesting;
 
-import games.strategy.util.Tuple;
-
 /**
  * All the info neccassary to describe a method call in one handy
  * serializable package.
@@ -30,6 +30,8 @@ public class RemoteMethodCall implements Externalizable {
   private int m_methodNumber;
   // stored as a String[] so we can be serialzed
   private String[] m_argTypes;
+  // calls the method, not serialized since it is looked up from the method number
+  private transient MethodHandle m_methodHandle;
 
   public RemoteMethodCall() {}
 
@@ -49,6 +51,7 @@ public class RemoteMethodCall implements Externalizable {
     m_args = args;
     m_argTypes = classesToString(argTypes, args);
     m_methodNumber = RemoteInterfaceHelper.getNumber(methodName, argTypes, remoteInterface);
+    m_methodHandle = RemoteInterfaceHelper.getMethodHandle(m_methodNumber, remoteInterface);
     if (logger.isLoggable(Level.FINE)) {
       logger.fine("Remote Method Call:" + debugMethodText());
     }
@@ -83,6 +86,14 @@ public class RemoteMethodCall implements Externalizable {
     return m_args;
   }
 
+  /**
+   * @return a handle of type (Object, Object[])Object that calls the method on an implementor with the args, or null if
+   *         we have been de-serialized and not yet resolved.
+   */
+  public MethodHandle getMethodHandle() {
+    return m_methodHandle;
+  }
+
   /**
    * @return Returns the argTypes.
    */
@@ -186,9 +197,10 @@ public class RemoteMethodCall implements Externalizable {
     if (m_methodName != null) {
       return;
     }
-    final Tuple<String, Class<?>[]> values = RemoteInterfaceHelper.getMethodInfo(m_methodNumber, remoteType);
-    m_methodName = values.getFirst();
-    m_argTypes = classesToString(values.getSecond(), m_args);
+    final Method method = RemoteInterfaceHelper.getMethod(m_methodNumber, remoteType);
+    m_methodName = method.getName();
+    m_argTypes = classesToString(method.getParameterTypes(), m_args);
+    m_methodHandle = RemoteInterfaceHelper.getMethodHandle(m_methodNumber, remoteType);
     if (logger.isLoggable(Level.FINE)) {
       logger.fine("Remote Method for class:" + remoteType.getSimpleName() + " Resolved To:" + debugMethodText());
     }
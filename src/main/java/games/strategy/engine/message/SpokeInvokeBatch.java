@@ -0,0 +1,49 @@
+package games.strategy.engine.message;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import games.strategy.engine.message.unifiedmessenger.InvokeBatch;
+import games.strategy.net.INode;
+import games.strategy.net.Node;
+
+public class SpokeInvokeBatch extends InvokeBatch {
+  private static final long serialVersionUID = 6140385402251307734L;
+  private INode m_invoker;
+
+  public SpokeInvokeBatch() {
+    super();
+  }
+
+  public SpokeInvokeBatch(final List<RemoteMethodCall> calls, final INode invoker) {
+    super(calls);
+    m_invoker = invoker;
+  }
+
+  public INode getInvoker() {
+    return m_invoker;
+  }
+
+  /**
+   * @return the calls as invocations that do not need return values, in order.
+   */
+  public List<SpokeInvoke> getInvokes() {
+    return getCalls().stream().map(call -> new SpokeInvoke(null, false, call, m_invoker)).collect(Collectors.toList());
+  }
+
+  @Override
+  public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+    super.readExternal(in);
+    m_invoker = new Node();
+    ((Node) m_invoker).readExternal(in);
+  }
+
+  @Override
+  public void writeExternal(final ObjectOutput out) throws IOException {
+    super.writeExternal(out);
+    ((Node) m_invoker).writeExternal(out);
+  }
+}
@@ -4,6 +4,8 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -75,14 +77,7 @@ public class UnifiedMessengerHub implements IMessageListener, IConnectionChangeL
       }
     } else if (msg instanceof HubInvoke) {
       final HubInvoke invoke = (HubInvoke) msg;
-      final Collection<INode> endPointCols = new ArrayList<>();
-      synchronized (endPointMutex) {
-        if (endPoints.containsKey(invoke.call.getRemoteName())) {
-          endPointCols.addAll(endPoints.get(invoke.call.getRemoteName()));
-        }
-      }
-      // the node will already have routed messages to local invokers
-      endPointCols.remove(from);
+      final Collection<INode> endPointCols = getRemoteEndPointNodes(invoke.call, from);
       if (endPointCols.isEmpty()) {
         if (invoke.needReturnValues) {
           final RemoteMethodCallResults results =
@@ -94,12 +89,47 @@ public class UnifiedMessengerHub implements IMessageListener, IConnectionChangeL
       } else {
         invoke(invoke, endPointCols, from);
       }
+    } else if (msg instanceof HubInvokeBatch) {
+      invoke((HubInvokeBatch) msg, from);
     } else if (msg instanceof HubInvocationResults) {
       final HubInvocationResults results = (HubInvocationResults) msg;
       results(results, from);
     }
   }
 
+  private Collection<INode> getRemoteEndPointNodes(final RemoteMethodCall call, final INode from) {
+    final Collection<INode> endPointCols = new ArrayList<>();
+    synchronized (endPointMutex) {
+      if (endPoints.containsKey(call.getRemoteName())) {
+        endPointCols.addAll(endPoints.get(call.getRemoteName()));
+      }
+    }
+    // the node will already have routed messages to local invokers
+    endPointCols.remove(from);
+    return endPointCols;
+  }
+
+  /**
+   * Sends the calls in the batch on to the nodes with implementors, as one batch per node. Each node gets its calls
+   * in the order they were made.
+   */
+  private void invoke(final HubInvokeBatch batch, final INode from) {
+    final Map<INode, List<RemoteMethodCall>> callsByNode = new LinkedHashMap<>();
+    for (final RemoteMethodCall call : batch.getCalls()) {
+      // no end points is ok, we are a channel with no implementors
+      for (final INode node : getRemoteEndPointNodes(call, from)) {
+        callsByNode.computeIfAbsent(node, k -> new ArrayList<>()).add(call);
+      }
+    }
+    callsByNode.forEach((node, calls) -> {
+      if (calls.size() == 1) {
+        send(new SpokeInvoke(null, false, calls.get(0), from), node);
+      } else {
+        send(new SpokeInvokeBatch(calls, from), node);
+      }
+    });
+  }
+
   private void results(final HubInvocationResults results, final INode from) {
     final GUID methodId = results.methodCallID;
     final InvocationInProgress invocationInProgress = invocations.get(methodId);
@@ -1,9 +1,13 @@
 package games.strategy.engine.message.unifiedmessenger;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 import games.strategy.debug.ClientLogger;
@@ -29,6 +33,10 @@ class EndPoint {
   private final Class<?> m_remoteClass;
   private final List<Object> m_implementors = new ArrayList<>();
   private final boolean m_singleThreaded;
+  // invocations from other nodes waiting to be run, only used if we are single threaded
+  private final Queue<Runnable> m_mailbox = new ConcurrentLinkedQueue<>();
+  // true while a thread is running the invocations in the mailbox, or is about to
+  private final AtomicBoolean m_mailboxScheduled = new AtomicBoolean();
 
   public EndPoint(final String name, final Class<?> remoteClass, final boolean singleThreaded) {
     m_name = name;
@@ -118,6 +126,43 @@ class EndPoint {
     return m_remoteClass;
   }
 
+  /**
+   * Runs an invocation from another node with the executor. If we are single threaded, the invocations are put in our
+   * mailbox and run one after the other, in the order given here, so that at most one thread of the executor is used
+   * for this end point and no thread waits for an earlier invocation to finish.
+   */
+  void execute(final Runnable invocation, final Executor executor) {
+    if (!m_singleThreaded) {
+      executor.execute(invocation);
+      return;
+    }
+    m_mailbox.add(invocation);
+    scheduleMailbox(executor);
+  }
+
+  private void scheduleMailbox(final Executor executor) {
+    if (!m_mailbox.isEmpty() && m_mailboxScheduled.compareAndSet(false, true)) {
+      executor.execute(() -> runMailbox(executor));
+    }
+  }
+
+  private void runMailbox(final Executor executor) {
+    try {
+      Runnable invocation;
+      while ((invocation = m_mailbox.poll()) != null) {
+        try {
+          invocation.run();
+        } catch (final RuntimeException e) {
+          ClientLogger.logQuietly("error in invocation on:" + m_name, e);
+        }
+      }
+    } finally {
+      m_mailboxScheduled.set(false);
+      // something may have been added after we found the mailbox empty, but before we gave up on it
+      scheduleMailbox(executor);
+    }
+  }
+
   /*
    * @param number - like the number you get in a bank line, if we are single
    * threaded, then the method will not run until the number comes up. Acquire
@@ -151,24 +196,26 @@ class EndPoint {
   private RemoteMethodCallResults invokeSingle(final RemoteMethodCall call, final Object implementor,
       final INode messageOriginator) {
     call.resolve(m_remoteClass);
-    Method method;
-    try {
-      method = implementor.getClass().getMethod(call.getMethodName(), call.getArgTypes());
-      method.setAccessible(true);
-    } catch (final SecurityException | NoSuchMethodException e) {
-      ClientLogger.logQuietly(e);
-      throw new IllegalStateException(e.getMessage());
-    }
+    // the handle calls the interface method, the implementor is checked to implement it when added
+    final MethodHandle method = call.getMethodHandle();
     MessageContext.setSenderNodeForThread(messageOriginator);
     try {
-      final Object methodRVal = method.invoke(implementor, call.getArgs());
+      final Object methodRVal = method.invokeExact(implementor, call.getArgs());
       return new RemoteMethodCallResults(methodRVal);
     } catch (final InvocationTargetException e) {
-      return new RemoteMethodCallResults(e.getTargetException());
-    } catch (final IllegalAccessException e) {
+      final Throwable targetException = e.getTargetException();
+      if (targetException instanceof VirtualMachineError) {
+        throw (VirtualMachineError) targetException;
+      }
+      return new RemoteMethodCallResults(targetException);
+    } catch (final RuntimeException e) {
+      // the arguments do not match the method
       ClientLogger.logQuietly("error in call:" + call, e);
       return new RemoteMethodCallResults(e);
-    } catch (final IllegalArgumentException e) {
+    } catch (final Error e) {
+      throw e;
+    } catch (final Throwable e) {
+      // the handle only throws unchecked exceptions besides the wrapped ones of the method
       ClientLogger.logQuietly("error in call:" + call, e);
       return new RemoteMethodCallResults(e);
     } finally {
@@ -0,0 +1,89 @@
+package games.strategy.engine.message.unifiedmessenger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the remote invocations run for other nodes, how long they waited to be run and how long they ran.
+ *
+ * <p>
+ * An invocation is queued from the time its message arrives until a thread starts running it. A long queue with long
+ * waits means the invocation threads are all busy, or that a single threaded end point is slow.
+ * </p>
+ */
+public final class InvocationMetrics {
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger running = new AtomicInteger();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final LongAdder totalRunNanos = new LongAdder();
+  private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+  InvocationMetrics() {}
+
+  /**
+   * Returns a task that runs the given one and measures it, the wait is measured from now.
+   */
+  Runnable measure(final Runnable task) {
+    final long queuedAt = System.nanoTime();
+    queued.incrementAndGet();
+    return () -> {
+      final long startedAt = System.nanoTime();
+      queued.decrementAndGet();
+      running.incrementAndGet();
+      totalWaitNanos.add(startedAt - queuedAt);
+      maxWaitNanos.accumulate(startedAt - queuedAt);
+      try {
+        task.run();
+      } finally {
+        totalRunNanos.add(System.nanoTime() - startedAt);
+        running.decrementAndGet();
+        completed.increment();
+      }
+    };
+  }
+
+  /**
+   * @return the number of invocations waiting to be run.
+   */
+  public int getQueueDepth() {
+    return queued.get();
+  }
+
+  /**
+   * @return the number of invocations running now.
+   */
+  public int getRunning() {
+    return running.get();
+  }
+
+  public long getCompleted() {
+    return completed.sum();
+  }
+
+  public double getAverageWaitMillis() {
+    return averageMillis(totalWaitNanos);
+  }
+
+  public double getMaxWaitMillis() {
+    return maxWaitNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  public double getAverageRunMillis() {
+    return averageMillis(totalRunNanos);
+  }
+
+  private double averageMillis(final LongAdder totalNanos) {
+    final long count = completed.sum();
+    return count == 0 ? 0 : totalNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Invocations queued:%d running:%d completed:%d wait avg:%.2fms max:%.2fms run avg:%.2fms",
+        getQueueDepth(), getRunning(), getCompleted(), getAverageWaitMillis(), getMaxWaitMillis(),
+        getAverageRunMillis());
+  }
+}
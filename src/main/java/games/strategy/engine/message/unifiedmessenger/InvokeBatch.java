@@ -0,0 +1,68 @@
+package games.strategy.engine.message.unifiedmessenger;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import games.strategy.engine.message.RemoteMethodCall;
+
+// someone wants us to invoke several things locally, in order, without waiting for return values
+public abstract class InvokeBatch implements Externalizable {
+  private static final long serialVersionUID = 2893516744907524461L;
+  private final List<RemoteMethodCall> calls = new ArrayList<>();
+
+  public InvokeBatch() {}
+
+  public InvokeBatch(final List<RemoteMethodCall> calls) {
+    if (calls.isEmpty()) {
+      throw new IllegalArgumentException("No calls");
+    }
+    this.calls.addAll(calls);
+  }
+
+  /**
+   * @return the calls, in the order they were made.
+   */
+  public List<RemoteMethodCall> getCalls() {
+    return Collections.unmodifiableList(calls);
+  }
+
+  /**
+   * Drops the calls that should not be invoked.
+   *
+   * @return whether any calls are left.
+   */
+  public boolean removeCalls(final Predicate<RemoteMethodCall> filter) {
+    calls.removeIf(filter);
+    return !calls.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "invoke batch of:" + calls;
+  }
+
+  @Override
+  public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+    final int count = in.readInt();
+    calls.clear();
+    for (int i = 0; i < count; i++) {
+      final RemoteMethodCall call = new RemoteMethodCall();
+      call.readExternal(in);
+      calls.add(call);
+    }
+  }
+
+  @Override
+  public void writeExternal(final ObjectOutput out) throws IOException {
+    out.writeInt(calls.size());
+    for (final RemoteMethodCall call : calls) {
+      call.writeExternal(out);
+    }
+  }
+}
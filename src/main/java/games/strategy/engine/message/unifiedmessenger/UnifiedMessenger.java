@@ -1,30 +1,40 @@
 package games.strategy.engine.message.unifiedmessenger;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import games.strategy.engine.message.ConnectionLostException;
 import games.strategy.engine.message.HubInvocationResults;
 import games.strategy.engine.message.HubInvoke;
+import games.strategy.engine.message.HubInvokeBatch;
 import games.strategy.engine.message.RemoteMethodCall;
 import games.strategy.engine.message.RemoteMethodCallResults;
 import games.strategy.engine.message.RemoteName;
 import games.strategy.engine.message.RemoteNotFoundException;
 import games.strategy.engine.message.SpokeInvocationResults;
 import games.strategy.engine.message.SpokeInvoke;
+import games.strategy.engine.message.SpokeInvokeBatch;
 import games.strategy.engine.message.UnifiedMessengerHub;
 import games.strategy.net.GUID;
 import games.strategy.net.IMessageListener;
 import games.strategy.net.IMessenger;
 import games.strategy.net.IMessengerErrorListener;
 import games.strategy.net.INode;
+import games.strategy.performance.Metrics;
 import games.strategy.util.ThreadUtil;
 
 /**
@@ -34,7 +44,26 @@ import games.strategy.util.ThreadUtil;
 public class UnifiedMessenger {
   private static final Logger logger = Logger.getLogger(UnifiedMessenger.class.getName());
 
-  private static final ExecutorService threadPool = Executors.newFixedThreadPool(15);
+  // the most invocations from other nodes we run at the same time, single threaded end points use at most one thread
+  private static final int MAX_INVOCATION_THREADS = Integer.getInteger("triplea.invocationThreads", 64);
+  private static final InvocationMetrics invocationMetrics = new InvocationMetrics();
+  private static final ForkJoinPool threadPool = newThreadPool();
+  // the most calls we put in one batch before sending it, even if the batch window is not over
+  private static final int MAX_BATCH_SIZE = 64;
+  // the system property with the batch window in milliseconds, see setBatchWindow
+  public static final String BATCH_WINDOW_PROPERTY = "triplea.invokeBatchMillis";
+  private static final ScheduledExecutorService batchTimer = Executors.newSingleThreadScheduledExecutor(task -> {
+    final Thread thread = new Thread(task, "Remote invocation batcher");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  static {
+    Metrics.gauge("invocation.queued", invocationMetrics::getQueueDepth);
+    Metrics.gauge("invocation.running", invocationMetrics::getRunning);
+    Metrics.gauge("invocation.completed", invocationMetrics::getCompleted);
+  }
+
   // the messenger we are based on
   private final IMessenger m_messenger;
   // lock on this for modifications to create or remove local end points
@@ -43,17 +72,21 @@ public class UnifiedMessenger {
   // these are the end points that
   // have local implementors
   private final Map<String, EndPoint> m_localEndPoints = new HashMap<>();
-  private final Object m_pendingLock = new Object();
-  // threads wait on these latches for the hub to return invocations
-  // the latch should be removed from the map when you countdown the last result
-  // access should be synchronized on m_pendingLock
+  // threads wait on these for the hub to return the results of invocations
+  // the future should be removed from the map when it is completed
   // TODO: how do these get shutdown when we exit a game or close triplea?
-  private final Map<GUID, CountDownLatch> m_pendingInvocations = new HashMap<>();
-  // after the remote has invoked, the results are placed here
-  // access should be synchronized on m_pendingLock
-  private final Map<GUID, RemoteMethodCallResults> m_results = new HashMap<>();
+  private final Map<GUID, CompletableFuture<RemoteMethodCallResults>> m_pendingInvocations =
+      new ConcurrentHashMap<>();
   // only non null for the server
   private UnifiedMessengerHub m_hub;
+  // how long calls without return values wait to be sent along with other calls, 0 if they are sent right away
+  private volatile long m_batchWindowMillis = Math.max(0, Long.getLong(BATCH_WINDOW_PROPERTY, 0));
+  // calls without return values waiting to be sent to the hub
+  // access should be synchronized on m_batchLock, which is also held while sending to keep messages in order
+  private List<RemoteMethodCall> m_batch = new ArrayList<>();
+  private final Object m_batchLock = new Object();
+  // true while m_batch may have calls that were not sent yet, so other messages don't take m_batchLock otherwise
+  private volatile boolean m_batchPending;
 
   /**
    * Creates a new instance of UnifiedMessanger.
@@ -70,16 +103,38 @@ public class UnifiedMessenger {
     }
   }
 
+  /**
+   * Invocations run in a work stealing pool in async mode, so the tasks queued from a pool thread (e.g. an end point
+   * mailbox scheduling itself again) run first in, first out, and idle threads steal them. Invocations often block,
+   * waiting for the user or for calls to other nodes, so the parallelism is the most invocations we run at the same
+   * time rather than the core count. A thread waiting on the results of a remote call (a CompletableFuture) lets the
+   * pool start another one meanwhile. Idle threads go away, most of the time only a few are needed.
+   */
+  private static ForkJoinPool newThreadPool() {
+    final AtomicInteger threadNumber = new AtomicInteger();
+    return new ForkJoinPool(MAX_INVOCATION_THREADS, pool -> {
+      final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("Remote invocation " + threadNumber.incrementAndGet());
+      return thread;
+    }, null, true);
+  }
+
+  /**
+   * @return how many invocations from other nodes are waiting and running, and how long they take.
+   */
+  public static InvocationMetrics getInvocationMetrics() {
+    return invocationMetrics;
+  }
+
   UnifiedMessengerHub getHub() {
     return m_hub;
   }
 
   private void messengerInvalid() {
-    synchronized (m_pendingLock) {
-      for (final GUID id : m_pendingInvocations.keySet()) {
-        final CountDownLatch latch = m_pendingInvocations.remove(id);
-        latch.countDown();
-        m_results.put(id, new RemoteMethodCallResults(new ConnectionLostException("Connection Lost")));
+    for (final GUID id : m_pendingInvocations.keySet()) {
+      final CompletableFuture<RemoteMethodCallResults> results = m_pendingInvocations.remove(id);
+      if (results != null) {
+        results.complete(new RemoteMethodCallResults(new ConnectionLostException("Connection Lost")));
       }
     }
   }
@@ -108,31 +163,59 @@ public class UnifiedMessenger {
     }
   }
 
-  private RemoteMethodCallResults invokeAndWaitRemote(final RemoteMethodCall remoteCall) {
-    final GUID methodCallId = new GUID();
-    final CountDownLatch latch = new CountDownLatch(1);
-    synchronized (m_pendingLock) {
-      m_pendingInvocations.put(methodCallId, latch);
+  /**
+   * Invoke without waiting for the results. This lets a caller make several calls that need return values, and only
+   * then wait for all of their results, instead of waiting for each call in turn.
+   *
+   * <p>
+   * If the implementor is local, it is invoked before this returns, like {@link #invokeAndWait(String,
+   * RemoteMethodCall)}.
+   * </p>
+   *
+   * @return the results, completed once the call has been invoked.
+   */
+  public CompletableFuture<RemoteMethodCallResults> invokeAsync(final String endPointName,
+      final RemoteMethodCall remoteCall) {
+    final boolean isLocal;
+    synchronized (m_endPointMutex) {
+      isLocal = m_localEndPoints.containsKey(endPointName);
     }
+    if (isLocal) {
+      return CompletableFuture.completedFuture(invokeAndWait(endPointName, remoteCall));
+    }
+    return invokeRemote(new GUID(), remoteCall);
+  }
+
+  private CompletableFuture<RemoteMethodCallResults> invokeRemote(final GUID methodCallId,
+      final RemoteMethodCall remoteCall) {
+    final CompletableFuture<RemoteMethodCallResults> pending = new CompletableFuture<>();
+    m_pendingInvocations.put(methodCallId, pending);
     // invoke remotely
     final Invoke invoke = new HubInvoke(methodCallId, true, remoteCall);
     send(invoke, m_messenger.getServerNode());
+    return pending;
+  }
 
+  private RemoteMethodCallResults invokeAndWaitRemote(final RemoteMethodCall remoteCall) {
+    final GUID methodCallId = new GUID();
+    final CompletableFuture<RemoteMethodCallResults> pending = invokeRemote(methodCallId, remoteCall);
+
+    RemoteMethodCallResults results = null;
     try {
-      latch.await();
+      results = pending.get();
     } catch (final InterruptedException e) {
       logger.log(Level.WARNING, e.getMessage());
+      m_pendingInvocations.remove(methodCallId);
+    } catch (final ExecutionException e) {
+      // never completed exceptionally
+      throw new IllegalStateException(e);
     }
-
-    synchronized (m_pendingLock) {
-      final RemoteMethodCallResults results = m_results.remove(methodCallId);
-      if (results == null) {
-        throw new IllegalStateException(
-            "No results from remote call. Method returned:" + remoteCall.getMethodName() + " for remote name:"
-                + remoteCall.getRemoteName() + " with id:" + methodCallId);
-      }
-      return results;
+    if (results == null) {
+      throw new IllegalStateException(
+          "No results from remote call. Method returned:" + remoteCall.getMethodName() + " for remote name:"
+              + remoteCall.getRemoteName() + " with id:" + methodCallId);
     }
+    return results;
   }
 
   /**
@@ -140,8 +223,12 @@ public class UnifiedMessenger {
    */
   public void invoke(final String endPointName, final RemoteMethodCall call) {
     // send the remote invocation
-    final Invoke invoke = new HubInvoke(null, false, call);
-    send(invoke, m_messenger.getServerNode());
+    if (m_batchWindowMillis > 0 && m_hub == null) {
+      addToBatch(call);
+    } else {
+      final Invoke invoke = new HubInvoke(null, false, call);
+      send(invoke, m_messenger.getServerNode());
+    }
     // invoke locally
     EndPoint endPoint;
     synchronized (m_endPointMutex) {
@@ -217,11 +304,74 @@ public class UnifiedMessenger {
   private void send(final Serializable msg, final INode to) {
     if (m_messenger.getLocalNode().equals(to)) {
       m_hub.messageReceived(msg, getLocalNode());
-    } else {
+    } else if (!m_batchPending) {
       m_messenger.send(msg, to);
+    } else {
+      synchronized (m_batchLock) {
+        // calls waiting in the batch were made first, so they must be sent first
+        sendBatch();
+        m_messenger.send(msg, to);
+      }
     }
   }
 
+  /**
+   * Turns batching of calls that do not need return values on or off. While on, such calls are not sent right away, but
+   * collected for the given time and then sent to the hub together as one message. The hub and the other nodes still
+   * run them in the order they were made, and anything else sent by this messenger is only sent after them.
+   *
+   * <p>
+   * This saves a round of messages per call when a node makes many small calls in a row, at the cost of delaying each
+   * of them by up to the window. It has no effect on the server, which does not send calls over the network to itself.
+   * </p>
+   *
+   * @param batchWindowMillis how long a call may wait for more calls to be sent with, or 0 to send each call right
+   *        away.
+   */
+  public void setBatchWindow(final long batchWindowMillis) {
+    if (batchWindowMillis < 0) {
+      throw new IllegalArgumentException("Negative batch window:" + batchWindowMillis);
+    }
+    m_batchWindowMillis = batchWindowMillis;
+    if (batchWindowMillis == 0) {
+      flushBatch();
+    }
+  }
+
+  /**
+   * Sends the calls waiting in the batch now, without waiting for the batch window to end.
+   */
+  public void flushBatch() {
+    synchronized (m_batchLock) {
+      sendBatch();
+    }
+  }
+
+  private void addToBatch(final RemoteMethodCall call) {
+    synchronized (m_batchLock) {
+      m_batch.add(call);
+      m_batchPending = true;
+      if (m_batch.size() >= MAX_BATCH_SIZE) {
+        sendBatch();
+      } else if (m_batch.size() == 1) {
+        batchTimer.schedule(this::flushBatch, m_batchWindowMillis, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  // must hold m_batchLock
+  private void sendBatch() {
+    if (m_batch.isEmpty()) {
+      return;
+    }
+    final Serializable msg =
+        m_batch.size() == 1 ? new HubInvoke(null, false, m_batch.get(0)) : new HubInvokeBatch(m_batch);
+    m_batch = new ArrayList<>();
+    m_messenger.send(msg, m_messenger.getServerNode());
+    // only cleared once sent, so a message sent without the lock can't overtake the calls of the batch
+    m_batchPending = false;
+  }
+
   public boolean isServer() {
     return m_messenger.isServer();
   }
@@ -261,66 +411,74 @@ public class UnifiedMessenger {
     }
   }
 
+  private void invoke(final SpokeInvoke invoke, final INode from) {
+    EndPoint local;
+    synchronized (m_endPointMutex) {
+      local = m_localEndPoints.get(invoke.call.getRemoteName());
+    }
+    // something a bit strange here, it may be the case
+    // that the endpoint was deleted locally
+    // regardless, the other side is expecting our reply
+    if (local == null) {
+      if (invoke.needReturnValues) {
+        send(new HubInvocationResults(
+            new RemoteMethodCallResults(new RemoteNotFoundException("No implementors for " + invoke.call)),
+            invoke.methodCallID), from);
+      }
+      return;
+    }
+    // very important
+    // we are guaranteed that here messages will be
+    // read in the same order that they are sent from the client
+    // however, once we delegate to the thread pool, there is no
+    // guarantee that the thread pool task will run before
+    // we get the next message notification
+    // get the number for the invocation here, the end point
+    // runs its invocations in the order they are given to it
+    final long methodRunNumber = local.takeANumber();
+    // we dont want to block the message thread, only one thread is
+    // reading messages
+    // per connection, so run with out thread pool
+    final EndPoint localFinal = local;
+    final Runnable task = () -> {
+      final List<RemoteMethodCallResults> results =
+          localFinal.invokeLocal(invoke.call, methodRunNumber, invoke.getInvoker());
+      if (invoke.needReturnValues) {
+        RemoteMethodCallResults result = null;
+        if (results.size() == 1) {
+          result = results.get(0);
+        } else {
+          result = new RemoteMethodCallResults(
+              new IllegalStateException("Invalid result count" + results.size()) + " for end point:" + localFinal);
+        }
+        send(new HubInvocationResults(result, invoke.methodCallID), from);
+      }
+    };
+    local.execute(invocationMetrics.measure(task), threadPool);
+  }
+
   public void messageReceived(final Serializable msg, final INode from) {
     if (msg instanceof SpokeInvoke) {
       // if this isn't the server, something is wrong
       // maybe an attempt to spoof a message
       assertIsServer(from);
-      final SpokeInvoke invoke = (SpokeInvoke) msg;
-      EndPoint local;
-      synchronized (m_endPointMutex) {
-        local = m_localEndPoints.get(invoke.call.getRemoteName());
-      }
-      // something a bit strange here, it may be the case
-      // that the endpoint was deleted locally
-      // regardless, the other side is expecting our reply
-      if (local == null) {
-        if (invoke.needReturnValues) {
-          send(new HubInvocationResults(
-              new RemoteMethodCallResults(new RemoteNotFoundException("No implementors for " + invoke.call)),
-              invoke.methodCallID), from);
-        }
-        return;
+      invoke((SpokeInvoke) msg, from);
+    } else if (msg instanceof SpokeInvokeBatch) {
+      assertIsServer(from);
+      // in order, so that each end point takes the numbers of its calls in the order they were made
+      for (final SpokeInvoke invoke : ((SpokeInvokeBatch) msg).getInvokes()) {
+        invoke(invoke, from);
       }
-      // very important
-      // we are guaranteed that here messages will be
-      // read in the same order that they are sent from the client
-      // however, once we delegate to the thread pool, there is no
-      // guarantee that the thread pool task will run before
-      // we get the next message notification
-      // get the number for the invocation here
-      final long methodRunNumber = local.takeANumber();
-      // we dont want to block the message thread, only one thread is
-      // reading messages
-      // per connection, so run with out thread pool
-      final EndPoint localFinal = local;
-      final Runnable task = () -> {
-        final List<RemoteMethodCallResults> results =
-            localFinal.invokeLocal(invoke.call, methodRunNumber, invoke.getInvoker());
-        if (invoke.needReturnValues) {
-          RemoteMethodCallResults result = null;
-          if (results.size() == 1) {
-            result = results.get(0);
-          } else {
-            result = new RemoteMethodCallResults(
-                new IllegalStateException("Invalid result count" + results.size()) + " for end point:" + localFinal);
-          }
-          send(new HubInvocationResults(result, invoke.methodCallID), from);
-        }
-      };
-      threadPool.execute(task);
     } else if (msg instanceof SpokeInvocationResults) { // a remote machine is returning results
       // if this isn't the server, something is wrong
       // maybe an attempt to spoof a message
       assertIsServer(from);
       final SpokeInvocationResults results = (SpokeInvocationResults) msg;
       final GUID methodId = results.methodCallID;
-      // both of these should already be populated
-      // this list should be a synchronized list so we can do the add
-      // all
-      synchronized (m_pendingLock) {
-        m_results.put(methodId, results.results);
-        m_pendingInvocations.remove(methodId).countDown();
+      final CompletableFuture<RemoteMethodCallResults> pending = m_pendingInvocations.remove(methodId);
+      // null if the caller gave up waiting
+      if (pending != null) {
+        pending.complete(results.results);
       }
     }
   }
@@ -0,0 +1,130 @@
+package games.strategy.net;
+
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import games.strategy.util.IntegerMap;
+import games.strategy.util.Tuple;
+
+/**
+ * The classes a {@link CompactObjectOutputStream} writes as a small number instead of a full class descriptor.
+ *
+ * <p>
+ * Messages are written with a fresh object stream each, so java serialization writes the descriptor of every class
+ * again in every message, with the names and types of all its fields. For the classes that are sent all the time, the
+ * descriptor is often larger than the object itself. Both sides of a connection have the same classes, so they can
+ * agree on a number for each of them instead.
+ * </p>
+ *
+ * <p>
+ * The number of a class is its position in the table, so a table must only ever be built from a fixed list. The
+ * fingerprint of a table changes whenever a class is added, removed or moved, or the serial version or the serialized
+ * fields of one of them change. The two ends of a connection compare their fingerprints when the connection is made,
+ * and only use the compact streams if they are the same, see {@link IObjectStreamFactory}. Each compact stream also
+ * starts with the fingerprint, so a stream written with a different table is rejected rather than misread. The reader
+ * uses its own descriptor for a class in the table, so a class whose fields differ between the two sides must not be
+ * read with it.
+ * </p>
+ */
+public final class ClassTable {
+  /**
+   * The classes sent by any messenger. The lobby and games extend this with their own classes.
+   */
+  public static final ClassTable BASIC = new ClassTable(Arrays.asList(
+      Object[].class,
+      String[].class,
+      int[].class,
+      Number.class,
+      Integer.class,
+      Long.class,
+      Short.class,
+      Byte.class,
+      Double.class,
+      Float.class,
+      Boolean.class,
+      Character.class,
+      Enum.class,
+      ArrayList.class,
+      LinkedList.class,
+      HashMap.class,
+      LinkedHashMap.class,
+      TreeMap.class,
+      HashSet.class,
+      LinkedHashSet.class,
+      TreeSet.class,
+      GUID.class,
+      Node.class,
+      Tuple.class,
+      IntegerMap.class));
+
+  private final List<Class<?>> classes;
+  private final Map<Class<?>, Integer> ids = new HashMap<>();
+  private final int fingerprint;
+
+  public ClassTable(final List<Class<?>> classes) {
+    this.classes = Collections.unmodifiableList(new ArrayList<>(classes));
+    int hash = 1;
+    for (int i = 0; i < this.classes.size(); i++) {
+      final Class<?> type = this.classes.get(i);
+      if (ids.put(type, i) != null) {
+        throw new IllegalArgumentException("Listed twice:" + type);
+      }
+      hash = 31 * hash + type.getName().hashCode();
+      final ObjectStreamClass descriptor = ObjectStreamClass.lookupAny(type);
+      hash = 31 * hash + Long.hashCode(descriptor.getSerialVersionUID());
+      for (final ObjectStreamField field : descriptor.getFields()) {
+        hash = 31 * hash + field.getName().hashCode();
+        // the type string is only there for fields of object types
+        hash = 31 * hash + (field.isPrimitive() ? field.getTypeCode() : field.getTypeString().hashCode());
+      }
+    }
+    fingerprint = hash;
+  }
+
+  /**
+   * @return a table with our classes, followed by the given ones.
+   */
+  public ClassTable extend(final List<? extends Class<?>> moreClasses) {
+    final List<Class<?>> all = new ArrayList<>(classes);
+    all.addAll(moreClasses);
+    return new ClassTable(all);
+  }
+
+  /**
+   * @return the number of the class, or -1 if it is not in the table.
+   */
+  int getId(final Class<?> type) {
+    final Integer id = ids.get(type);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * @return the class with the number, or null if there is none.
+   */
+  Class<?> getClass(final int id) {
+    return id >= 0 && id < classes.size() ? classes.get(id) : null;
+  }
+
+  /**
+   * @return a hash of the classes and their serialized fields, the same for equal tables.
+   */
+  public int getFingerprint() {
+    return fingerprint;
+  }
+
+  int size() {
+    return classes.size();
+  }
+}
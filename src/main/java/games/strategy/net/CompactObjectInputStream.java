@@ -0,0 +1,78 @@
+package games.strategy.net;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.StreamCorruptedException;
+
+/**
+ * Reads what a {@link CompactObjectOutputStream} with the same {@link ClassTable} wrote, or plain java serialization
+ * without a class table.
+ */
+public class CompactObjectInputStream extends ObjectInputStream {
+  // null to read the class descriptors the normal way
+  private final ClassTable classTable;
+
+  /**
+   * @param classTable The classes the stream was written with, or null if it is plain java serialization.
+   */
+  public CompactObjectInputStream(final InputStream in, final ClassTable classTable) throws IOException {
+    super(classTable == null ? in : checkFingerprint(in, classTable));
+    this.classTable = classTable;
+  }
+
+  private static InputStream checkFingerprint(final InputStream in, final ClassTable classTable) throws IOException {
+    int fingerprint = 0;
+    for (int i = 0; i < 4; i++) {
+      final int b = in.read();
+      if (b < 0) {
+        throw new StreamCorruptedException("No class table fingerprint");
+      }
+      fingerprint = (fingerprint << 8) | b;
+    }
+    if (fingerprint != classTable.getFingerprint()) {
+      throw new StreamCorruptedException("Written with a different class table, fingerprint:"
+          + Integer.toHexString(fingerprint) + " expected:" + Integer.toHexString(classTable.getFingerprint()));
+    }
+    return in;
+  }
+
+  @Override
+  protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+    if (classTable == null) {
+      return super.readClassDescriptor();
+    }
+    final int id = readVarint() - 1;
+    if (id < 0) {
+      return super.readClassDescriptor();
+    }
+    final Class<?> type = classTable.getClass(id);
+    if (type == null) {
+      throw new StreamCorruptedException("No class with number:" + id);
+    }
+    return ObjectStreamClass.lookupAny(type);
+  }
+
+  @Override
+  protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+    // descriptors from the table already have their class, the others have to look it up by name
+    final Class<?> type = desc.forClass();
+    return type != null ? type : super.resolveClass(desc);
+  }
+
+  private int readVarint() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      final int b = read();
+      if (b < 0) {
+        throw new StreamCorruptedException("Truncated class number");
+      }
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new StreamCorruptedException("Class number too long");
+  }
+}
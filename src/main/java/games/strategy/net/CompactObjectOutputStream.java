@@ -0,0 +1,91 @@
+package games.strategy.net;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An object stream that writes smaller messages, to be read by a {@link CompactObjectInputStream} with the same
+ * {@link ClassTable}. Without a class table it writes plain java serialization, which any ObjectInputStream reads.
+ *
+ * <p>
+ * The descriptors of the classes in the table are written as their number in the table, other classes are written the
+ * normal way. Equal short strings are written once and then referred to, until the stream is reset or has seen too
+ * many different ones. Everything else is plain java serialization.
+ * </p>
+ */
+public class CompactObjectOutputStream extends ObjectOutputStream {
+  // longer strings are rarely repeated, and would keep a lot of memory
+  private static final int MAX_INTERNED_STRING_LENGTH = 256;
+  // a stream that is kept open and never reset forgets its strings once it has seen this many
+  private static final int MAX_INTERNED_STRINGS = 4096;
+  // null to write the class descriptors the normal way
+  private final ClassTable classTable;
+  // the first of each short string written since the strings were last forgotten, so equal strings are written as a
+  // reference to it
+  private final Map<String, String> strings = new HashMap<>();
+
+  /**
+   * @param classTable The classes to write by number, or null to write plain java serialization.
+   */
+  public CompactObjectOutputStream(final OutputStream out, final ClassTable classTable) throws IOException {
+    super(classTable == null ? out : writeFingerprint(out, classTable));
+    this.classTable = classTable;
+    enableReplaceObject(true);
+  }
+
+  // written before the stream header, so that a stream written with a different table is rejected before reading it
+  private static OutputStream writeFingerprint(final OutputStream out, final ClassTable classTable)
+      throws IOException {
+    final int fingerprint = classTable.getFingerprint();
+    out.write(fingerprint >>> 24);
+    out.write(fingerprint >>> 16);
+    out.write(fingerprint >>> 8);
+    out.write(fingerprint);
+    return out;
+  }
+
+  @Override
+  protected void writeClassDescriptor(final ObjectStreamClass desc) throws IOException {
+    if (classTable == null) {
+      super.writeClassDescriptor(desc);
+      return;
+    }
+    // 0 for a class we write the normal way, otherwise its number plus 1
+    final int id = classTable.getId(desc.forClass());
+    writeVarint(id + 1);
+    if (id < 0) {
+      super.writeClassDescriptor(desc);
+    }
+  }
+
+  private void writeVarint(int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    write(value);
+  }
+
+  @Override
+  protected Object replaceObject(final Object obj) throws IOException {
+    if (obj instanceof String && ((String) obj).length() <= MAX_INTERNED_STRING_LENGTH) {
+      if (strings.size() >= MAX_INTERNED_STRINGS) {
+        // later copies are written in full again, which is always safe
+        strings.clear();
+      }
+      final String first = strings.putIfAbsent((String) obj, (String) obj);
+      return first == null ? obj : first;
+    }
+    return obj;
+  }
+
+  @Override
+  public void reset() throws IOException {
+    super.reset();
+    strings.clear();
+  }
+}
@@ -16,4 +16,19 @@ public class DefaultObjectStreamFactory implements IObjectStreamFactory {
   public ObjectOutputStream create(final OutputStream stream) throws IOException {
     return new ObjectOutputStream(stream);
   }
+
+  @Override
+  public ClassTable getClassTable() {
+    return ClassTable.BASIC;
+  }
+
+  @Override
+  public ObjectInputStream createCompact(final InputStream stream) throws IOException {
+    return new CompactObjectInputStream(stream, getClassTable());
+  }
+
+  @Override
+  public ObjectOutputStream createCompact(final OutputStream stream) throws IOException {
+    return new CompactObjectOutputStream(stream, getClassTable());
+  }
 }
@@ -6,8 +6,29 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 
+/**
+ * Creates the object streams a messenger reads and writes its messages with.
+ *
+ * <p>
+ * A connection starts with the plain streams, which are java serialization that any peer can read. When it is made,
+ * both ends compare the fingerprints of their class tables, and only switch to the compact streams if they are the
+ * same, see {@link CompactObjectOutputStream}.
+ * </p>
+ */
 public interface IObjectStreamFactory {
   ObjectInputStream create(InputStream stream) throws IOException;
 
   ObjectOutputStream create(OutputStream stream) throws IOException;
+
+  /**
+   * @return the classes the compact streams write by number.
+   */
+  ClassTable getClassTable();
+
+  /**
+   * Creates a stream that reads what {@link #createCompact(OutputStream)} of a factory with the same class table wrote.
+   */
+  ObjectInputStream createCompact(InputStream stream) throws IOException;
+
+  ObjectOutputStream createCompact(OutputStream stream) throws IOException;
 }
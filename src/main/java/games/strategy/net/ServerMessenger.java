@@ -31,6 +31,7 @@ import games.strategy.engine.lobby.server.db.MutedMacController;
 import games.strategy.engine.lobby.server.db.MutedUsernameController;
 import games.strategy.engine.lobby.server.login.LobbyLoginValidator;
 import games.strategy.engine.message.HubInvoke;
+import games.strategy.engine.message.HubInvokeBatch;
 import games.strategy.engine.message.RemoteMethodCall;
 import games.strategy.engine.message.RemoteName;
 import games.strategy.engine.message.SpokeInvoke;
@@ -306,26 +307,12 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
       throw new IllegalStateException("Expected: " + expectedReceive + " not: " + msg.getFrom());
     }
     if (msg.getMessage() instanceof HubInvoke) { // Chat messages are always HubInvoke's
-      if (isLobby() && ((HubInvoke) msg.getMessage()).call.getRemoteName().equals("_ChatCtrl_LOBBY_CHAT")) {
-        final String realName = msg.getFrom().getName().split(" ")[0];
-        if (isUsernameMuted(realName)) {
-          bareBonesSendChatMessage(YOU_HAVE_BEEN_MUTED_LOBBY, msg.getFrom());
-          return;
-        } else if (isMacMuted(getPlayerMac(msg.getFrom().getName()))) {
-          bareBonesSendChatMessage(YOU_HAVE_BEEN_MUTED_LOBBY, msg.getFrom());
-          return;
-        }
-      } else if (isGame() && ((HubInvoke) msg.getMessage()).call.getRemoteName()
-          .equals("_ChatCtrlgames.strategy.engine.framework.ui.ServerStartup.CHAT_NAME")) {
-        final String realName = msg.getFrom().getName().split(" ")[0];
-        if (isUsernameMuted(realName)) {
-          bareBonesSendChatMessage(YOU_HAVE_BEEN_MUTED_GAME, msg.getFrom());
-          return;
-        }
-        if (isMacMuted(getPlayerMac(msg.getFrom().getName()))) {
-          bareBonesSendChatMessage(YOU_HAVE_BEEN_MUTED_GAME, msg.getFrom());
-          return;
-        }
+      if (isMutedChatMessage(((HubInvoke) msg.getMessage()).call, msg.getFrom())) {
+        return;
+      }
+    } else if (msg.getMessage() instanceof HubInvokeBatch) { // or batched with other calls
+      if (!((HubInvokeBatch) msg.getMessage()).removeCalls(call -> isMutedChatMessage(call, msg.getFrom()))) {
+        return;
       }
     }
     if (msg.getFor() == null) {
@@ -338,6 +325,34 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
     }
   }
 
+  /**
+   * @return true if the call is a chat message from a muted player, who is told so.
+   */
+  private boolean isMutedChatMessage(final RemoteMethodCall call, final INode from) {
+    if (isLobby() && call.getRemoteName().equals("_ChatCtrl_LOBBY_CHAT")) {
+      final String realName = from.getName().split(" ")[0];
+      if (isUsernameMuted(realName)) {
+        bareBonesSendChatMessage(YOU_HAVE_BEEN_MUTED_LOBBY, from);
+        return true;
+      } else if (isMacMuted(getPlayerMac(from.getName()))) {
+        bareBonesSendChatMessage(YOU_HAVE_BEEN_MUTED_LOBBY, from);
+        return true;
+      }
+    } else if (isGame()
+        && call.getRemoteName().equals("_ChatCtrlgames.strategy.engine.framework.ui.ServerStartup.CHAT_NAME")) {
+      final String realName = from.getName().split(" ")[0];
+      if (isUsernameMuted(realName)) {
+        bareBonesSendChatMessage(YOU_HAVE_BEEN_MUTED_GAME, from);
+        return true;
+      }
+      if (isMacMuted(getPlayerMac(from.getName()))) {
+        bareBonesSendChatMessage(YOU_HAVE_BEEN_MUTED_GAME, from);
+        return true;
+      }
+    }
+    return false;
+  }
+
   private void bareBonesSendChatMessage(final String message, final INode to) {
     final List<Object> args = new ArrayList<>();
     final Class<? extends Object>[] argTypes = new Class<?>[1];
@@ -462,14 +477,12 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
     }
     final SocketChannel fromChannel = nodeToChannel.get(msg.getFrom());
     final List<SocketChannel> nodes = new ArrayList<>(nodeToChannel.values());
+    nodes.remove(fromChannel);
     if (logger.isLoggable(Level.FINEST)) {
       logger.log(Level.FINEST, "broadcasting to" + nodes);
     }
-    for (final SocketChannel channel : nodes) {
-      if (channel != fromChannel) {
-        nioSocket.send(channel, msg);
-      }
-    }
+    // the message is encoded once for all nodes
+    nioSocket.send(nodes, msg);
   }
 
   private boolean isNameTaken(final String nodeName) {
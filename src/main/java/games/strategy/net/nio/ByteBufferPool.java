@@ -0,0 +1,100 @@
+package games.strategy.net.nio;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of direct byte buffers for messages waiting to be written to a socket.
+ *
+ * <p>
+ * Buffers come in power of two sizes from {@value #MIN_POOLED_SIZE} to {@value #MAX_POOLED_SIZE} bytes, and each
+ * size keeps at most {@value #MAX_POOLED_PER_SIZE} free buffers. Larger messages are rare, and get a heap buffer that
+ * is not pooled.
+ * </p>
+ *
+ * <p>
+ * Direct buffers can be written to a channel without the JDK first copying them into a temporary direct buffer, and
+ * pooling them means we don't pay for allocating and freeing one per message.
+ * </p>
+ */
+final class ByteBufferPool {
+  static final int MIN_POOLED_SIZE = 1 << 10;
+  static final int MAX_POOLED_SIZE = 1 << 16;
+  static final int MAX_POOLED_PER_SIZE = 64;
+  private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_POOLED_SIZE);
+  private static final int SIZE_CLASSES = Integer.numberOfTrailingZeros(MAX_POOLED_SIZE) - MIN_SHIFT + 1;
+
+  private final Queue<ByteBuffer>[] free;
+  private final AtomicInteger[] freeCounts;
+
+  @SuppressWarnings("unchecked")
+  ByteBufferPool() {
+    free = new Queue[SIZE_CLASSES];
+    freeCounts = new AtomicInteger[SIZE_CLASSES];
+    for (int i = 0; i < SIZE_CLASSES; i++) {
+      free[i] = new ConcurrentLinkedQueue<>();
+      freeCounts[i] = new AtomicInteger();
+    }
+  }
+
+  /**
+   * Returns a cleared buffer with room for at least the given number of bytes, and its limit set to that number.
+   */
+  ByteBuffer acquire(final int size) {
+    final int sizeClass = getSizeClass(size);
+    if (sizeClass < 0) {
+      return ByteBuffer.allocate(size);
+    }
+    ByteBuffer buffer = free[sizeClass].poll();
+    if (buffer == null) {
+      buffer = ByteBuffer.allocateDirect(MIN_POOLED_SIZE << sizeClass);
+    } else {
+      freeCounts[sizeClass].decrementAndGet();
+      buffer.clear();
+    }
+    buffer.limit(size);
+    return buffer;
+  }
+
+  /**
+   * Gives a buffer from {@link #acquire(int)} back to the pool, after which it must not be used anymore.
+   */
+  void release(final ByteBuffer buffer) {
+    if (!buffer.isDirect()) {
+      return;
+    }
+    final int sizeClass = getSizeClass(buffer.capacity());
+    if (sizeClass < 0 || (MIN_POOLED_SIZE << sizeClass) != buffer.capacity()) {
+      return;
+    }
+    if (freeCounts[sizeClass].incrementAndGet() > MAX_POOLED_PER_SIZE) {
+      freeCounts[sizeClass].decrementAndGet();
+      return;
+    }
+    free[sizeClass].offer(buffer);
+  }
+
+  int getFreeCount() {
+    int count = 0;
+    for (final AtomicInteger freeCount : freeCounts) {
+      count += freeCount.get();
+    }
+    return count;
+  }
+
+  /**
+   * Returns the index of the smallest size class that can hold the given number of bytes, or -1 if it is too large to
+   * be pooled.
+   */
+  private static int getSizeClass(final int size) {
+    if (size > MAX_POOLED_SIZE) {
+      return -1;
+    }
+    if (size <= MIN_POOLED_SIZE) {
+      return 0;
+    }
+    return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+  }
+}
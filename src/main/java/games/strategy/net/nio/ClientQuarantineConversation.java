@@ -19,7 +19,7 @@ public class ClientQuarantineConversation extends QuarantineConversation {
   private static final Logger logger = Logger.getLogger(ClientQuarantineConversation.class.getName());
 
   private enum Step {
-    READ_CHALLENGE, READ_ERROR, READ_NAMES, READ_ADDRESS
+    READ_CHALLENGE, READ_ERROR, READ_NAMES, READ_ADDRESS, READ_CLASS_TABLE
   }
 
   private final IConnectionLogin login;
@@ -163,6 +163,18 @@ public class ClientQuarantineConversation extends QuarantineConversation {
             logger.log(Level.FINE, "network visible address:" + networkVisibleAddress);
             logger.log(Level.FINE, "channel local adresss:" + channel.socket().getLocalSocketAddress());
           }
+          step = Step.READ_CLASS_TABLE;
+          return Action.NONE;
+        case READ_CLASS_TABLE:
+          // the server only writes by number the classes we both have the same table for
+          final Integer serverFingerprint = (Integer) o;
+          final int fingerprint = socket.getClassTableFingerprint();
+          send(fingerprint);
+          if (serverFingerprint != null && serverFingerprint == fingerprint) {
+            socket.useCompactStreams(channel);
+          } else if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "class table differs, using plain serialization with:" + serverName);
+          }
           return Action.UNQUARANTINE;
         default:
           throw new IllegalStateException("Invalid state");
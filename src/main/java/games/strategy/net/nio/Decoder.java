@@ -13,20 +13,27 @@ import java.util.logging.Logger;
 
 import games.strategy.engine.message.HubInvocationResults;
 import games.strategy.engine.message.HubInvoke;
+import games.strategy.engine.message.HubInvokeBatch;
 import games.strategy.engine.message.SpokeInvocationResults;
 import games.strategy.engine.message.SpokeInvoke;
+import games.strategy.engine.message.SpokeInvokeBatch;
 import games.strategy.net.CouldNotLogInException;
 import games.strategy.net.INode;
 import games.strategy.net.IObjectStreamFactory;
 import games.strategy.net.MessageHeader;
 import games.strategy.net.Node;
 import games.strategy.net.nio.QuarantineConversation.Action;
+import games.strategy.performance.Histogram;
+import games.strategy.performance.Metrics;
+import games.strategy.performance.Timer;
 
 /**
  * A thread to Decode messages from a reader.
  */
 class Decoder {
   private static final Logger logger = Logger.getLogger(Decoder.class.getName());
+  private static final Timer decodeTimer = Metrics.timer("message.decode");
+  private static final Histogram decodedBytes = Metrics.histogram("message.decodedBytes");
   private final NioReader reader;
   private volatile boolean running = true;
   private final ErrorReporter errorReporter;
@@ -70,9 +77,9 @@ class Decoder {
         if (logger.isLoggable(Level.FINEST)) {
           logger.finest("Decoding packet:" + data);
         }
-        final ByteArrayInputStream stream = new ByteArrayInputStream(data.getData());
         try {
-          final MessageHeader header = readMessageHeader(data.getChannel(), objectStreamFactory.create(stream));
+          final MessageHeader header = decode(data.getChannel(), data.getData());
+          decodedBytes.record(data.size());
           if (logger.isLoggable(Level.FINEST)) {
             logger.log(Level.FINEST, "header decoded:" + header);
           }
@@ -130,6 +137,21 @@ class Decoder {
     }
   }
 
+  /**
+   * Decodes a message read from the given channel, without the size header.
+   */
+  MessageHeader decode(final SocketChannel channel, final byte[] data) throws IOException, ClassNotFoundException {
+    final long start = decodeTimer.start();
+    try {
+      final ByteArrayInputStream input = new ByteArrayInputStream(data);
+      return readMessageHeader(channel, nioSocket.isCompact(channel)
+          ? objectStreamFactory.createCompact(input)
+          : objectStreamFactory.create(input));
+    } finally {
+      decodeTimer.stop(start);
+    }
+  }
+
   private MessageHeader readMessageHeader(final SocketChannel channel, final ObjectInputStream objectInput)
       throws IOException, ClassNotFoundException {
     INode to;
@@ -177,6 +199,10 @@ class Decoder {
         return new HubInvocationResults();
       case 4:
         return new SpokeInvocationResults();
+      case 5:
+        return new HubInvokeBatch();
+      case 6:
+        return new SpokeInvokeBatch();
       default:
         throw new IllegalStateException("not recognized, " + type);
     }
@@ -198,6 +224,10 @@ class Decoder {
       return 3;
     } else if (msg instanceof SpokeInvocationResults) {
       return 4;
+    } else if (msg instanceof HubInvokeBatch) {
+      return 5;
+    } else if (msg instanceof SpokeInvokeBatch) {
+      return 6;
     }
     return Byte.MAX_VALUE;
   }
@@ -4,22 +4,50 @@ import java.io.ByteArrayOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import games.strategy.net.IObjectStreamFactory;
 import games.strategy.net.MessageHeader;
 import games.strategy.net.Node;
+import games.strategy.performance.Histogram;
+import games.strategy.performance.Metrics;
+import games.strategy.performance.Timer;
 
 /**
  * Encodes data to be written by a writer.
+ *
+ * <p>
+ * Every message is written as a complete object stream, so it can be read without the messages before it. Creating an
+ * ObjectOutputStream for each message is expensive though, so each thread that encodes keeps one, together with the
+ * buffer it writes to. Since the stream is reset after every message, the bytes it writes for a message are the same
+ * as those of a new stream without the stream header, which we write ourselves. The encoded message is then copied
+ * once into a pooled buffer that the writer writes straight to the socket.
+ * </p>
+ *
+ * <p>
+ * A channel only gets compact streams once its quarantine conversation has matched the class tables, so there is a
+ * stream of each kind per thread.
+ * </p>
  */
 class Encoder {
   private static final Logger logger = Logger.getLogger(Encoder.class.getName());
+  // don't keep buffers around that some large message made this big
+  private static final int MAX_RETAINED_BUFFER_SIZE = 1 << 20;
+  private static final Timer encodeTimer = Metrics.timer("message.encode");
+  private static final Histogram encodedBytes = Metrics.histogram("message.encodedBytes");
   private final NioWriter writer;
   private final IObjectStreamFactory objectStreamFactory;
   private final NioSocket nioSocket;
+  private final ByteBufferPool bufferPool = new ByteBufferPool();
+  private final ThreadLocal<EncodingStream> encodingStreams = new ThreadLocal<>();
+  private final ThreadLocal<EncodingStream> compactEncodingStreams = new ThreadLocal<>();
 
   Encoder(final NioSocket nioSocket, final NioWriter writer, final IObjectStreamFactory objectStreamFactory) {
     this.nioSocket = nioSocket;
@@ -31,28 +59,104 @@ class Encoder {
     if (logger.isLoggable(Level.FINEST)) {
       logger.log(Level.FINEST, "Encoding msg:" + header + " to:" + to);
     }
-    if (header.getFrom() == null) {
-      throw new IllegalArgumentException("No from node");
-    }
     if (to == null) {
       throw new IllegalArgumentException("No to channel!");
     }
+    final ByteBuffer data = encode(header, to);
+    if (data != null) {
+      writer.enque(new SocketWriteData(data, bufferPool), to);
+    }
+  }
+
+  /**
+   * Writes a broadcast to all the channels. The message is only encoded once for the channels with compact streams and
+   * once for the others, and all channels of a kind write the same buffer.
+   */
+  void write(final Collection<SocketChannel> to, final MessageHeader header) {
+    if (logger.isLoggable(Level.FINEST)) {
+      logger.log(Level.FINEST, "Encoding broadcast msg:" + header + " to:" + to);
+    }
+    if (!header.isBroadcast()) {
+      // only a broadcast is encoded the same way for every channel
+      throw new IllegalArgumentException("Not a broadcast:" + header);
+    }
+    final List<SocketChannel> compact = new ArrayList<>(to.size());
+    final List<SocketChannel> plain = new ArrayList<>();
+    for (final SocketChannel channel : to) {
+      (nioSocket.isCompact(channel) ? compact : plain).add(channel);
+    }
+    write(compact, header, true);
+    write(plain, header, false);
+  }
+
+  private void write(final List<SocketChannel> to, final MessageHeader header, final boolean compact) {
+    if (to.isEmpty()) {
+      return;
+    }
+    final ByteBuffer data = encode(header, null, compact);
+    if (data == null) {
+      return;
+    }
+    final Iterator<SocketWriteData> packets = SocketWriteData.share(data, bufferPool, to.size()).iterator();
+    for (final SocketChannel channel : to) {
+      writer.enque(packets.next(), channel);
+    }
+  }
+
+  /**
+   * Returns the size header and the encoded message in a buffer from the pool, or null if it could not be encoded.
+   */
+  ByteBuffer encode(final MessageHeader header, final SocketChannel to) {
+    return encode(header, to, nioSocket.isCompact(to));
+  }
+
+  private ByteBuffer encode(final MessageHeader header, final SocketChannel to, final boolean compact) {
+    if (header.getFrom() == null) {
+      throw new IllegalArgumentException("No from node");
+    }
+    final ThreadLocal<EncodingStream> streams = compact ? compactEncodingStreams : encodingStreams;
+    EncodingStream stream = streams.get();
+    final long start = encodeTimer.start();
     try {
-      final ByteArrayOutputStream sink = new ByteArrayOutputStream(512);
-      write(header, objectStreamFactory.create(sink), to);
-      final SocketWriteData data = new SocketWriteData(sink.toByteArray(), sink.size());
+      if (stream == null) {
+        stream = new EncodingStream(objectStreamFactory, compact);
+        streams.set(stream);
+      }
+      stream.startMessage();
+      write(header, stream.out, to);
+      stream.out.flush();
+      final ByteBuffer data = stream.copyTo(bufferPool);
+      encodedBytes.record(data.limit());
       if (logger.isLoggable(Level.FINER)) {
-        logger.log(Level.FINER, "encoded  msg:" + header.getMessage() + " size:" + data.size());
+        logger.log(Level.FINER, "encoded  msg:" + header.getMessage() + " size:" + data.limit());
+      }
+      if (stream.isTooLarge()) {
+        streams.remove();
       }
-      writer.enque(data, to);
+      return data;
     } catch (final IOException e) {
       // we arent doing any io, just writing in memory
       // so something is very wrong
       logger.log(Level.SEVERE, "Error writing object:" + header, e);
-      return;
+      // the stream is in an unknown state now
+      streams.remove();
+      return null;
+    } catch (final RuntimeException e) {
+      streams.remove();
+      throw e;
+    } finally {
+      encodeTimer.stop(start);
     }
   }
 
+  /**
+   * Gives a buffer from {@link #encode(MessageHeader, SocketChannel)} that was not written to a socket back to the
+   * pool.
+   */
+  void release(final ByteBuffer data) {
+    bufferPool.release(data);
+  }
+
   private void write(final MessageHeader header, final ObjectOutputStream out, final SocketChannel remote)
       throws IOException {
     if (header.getFrom() == null) {
@@ -65,7 +169,7 @@ class Encoder {
       // to a node
       out.write(0);
       // the common case, skip writing the address
-      if (header.getFor().equals(nioSocket.getRemoteNode(remote))) {
+      if (remote != null && header.getFor().equals(nioSocket.getRemoteNode(remote))) {
         out.write(1);
       } else {
         // this message is going to be relayed, write the destination
@@ -90,4 +194,55 @@ class Encoder {
     }
     out.reset();
   }
+
+  /**
+   * An object stream that is reused for every message, and the buffer it writes to.
+   */
+  private static final class EncodingStream {
+    private final MessageBuffer buffer = new MessageBuffer();
+    private final ObjectOutputStream out;
+    // what a new object stream starts with
+    private final byte[] streamHeader;
+
+    EncodingStream(final IObjectStreamFactory objectStreamFactory, final boolean compact) throws IOException {
+      out = compact ? objectStreamFactory.createCompact(buffer) : objectStreamFactory.create(buffer);
+      out.flush();
+      streamHeader = buffer.toByteArray();
+    }
+
+    void startMessage() {
+      buffer.reset();
+    }
+
+    boolean isTooLarge() {
+      return buffer.getCapacity() > MAX_RETAINED_BUFFER_SIZE;
+    }
+
+    ByteBuffer copyTo(final ByteBufferPool bufferPool) {
+      final int count = streamHeader.length + buffer.size();
+      final ByteBuffer data = bufferPool.acquire(SocketWriteData.HEADER_SIZE + count);
+      SocketWriteData.writeSizeHeader(data, count);
+      data.put(streamHeader);
+      buffer.writeTo(data);
+      data.flip();
+      return data;
+    }
+  }
+
+  /**
+   * A ByteArrayOutputStream that can copy its contents to a ByteBuffer without copying them to a new array first.
+   */
+  private static final class MessageBuffer extends ByteArrayOutputStream {
+    MessageBuffer() {
+      super(512);
+    }
+
+    int getCapacity() {
+      return buf.length;
+    }
+
+    void writeTo(final ByteBuffer buffer) {
+      buffer.put(buf, 0, count);
+    }
+  }
 }
@@ -3,6 +3,9 @@ package games.strategy.net.nio;
 import java.io.IOException;
 import java.net.Socket;
 import java.nio.channels.SocketChannel;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -17,6 +20,11 @@ import games.strategy.net.MessageHeader;
  * thread.
  * serializing (encoding) objects to be written across the network is done
  * by threads calling this object.
+ *
+ * <p>
+ * Messages are written with plain java serialization until the quarantine conversation has found that both ends have
+ * the same class table, see {@link #useCompactStreams(SocketChannel)}.
+ * </p>
  */
 public class NioSocket implements ErrorReporter {
   private static final Logger logger = Logger.getLogger(NioSocket.class.getName());
@@ -25,8 +33,11 @@ public class NioSocket implements ErrorReporter {
   private final NioWriter writer;
   private final NioReader reader;
   private final NioSocketListener listener;
+  private final IObjectStreamFactory factory;
+  private final Set<SocketChannel> compactChannels = ConcurrentHashMap.newKeySet();
 
   public NioSocket(final IObjectStreamFactory factory, final NioSocketListener listener, final String name) {
+    this.factory = factory;
     this.listener = listener;
     writer = new NioWriter(this, name);
     reader = new NioReader(this, name);
@@ -34,6 +45,35 @@ public class NioSocket implements ErrorReporter {
     encoder = new Encoder(this, writer, factory);
   }
 
+  Encoder getEncoder() {
+    return encoder;
+  }
+
+  Decoder getDecoder() {
+    return decoder;
+  }
+
+  /**
+   * Returns the fingerprint of the class table that this end would write by number, to be sent to the other end
+   * during the quarantine conversation.
+   */
+  public int getClassTableFingerprint() {
+    return factory.getClassTable().getFingerprint();
+  }
+
+  /**
+   * Switches the channel to compact object streams, once the other end has the same class table fingerprint. Each end
+   * switches after the last plain message it writes and before the next message it reads, which is when the quarantine
+   * conversations handle the fingerprint.
+   */
+  public void useCompactStreams(final SocketChannel channel) {
+    compactChannels.add(channel);
+  }
+
+  boolean isCompact(final SocketChannel channel) {
+    return channel != null && compactChannels.contains(channel);
+  }
+
   INode getLocalNode() {
     return listener.getLocalNode();
   }
@@ -68,6 +108,23 @@ public class NioSocket implements ErrorReporter {
     encoder.write(to, header);
   }
 
+  /**
+   * Sends the specified broadcast message header through all the specified channels. The message is serialized once
+   * for all of them.
+   *
+   * @param to The destination channels.
+   * @param header The broadcast message header to send.
+   */
+  public void send(final Collection<SocketChannel> to, final MessageHeader header) {
+    if (to == null) {
+      throw new IllegalArgumentException("to cant be null!");
+    }
+    if (header == null) {
+      throw new IllegalArgumentException("header cant be null");
+    }
+    encoder.write(to, header);
+  }
+
   /**
    * Add this channel.
    * The channel will either be unquarantined, or an error will be reported
@@ -110,6 +167,7 @@ public class NioSocket implements ErrorReporter {
     } catch (final IOException e1) {
       logger.log(Level.FINE, "error closing channel", e1);
     }
+    compactChannels.remove(channel);
     decoder.closed(channel);
     writer.closed(channel);
     reader.closed(channel);
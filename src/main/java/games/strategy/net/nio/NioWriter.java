@@ -154,8 +154,15 @@ class NioWriter {
   }
 
   private void removeAll(final SocketChannel to) {
+    final List<SocketWriteData> values;
     synchronized (mutex) {
-      writing.remove(to);
+      values = writing.remove(to);
+    }
+    if (values != null) {
+      // the writer thread may still be writing the first one, so leave that one to the garbage collector
+      for (int i = 1; i < values.size(); i++) {
+        values.get(i).release();
+      }
     }
   }
 
@@ -166,7 +173,7 @@ class NioWriter {
         logger.log(Level.SEVERE, "NO socket data to:" + to + " all:" + values);
         return;
       }
-      values.remove(0);
+      values.remove(0).release();
       // remove empty lists, so we can detect that we need to wake up the socket
       if (values.isEmpty()) {
         writing.remove(to);
@@ -25,11 +25,14 @@ public class ServerQuarantineConversation extends QuarantineConversation {
    * 5) if the client reads an error message, the client sends an acknowledgment (we need to make sur the client gets
    * the message before
    * closing the socket).
+   * 6) on success, the server sends its class table fingerprint and reads the client's. If they match, both ends
+   * switch to compact object streams, otherwise they keep plain java serialization. Everything before this step is
+   * plain, so a client with another class table still gets the error message.
    */
   private static final Logger logger = Logger.getLogger(ServerQuarantineConversation.class.getName());
 
   private enum Step {
-    READ_NAME, READ_MAC, CHALLENGE, ACK_ERROR
+    READ_NAME, READ_MAC, CHALLENGE, READ_CLASS_TABLE, ACK_ERROR
   }
 
   private final ILoginValidator validator;
@@ -114,6 +117,16 @@ public class ServerQuarantineConversation extends QuarantineConversation {
           // send the node its and our address as we see it
           send(new InetSocketAddress[] {(InetSocketAddress) channel.socket().getRemoteSocketAddress(),
               serverMessenger.getLocalNode().getSocketAddress()});
+          send(socket.getClassTableFingerprint());
+          step = Step.READ_CLASS_TABLE;
+          return Action.NONE;
+        case READ_CLASS_TABLE:
+          final Integer remoteFingerprint = (Integer) o;
+          if (remoteFingerprint != null && remoteFingerprint == socket.getClassTableFingerprint()) {
+            socket.useCompactStreams(channel);
+          } else if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "class table differs, using plain serialization with:" + remoteName);
+          }
           // Login succeeded, so notify the ServerMessenger about the login with the name, mac, etc.
           serverMessenger.notifyPlayerLogin(remoteName, channel.socket().getInetAddress().getHostAddress(),
               remoteMac);
@@ -3,6 +3,8 @@ package games.strategy.net.nio;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -21,27 +23,56 @@ import java.util.logging.Logger;
 class SocketWriteData {
   private static final Logger logger = Logger.getLogger(SocketWriteData.class.getName());
   private static final AtomicInteger counter = new AtomicInteger();
-  private final ByteBuffer size;
-  private final ByteBuffer content;
+  static final int HEADER_SIZE = 4;
+  // the size header followed by the content
+  private final ByteBuffer data;
+  // where to give the buffer back once it is written, may be null
+  private final ByteBufferPool pool;
+  // how many packets still use the buffer, if it is shared between several
+  private final AtomicInteger users;
   private final int number = counter.incrementAndGet();
   // how many times we called write before we finished writing ourselves
   private int writeCalls = 0;
 
-  SocketWriteData(final byte[] data, int count) {
-    content = ByteBuffer.allocate(count);
-    content.put(data, 0, count);
-    size = ByteBuffer.allocate(4);
+  /**
+   * @param data
+   *        the size header (see {@link #writeSizeHeader(ByteBuffer, int)}) followed by the content, ready to be read.
+   */
+  SocketWriteData(final ByteBuffer data, final ByteBufferPool pool) {
+    this(data, pool, null);
+  }
+
+  private SocketWriteData(final ByteBuffer data, final ByteBufferPool pool, final AtomicInteger users) {
+    this.data = data;
+    this.pool = pool;
+    this.users = users;
+  }
+
+  /**
+   * Creates packets that write the same data, to send it to several channels. The data is not copied, each packet only
+   * has its own position in it, and the buffer goes back to the pool once all of them are released.
+   */
+  static List<SocketWriteData> share(final ByteBuffer data, final ByteBufferPool pool, final int count) {
+    final AtomicInteger users = new AtomicInteger(count);
+    final List<SocketWriteData> packets = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      packets.add(new SocketWriteData(data.duplicate(), pool, users));
+    }
+    return packets;
+  }
+
+  /**
+   * Puts the size header for content of the given size into the buffer.
+   */
+  static void writeSizeHeader(final ByteBuffer buffer, final int count) {
     if (count < 0 || count > SocketReadData.MAX_MESSAGE_SIZE) {
       throw new IllegalStateException("Invalid message size:" + count);
     }
-    count = count ^ SocketReadData.MAGIC;
-    size.putInt(count);
-    size.flip();
-    content.flip();
+    buffer.putInt(count ^ SocketReadData.MAGIC);
   }
 
   int size() {
-    return size.capacity() + content.capacity();
+    return data.limit();
   }
 
   int getWriteCalls() {
@@ -53,31 +84,27 @@ class SocketWriteData {
    */
   boolean write(final SocketChannel channel) throws IOException {
     writeCalls++;
-    if (size.hasRemaining()) {
-      final int count = channel.write(size);
-      if (count == -1) {
-        throw new IOException("triplea: end of stream detected");
-      }
-      if (logger.isLoggable(Level.FINEST)) {
-        logger.finest("wrote size_buffer bytes:" + count);
-      }
-      // we could not write everything
-      if (size.hasRemaining()) {
-        return false;
-      }
-    }
-    final int count = channel.write(content);
+    final int count = channel.write(data);
     if (count == -1) {
       throw new IOException("triplea: end of stream detected");
     }
     if (logger.isLoggable(Level.FINEST)) {
-      logger.finest("wrote content bytes:" + count);
+      logger.finest("wrote bytes:" + count);
+    }
+    return !data.hasRemaining();
+  }
+
+  /**
+   * Called once the data has been written or will not be written anymore.
+   */
+  void release() {
+    if (pool != null && (users == null || users.decrementAndGet() == 0)) {
+      pool.release(data);
     }
-    return !content.hasRemaining();
   }
 
   @Override
   public String toString() {
-    return "<id:" + number + " size:" + content.capacity() + ">";
+    return "<id:" + number + " size:" + (data.limit() - HEADER_SIZE) + ">";
   }
 }
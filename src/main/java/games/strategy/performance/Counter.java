@@ -0,0 +1,28 @@
+package games.strategy.performance;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count of events, such as messages sent or battles simulated, that many threads can add to without contention.
+ */
+public final class Counter {
+  private final LongAdder count = new LongAdder();
+
+  Counter() {}
+
+  public void increment() {
+    count.increment();
+  }
+
+  public void add(final long amount) {
+    count.add(amount);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  void reset() {
+    count.reset();
+  }
+}
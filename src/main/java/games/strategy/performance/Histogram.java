@@ -0,0 +1,106 @@
+package games.strategy.performance;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the distribution of non negative values, such as durations or message sizes, in a fixed amount of memory.
+ *
+ * <p>
+ * Values are counted in buckets the way HdrHistogram does it: each power of two range is split into
+ * {@value #SUB_BUCKETS} buckets of equal width, so any value is known to within about 6 percent, and values below
+ * {@value #SUB_BUCKETS} exactly. Recording a value is a few atomic increments and takes no lock.
+ * </p>
+ */
+public final class Histogram {
+  static final int SUB_BUCKETS = 16;
+  private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+  private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  Histogram() {}
+
+  /**
+   * Records a value, negative values are recorded as 0.
+   */
+  public void record(final long value) {
+    final long v = Math.max(0, value);
+    counts.incrementAndGet(getBucket(v));
+    count.increment();
+    sum.add(v);
+    max.accumulate(v);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getSum() {
+    return sum.sum();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  public double getMean() {
+    final long n = getCount();
+    return n == 0 ? 0 : (double) getSum() / n;
+  }
+
+  /**
+   * @param percentile
+   *        between 0 and 100.
+   * @return the largest value that is in the same bucket as the value at the given percentile, or 0 if nothing was
+   *         recorded. Never more than the largest value recorded.
+   */
+  public long getValueAtPercentile(final double percentile) {
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      total += counts.get(i);
+    }
+    if (total == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(getHighestValueInBucket(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.reset();
+    sum.reset();
+    max.reset();
+  }
+
+  static int getBucket(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+  }
+
+  static long getHighestValueInBucket(final int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    final int shift = bucket / SUB_BUCKETS - 1;
+    final long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,149 @@
+package games.strategy.performance;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The named counters, histograms, timers and gauges the engine records, so we can see where a slow turn or a laggy
+ * server spends its time.
+ *
+ * <p>
+ * Names are dotted paths such as {@code route.cheapest} or {@code message.encode}, and the same name always returns
+ * the same instance, so callers keep the instance in a static field rather than looking it up on each use.
+ * </p>
+ *
+ * <p>
+ * Recording is always on unless the {@value #ENABLED_PROPERTY} system property is false, since it only costs a clock
+ * read and a few atomic increments. Nothing is written anywhere until someone asks for a {@link #report()}: the
+ * performance console shows it while performance logging is enabled, and a headless server logs it every
+ * {@value #LOG_SECONDS_PROPERTY} seconds when that system property is set.
+ * </p>
+ */
+public final class Metrics {
+  public static final String ENABLED_PROPERTY = "triplea.metrics";
+  public static final String LOG_SECONDS_PROPERTY = "triplea.metrics.logSeconds";
+  private static final Logger logger = Logger.getLogger(Metrics.class.getName());
+  private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private static volatile boolean enabled =
+      Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+  private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+  private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+  private static final Map<String, Timer> timers = new ConcurrentHashMap<>();
+  private static final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+  private static final ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+    final Thread thread = new Thread(r, "Metrics reporter");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private Metrics() {}
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void setEnabled(final boolean enabled) {
+    Metrics.enabled = enabled;
+  }
+
+  public static Counter counter(final String name) {
+    return counters.computeIfAbsent(name, k -> new Counter());
+  }
+
+  public static Histogram histogram(final String name) {
+    return histograms.computeIfAbsent(name, k -> new Histogram());
+  }
+
+  public static Timer timer(final String name) {
+    return timers.computeIfAbsent(name, k -> new Timer());
+  }
+
+  /**
+   * Reports the current value of something that is counted elsewhere, such as the length of a queue. Registering a
+   * gauge with a name already in use replaces the old one.
+   */
+  public static void gauge(final String name, final LongSupplier value) {
+    gauges.put(name, value);
+  }
+
+  /**
+   * Clears everything recorded so far, counters and gauges stay registered.
+   */
+  public static void reset() {
+    counters.values().forEach(Counter::reset);
+    histograms.values().forEach(Histogram::reset);
+    timers.values().forEach(timer -> timer.getHistogram().reset());
+  }
+
+  /**
+   * @return a line for each metric that has recorded anything, sorted by name. Times are in milliseconds.
+   */
+  public static String report() {
+    final Map<String, String> lines = new TreeMap<>();
+    counters.forEach((name, counter) -> {
+      if (counter.getCount() > 0) {
+        lines.put(name, String.format("count=%d", counter.getCount()));
+      }
+    });
+    gauges.forEach((name, gauge) -> lines.put(name, String.format("value=%d", gauge.getAsLong())));
+    histograms.forEach((name, histogram) -> {
+      if (histogram.getCount() > 0) {
+        lines.put(name, format(histogram, 1));
+      }
+    });
+    timers.forEach((name, timer) -> {
+      if (timer.getHistogram().getCount() > 0) {
+        lines.put(name, format(timer.getHistogram(), NANOS_PER_MILLI) + " ms");
+      }
+    });
+    final StringBuilder report = new StringBuilder();
+    lines.forEach((name, line) -> report.append(name).append(' ').append(line).append('\n'));
+    return report.toString();
+  }
+
+  private static String format(final Histogram histogram, final double unit) {
+    return String.format("count=%d mean=%.2f p50=%.2f p90=%.2f p99=%.2f max=%.2f", histogram.getCount(),
+        histogram.getMean() / unit, histogram.getValueAtPercentile(50) / unit,
+        histogram.getValueAtPercentile(90) / unit, histogram.getValueAtPercentile(99) / unit,
+        histogram.getMax() / unit);
+  }
+
+  /**
+   * Passes the {@link #report()} to the given consumer every period, until the returned future is cancelled.
+   */
+  public static ScheduledFuture<?> reportEvery(final long period, final TimeUnit unit,
+      final Consumer<String> consumer) {
+    return reporter.scheduleWithFixedDelay(() -> {
+      try {
+        consumer.accept(report());
+      } catch (final RuntimeException e) {
+        logger.log(Level.WARNING, "Failed to report metrics", e);
+      }
+    }, period, period, unit);
+  }
+
+  /**
+   * Logs the report periodically if the {@value #LOG_SECONDS_PROPERTY} system property is set, for servers that have
+   * no performance console to show it in.
+   */
+  public static void startLoggingIfConfigured() {
+    final long seconds = Long.getLong(LOG_SECONDS_PROPERTY, 0);
+    if (seconds > 0) {
+      reportEvery(seconds, TimeUnit.SECONDS, report -> {
+        if (!report.isEmpty()) {
+          logger.info("Metrics:\n" + report);
+        }
+      });
+    }
+  }
+}
@@ -1,18 +1,28 @@
 package games.strategy.performance;
 
 import java.io.Closeable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.prefs.Preferences;
 
 /**
  * Provides a high level API to the game engine for performance measurements.
  * This class handles the library details and sends output to 'PerformanceConsole.java'
+ *
+ * <p>
+ * Each timing is also recorded in the {@link Metrics} timer of the same title, and while performance logging is
+ * enabled the console gets the full {@link Metrics#report()} every {@value #REPORT_SECONDS} seconds.
+ * </p>
  */
 class PerfTimer implements Closeable {
 
   private static final String LOG_PERFORMANCE_KEY = "logPerformance";
   private static final PerfTimer DISABLED_TIMER = new PerfTimer("disabled");
+  private static final long REPORT_SECONDS = 10;
 
-  private static boolean enabled;
+  private static volatile boolean enabled;
+  // only accessed while holding the class lock, by the static initializer and setEnabled
+  private static ScheduledFuture<?> consoleReport;
 
   private final long startMillis;
   final String title;
@@ -21,6 +31,7 @@ class PerfTimer implements Closeable {
     enabled = isEnabled();
     if (enabled) {
       PerformanceConsole.getInstance().setVisible(true);
+      startConsoleReport();
     }
   }
 
@@ -35,17 +46,34 @@ class PerfTimer implements Closeable {
 
   @Override
   public void close() {
+    if (this == DISABLED_TIMER) {
+      return;
+    }
     processResult(stopTimer(), this);
   }
 
-  static void setEnabled(final boolean isEnabled) {
+  static synchronized void setEnabled(final boolean isEnabled) {
     if (enabled != isEnabled) {
       enabled = isEnabled;
       PerformanceConsole.getInstance().setVisible(enabled);
+      if (enabled) {
+        startConsoleReport();
+      } else if (consoleReport != null) {
+        consoleReport.cancel(false);
+        consoleReport = null;
+      }
       storeEnabledPreference();
     }
   }
 
+  private static void startConsoleReport() {
+    consoleReport = Metrics.reportEvery(REPORT_SECONDS, TimeUnit.SECONDS, report -> {
+      if (!report.isEmpty()) {
+        PerformanceConsole.getInstance().append("--- metrics ---\n" + report);
+      }
+    });
+  }
+
   private static void storeEnabledPreference() {
     final Preferences prefs = Preferences.userNodeForPackage(EnablePerformanceLoggingCheckBox.class);
     prefs.put(LOG_PERFORMANCE_KEY, Boolean.valueOf(enabled).toString());
@@ -61,6 +89,7 @@ class PerfTimer implements Closeable {
   }
 
   private static void processResult(final long stopNanos, final PerfTimer perfTimer) {
+    Metrics.timer(perfTimer.title).record(stopNanos, TimeUnit.NANOSECONDS);
     final long stopMicros = stopNanos / 1000;
 
     final long milliFraction = (stopMicros % 1000) / 100;
@@ -0,0 +1,60 @@
+package games.strategy.performance;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long an operation takes, in nanoseconds, in a {@link Histogram}.
+ *
+ * <p>
+ * Use it with try-finally, which allocates nothing, so it can time hot paths:
+ * </p>
+ *
+ * <pre>
+ * final long start = timer.start();
+ * try {
+ *   ...
+ * } finally {
+ *   timer.stop(start);
+ * }
+ * </pre>
+ */
+public final class Timer {
+  // what start returns while metrics are off, nanoTime can be anything else
+  private static final long NOT_STARTED = Long.MIN_VALUE;
+
+  private final Histogram nanos = new Histogram();
+
+  Timer() {}
+
+  /**
+   * Starts timing an operation, which ends when {@link #stop(long)} is called with the returned start time. Does
+   * nothing when metrics are turned off.
+   */
+  public long start() {
+    return Metrics.isEnabled() ? System.nanoTime() : NOT_STARTED;
+  }
+
+  /**
+   * Records the time since the given start time, as returned by {@link #start()}.
+   */
+  public void stop(final long start) {
+    if (start != NOT_STARTED) {
+      record(System.nanoTime() - start);
+    }
+  }
+
+  public void record(final long duration, final TimeUnit unit) {
+    record(unit.toNanos(duration));
+  }
+
+  void record(final long nanos) {
+    this.nanos.record(nanos);
+  }
+
+  /**
+   * @return the durations recorded, in nanoseconds.
+   */
+  public Histogram getHistogram() {
+    return nanos;
+  }
+}
@@ -1,12 +1,13 @@
 package games.strategy.thread;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 
@@ -22,69 +23,130 @@ import com.google.common.annotations.VisibleForTesting;
  * </p>
  *
  * <p>
- * This class is not terribly good for multithreading as it locks globally on all calls, but that is ok, as this code is
- * meant more for when
- * you are considering your ambitious multi-threaded code a mistake, and you are trying to limit the damage.
+ * How much of the lock ordering is checked depends on the {@link Mode}. Only the first acquisition of a lock by a
+ * thread is checked, re-entrant acquisitions never are. The locks that were held when a lock was acquired are kept in
+ * concurrent sets, so checking does not stop threads from acquiring different locks at the same time, but it still
+ * costs a few lookups per acquisition. The mode can be set with the {@value #MODE_PROPERTY} system property, and
+ * defaults to {@link Mode#SAMPLED}.
  * </p>
  */
 public enum LockUtil {
   INSTANCE;
 
+  public static final String MODE_PROPERTY = "triplea.lockOrderChecking";
+
+  /**
+   * How much lock order checking is done.
+   */
+  public enum Mode {
+    /** Every first acquisition of a lock is checked. */
+    FULL,
+    /** About one in {@value LockUtil#SAMPLE_RATE} first acquisitions of a lock is checked. */
+    SAMPLED,
+    /** Nothing is checked, locks are just counted so {@link LockUtil#isLockHeld(Lock)} still works. */
+    OFF
+  }
+
+  static final int SAMPLE_RATE = 64;
+
   // the locks the current thread has
   // because locks can be re-entrant, store this as a count
   private final ThreadLocal<Map<Lock, Integer>> locksHeld = ThreadLocal.withInitial(() -> new HashMap<>());
 
   // a map of all the locks ever held when a lock was acquired
   // store weak references to everything so that locks don't linger here forever
-  private final Map<Lock, Set<WeakLockRef>> locksHeldWhenAcquired = new WeakHashMap<>();
-  private final Object mutex = new Object();
+  private final Map<WeakLockRef, Set<WeakLockRef>> locksHeldWhenAcquired = new ConcurrentHashMap<>();
+  private final ReferenceQueue<Lock> collectedLocks = new ReferenceQueue<>();
 
   private final AtomicReference<ErrorReporter> errorReporterRef = new AtomicReference<>(new DefaultErrorReporter());
+  private volatile Mode mode = getModeFromSystemProperty();
+
+  private static Mode getModeFromSystemProperty() {
+    final String value = System.getProperty(MODE_PROPERTY);
+    if (value != null) {
+      for (final Mode mode : Mode.values()) {
+        if (mode.name().equalsIgnoreCase(value.trim())) {
+          return mode;
+        }
+      }
+    }
+    return Mode.SAMPLED;
+  }
+
+  public Mode getMode() {
+    return mode;
+  }
+
+  public void setMode(final Mode mode) {
+    this.mode = mode;
+  }
 
   public void acquireLock(final Lock lock) {
+    final Map<Lock, Integer> locks = locksHeld.get();
+    final Integer current = locks.get(lock);
     // we already have the lock, increase the count
-    if (isLockHeld(lock)) {
-      final int current = locksHeld.get().get(lock);
-      locksHeld.get().put(lock, current + 1);
+    if (current != null) {
+      locks.put(lock, current + 1);
     } else { // we don't have it
-      synchronized (mutex) {
-        // all the locks currently held must be acquired before a lock
-        if (!locksHeldWhenAcquired.containsKey(lock)) {
-          locksHeldWhenAcquired.put(lock, new HashSet<>());
-        }
-        for (final Lock l : locksHeld.get().keySet()) {
-          locksHeldWhenAcquired.get(lock).add(new WeakLockRef(l));
-        }
-        // we are lock a, check to
-        // see if any lock we hold (b)
-        // has ever been acquired before a
-        for (final Lock l : locksHeld.get().keySet()) {
-          final Set<WeakLockRef> held = locksHeldWhenAcquired.get(l);
-          // clear out of date locks
-          final Iterator<WeakLockRef> iter = held.iterator();
-          while (iter.hasNext()) {
-            if (iter.next().get() == null) {
-              iter.remove();
-            }
-          }
-          if (held.contains(new WeakLockRef(lock))) {
-            errorReporterRef.get().reportError(lock, l);
-          }
-        }
+      if (!locks.isEmpty() && shouldCheck()) {
+        checkLockOrder(lock, locks.keySet());
       }
-      locksHeld.get().put(lock, 1);
+      locks.put(lock, 1);
     }
 
     lock.lock();
   }
 
+  private boolean shouldCheck() {
+    switch (mode) {
+      case FULL:
+        return true;
+      case SAMPLED:
+        return ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0;
+      default:
+        return false;
+    }
+  }
+
+  private void checkLockOrder(final Lock lock, final Set<Lock> held) {
+    removeCollectedLocks();
+    // all the locks currently held must be acquired before a lock
+    final Set<WeakLockRef> heldWhenAcquired = locksHeldWhenAcquired
+        .computeIfAbsent(new WeakLockRef(lock, collectedLocks), k -> ConcurrentHashMap.newKeySet());
+    for (final Lock l : held) {
+      heldWhenAcquired.add(new WeakLockRef(l));
+    }
+    // we are lock a, check to
+    // see if any lock we hold (b)
+    // has ever been acquired before a
+    final WeakLockRef lockRef = new WeakLockRef(lock);
+    for (final Lock l : held) {
+      final Set<WeakLockRef> heldWhenAcquiredOther = locksHeldWhenAcquired.get(new WeakLockRef(l));
+      if (heldWhenAcquiredOther == null) {
+        continue;
+      }
+      // clear out of date locks
+      heldWhenAcquiredOther.removeIf(ref -> ref.get() == null);
+      if (heldWhenAcquiredOther.contains(lockRef)) {
+        errorReporterRef.get().reportError(lock, l);
+      }
+    }
+  }
+
+  private void removeCollectedLocks() {
+    Reference<? extends Lock> ref;
+    while ((ref = collectedLocks.poll()) != null) {
+      locksHeldWhenAcquired.remove(ref);
+    }
+  }
+
   public void releaseLock(final Lock lock) {
-    int count = locksHeld.get().get(lock);
-    count--;
+    final Map<Lock, Integer> locks = locksHeld.get();
+    final int count = locks.get(lock) - 1;
     if (count == 0) {
-      locksHeld.get().remove(lock);
+      locks.remove(lock);
     } else {
-      locksHeld.get().put(lock, count);
+      locks.put(lock, count);
     }
 
     lock.unlock();
@@ -131,6 +193,11 @@ public enum LockUtil {
       hashCode = referent.hashCode();
     }
 
+    public WeakLockRef(final Lock referent, final ReferenceQueue<Lock> queue) {
+      super(referent, queue);
+      hashCode = referent.hashCode();
+    }
+
     @Override
     public boolean equals(final Object o) {
       if (o == this) {
@@ -11,6 +11,7 @@ import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitIndex;
 import games.strategy.engine.data.UnitType;
 import games.strategy.engine.data.annotations.GameProperty;
 import games.strategy.engine.data.changefactory.ChangeFactory;
@@ -103,22 +104,25 @@ public class TripleAUnit extends Unit {
 
   @GameProperty(xmlProperty = false, gameProperty = true, adds = false)
   public void setTransportedBy(final TripleAUnit transportedBy) {
+    final TripleAUnit old = m_transportedBy;
     m_transportedBy = transportedBy;
+    if (old != transportedBy && getData() != null) {
+      getData().unitTransportChanged(this, old, transportedBy);
+    }
   }
 
   /**
-   * This is a very slow method because it checks all territories on the map. Try not to use this method if possible.
+   * @return the units in the same territory as this transport that are transported by it.
    */
   public List<Unit> getTransporting() {
     // we don't store the units we are transporting
     // rather we look at the transported by property of units
-    for (final Territory t : getData().getMap()) {
-      // find the territory this transport is in
-      if (t.getUnits().getUnits().contains(this)) {
-        return t.getUnits().getMatches(Match.of(o -> TripleAUnit.get(o).getTransportedBy() == TripleAUnit.this));
-      }
+    final UnitIndex index = getData().getUnitIndex();
+    if (!index.isTransporting(this)) {
+      return Collections.emptyList();
     }
-    return Collections.emptyList();
+    return index.getTerritory(this).getUnits()
+        .getMatches(Match.of(o -> TripleAUnit.get(o).getTransportedBy() == TripleAUnit.this));
   }
 
   public List<Unit> getTransporting(final Collection<Unit> transportedUnitsPossible) {
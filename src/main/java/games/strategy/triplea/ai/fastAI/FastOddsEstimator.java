@@ -99,6 +99,11 @@ public class FastOddsEstimator implements IOddsCalculator {
 
   }
 
+  @Override
+  public void setEarlyStopping(final double winPercentPrecision, final long timeLimitMillis) {
+    // estimates are worked out directly, there are no simulated battles to stop early
+  }
+
   @Override
   public void setAttackerOrderOfLosses(final String attackerOrderOfLosses) {
 
@@ -28,6 +28,8 @@ public class ProOddsCalculator {
 
   public ProOddsCalculator(final IOddsCalculator calc) {
     this.calc = calc;
+    // the AI doesn't need the exact odds of battles that are clearly won or lost
+    calc.setEarlyStopping(0.05, 0);
   }
 
   public void setData(final GameData data) {
@@ -6,6 +6,7 @@ import static com.google.common.base.Preconditions.checkState;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -16,6 +17,7 @@ import java.util.Set;
 import games.strategy.engine.data.Attachable;
 import games.strategy.engine.data.BattleRecordsList;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameFact;
 import games.strategy.engine.data.GameMap;
 import games.strategy.engine.data.GameParseException;
 import games.strategy.engine.data.IAttachment;
@@ -29,6 +31,8 @@ import games.strategy.engine.data.annotations.GameProperty;
 import games.strategy.engine.data.annotations.InternalDoNotExport;
 import games.strategy.engine.delegate.IDelegateBridge;
 import games.strategy.engine.random.IRandomStats.DiceType;
+import games.strategy.performance.Counter;
+import games.strategy.performance.Metrics;
 import games.strategy.triplea.Constants;
 import games.strategy.triplea.MapSupport;
 import games.strategy.triplea.Properties;
@@ -45,6 +49,8 @@ import games.strategy.util.Tuple;
 @MapSupport
 public class RulesAttachment extends AbstractPlayerRulesAttachment {
   private static final long serialVersionUID = 7301965634079412516L;
+  private static final Counter testedRulesHits = Metrics.counter("condition.rules.unchanged");
+  private static final Counter testedRulesMisses = Metrics.counter("condition.rules.tested");
   // condition for having techs
   private ArrayList<TechAdvance> m_techs = null;
   @InternalDoNotExport
@@ -78,6 +84,8 @@ public class RulesAttachment extends AbstractPlayerRulesAttachment {
   private String[] m_enemyPresenceTerritories = null;
   // used with above 3 to determine the type of unit that must be present
   private IntegerMap<String> m_unitPresence = new IntegerMap<>();
+  // the result of the last test of the rules of this condition, kept until a fact they read changes
+  private transient volatile TestedRules m_testedRules;
 
 
   /** Creates new RulesAttachment. */
@@ -667,6 +675,120 @@ public class RulesAttachment extends AbstractPlayerRulesAttachment {
       }
       objectiveMet = areConditionsMet(new ArrayList<>(m_conditions), testedConditions, m_conditionType);
     }
+    if (objectiveMet) {
+      objectiveMet = testRulesUnlessUnchanged(data, players);
+    }
+    // "chance" should ALWAYS be checked last!
+    final int hitTarget = getChanceToHit();
+    final int diceSides = getChanceDiceSides();
+    final int incrementOnFailure = this.getChanceIncrementOnFailure();
+    final int decrementOnSuccess = this.getChanceDecrementOnSuccess();
+    if (objectiveMet && (hitTarget != diceSides || incrementOnFailure != 0 || decrementOnSuccess != 0)) {
+      if (diceSides <= 0 || hitTarget >= diceSides) {
+        objectiveMet = true;
+        changeChanceDecrementOrIncrementOnSuccessOrFailure(delegateBridge, objectiveMet, false);
+      } else if (hitTarget <= 0) {
+        objectiveMet = false;
+        changeChanceDecrementOrIncrementOnSuccessOrFailure(delegateBridge, objectiveMet, false);
+      } else {
+        // there is an issue with maps using thousands of chance triggers: they are causing the cypted random source
+        // (ie: live and pbem
+        // games) to lock up or error out
+        // so we need to slow them down a bit, until we come up with a better solution (like aggregating all the chances
+        // together, then
+        // getting a ton of random numbers at once instead of one at a time)
+        ThreadUtil.sleep(100);
+        final int rollResult = delegateBridge.getRandom(diceSides, null, DiceType.ENGINE,
+            "Attempting the Condition: " + MyFormatter.attachmentNameToText(this.getName())) + 1;
+        objectiveMet = rollResult <= hitTarget;
+        final String notificationMessage = (objectiveMet ? TRIGGER_CHANCE_SUCCESSFUL : TRIGGER_CHANCE_FAILURE)
+            + " (Rolled at " + hitTarget + " out of " + diceSides + " Result: " + rollResult + "  for "
+            + MyFormatter.attachmentNameToText(this.getName()) + ")";
+        delegateBridge.getHistoryWriter().startEvent(notificationMessage);
+        changeChanceDecrementOrIncrementOnSuccessOrFailure(delegateBridge, objectiveMet, true);
+        ((ITripleAPlayer) delegateBridge.getRemotePlayer(delegateBridge.getPlayerID()))
+            .reportMessage(notificationMessage, notificationMessage);
+      }
+    }
+    return objectiveMet != m_invert;
+  }
+
+  /**
+   * Tests the rules of this condition other than its conditions and chance, or returns the result of testing them the
+   * last time if none of the facts they read has changed since. Only the facts counted by {@link GameFact} are seen,
+   * so the result is only remembered when testing against the game data this condition belongs to, which nothing else
+   * can change behind the back of the counts once the game is running, and which this condition already holds on to.
+   */
+  private boolean testRulesUnlessUnchanged(final GameData data, final List<PlayerID> players) {
+    if (data != getData()) {
+      return testRules(data, players, new ArrayList<>());
+    }
+    final TestedRules tested = m_testedRules;
+    if (tested != null && tested.isUpToDate(data, players)) {
+      testedRulesHits.increment();
+      if (getCountEach()) {
+        m_eachMultiple = tested.m_eachMultiple;
+      }
+      return tested.m_met;
+    }
+    testedRulesMisses.increment();
+    final Set<GameFact> facts = getFactsTested();
+    final long[] changeCounts = new long[GameFact.values().length];
+    for (final GameFact fact : facts) {
+      changeCounts[fact.ordinal()] = data.getChangeCount(fact);
+    }
+    final int round = isRoundTested() ? data.getSequence().getRound() : TestedRules.ANY_ROUND;
+    final int unitOwnerChanges = data.getUnitOwnerChanges();
+    final List<Territory> unitTerritories = new ArrayList<>();
+    final boolean met = testRules(data, players, unitTerritories);
+    m_testedRules = new TestedRules(players, facts, changeCounts, round, unitTerritories, unitOwnerChanges, met,
+        m_eachMultiple);
+    return met;
+  }
+
+  /**
+   * @return the kinds of facts testing the rules of this condition reads, other than the units in the territories it
+   *         checks for presence or exclusion of units, see {@link #testRules(GameData, List, Collection)}.
+   */
+  private Set<GameFact> getFactsTested() {
+    // the properties of this condition, the players it is for, and the original owners of territories are attachments,
+    // and the listed territories and players can depend on who controls what and who is at war with whom
+    final Set<GameFact> facts =
+        EnumSet.of(GameFact.ATTACHMENTS, GameFact.TERRITORY_OWNERS, GameFact.RELATIONSHIPS);
+    if (m_gameProperty != null) {
+      facts.add(GameFact.PROPERTIES);
+    }
+    if (m_techs != null) {
+      facts.add(GameFact.TECHNOLOGY);
+    }
+    if (m_destroyedTUV != null || !m_battle.isEmpty()) {
+      facts.add(GameFact.BATTLE_RECORDS);
+    }
+    return facts;
+  }
+
+  private static Set<Territory> unitsCheckedIn(final Set<Territory> territories,
+      final Collection<Territory> unitTerritories) {
+    unitTerritories.addAll(territories);
+    return territories;
+  }
+
+  /**
+   * The round is not changed by a change, so the rules that read it are only up to date in the same round.
+   */
+  private boolean isRoundTested() {
+    return m_turns != null || m_destroyedTUV != null || !m_battle.isEmpty() || m_relationship.size() > 0;
+  }
+
+  /**
+   * Tests the rules of this condition other than its conditions and chance.
+   *
+   * @param unitTerritories
+   *        the territories whose units are checked, only the type and owner of the units in them are read.
+   */
+  private boolean testRules(final GameData data, final List<PlayerID> players,
+      final Collection<Territory> unitTerritories) {
+    boolean objectiveMet = true;
     // check switch (on/off)
     if (objectiveMet) {
       objectiveMet = m_switch;
@@ -683,49 +805,56 @@ public class RulesAttachment extends AbstractPlayerRulesAttachment {
     if (objectiveMet && getDirectPresenceTerritories() != null) {
       // Get the listed territories
       final String[] terrs = getDirectPresenceTerritories();
-      objectiveMet = checkUnitPresence(getTerritoryListBasedOnInputFromXML(terrs, players, data),
+      objectiveMet = checkUnitPresence(
+          unitsCheckedIn(getTerritoryListBasedOnInputFromXML(terrs, players, data), unitTerritories),
           "direct", getTerritoryCount(), players, data);
     }
     // Check for unit presence (Veqryn)
     if (objectiveMet && getAlliedPresenceTerritories() != null) {
       // Get the listed territories
       final String[] terrs = getAlliedPresenceTerritories();
-      objectiveMet = checkUnitPresence(getTerritoryListBasedOnInputFromXML(terrs, players, data),
+      objectiveMet = checkUnitPresence(
+          unitsCheckedIn(getTerritoryListBasedOnInputFromXML(terrs, players, data), unitTerritories),
           "allied", getTerritoryCount(), players, data);
     }
     // Check for unit presence (Veqryn)
     if (objectiveMet && getEnemyPresenceTerritories() != null) {
       // Get the listed territories
       final String[] terrs = getEnemyPresenceTerritories();
-      objectiveMet = checkUnitPresence(getTerritoryListBasedOnInputFromXML(terrs, players, data), "enemy",
-          getTerritoryCount(), players, data);
+      objectiveMet = checkUnitPresence(
+          unitsCheckedIn(getTerritoryListBasedOnInputFromXML(terrs, players, data), unitTerritories),
+          "enemy", getTerritoryCount(), players, data);
     }
     // Check for direct unit exclusions (veqryn)
     if (objectiveMet && getDirectExclusionTerritories() != null) {
       // Get the listed territories
       final String[] terrs = getDirectExclusionTerritories();
-      objectiveMet = checkUnitExclusions(getTerritoryListBasedOnInputFromXML(terrs, players, data),
+      objectiveMet = checkUnitExclusions(
+          unitsCheckedIn(getTerritoryListBasedOnInputFromXML(terrs, players, data), unitTerritories),
           "direct", getTerritoryCount(), players, data);
     }
     // Check for allied unit exclusions
     if (objectiveMet && getAlliedExclusionTerritories() != null) {
       // Get the listed territories
       final String[] terrs = getAlliedExclusionTerritories();
-      objectiveMet = checkUnitExclusions(getTerritoryListBasedOnInputFromXML(terrs, players, data),
+      objectiveMet = checkUnitExclusions(
+          unitsCheckedIn(getTerritoryListBasedOnInputFromXML(terrs, players, data), unitTerritories),
           "allied", getTerritoryCount(), players, data);
     }
     // Check for enemy unit exclusions (ANY UNITS)
     if (objectiveMet && getEnemyExclusionTerritories() != null) {
       // Get the listed territories
       final String[] terrs = getEnemyExclusionTerritories();
-      objectiveMet = checkUnitExclusions(getTerritoryListBasedOnInputFromXML(terrs, players, data),
+      objectiveMet = checkUnitExclusions(
+          unitsCheckedIn(getTerritoryListBasedOnInputFromXML(terrs, players, data), unitTerritories),
           "enemy", getTerritoryCount(), players, data);
     }
     // Check for enemy unit exclusions (SURFACE UNITS with ATTACK POWER)
     if (objectiveMet && getEnemySurfaceExclusionTerritories() != null) {
       // Get the listed territories
       final String[] terrs = getEnemySurfaceExclusionTerritories();
-      objectiveMet = checkUnitExclusions(getTerritoryListBasedOnInputFromXML(terrs, players, data),
+      objectiveMet = checkUnitExclusions(
+          unitsCheckedIn(getTerritoryListBasedOnInputFromXML(terrs, players, data), unitTerritories),
           "enemy_surface", getTerritoryCount(), players, data);
     }
     // Check for Territory Ownership rules
@@ -852,39 +981,7 @@ public class RulesAttachment extends AbstractPlayerRulesAttachment {
         }
       }
     }
-    // "chance" should ALWAYS be checked last!
-    final int hitTarget = getChanceToHit();
-    final int diceSides = getChanceDiceSides();
-    final int incrementOnFailure = this.getChanceIncrementOnFailure();
-    final int decrementOnSuccess = this.getChanceDecrementOnSuccess();
-    if (objectiveMet && (hitTarget != diceSides || incrementOnFailure != 0 || decrementOnSuccess != 0)) {
-      if (diceSides <= 0 || hitTarget >= diceSides) {
-        objectiveMet = true;
-        changeChanceDecrementOrIncrementOnSuccessOrFailure(delegateBridge, objectiveMet, false);
-      } else if (hitTarget <= 0) {
-        objectiveMet = false;
-        changeChanceDecrementOrIncrementOnSuccessOrFailure(delegateBridge, objectiveMet, false);
-      } else {
-        // there is an issue with maps using thousands of chance triggers: they are causing the cypted random source
-        // (ie: live and pbem
-        // games) to lock up or error out
-        // so we need to slow them down a bit, until we come up with a better solution (like aggregating all the chances
-        // together, then
-        // getting a ton of random numbers at once instead of one at a time)
-        ThreadUtil.sleep(100);
-        final int rollResult = delegateBridge.getRandom(diceSides, null, DiceType.ENGINE,
-            "Attempting the Condition: " + MyFormatter.attachmentNameToText(this.getName())) + 1;
-        objectiveMet = rollResult <= hitTarget;
-        final String notificationMessage = (objectiveMet ? TRIGGER_CHANCE_SUCCESSFUL : TRIGGER_CHANCE_FAILURE)
-            + " (Rolled at " + hitTarget + " out of " + diceSides + " Result: " + rollResult + "  for "
-            + MyFormatter.attachmentNameToText(this.getName()) + ")";
-        delegateBridge.getHistoryWriter().startEvent(notificationMessage);
-        changeChanceDecrementOrIncrementOnSuccessOrFailure(delegateBridge, objectiveMet, true);
-        ((ITripleAPlayer) delegateBridge.getRemotePlayer(delegateBridge.getPlayerID()))
-            .reportMessage(notificationMessage, notificationMessage);
-      }
-    }
-    return objectiveMet != m_invert;
+    return objectiveMet;
   }
 
   /**
@@ -1165,4 +1262,62 @@ public class RulesAttachment extends AbstractPlayerRulesAttachment {
     validateNames(m_alliedPresenceTerritories);
     validateNames(m_enemyPresenceTerritories);
   }
+
+  /**
+   * The result of testing the rules of a condition against the game data it belongs to, and what the facts they read
+   * were as of the test.
+   */
+  private static final class TestedRules {
+    static final int ANY_ROUND = -1;
+    private final List<PlayerID> m_players;
+    private final Set<GameFact> m_facts;
+    private final long[] m_changeCounts;
+    private final int m_round;
+    private final Territory[] m_unitTerritories;
+    private final long[] m_unitChangeCounts;
+    private final int m_unitOwnerChanges;
+    private final boolean m_met;
+    private final int m_eachMultiple;
+
+    TestedRules(final List<PlayerID> players, final Set<GameFact> facts, final long[] changeCounts, final int round,
+        final Collection<Territory> unitTerritories, final int unitOwnerChanges, final boolean met,
+        final int eachMultiple) {
+      m_players = new ArrayList<>(players);
+      m_facts = facts;
+      m_changeCounts = changeCounts;
+      m_round = round;
+      m_unitTerritories = new HashSet<>(unitTerritories).toArray(new Territory[0]);
+      m_unitChangeCounts = new long[m_unitTerritories.length];
+      for (int i = 0; i < m_unitTerritories.length; i++) {
+        m_unitChangeCounts[i] = m_unitTerritories[i].getUnits().getChangeCount();
+      }
+      m_unitOwnerChanges = unitOwnerChanges;
+      m_met = met;
+      m_eachMultiple = eachMultiple;
+    }
+
+    boolean isUpToDate(final GameData data, final List<PlayerID> players) {
+      if (!m_players.equals(players)
+          || (m_round != ANY_ROUND && m_round != data.getSequence().getRound())) {
+        return false;
+      }
+      for (final GameFact fact : m_facts) {
+        if (data.getChangeCount(fact) != m_changeCounts[fact.ordinal()]) {
+          return false;
+        }
+      }
+      if (m_unitTerritories.length == 0) {
+        return true;
+      }
+      if (data.getUnitOwnerChanges() != m_unitOwnerChanges) {
+        return false;
+      }
+      for (int i = 0; i < m_unitTerritories.length; i++) {
+        if (m_unitTerritories[i].getUnits().getChangeCount() != m_unitChangeCounts[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
 }
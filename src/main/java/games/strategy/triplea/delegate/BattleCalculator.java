@@ -10,7 +10,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -45,10 +44,11 @@ import games.strategy.util.Tuple;
  * was being dduplicated all over the place.
  */
 public class BattleCalculator {
-  private static final Map<String, List<UnitType>> oolCache = new ConcurrentHashMap<>();
-
+  /**
+   * Forgets the orders of loss worked out so far, in all games.
+   */
   public static void clearOOLCache() {
-    oolCache.clear();
+    OrderOfLossCache.clearAll();
   }
 
   // There is a problem with this variable, that it isn't
@@ -664,6 +664,18 @@ public class BattleCalculator {
     return Tuple.of(defaultCasualtySelection, sorted);
   }
 
+  /**
+   * Returns the units in the order in which they are selected as default casualties (first to die first), for a
+   * normal, non amphibious battle. Any extra hit points of units that can take more than one hit are not part of this
+   * order, default casualty selection always takes those first.
+   */
+  public static List<Unit> sortUnitsForCasualties(final Collection<Unit> targetsToPickFrom, final boolean defending,
+      final PlayerID player, final Collection<Unit> enemyUnits, final Territory battlesite,
+      final Collection<TerritoryEffect> territoryEffects, final GameData data) {
+    return sortUnitsForCasualtiesWithSupport(targetsToPickFrom, defending, player, enemyUnits, false,
+        Collections.emptyList(), battlesite, TuvUtils.getCostsForTuv(player, data), territoryEffects, data, true);
+  }
+
   /**
    * The purpose of this is to return a list in the PERFECT order of which units should be selected to die first,
    * And that means that certain units MUST BE INTERLEAVED.
@@ -693,29 +705,18 @@ public class BattleCalculator {
         amphibTypes.add(u.getType());
       }
     }
-    // Calculate hashes and cache key
-    int targetsHashCode = 1;
-    for (final UnitType ut : targetTypes) {
-      targetsHashCode += ut.hashCode();
-    }
-    targetsHashCode *= 31;
-    int amphibHashCode = 1;
-    for (final UnitType ut : amphibTypes) {
-      amphibHashCode += ut.hashCode();
-    }
-    amphibHashCode *= 31;
-    String key = player.getName() + "|" + battlesite.getName() + "|" + defending + "|" + amphibious + "|"
-        + targetsHashCode + "|" + amphibHashCode;
     // Check OOL cache
-    final List<UnitType> stored = oolCache.get(key);
+    final OrderOfLossCache oolCache = OrderOfLossCache.get(data);
+    final OrderOfLossCache.Key key = new OrderOfLossCache.Key(player.getName(), battlesite.getName(), defending,
+        amphibious, targetTypes, amphibTypes);
+    final List<String> stored = oolCache.get(key);
     if (stored != null) {
-      // System.out.println("Hit with cacheSize=" + oolCache.size() + ", key=" + key);
       final List<Unit> result = new ArrayList<>();
       final List<Unit> selectFrom = new ArrayList<>(targetsToPickFrom);
-      for (final UnitType ut : stored) {
+      for (final String ut : stored) {
         for (final Iterator<Unit> it = selectFrom.iterator(); it.hasNext();) {
           final Unit u = it.next();
-          if (ut.equals(u.getType())) {
+          if (ut.equals(u.getType().getName())) {
             result.add(u);
             it.remove();
           }
@@ -723,7 +724,6 @@ public class BattleCalculator {
       }
       return result;
     }
-    // System.out.println("Miss with cacheSize=" + oolCache.size() + ", key=" + key);
     // Sort enough units to kill off
     final List<Unit> sortedUnitsList = new ArrayList<>(targetsToPickFrom);
     Collections.sort(sortedUnitsList, new UnitBattleComparator(defending, costs, territoryEffects, data, bonus, false));
@@ -859,30 +859,20 @@ public class BattleCalculator {
     }
     sortedWellEnoughUnitsList.addAll(sortedUnitsList);
     // Cache result and all subsets of the result
-    final List<UnitType> unitTypes = new ArrayList<>();
+    final List<String> unitTypes = new ArrayList<>();
     for (final Unit u : sortedWellEnoughUnitsList) {
-      unitTypes.add(u.getType());
+      unitTypes.add(u.getType().getName());
     }
-    for (final Iterator<UnitType> it = unitTypes.iterator(); it.hasNext();) {
-      oolCache.put(key, new ArrayList<>(unitTypes));
-      final UnitType unitTypeToRemove = it.next();
+    OrderOfLossCache.Key subsetKey = key;
+    for (int i = 0; i < unitTypes.size(); i++) {
+      oolCache.put(subsetKey, new ArrayList<>(unitTypes.subList(i, unitTypes.size())));
+      final UnitType unitTypeToRemove = sortedWellEnoughUnitsList.get(i).getType();
       targetTypes.remove(unitTypeToRemove);
       if (Collections.frequency(targetTypes, unitTypeToRemove) < Collections.frequency(amphibTypes, unitTypeToRemove)) {
         amphibTypes.remove(unitTypeToRemove);
       }
-      targetsHashCode = 1;
-      for (final UnitType ut : targetTypes) {
-        targetsHashCode += ut.hashCode();
-      }
-      targetsHashCode *= 31;
-      amphibHashCode = 1;
-      for (final UnitType ut : amphibTypes) {
-        amphibHashCode += ut.hashCode();
-      }
-      amphibHashCode *= 31;
-      key = player.getName() + "|" + battlesite.getName() + "|" + defending + "|" + amphibious + "|" + targetsHashCode
-          + "|" + amphibHashCode;
-      it.remove();
+      subsetKey = new OrderOfLossCache.Key(player.getName(), battlesite.getName(), defending, amphibious,
+          targetTypes, amphibTypes);
     }
     return sortedWellEnoughUnitsList;
   }
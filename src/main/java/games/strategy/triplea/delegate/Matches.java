@@ -811,13 +811,18 @@ public final class Matches {
     return Match.of(obj -> UnitAttachment.get(obj.getUnitType()).getArtillerySupportable());
   }
 
+  // the same instances are always returned, so that GameMap can recognize them and use its distance index
+  private static final Match<Territory> TERRITORY_IS_LAND_OR_WATER = Match.of(Objects::nonNull);
+  private static final Match<Territory> TERRITORY_IS_WATER = Match.of(Territory::isWater);
+  private static final Match<Territory> TERRITORY_IS_LAND = TERRITORY_IS_WATER.invert();
+
   // TODO: CHECK whether this makes any sense
   public static Match<Territory> territoryIsLandOrWater() {
-    return Match.of(Objects::nonNull);
+    return TERRITORY_IS_LAND_OR_WATER;
   }
 
   public static Match<Territory> territoryIsWater() {
-    return Match.of(Territory::isWater);
+    return TERRITORY_IS_WATER;
   }
 
   /**
@@ -844,7 +849,7 @@ public final class Matches {
   }
 
   public static Match<Territory> territoryIsLand() {
-    return territoryIsWater().invert();
+    return TERRITORY_IS_LAND;
   }
 
   public static Match<Territory> territoryIsEmpty() {
@@ -0,0 +1,163 @@
+package games.strategy.triplea.delegate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.UnitType;
+import games.strategy.performance.Counter;
+import games.strategy.performance.Metrics;
+
+/**
+ * The orders of loss {@link BattleCalculator} has worked out for sorting units for casualties with support, by the
+ * unit types they were worked out for, so that the same battle does not have to be worked out again on each round
+ * and each run of the odds calculator.
+ *
+ * <p>
+ * There is one cache for each game data, so battles of different games, such as those the odds calculator fights on
+ * its own copy of the game, never share entries. A cache holds at most {@value #MAX_ENTRIES} orders of loss and
+ * {@value #MAX_UNIT_TYPES} unit types in them, and drops the least recently used ones beyond that. Orders of loss are
+ * kept as unit type names, so the caches do not keep the game data they are for from being collected.
+ * </p>
+ */
+final class OrderOfLossCache {
+  static final int MAX_ENTRIES = 10000;
+  static final int MAX_UNIT_TYPES = 500000;
+  private static final Counter hits = Metrics.counter("battle.orderOfLoss.hit");
+  private static final Counter misses = Metrics.counter("battle.orderOfLoss.miss");
+  private static final Counter evictions = Metrics.counter("battle.orderOfLoss.evicted");
+  // guarded by itself
+  private static final Map<GameData, OrderOfLossCache> caches = new WeakHashMap<>();
+
+  private final int maxEntries;
+  private final int maxUnitTypes;
+  private final Map<Key, List<String>> ordersOfLoss = new LinkedHashMap<>(16, 0.75f, true);
+  private int unitTypes;
+
+  OrderOfLossCache(final int maxEntries, final int maxUnitTypes) {
+    this.maxEntries = maxEntries;
+    this.maxUnitTypes = maxUnitTypes;
+  }
+
+  static OrderOfLossCache get(final GameData data) {
+    synchronized (caches) {
+      return caches.computeIfAbsent(data, k -> new OrderOfLossCache(MAX_ENTRIES, MAX_UNIT_TYPES));
+    }
+  }
+
+  static void clearAll() {
+    synchronized (caches) {
+      caches.clear();
+    }
+  }
+
+  /**
+   * @return the unit type names of the order of loss, or {@code null} if it is not cached.
+   */
+  synchronized List<String> get(final Key key) {
+    final List<String> orderOfLoss = ordersOfLoss.get(key);
+    if (orderOfLoss == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return orderOfLoss;
+  }
+
+  synchronized void put(final Key key, final List<String> orderOfLoss) {
+    final List<String> old = ordersOfLoss.put(key, orderOfLoss);
+    if (old != null) {
+      unitTypes -= size(key, old);
+    }
+    unitTypes += size(key, orderOfLoss);
+    final Iterator<Map.Entry<Key, List<String>>> leastRecentlyUsed = ordersOfLoss.entrySet().iterator();
+    while ((ordersOfLoss.size() > maxEntries || unitTypes > maxUnitTypes) && leastRecentlyUsed.hasNext()) {
+      final Map.Entry<Key, List<String>> entry = leastRecentlyUsed.next();
+      unitTypes -= size(entry.getKey(), entry.getValue());
+      leastRecentlyUsed.remove();
+      evictions.increment();
+    }
+  }
+
+  synchronized int size() {
+    return ordersOfLoss.size();
+  }
+
+  private static int size(final Key key, final List<String> orderOfLoss) {
+    return key.targetTypes.length + key.amphibiousTypes.length + orderOfLoss.size();
+  }
+
+  /**
+   * A battle to sort units for casualties in, with the units to sort and the units that attacked amphibiously counted
+   * by unit type, so that the same units in a different order give the same key.
+   */
+  static final class Key {
+    private final String player;
+    private final String battleSite;
+    private final boolean defending;
+    private final boolean amphibious;
+    private final String[] targetTypes;
+    private final int[] targetCounts;
+    private final String[] amphibiousTypes;
+    private final int[] amphibiousCounts;
+    private final int hashCode;
+
+    Key(final String player, final String battleSite, final boolean defending, final boolean amphibious,
+        final Collection<UnitType> targets, final Collection<UnitType> amphibiousLandAttackers) {
+      this.player = player;
+      this.battleSite = battleSite;
+      this.defending = defending;
+      this.amphibious = amphibious;
+      final Map<String, Integer> targetsByType = countByName(targets);
+      targetTypes = targetsByType.keySet().toArray(new String[targetsByType.size()]);
+      targetCounts = targetsByType.values().stream().mapToInt(Integer::intValue).toArray();
+      final Map<String, Integer> amphibiousByType = countByName(amphibiousLandAttackers);
+      amphibiousTypes = amphibiousByType.keySet().toArray(new String[amphibiousByType.size()]);
+      amphibiousCounts = amphibiousByType.values().stream().mapToInt(Integer::intValue).toArray();
+      int hash = player.hashCode();
+      hash = 31 * hash + battleSite.hashCode();
+      hash = 31 * hash + Boolean.hashCode(defending);
+      hash = 31 * hash + Boolean.hashCode(amphibious);
+      hash = 31 * hash + Arrays.hashCode(targetTypes);
+      hash = 31 * hash + Arrays.hashCode(targetCounts);
+      hash = 31 * hash + Arrays.hashCode(amphibiousTypes);
+      hash = 31 * hash + Arrays.hashCode(amphibiousCounts);
+      hashCode = hash;
+    }
+
+    private static Map<String, Integer> countByName(final Collection<UnitType> unitTypes) {
+      final Map<String, Integer> counts = new TreeMap<>();
+      for (final UnitType unitType : unitTypes) {
+        counts.merge(unitType.getName(), 1, Integer::sum);
+      }
+      return counts;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) o;
+      return hashCode == other.hashCode && defending == other.defending && amphibious == other.amphibious
+          && player.equals(other.player) && battleSite.equals(other.battleSite)
+          && Arrays.equals(targetTypes, other.targetTypes) && Arrays.equals(targetCounts, other.targetCounts)
+          && Arrays.equals(amphibiousTypes, other.amphibiousTypes)
+          && Arrays.equals(amphibiousCounts, other.amphibiousCounts);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
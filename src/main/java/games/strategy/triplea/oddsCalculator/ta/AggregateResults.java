@@ -3,7 +3,11 @@ package games.strategy.triplea.oddsCalculator.ta;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+
+import com.google.common.annotations.VisibleForTesting;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -13,26 +17,97 @@ import games.strategy.triplea.util.TuvUtils;
 import games.strategy.util.IntegerMap;
 import games.strategy.util.Tuple;
 
+/**
+ * The combined results of a number of simulated battles.
+ *
+ * <p>
+ * The results are accumulated as they are added: win, loss and draw counts, units left and rounds fought are kept as
+ * running totals, and the surviving units are kept as a histogram of distinct outcomes (the remaining attacking and
+ * defending units counted by type), each with the number of times it happened and the first BattleResults that had it.
+ * The memory used does not grow with the number of battles, only with the number of distinct unit counts left, which
+ * is bounded by the units in the battle, while giving the same answers as keeping every result.
+ * </p>
+ */
 public class AggregateResults implements Serializable {
-  private static final long serialVersionUID = -556699626060414738L;
-  // can be empty!
-  private final List<BattleResults> m_results;
+  private static final long serialVersionUID = 3046861732510592247L;
+  // z value of a two sided 95% confidence interval
+  private static final double CONFIDENCE_Z = 1.96;
+  private int m_rollCount = 0;
+  private int m_attackerWins = 0;
+  private int m_defenderWins = 0;
+  private int m_draws = 0;
+  private long m_attackingUnitsLeft = 0;
+  private long m_defendingUnitsLeft = 0;
+  private long m_attackingUnitsLeftWhenAttackerWon = 0;
+  private long m_defendingUnitsLeftWhenDefenderWon = 0;
+  private long m_battleRoundsFought = 0;
+  // remaining attacking and defending units by type -> outcome, in the order in which the outcomes first happened
+  private final Map<Tuple<IntegerMap<UnitType>, IntegerMap<UnitType>>, Outcome> m_outcomes = new LinkedHashMap<>();
   private long m_time;
 
-  public AggregateResults(final int expectedCount) {
-    m_results = new ArrayList<>(expectedCount);
+  public void addResult(final BattleResults result) {
+    final int attackingUnitsLeft = result.getAttackingCombatUnitsLeft();
+    final int defendingUnitsLeft = result.getDefendingCombatUnitsLeft();
+    m_rollCount++;
+    m_attackingUnitsLeft += attackingUnitsLeft;
+    m_defendingUnitsLeft += defendingUnitsLeft;
+    m_battleRoundsFought += result.getBattleRoundsFought();
+    if (result.attackerWon()) {
+      m_attackerWins++;
+      m_attackingUnitsLeftWhenAttackerWon += attackingUnitsLeft;
+    } else if (result.defenderWon()) {
+      m_defenderWins++;
+      m_defendingUnitsLeftWhenDefenderWon += defendingUnitsLeft;
+    } else {
+      m_draws++;
+    }
+    final Tuple<IntegerMap<UnitType>, IntegerMap<UnitType>> key =
+        Tuple.of(countByType(result.getRemainingAttackingUnits()), countByType(result.getRemainingDefendingUnits()));
+    Outcome outcome = m_outcomes.get(key);
+    if (outcome == null) {
+      outcome = new Outcome(result);
+      m_outcomes.put(key, outcome);
+    }
+    outcome.count++;
   }
 
-  public void addResult(final BattleResults result) {
-    m_results.add(result);
+  private static IntegerMap<UnitType> countByType(final Collection<Unit> units) {
+    final IntegerMap<UnitType> counts = new IntegerMap<>();
+    for (final Unit unit : units) {
+      counts.add(unit.getType(), 1);
+    }
+    return counts;
   }
 
   public void addResults(final Collection<BattleResults> results) {
-    m_results.addAll(results);
+    for (final BattleResults result : results) {
+      addResult(result);
+    }
   }
 
-  public List<BattleResults> getResults() {
-    return m_results;
+  /**
+   * Adds all results of the other aggregate to this one, as if they had been added one by one after the results
+   * already in this one. Used to combine the results of several workers.
+   */
+  public void merge(final AggregateResults other) {
+    m_rollCount += other.m_rollCount;
+    m_attackerWins += other.m_attackerWins;
+    m_defenderWins += other.m_defenderWins;
+    m_draws += other.m_draws;
+    m_attackingUnitsLeft += other.m_attackingUnitsLeft;
+    m_defendingUnitsLeft += other.m_defendingUnitsLeft;
+    m_attackingUnitsLeftWhenAttackerWon += other.m_attackingUnitsLeftWhenAttackerWon;
+    m_defendingUnitsLeftWhenDefenderWon += other.m_defendingUnitsLeftWhenDefenderWon;
+    m_battleRoundsFought += other.m_battleRoundsFought;
+    for (final Map.Entry<Tuple<IntegerMap<UnitType>, IntegerMap<UnitType>>, Outcome> entry : other.m_outcomes
+        .entrySet()) {
+      Outcome outcome = m_outcomes.get(entry.getKey());
+      if (outcome == null) {
+        outcome = new Outcome(entry.getValue().result);
+        m_outcomes.put(entry.getKey(), outcome);
+      }
+      outcome.count += entry.getValue().count;
+    }
   }
 
   /**
@@ -41,9 +116,12 @@ public class AggregateResults implements Serializable {
   public BattleResults getBattleResultsClosestToAverage() {
     double closestBattleDif = Integer.MAX_VALUE;
     BattleResults closestBattle = null;
-    for (final BattleResults results : m_results) {
-      double dif = Math.abs(results.getAttackingCombatUnitsLeft() - getAverageAttackingUnitsLeft());
-      dif += Math.abs(results.getDefendingCombatUnitsLeft() - getAverageDefendingUnitsLeft());
+    final double averageAttackingUnitsLeft = getAverageAttackingUnitsLeft();
+    final double averageDefendingUnitsLeft = getAverageDefendingUnitsLeft();
+    for (final Outcome outcome : m_outcomes.values()) {
+      final BattleResults results = outcome.result;
+      double dif = Math.abs(results.getAttackingCombatUnitsLeft() - averageAttackingUnitsLeft);
+      dif += Math.abs(results.getDefendingCombatUnitsLeft() - averageDefendingUnitsLeft);
       if (dif < closestBattleDif) {
         closestBattleDif = dif;
         closestBattle = results;
@@ -66,14 +144,10 @@ public class AggregateResults implements Serializable {
   }
 
   double getAverageAttackingUnitsLeft() {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      count += result.getAttackingCombatUnitsLeft();
-    }
-    return count / m_results.size();
+    return (double) m_attackingUnitsLeft / m_rollCount;
   }
 
   /**
@@ -81,21 +155,30 @@ public class AggregateResults implements Serializable {
    */
   public Tuple<Double, Double> getAverageTUVofUnitsLeftOver(final IntegerMap<UnitType> attackerCostsForTuv,
       final IntegerMap<UnitType> defenderCostsForTuv) {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return Tuple.of(0.0, 0.0);
     }
     double attackerTuv = 0;
     double defenderTuv = 0;
-    for (final BattleResults result : m_results) {
-      attackerTuv += TuvUtils.getTuv(result.getRemainingAttackingUnits(), attackerCostsForTuv);
-      defenderTuv += TuvUtils.getTuv(result.getRemainingDefendingUnits(), defenderCostsForTuv);
+    for (final Map.Entry<Tuple<IntegerMap<UnitType>, IntegerMap<UnitType>>, Outcome> entry : m_outcomes.entrySet()) {
+      final int count = entry.getValue().count;
+      attackerTuv += (double) count * getTuv(entry.getKey().getFirst(), attackerCostsForTuv);
+      defenderTuv += (double) count * getTuv(entry.getKey().getSecond(), defenderCostsForTuv);
+    }
+    return Tuple.of(attackerTuv / m_rollCount, defenderTuv / m_rollCount);
+  }
+
+  private static int getTuv(final IntegerMap<UnitType> unitCounts, final IntegerMap<UnitType> costs) {
+    int tuv = 0;
+    for (final UnitType type : unitCounts.keySet()) {
+      tuv += unitCounts.getInt(type) * costs.getInt(type);
     }
-    return Tuple.of(attackerTuv / m_results.size(), defenderTuv / m_results.size());
+    return tuv;
   }
 
   public double getAverageTUVswing(final PlayerID attacker, final Collection<Unit> attackers, final PlayerID defender,
       final Collection<Unit> defenders, final GameData data) {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
     final IntegerMap<UnitType> attackerCostsForTuv = TuvUtils.getCostsForTuv(attacker, data);
@@ -109,109 +192,138 @@ public class AggregateResults implements Serializable {
     return defenderLost - attackerLost;
   }
 
-  double getAverageAttackingUnitsLeftWhenAttackerWon() {
-    if (m_results.isEmpty()) { // can be empty!
+  /**
+   * Returns the standard deviation of the TUV swing of the individual battles, see
+   * {@link #getAverageTUVswing(PlayerID, Collection, PlayerID, Collection, GameData)}.
+   */
+  public double getTUVswingStandardDeviation(final PlayerID attacker, final PlayerID defender, final GameData data) {
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    double total = 0;
-    for (final BattleResults result : m_results) {
-      if (result.attackerWon()) {
-        count += result.getAttackingCombatUnitsLeft();
-        total += 1;
-      }
+    final IntegerMap<UnitType> attackerCostsForTuv = TuvUtils.getCostsForTuv(attacker, data);
+    final IntegerMap<UnitType> defenderCostsForTuv = TuvUtils.getCostsForTuv(defender, data);
+    // the swing of a battle is its TUV left difference plus a constant, so both have the same deviation
+    double sum = 0;
+    double sumOfSquares = 0;
+    for (final Map.Entry<Tuple<IntegerMap<UnitType>, IntegerMap<UnitType>>, Outcome> entry : m_outcomes.entrySet()) {
+      final int count = entry.getValue().count;
+      final double difference = getTuv(entry.getKey().getFirst(), attackerCostsForTuv)
+          - getTuv(entry.getKey().getSecond(), defenderCostsForTuv);
+      sum += count * difference;
+      sumOfSquares += count * difference * difference;
     }
-    if (total <= 0) {
-      return 0;
+    final double mean = sum / m_rollCount;
+    return Math.sqrt(Math.max(0.0, sumOfSquares / m_rollCount - mean * mean));
+  }
+
+  /**
+   * Returns the 95% confidence interval of the TUV swing, first is the lower bound, second the upper bound.
+   */
+  public Tuple<Double, Double> getAverageTUVswingConfidenceInterval(final PlayerID attacker,
+      final Collection<Unit> attackers, final PlayerID defender, final Collection<Unit> defenders,
+      final GameData data) {
+    final double average = getAverageTUVswing(attacker, attackers, defender, defenders, data);
+    if (m_rollCount == 0) { // can be empty!
+      return Tuple.of(average, average);
     }
-    return count / total;
+    final double halfWidth =
+        CONFIDENCE_Z * getTUVswingStandardDeviation(attacker, defender, data) / Math.sqrt(m_rollCount);
+    return Tuple.of(average - halfWidth, average + halfWidth);
   }
 
-  double getAverageDefendingUnitsLeft() {
-    if (m_results.isEmpty()) { // can be empty!
+  double getAverageAttackingUnitsLeftWhenAttackerWon() {
+    if (m_attackerWins == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      count += result.getDefendingCombatUnitsLeft();
+    return (double) m_attackingUnitsLeftWhenAttackerWon / m_attackerWins;
+  }
+
+  double getAverageDefendingUnitsLeft() {
+    if (m_rollCount == 0) { // can be empty!
+      return 0.0;
     }
-    return count / m_results.size();
+    return (double) m_defendingUnitsLeft / m_rollCount;
   }
 
   double getAverageDefendingUnitsLeftWhenDefenderWon() {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_defenderWins == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    double total = 0;
-    for (final BattleResults result : m_results) {
-      if (result.defenderWon()) {
-        count += result.getDefendingCombatUnitsLeft();
-        total += 1;
-      }
-    }
-    if (total <= 0) {
-      return 0;
-    }
-    return count / total;
+    return (double) m_defendingUnitsLeftWhenDefenderWon / m_defenderWins;
   }
 
   public double getAttackerWinPercent() {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      if (result.attackerWon()) {
-        count++;
-      }
+    return (double) m_attackerWins / m_rollCount;
+  }
+
+  /**
+   * Returns the 95% confidence interval (Wilson score interval) of the attacker win percent, first is the lower bound,
+   * second the upper bound.
+   */
+  public Tuple<Double, Double> getAttackerWinPercentConfidenceInterval() {
+    if (m_rollCount == 0) { // can be empty!
+      return Tuple.of(0.0, 1.0);
+    }
+    final double center = getWilsonCenter();
+    final double halfWidth = getAttackerWinPercentPrecision();
+    return Tuple.of(Math.max(0.0, center - halfWidth), Math.min(1.0, center + halfWidth));
+  }
+
+  /**
+   * Returns the half width of the confidence interval of the attacker win percent, see
+   * {@link #getAttackerWinPercentConfidenceInterval()}.
+   */
+  public double getAttackerWinPercentPrecision() {
+    if (m_rollCount == 0) { // can be empty!
+      return 0.5;
     }
-    return count / m_results.size();
+    final double n = m_rollCount;
+    final double p = getAttackerWinPercent();
+    final double z2 = CONFIDENCE_Z * CONFIDENCE_Z;
+    return CONFIDENCE_Z * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / (1 + z2 / n);
+  }
+
+  private double getWilsonCenter() {
+    final double n = m_rollCount;
+    final double z2 = CONFIDENCE_Z * CONFIDENCE_Z;
+    return (getAttackerWinPercent() + z2 / (2 * n)) / (1 + z2 / n);
   }
 
   double getDefenderWinPercent() {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      if (result.defenderWon()) {
-        count++;
-      }
-    }
-    return count / m_results.size();
+    return (double) m_defenderWins / m_rollCount;
   }
 
   public double getAverageBattleRoundsFought() {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      count += result.getBattleRoundsFought();
-    }
-    if (count == 0) {
+    if (m_battleRoundsFought == 0) {
       // If this is a 'fake' aggregate result, return 1.0
       return 1.0;
     }
-    return count / m_results.size();
+    return (double) m_battleRoundsFought / m_rollCount;
   }
 
   double getDrawPercent() {
-    if (m_results.isEmpty()) { // can be empty!
+    if (m_rollCount == 0) { // can be empty!
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      if (result.draw()) {
-        count++;
-      }
-    }
-    return count / m_results.size();
+    return (double) m_draws / m_rollCount;
   }
 
   public int getRollCount() {
-    return m_results.size();
+    return m_rollCount;
+  }
+
+  @VisibleForTesting
+  int getOutcomeCount() {
+    return m_outcomes.size();
   }
 
   public long getTime() {
@@ -221,4 +333,15 @@ public class AggregateResults implements Serializable {
   public void setTime(final long time) {
     m_time = time;
   }
+
+  private static final class Outcome implements Serializable {
+    private static final long serialVersionUID = 4707454547196390744L;
+    // the first result with this outcome
+    private final BattleResults result;
+    private int count = 0;
+
+    private Outcome(final BattleResults result) {
+      this.result = result;
+    }
+  }
 }
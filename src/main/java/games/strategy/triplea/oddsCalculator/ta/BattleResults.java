@@ -47,6 +47,18 @@ public class BattleResults extends GameDataComponent {
     m_whoWon = scriptedWhoWon;
   }
 
+  /**
+   * For a battle that was simulated without an IBattle, like by the BattleSimulationKernel.
+   */
+  BattleResults(final int battleRoundsFought, final List<Unit> remainingAttackingUnits,
+      final List<Unit> remainingDefendingUnits, final WhoWon whoWon, final GameData data) {
+    super(data);
+    m_battleRoundsFought = battleRoundsFought;
+    m_remainingAttackingUnits = remainingAttackingUnits;
+    m_remainingDefendingUnits = remainingDefendingUnits;
+    m_whoWon = whoWon;
+  }
+
   public void setWhoWon(final WhoWon whoWon) {
     m_whoWon = whoWon;
   }
@@ -0,0 +1,254 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.Properties;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.attachments.UnitSupportAttachment;
+import games.strategy.triplea.delegate.BattleCalculator;
+import games.strategy.triplea.delegate.DiceRoll;
+import games.strategy.triplea.delegate.IBattle.WhoWon;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.util.Tuple;
+
+/**
+ * Simulates plain battles for the odds calculator without going through MustFightBattle and the delegate machinery.
+ *
+ * <p>
+ * A plain battle is one where every unit rolls a single die each round with a strength that does not change during the
+ * battle, both sides fire at the same time, and casualties are taken in a fixed order (the order of loss if one was
+ * given, otherwise the default casualty order). Units with more than one hit point take damage before anyone dies,
+ * as they do with the default casualty selection. Anything else, like support, first strike, AA, suicide units,
+ * infrastructure, low luck, amphibious assaults or retreats, is not supported and must be calculated with
+ * MustFightBattle.
+ * </p>
+ *
+ * <p>
+ * All per battle state is kept in arrays that are reused between battles. Since casualties are always taken from the
+ * front of the casualty order, the surviving units of a side are always a suffix of that order, so the remaining unit
+ * lists can be shared between results too.
+ * </p>
+ */
+final class BattleSimulationKernel {
+  private final GameData data;
+  private final int diceSides;
+  private final int maxRounds;
+  private final Side attackers;
+  private final Side defenders;
+
+  private BattleSimulationKernel(final GameData data, final int maxRounds, final Side attackers,
+      final Side defenders) {
+    this.data = data;
+    diceSides = data.getDiceSides();
+    this.maxRounds = maxRounds;
+    this.attackers = attackers;
+    this.defenders = defenders;
+  }
+
+  /**
+   * Creates a kernel for the given battle, or returns null if the battle is not a plain battle (see class comment).
+   * The order of loss lists may be null.
+   */
+  static BattleSimulationKernel newInstanceIfSupported(final GameData data, final PlayerID attacker,
+      final PlayerID defender, final Territory location, final List<Unit> attackingUnits,
+      final List<Unit> defendingUnits, final Collection<TerritoryEffect> territoryEffects,
+      final List<Unit> attackerOrderOfLosses, final List<Unit> defenderOrderOfLosses) {
+    if (Properties.getLow_Luck(data) || Properties.getTransportCasualtiesRestricted(data)) {
+      return null;
+    }
+    if (!isSupported(attackingUnits, true, location) || !isSupported(defendingUnits, false, location)) {
+      return null;
+    }
+    final Side attackers = Side.newInstanceIfSupported(attackingUnits, defendingUnits, false, attacker, location,
+        territoryEffects, attackerOrderOfLosses, data);
+    if (attackers == null) {
+      return null;
+    }
+    final Side defenders = Side.newInstanceIfSupported(defendingUnits, attackingUnits, true, defender, location,
+        territoryEffects, defenderOrderOfLosses, data);
+    if (defenders == null) {
+      return null;
+    }
+    final int maxRounds =
+        location.isWater() ? Properties.getSeaBattleRounds(data) : Properties.getLandBattleRounds(data);
+    return new BattleSimulationKernel(data, maxRounds, attackers, defenders);
+  }
+
+  private static boolean isSupported(final List<Unit> units, final boolean attacking, final Territory location) {
+    for (final Unit unit : units) {
+      final UnitAttachment ua = UnitAttachment.get(unit.getType());
+      if (ua.getIsInfrastructure() || ua.getIsSub() || ua.getIsSuicide() || ua.getIsKamikaze()
+          || ua.getHitPoints() < 1 || !ua.getWhenCombatDamaged().isEmpty()
+          || !UnitSupportAttachment.get(unit.getType()).isEmpty()
+          || Matches.unitIsAaForAnything().match(unit)
+          || Matches.unitIsDisabled().match(unit)
+          || Matches.unitIsBeingTransported().match(unit)) {
+        return false;
+      }
+      if (attacking ? !Matches.unitHasAttackValueOfAtLeast(1).match(unit)
+          : !Matches.unitHasDefendValueOfAtLeast(1).match(unit)) {
+        return false;
+      }
+      if (location.isWater()) {
+        // land units do not fight at sea, and planes may not be able to land after the battle
+        if (ua.getIsAir() || !ua.getIsSea()) {
+          return false;
+        }
+      } else if (ua.getIsSea()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Fights one battle and resets the kernel for the next one.
+   */
+  BattleResults fight() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    attackers.reset();
+    defenders.reset();
+    int round = 1;
+    WhoWon whoWon = attackers.isDead() ? WhoWon.DEFENDER : (defenders.isDead() ? WhoWon.ATTACKER : null);
+    while (whoWon == null) {
+      // both sides fire before any casualties are removed
+      final int attackerHits = attackers.rollHits(random, diceSides);
+      final int defenderHits = defenders.rollHits(random, diceSides);
+      defenders.takeHits(attackerHits);
+      attackers.takeHits(defenderHits);
+      if (attackers.isDead()) {
+        whoWon = WhoWon.DEFENDER;
+      } else if (defenders.isDead()) {
+        whoWon = WhoWon.ATTACKER;
+      } else if (maxRounds > 0 && maxRounds <= round) {
+        whoWon = WhoWon.DRAW;
+      } else {
+        round++;
+      }
+    }
+    return new BattleResults(round, attackers.getRemainingUnits(), defenders.getRemainingUnits(), whoWon, data);
+  }
+
+  /**
+   * The units of one side of the battle, in casualty order.
+   */
+  private static final class Side {
+    private final Unit[] units;
+    private final int[] strength;
+    private final int[] hitPoints;
+    private final int[] hitPointsLeft;
+    private final int startingHitPoints;
+    private final List<List<Unit>> remainingUnitsByFirstAlive;
+    private int firstAlive;
+    private int hitPointsLeftTotal;
+    private int extraHitPointsLeft;
+
+    private Side(final List<Unit> casualtyOrder, final Map<Unit, Tuple<Integer, Integer>> powerAndRolls) {
+      units = casualtyOrder.toArray(new Unit[casualtyOrder.size()]);
+      strength = new int[units.length];
+      hitPoints = new int[units.length];
+      hitPointsLeft = new int[units.length];
+      int total = 0;
+      for (int i = 0; i < units.length; i++) {
+        strength[i] = powerAndRolls.get(units[i]).getFirst();
+        hitPoints[i] = UnitAttachment.get(units[i].getType()).getHitPoints() - units[i].getHits();
+        total += hitPoints[i];
+      }
+      startingHitPoints = total;
+      remainingUnitsByFirstAlive = new ArrayList<>(Collections.nCopies(units.length + 1, null));
+    }
+
+    static Side newInstanceIfSupported(final List<Unit> units, final List<Unit> enemyUnits, final boolean defending,
+        final PlayerID player, final Territory location, final Collection<TerritoryEffect> territoryEffects,
+        final List<Unit> orderOfLosses, final GameData data) {
+      final Map<Unit, Tuple<Integer, Integer>> powerAndRolls = DiceRoll.getUnitPowerAndRollsForNormalBattles(units,
+          enemyUnits, defending, false, data, location, territoryEffects, false, Collections.emptyList());
+      boolean hasExtraHitPoints = false;
+      for (final Unit unit : units) {
+        final Tuple<Integer, Integer> unitPowerAndRolls = powerAndRolls.get(unit);
+        if (unitPowerAndRolls == null || unitPowerAndRolls.getFirst() <= 0 || unitPowerAndRolls.getSecond() != 1) {
+          return null;
+        }
+        hasExtraHitPoints |= UnitAttachment.get(unit.getType()).getHitPoints() - unit.getHits() > 1;
+      }
+      final boolean hasOrderOfLosses = orderOfLosses != null && !orderOfLosses.isEmpty();
+      if (hasOrderOfLosses && hasExtraHitPoints) {
+        // the order of loss only replaces the killed units of the default casualties, not the damaged ones
+        return null;
+      }
+      final Set<Unit> casualtyOrder = new LinkedHashSet<>();
+      if (hasOrderOfLosses) {
+        for (final Unit unit : orderOfLosses) {
+          if (units.contains(unit)) {
+            casualtyOrder.add(unit);
+          }
+        }
+      }
+      casualtyOrder.addAll(
+          BattleCalculator.sortUnitsForCasualties(units, defending, player, enemyUnits, location, territoryEffects,
+              data));
+      return new Side(new ArrayList<>(casualtyOrder), powerAndRolls);
+    }
+
+    void reset() {
+      firstAlive = 0;
+      System.arraycopy(hitPoints, 0, hitPointsLeft, 0, hitPoints.length);
+      hitPointsLeftTotal = startingHitPoints;
+      extraHitPointsLeft = startingHitPoints - units.length;
+    }
+
+    boolean isDead() {
+      return firstAlive >= units.length;
+    }
+
+    int rollHits(final ThreadLocalRandom random, final int diceSides) {
+      int hits = 0;
+      for (int i = firstAlive; i < units.length; i++) {
+        if (strength[i] > random.nextInt(diceSides)) {
+          hits++;
+        }
+      }
+      return hits;
+    }
+
+    void takeHits(int hits) {
+      if (hits >= hitPointsLeftTotal) {
+        firstAlive = units.length;
+        hitPointsLeftTotal = 0;
+        return;
+      }
+      hitPointsLeftTotal -= hits;
+      // units with more than one hit point left are damaged first
+      for (int i = firstAlive; i < units.length && hits > 0 && extraHitPointsLeft > 0; i++) {
+        final int damage = Math.min(hits, hitPointsLeft[i] - 1);
+        hitPointsLeft[i] -= damage;
+        extraHitPointsLeft -= damage;
+        hits -= damage;
+      }
+      firstAlive += hits;
+    }
+
+    List<Unit> getRemainingUnits() {
+      List<Unit> remaining = remainingUnitsByFirstAlive.get(firstAlive);
+      if (remaining == null) {
+        remaining = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(units).subList(firstAlive,
+            units.length)));
+        remainingUnitsByFirstAlive.set(firstAlive, remaining);
+      }
+      return remaining;
+    }
+  }
+}
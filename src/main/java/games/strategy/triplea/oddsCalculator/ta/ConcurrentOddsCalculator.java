@@ -1,5 +1,6 @@
 package games.strategy.triplea.oddsCalculator.ta;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -8,7 +9,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -21,7 +21,9 @@ import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
-import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.engine.framework.GameDataCopier;
+import games.strategy.performance.Metrics;
+import games.strategy.performance.Timer;
 import games.strategy.util.CountUpAndDownLatch;
 
 /**
@@ -31,6 +33,10 @@ import games.strategy.util.CountUpAndDownLatch;
 public class ConcurrentOddsCalculator implements IOddsCalculator {
   private static final Logger logger = Logger.getLogger(ConcurrentOddsCalculator.class.getName());
   private static final int MAX_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+  private static final Timer calculateTimer = Metrics.timer("odds.calculate");
+  // the fewest runs each worker does between checks of the early stopping criteria, so that with many workers the
+  // batches are not so small that the workers mostly wait on each other
+  private static final int MIN_WORKER_BATCH_SIZE = 8;
 
   private int currentThreads = MAX_THREADS;
   private final ExecutorService executor;
@@ -41,6 +47,10 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   private volatile boolean isCalcSet = false;
   // shortcut everything if we are shutting down
   private volatile boolean isShutDown = false;
+  // stop calculating any more batches of the current calculation
+  private volatile boolean isCalcCancelled = false;
+  private volatile double winPercentPrecision = 0;
+  private volatile long timeLimitMillis = 0;
   // shortcut setting of previous game data if we are trying to set it to a new one, or shutdown
   private volatile int cancelCurrentOperation = 0;
   // do not let calcing happen while we are setting game data
@@ -99,82 +109,32 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
     return currentThreads;
   }
 
-  // use both time and memory left to determine how many copies to make
-  private static int getThreadsToUse(final long timeToCopyInMillis, final long memoryUsedBeforeCopy) {
-    if (timeToCopyInMillis > 20000 || MAX_THREADS == 1) {
-      // just use 1 thread if we took more than 20 seconds to copy
-      return 1;
-    }
-    final Runtime runtime = Runtime.getRuntime();
-    final long usedMemoryAfterCopy = runtime.totalMemory() - runtime.freeMemory();
-    // we cannot predict how the gc works
-    final long memoryLeftBeforeMax = runtime.maxMemory() - (Math.max(usedMemoryAfterCopy, memoryUsedBeforeCopy));
-    // make sure it is a decent size
-    final long memoryUsedByCopy = Math.max(100000, (usedMemoryAfterCopy - memoryUsedBeforeCopy));
-    // regardless of how stupid the gc is
-    // we leave some memory left over just in case
-    final int numberOfTimesWeCanCopyMax =
-        Math.max(1, (int) (Math.min(Integer.MAX_VALUE, (memoryLeftBeforeMax / memoryUsedByCopy))));
-
-    if (timeToCopyInMillis > 3000) {
-      // use half the number of threads available if we took
-      // more than 3 seconds to copy
-      return Math.min(numberOfTimesWeCanCopyMax, Math.max(1, (MAX_THREADS / 2)));
-    }
-    // use all threads
-    return Math.min(numberOfTimesWeCanCopyMax, MAX_THREADS);
-  }
-
   private void createWorkers(final GameData data) {
     workers.clear();
     if (data != null && cancelCurrentOperation >= 0) {
-      // see how long 1 copy takes (some games can get REALLY big)
-      final long startTime = System.currentTimeMillis();
-      final long startMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
-      final GameData newData;
-      try {
-        // make first copy, then release lock on it so game can continue (ie: we don't want to lock on it while we copy
-        // it 16 times, when once is enough) don't let the data change while we make the first copy
-        data.acquireReadLock();
-        newData = GameDataUtils.cloneGameData(data, false);
-      } finally {
-        data.releaseReadLock();
-      }
-      currentThreads = getThreadsToUse((System.currentTimeMillis() - startTime), startMemory);
+      final GameData sharedData;
       try {
-        // make sure all workers are using the same data
-        newData.acquireReadLock();
-        int i = 0;
-        // we are already in 1 executor thread, so we have MAX_THREADS-1 threads left to use
-        if (currentThreads <= 2 || MAX_THREADS <= 2) {
-          // if 2 or fewer threads, do not multi-thread the copying (we have already copied it once above, so at most
-          // only 1 more copy to
-          // make)
-          while (cancelCurrentOperation >= 0 && i < currentThreads) {
-            // the last one will use our already copied data from above, without copying it again
-            workers.add(new OddsCalculator(newData, (currentThreads == ++i)));
-          }
-        } else { // multi-thread our copying, cus why the heck not (it increases the speed of copying by about double)
-          final CountDownLatch workerLatch = new CountDownLatch(currentThreads - 1);
-          while (i < (currentThreads - 1)) {
-            ++i;
-            executor.submit(() -> {
-              if (cancelCurrentOperation >= 0) {
-                workers.add(new OddsCalculator(newData, false));
-              }
-              workerLatch.countDown();
-            });
-          }
-          // the last one will use our already copied data from above, without copying it again
-          workers.add(new OddsCalculator(newData, true));
-          try {
-            workerLatch.await();
-          } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-          }
+        final GameDataCopier copier;
+        try {
+          // capture the data once, then release lock on it so game can continue
+          // don't let the data change while we capture it
+          data.acquireReadLock();
+          copier = GameDataCopier.snapshotOf(data, false, false);
+        } finally {
+          data.releaseReadLock();
         }
-      } finally {
-        newData.releaseReadLock();
+        sharedData = copier.copy();
+      } catch (final IOException e) {
+        logger.log(Level.SEVERE, "Failed to copy game data for battle calculator workers", e);
+        abortCreateWorkers();
+        return;
+      }
+      // all workers share a single copy of the data, each one only keeps private copies of the units in its battle,
+      // which only it sees in the battle territory, so we no longer need to limit the number of threads by the time
+      // and memory it takes to copy the data
+      currentThreads = MAX_THREADS;
+      for (int i = 0; cancelCurrentOperation >= 0 && i < currentThreads; i++) {
+        workers.add(new OddsCalculator(sharedData, true, true));
       }
     }
     if (cancelCurrentOperation < 0 || data == null) {
@@ -193,6 +153,13 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
     logger.fine("Initialized worker thread pool with size: " + workers.size());
   }
 
+  private void abortCreateWorkers() {
+    workers.clear();
+    isDataSet = false;
+    latchWorkerThreadsCreation.countDown();
+    latchSetData.countDown();
+  }
+
   @Override
   public void shutdown() {
     isShutDown = true;
@@ -221,6 +188,7 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
     synchronized (mutexCalcIsRunning) {
       awaitLatch();
       isCalcSet = false;
+      isCalcCancelled = false;
       final int workerNum = workers.size();
       final int workerRunCount = Math.max(1, (runCount / Math.max(1, workerNum)));
       for (final OddsCalculator worker : workers) {
@@ -249,64 +217,107 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   public AggregateResults calculate() throws IllegalStateException {
     synchronized (mutexCalcIsRunning) {
       awaitLatch();
-      final long start = System.currentTimeMillis();
-      // Create worker thread pool and start all workers
-      int totalRunCount = 0;
-      final List<Future<AggregateResults>> list = new ArrayList<>();
-      for (final OddsCalculator worker : workers) {
-        if (!getIsReady()) {
-          // we could have attempted to set a new game data, while the old one was still being set, causing it to abort
-          // with null data
-          return new AggregateResults(0);
-        }
-        if (!worker.getIsReady()) {
-          throw new IllegalStateException("Called calculate before setting calculate data!");
-        }
-        if (worker.getRunCount() > 0) {
-          totalRunCount += worker.getRunCount();
-          final Future<AggregateResults> workerResult = executor.submit(worker);
-          list.add(workerResult);
-        }
+      final long start = calculateTimer.start();
+      try {
+        return calculateConcurrently();
+      } finally {
+        calculateTimer.stop(start);
       }
-      // Wait for all worker futures to complete and combine results
-      final AggregateResults results = new AggregateResults(totalRunCount);
-      final Set<InterruptedException> interruptExceptions = new HashSet<>();
-      final Map<String, Set<ExecutionException>> executionExceptions = new HashMap<>();
-      for (final Future<AggregateResults> future : list) {
-        try {
-          final AggregateResults result = future.get();
-          results.addResults(result.getResults());
-        } catch (final InterruptedException e) {
-          interruptExceptions.add(e);
-        } catch (final ExecutionException e) {
-          final String cause = e.getCause().getLocalizedMessage();
-          Set<ExecutionException> exceptions = executionExceptions.get(cause);
-          if (exceptions == null) {
-            exceptions = new HashSet<>();
-          }
-          exceptions.add(e);
-          executionExceptions.put(cause, exceptions);
-        }
+    }
+  }
+
+  private AggregateResults calculateConcurrently() {
+    final long start = System.currentTimeMillis();
+    final List<OddsCalculator> calculators = new ArrayList<>();
+    final List<Integer> runsLeft = new ArrayList<>();
+    int totalRunCount = 0;
+    for (final OddsCalculator worker : workers) {
+      if (!getIsReady()) {
+        // we could have attempted to set a new game data, while the old one was still being set, causing it to abort
+        // with null data
+        return new AggregateResults();
       }
-      // we don't want to scare the user with 8+ errors all for the same thing
-      if (!interruptExceptions.isEmpty()) {
-        logger.log(Level.SEVERE, interruptExceptions.size() + " Battle results workers interrupted",
-            interruptExceptions.iterator().next());
+      if (!worker.getIsReady()) {
+        throw new IllegalStateException("Called calculate before setting calculate data!");
       }
-      if (!executionExceptions.isEmpty()) {
-        Exception e = null;
-        for (final Set<ExecutionException> entry : executionExceptions.values()) {
-          if (!entry.isEmpty()) {
-            e = entry.iterator().next();
-            logger.log(Level.SEVERE, entry.size() + " Battle results workers aborted by exception", e.getCause());
+      if (worker.getRunCount() > 0) {
+        totalRunCount += worker.getRunCount();
+        calculators.add(worker);
+        runsLeft.add(worker.getRunCount());
+      }
+    }
+    final AggregateResults results = new AggregateResults();
+    final boolean isEarlyStopping = winPercentPrecision > 0 || timeLimitMillis > 0;
+    // without early stopping every worker does all its runs in one go, otherwise the workers run in batches and
+    // we check whether we are done in between
+    final int batchSize = isEarlyStopping
+        ? Math.max(MIN_WORKER_BATCH_SIZE,
+            OddsCalculator.EARLY_STOPPING_BATCH_SIZE / Math.max(1, calculators.size()))
+        : Integer.MAX_VALUE;
+    try {
+      while (totalRunCount > 0 && !isCalcCancelled) {
+        // Start all workers on their next batch
+        final List<Future<AggregateResults>> list = new ArrayList<>();
+        for (int i = 0; i < calculators.size(); i++) {
+          final int batch = Math.min(batchSize, runsLeft.get(i));
+          if (batch > 0) {
+            final OddsCalculator worker = calculators.get(i);
+            runsLeft.set(i, runsLeft.get(i) - batch);
+            totalRunCount -= batch;
+            list.add(executor.submit(() -> worker.calculate(batch)));
           }
         }
-        if (e != null) {
-          throw new IllegalStateException(e.getCause());
+        mergeWorkerResults(list, results);
+        if (isEarlyStopping
+            && OddsCalculator.isDoneEarly(results, start, winPercentPrecision, timeLimitMillis)) {
+          break;
         }
       }
-      results.setTime(System.currentTimeMillis() - start);
-      return results;
+    } finally {
+      isCalcCancelled = false;
+    }
+    results.setTime(System.currentTimeMillis() - start);
+    return results;
+  }
+
+  /**
+   * Waits for all the worker futures to complete and combines their results.
+   */
+  private static void mergeWorkerResults(final List<Future<AggregateResults>> list, final AggregateResults results) {
+    final Set<InterruptedException> interruptExceptions = new HashSet<>();
+    final Map<String, Set<ExecutionException>> executionExceptions = new HashMap<>();
+    for (final Future<AggregateResults> future : list) {
+      try {
+        final AggregateResults result = future.get();
+        results.merge(result);
+      } catch (final InterruptedException e) {
+        interruptExceptions.add(e);
+      } catch (final ExecutionException e) {
+        final String cause = e.getCause().getLocalizedMessage();
+        Set<ExecutionException> exceptions = executionExceptions.get(cause);
+        if (exceptions == null) {
+          exceptions = new HashSet<>();
+        }
+        exceptions.add(e);
+        executionExceptions.put(cause, exceptions);
+      }
+    }
+    // we don't want to scare the user with 8+ errors all for the same thing
+    if (!interruptExceptions.isEmpty()) {
+      logger.log(Level.SEVERE, interruptExceptions.size() + " Battle results workers interrupted",
+          interruptExceptions.iterator().next());
+    }
+    if (!executionExceptions.isEmpty()) {
+      Exception e = null;
+      for (final Set<ExecutionException> entry : executionExceptions.values()) {
+        if (!entry.isEmpty()) {
+          e = entry.iterator().next();
+          logger.log(Level.SEVERE, entry.size() + " Battle results workers aborted by exception", e.getCause());
+        }
+      }
+      if (e != null) {
+        throw new IllegalStateException(e.getCause());
+      }
     }
   }
 
@@ -385,6 +396,13 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   }
 
 
+  @Override
+  public void setEarlyStopping(final double winPercentPrecision, final long timeLimitMillis) {
+    // the workers always do the runs they are given, we check for early stopping between their batches
+    this.winPercentPrecision = winPercentPrecision;
+    this.timeLimitMillis = timeLimitMillis;
+  }
+
   @Override
   public void setAttackerOrderOfLosses(final String attackerOrderOfLosses) {
     synchronized (mutexCalcIsRunning) {
@@ -408,6 +426,7 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   // not on purpose, we need to be able to cancel at any time
   @Override
   public void cancel() {
+    isCalcCancelled = true;
     for (final OddsCalculator worker : workers) {
       worker.cancel();
     }
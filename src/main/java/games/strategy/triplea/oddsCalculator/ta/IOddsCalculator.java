@@ -38,6 +38,16 @@ public interface IOddsCalculator {
 
   void setRetreatWhenOnlyAirLeft(final boolean value);
 
+  /**
+   * Lets calculate() stop before all runs are done, once the attacker win percent is known precisely enough or the
+   * time limit has passed. The run count then is the most runs that will be done.
+   *
+   * @param winPercentPrecision The half width of the 95% confidence interval of the attacker win percent (0.01 being
+   *        plus or minus 1%) to stop at, 0 or less to not stop for precision.
+   * @param timeLimitMillis The time after which to stop, 0 or less for no time limit.
+   */
+  void setEarlyStopping(final double winPercentPrecision, final long timeLimitMillis);
+
   void setAttackerOrderOfLosses(final String attackerOrderOfLosses);
 
   void setDefenderOrderOfLosses(final String defenderOrderOfLosses);
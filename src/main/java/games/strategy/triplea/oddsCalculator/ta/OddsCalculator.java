@@ -10,6 +10,8 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
+import com.google.common.annotations.VisibleForTesting;
+
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
@@ -17,6 +19,7 @@ import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitCollection;
 import games.strategy.engine.data.UnitHitsChange;
 import games.strategy.engine.data.UnitType;
 import games.strategy.engine.data.UnitTypeList;
@@ -31,6 +34,8 @@ import games.strategy.engine.history.IDelegateHistoryWriter;
 import games.strategy.engine.random.IRandomStats.DiceType;
 import games.strategy.engine.random.PlainRandomSource;
 import games.strategy.net.GUID;
+import games.strategy.performance.Counter;
+import games.strategy.performance.Metrics;
 import games.strategy.sound.HeadlessSoundChannel;
 import games.strategy.sound.ISound;
 import games.strategy.triplea.ai.AIUtils;
@@ -58,6 +63,9 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
   public static final String OOL_SEPARATOR_REGEX = ";";
   public static final String OOL_AMOUNT_DESCRIPTOR = "^";
   public static final String OOL_AMOUNT_DESCRIPTOR_REGEX = "\\^";
+  // how many battles are run between checks of the early stopping criteria
+  static final int EARLY_STOPPING_BATCH_SIZE = 32;
+  private static final Counter battleCounter = Metrics.counter("odds.battles");
 
   private GameData gameData = null;
   private PlayerID attacker = null;
@@ -75,10 +83,22 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
   private String attackerOrderOfLosses = null;
   private String defenderOrderOfLosses = null;
   private int runCount = 0;
+  private boolean useSimulationKernel = true;
+  private double winPercentPrecision = 0;
+  private long timeLimitMillis = 0;
   private volatile boolean cancelled = false;
   private volatile boolean isDataSet = false;
   private volatile boolean isCalcSet = false;
   private volatile boolean isRunning = false;
+  private final boolean sharesGameData;
+  // when sharing the game data, the units this calculator keeps in the battle territory instead of its own
+  private UnitCollection battleSiteUnits = null;
+  // the orders of loss and the simulation kernel for the calculate data, set up by the first calculation and reused by
+  // the later ones (e.g. the batches of a concurrent calculation) until any of the calculate data changes
+  private boolean isBattleSetUp = false;
+  private List<Unit> attackerOrderOfLossUnits = null;
+  private List<Unit> defenderOrderOfLossUnits = null;
+  private BattleSimulationKernel kernel = null;
   private final List<OddsCalculatorListener> listeners = new ArrayList<>();
 
   public OddsCalculator(final GameData data) {
@@ -86,7 +106,19 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
   }
 
   OddsCalculator(final GameData data, final boolean dataHasAlreadyBeenCloned) {
-    gameData = data == null ? null : (dataHasAlreadyBeenCloned ? data : GameDataUtils.cloneGameData(data, false));
+    this(data, dataHasAlreadyBeenCloned, false);
+  }
+
+  /**
+   * @param sharesGameData True if the (already cloned) game data is shared with other calculators that may be
+   *        calculating at the same time. A sharing calculator never changes the game data, it fights with private
+   *        copies of the battle units, which only it sees in the battle territory, see
+   *        {@link GameData#setPrivateUnits(Territory, UnitCollection)}. Setting the calculate data must still not be
+   *        done while any of the sharing calculators are calculating.
+   */
+  OddsCalculator(final GameData data, final boolean dataHasAlreadyBeenCloned, final boolean sharesGameData) {
+    this.sharesGameData = sharesGameData;
+    gameData = data == null || dataHasAlreadyBeenCloned ? data : GameDataUtils.cloneGameData(data, false, false);
     if (data != null) {
       isDataSet = true;
       notifyListenersGameDataIsSet();
@@ -100,7 +132,7 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
     }
     isDataSet = false;
     isCalcSet = false;
-    gameData = (data == null ? null : GameDataUtils.cloneGameData(data, false));
+    gameData = (data == null ? null : GameDataUtils.cloneGameData(data, false, false));
     // reset old data
     attacker = null;
     defender = null;
@@ -109,6 +141,8 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
     defendingUnits = new ArrayList<>();
     bombardingUnits = new ArrayList<>();
     territoryEffects = new ArrayList<>();
+    battleSiteUnits = null;
+    resetBattleSetup();
     runCount = 0;
     if (data != null) {
       isDataSet = true;
@@ -135,17 +169,45 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
     this.defender =
         gameData.getPlayerList().getPlayerID(defender == null ? PlayerID.NULL_PLAYERID.getName() : defender.getName());
     this.location = gameData.getMap().getTerritory(location.getName());
-    attackingUnits = GameDataUtils.translateIntoOtherGameData(attacking, gameData);
-    defendingUnits = GameDataUtils.translateIntoOtherGameData(defending, gameData);
-    bombardingUnits = GameDataUtils.translateIntoOtherGameData(bombarding, gameData);
     this.territoryEffects = GameDataUtils.translateIntoOtherGameData(territoryEffects, gameData);
-    gameData.performChange(ChangeFactory.removeUnits(this.location, this.location.getUnits().getUnits()));
-    gameData.performChange(ChangeFactory.addUnits(this.location, attackingUnits));
-    gameData.performChange(ChangeFactory.addUnits(this.location, defendingUnits));
+    if (sharesGameData) {
+      setPrivateBattleUnits(attacking, defending, bombarding);
+    } else {
+      attackingUnits = GameDataUtils.translateIntoOtherGameData(attacking, gameData);
+      defendingUnits = GameDataUtils.translateIntoOtherGameData(defending, gameData);
+      bombardingUnits = GameDataUtils.translateIntoOtherGameData(bombarding, gameData);
+      gameData.performChange(ChangeFactory.removeUnits(this.location, this.location.getUnits().getUnits()));
+      gameData.performChange(ChangeFactory.addUnits(this.location, attackingUnits));
+      gameData.performChange(ChangeFactory.addUnits(this.location, defendingUnits));
+    }
     this.runCount = runCount;
+    resetBattleSetup();
     isCalcSet = true;
   }
 
+  /**
+   * Makes private copies of the battle units, and keeps the attacking and defending ones in the battle territory in
+   * place of its own units, for this calculator only. All units are copied together so references between them (e.g.
+   * transports) are kept.
+   */
+  private void setPrivateBattleUnits(final Collection<Unit> attacking, final Collection<Unit> defending,
+      final Collection<Unit> bombarding) {
+    final List<Unit> allUnits = new ArrayList<>(attacking);
+    allUnits.addAll(defending);
+    allUnits.addAll(bombarding);
+    final List<Unit> copies = GameDataUtils.copyUnitsDetachedFromGameData(allUnits, gameData);
+    attackingUnits = new ArrayList<>(copies.subList(0, attacking.size()));
+    defendingUnits = new ArrayList<>(copies.subList(attacking.size(), attacking.size() + defending.size()));
+    bombardingUnits = new ArrayList<>(copies.subList(attacking.size() + defending.size(), copies.size()));
+    if (battleSiteUnits != null) {
+      // take the units of the last calculation out of the unit index
+      battleSiteUnits.clear();
+    }
+    battleSiteUnits = gameData.newPrivateUnits(location);
+    battleSiteUnits.addAll(attackingUnits);
+    battleSiteUnits.addAll(defendingUnits);
+  }
+
   @Override
   public AggregateResults setCalculateDataAndCalculate(final PlayerID attacker, final PlayerID defender,
       final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
@@ -162,26 +224,51 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
     return calculate(runCount);
   }
 
-  private AggregateResults calculate(final int count) {
+  /**
+   * Calculates odds for the given number of runs, ignoring the run count that was set.
+   */
+  AggregateResults calculate(final int count) {
     isRunning = true;
+    if (sharesGameData) {
+      gameData.setPrivateUnits(location, battleSiteUnits);
+    }
+    try {
+      return calculateWithBattleUnits(count);
+    } finally {
+      if (sharesGameData) {
+        gameData.clearPrivateUnits();
+      }
+      isRunning = false;
+      cancelled = false;
+    }
+  }
+
+  private AggregateResults calculateWithBattleUnits(final int count) {
     final long start = System.currentTimeMillis();
-    final AggregateResults rVal = new AggregateResults(count);
+    final AggregateResults rVal = new AggregateResults();
     final BattleTracker battleTracker = new BattleTracker();
-    // CasualtySortingCaching can cause issues if there is more than 1 one battle being calced at the same time (like if
-    // the AI and a human
-    // are both using the calc)
-    // TODO: first, see how much it actually speeds stuff up by, and if it does make a difference then convert it to a
-    // per-thread, per-calc
-    // caching
-    final List<Unit> attackerOrderOfLosses =
-        OddsCalculator.getUnitListByOrderOfLoss(this.attackerOrderOfLosses, attackingUnits, gameData);
-    final List<Unit> defenderOrderOfLosses =
-        OddsCalculator.getUnitListByOrderOfLoss(this.defenderOrderOfLosses, defendingUnits, gameData);
-    for (int i = 0; i < count && !cancelled; i++) {
+    setUpBattle();
+    if (kernel != null) {
+      for (int i = 0; i < count && !cancelled && !isDoneEarly(rVal, i, start); i++) {
+        rVal.addResult(kernel.fight());
+      }
+      rVal.setTime(System.currentTimeMillis() - start);
+      battleCounter.add(rVal.getRollCount());
+      return rVal;
+    }
+    final List<Unit> battleUnits = new ArrayList<>(attackingUnits);
+    battleUnits.addAll(defendingUnits);
+    battleUnits.addAll(bombardingUnits);
+    final int[] originalHits = new int[battleUnits.size()];
+    for (int j = 0; j < originalHits.length; j++) {
+      originalHits[j] = battleUnits.get(j).getHits();
+    }
+    for (int i = 0; i < count && !cancelled && !isDoneEarly(rVal, i, start); i++) {
       final CompositeChange allChanges = new CompositeChange();
       final DummyDelegateBridge bridge1 =
-          new DummyDelegateBridge(attacker, gameData, allChanges, attackerOrderOfLosses, defenderOrderOfLosses,
-              keepOneAttackingLandUnit, retreatAfterRound, retreatAfterXUnitsLeft, retreatWhenOnlyAirLeft);
+          new DummyDelegateBridge(attacker, gameData, sharesGameData, allChanges, attackerOrderOfLossUnits,
+              defenderOrderOfLossUnits, keepOneAttackingLandUnit, retreatAfterRound, retreatAfterXUnitsLeft,
+              retreatWhenOnlyAirLeft);
       final GameDelegateBridge bridge = new GameDelegateBridge(bridge1);
       final MustFightBattle battle = new MustFightBattle(location, attacker, gameData, battleTracker);
       battle.setHeadless(true);
@@ -193,17 +280,81 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
       battle.fight(bridge);
       rVal.addResult(new BattleResults(battle, gameData));
       // restore the game to its original state
-      gameData.performChange(allChanges.invert());
+      if (sharesGameData) {
+        for (int j = 0; j < originalHits.length; j++) {
+          battleUnits.get(j).setHits(originalHits[j]);
+        }
+      } else {
+        gameData.performChange(allChanges.invert());
+      }
       battleTracker.clear();
       battleTracker.clearBattleRecords();
     }
-    // BattleCalculator.DisableCasualtySortingCaching();
     rVal.setTime(System.currentTimeMillis() - start);
-    isRunning = false;
-    cancelled = false;
+    battleCounter.add(rVal.getRollCount());
     return rVal;
   }
 
+  /**
+   * Works out the orders of loss and the simulation kernel, unless they are already set up for the calculate data. The
+   * kernel sorts the casualties of both sides once, each battle it fights only resets them.
+   */
+  private void setUpBattle() {
+    if (isBattleSetUp) {
+      return;
+    }
+    attackerOrderOfLossUnits = getUnitListByOrderOfLoss(attackerOrderOfLosses, attackingUnits, gameData);
+    defenderOrderOfLossUnits = getUnitListByOrderOfLoss(defenderOrderOfLosses, defendingUnits, gameData);
+    kernel = newSimulationKernelIfSupported(attackerOrderOfLossUnits, defenderOrderOfLossUnits);
+    isBattleSetUp = true;
+  }
+
+  private void resetBattleSetup() {
+    isBattleSetUp = false;
+    attackerOrderOfLossUnits = null;
+    defenderOrderOfLossUnits = null;
+    kernel = null;
+  }
+
+  private boolean isDoneEarly(final AggregateResults results, final int runsDone, final long startTime) {
+    return runsDone > 0 && runsDone % EARLY_STOPPING_BATCH_SIZE == 0
+        && isDoneEarly(results, startTime, winPercentPrecision, timeLimitMillis);
+  }
+
+  /**
+   * Returns true if the results are precise enough or the time limit has passed, see
+   * {@link IOddsCalculator#setEarlyStopping(double, long)}.
+   */
+  static boolean isDoneEarly(final AggregateResults results, final long startTime, final double winPercentPrecision,
+      final long timeLimitMillis) {
+    if (timeLimitMillis > 0 && System.currentTimeMillis() - startTime >= timeLimitMillis) {
+      return true;
+    }
+    return winPercentPrecision > 0 && results.getRollCount() >= EARLY_STOPPING_BATCH_SIZE
+        && results.getAttackerWinPercentPrecision() <= winPercentPrecision;
+  }
+
+  /**
+   * Returns a kernel that simulates this battle without the delegate machinery, or null if the battle uses any options
+   * or rules the kernel does not support and needs a full MustFightBattle.
+   */
+  private BattleSimulationKernel newSimulationKernelIfSupported(final List<Unit> attackerOrderOfLosses,
+      final List<Unit> defenderOrderOfLosses) {
+    if (!useSimulationKernel || amphibious || keepOneAttackingLandUnit || !bombardingUnits.isEmpty()
+        || retreatAfterRound > -1 || retreatAfterXUnitsLeft > -1 || retreatWhenOnlyAirLeft) {
+      return null;
+    }
+    return BattleSimulationKernel.newInstanceIfSupported(gameData, attacker, defender, location,
+        new ArrayList<>(attackingUnits), new ArrayList<>(defendingUnits), territoryEffects, attackerOrderOfLosses,
+        defenderOrderOfLosses);
+  }
+
+  @VisibleForTesting
+  void setUseSimulationKernel(final boolean useSimulationKernel) {
+    this.useSimulationKernel = useSimulationKernel;
+    resetBattleSetup();
+  }
+
   @Override
   public AggregateResults call() throws Exception {
     return calculate();
@@ -222,36 +373,49 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
   @Override
   public void setKeepOneAttackingLandUnit(final boolean bool) {
     keepOneAttackingLandUnit = bool;
+    resetBattleSetup();
   }
 
   @Override
   public void setAmphibious(final boolean bool) {
     amphibious = bool;
+    resetBattleSetup();
   }
 
   @Override
   public void setRetreatAfterRound(final int value) {
     retreatAfterRound = value;
+    resetBattleSetup();
   }
 
   @Override
   public void setRetreatAfterXUnitsLeft(final int value) {
     retreatAfterXUnitsLeft = value;
+    resetBattleSetup();
   }
 
   @Override
   public void setRetreatWhenOnlyAirLeft(final boolean value) {
     retreatWhenOnlyAirLeft = value;
+    resetBattleSetup();
+  }
+
+  @Override
+  public void setEarlyStopping(final double winPercentPrecision, final long timeLimitMillis) {
+    this.winPercentPrecision = winPercentPrecision;
+    this.timeLimitMillis = timeLimitMillis;
   }
 
   @Override
   public void setAttackerOrderOfLosses(final String attackerOrderOfLosses) {
     this.attackerOrderOfLosses = attackerOrderOfLosses;
+    resetBattleSetup();
   }
 
   @Override
   public void setDefenderOrderOfLosses(final String defenderOrderOfLosses) {
     this.defenderOrderOfLosses = defenderOrderOfLosses;
+    resetBattleSetup();
   }
 
   @Override
@@ -383,10 +547,12 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
     private final DelegateHistoryWriter writer = new DelegateHistoryWriter(new DummyGameModifiedChannel());
     private final CompositeChange allChanges;
     private final GameData gameData;
+    private final boolean sharesGameData;
     private MustFightBattle battle = null;
 
-    public DummyDelegateBridge(final PlayerID attacker, final GameData data, final CompositeChange allChanges,
-        final List<Unit> attackerOrderOfLosses, final List<Unit> defenderOrderOfLosses,
+    public DummyDelegateBridge(final PlayerID attacker, final GameData data, final boolean sharesGameData,
+        final CompositeChange allChanges, final List<Unit> attackerOrderOfLosses,
+        final List<Unit> defenderOrderOfLosses,
         final boolean attackerKeepOneLandUnit, final int retreatAfterRound, final int retreatAfterXUnitsLeft,
         final boolean retreatWhenOnlyAirLeft) {
       attackingPlayer = new DummyPlayer(this, true, "battle calc dummy", "None (AI)", attackerOrderOfLosses,
@@ -394,6 +560,7 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
       defendingPlayer = new DummyPlayer(this, false, "battle calc dummy", "None (AI)", defenderOrderOfLosses, false,
           retreatAfterRound, -1, false);
       gameData = data;
+      this.sharesGameData = sharesGameData;
       this.attacker = attacker;
       this.allChanges = allChanges;
     }
@@ -470,6 +637,14 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
       if (!(change instanceof UnitHitsChange)) {
         return;
       }
+      if (sharesGameData) {
+        // the battle units are private copies, so hits can be applied without locking the shared game data
+        final UnitHitsChange unitHitsChange = (UnitHitsChange) change;
+        for (final Unit unit : unitHitsChange.getUnits()) {
+          unit.setHits(unitHitsChange.getHits(unit));
+        }
+        return;
+      }
       allChanges.add(change);
       gameData.performChange(change);
     }
@@ -177,6 +177,8 @@ class OddsCalculatorPanel extends JPanel {
       System.gc();
     }
     calculator = new ConcurrentOddsCalculator("BtlCalc Panel");
+    // stop once the win percentage is known to within half a percent, which only lopsided battles reach
+    calculator.setEarlyStopping(0.005, 0);
 
     calculator.addOddsCalculatorListener(() -> {
       calculateButton.setText("Calculate Odds");
@@ -180,23 +180,29 @@ public class HistoryPanel extends JPanel {
     }
     final TreePath path = tree.getSelectionPath();
     final TreeNode selected = (TreeNode) path.getLastPathComponent();
-    @SuppressWarnings("unchecked")
-    final Enumeration<TreeNode> nodeEnum =
-        ((DefaultMutableTreeNode) tree.getModel().getRoot()).depthFirstEnumeration();
-    TreeNode previous = null;
-    while (nodeEnum.hasMoreElements()) {
-      final TreeNode current = nodeEnum.nextElement();
-      if (current == selected) {
-        break;
-      } else if (current.getParent() instanceof Step) {
-        previous = current;
-      }
+    // the last event before the selected node in a depth first (post order) traversal
+    TreeNode previous = getPreviousInDepthFirstOrder(selected);
+    while (previous != null && !(previous.getParent() instanceof Step)) {
+      previous = getPreviousInDepthFirstOrder(previous);
     }
     if (previous != null) {
       navigateTo(previous);
     }
   }
 
+  private static TreeNode getPreviousInDepthFirstOrder(final TreeNode node) {
+    if (node.getChildCount() > 0) {
+      return node.getChildAt(node.getChildCount() - 1);
+    }
+    for (TreeNode current = node; current != null; current = current.getParent()) {
+      final TreeNode sibling = ((DefaultMutableTreeNode) current).getPreviousSibling();
+      if (sibling != null) {
+        return sibling;
+      }
+    }
+    return null;
+  }
+
   private void navigateTo(final TreeNode target) {
     final TreeNode[] nodes = ((DefaultMutableTreeNode) target).getPath();
     final TreePath newPath = new TreePath(nodes);
@@ -222,21 +228,11 @@ public class HistoryPanel extends JPanel {
       return;
     }
     final TreePath path = tree.getSelectionPath();
-    final TreeNode selected = (TreeNode) path.getLastPathComponent();
-    @SuppressWarnings("unchecked")
-    final Enumeration<TreeNode> nodeEnum = ((DefaultMutableTreeNode) tree.getModel().getRoot()).preorderEnumeration();
-    TreeNode next = null;
-    boolean foundSelected = false;
-    while (nodeEnum.hasMoreElements()) {
-      final TreeNode current = nodeEnum.nextElement();
-      if (current == selected) {
-        foundSelected = true;
-      } else if (foundSelected) {
-        if (current.getParent() instanceof Step) {
-          next = current;
-          break;
-        }
-      }
+    final DefaultMutableTreeNode selected = (DefaultMutableTreeNode) path.getLastPathComponent();
+    // the first event after the selected node in a pre order traversal
+    DefaultMutableTreeNode next = selected.getNextNode();
+    while (next != null && !(next.getParent() instanceof Step)) {
+      next = next.getNextNode();
     }
     if (next != null) {
       navigateTo(next);
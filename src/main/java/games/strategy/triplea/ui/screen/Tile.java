@@ -21,6 +21,8 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import games.strategy.engine.data.GameData;
+import games.strategy.performance.Metrics;
+import games.strategy.performance.Timer;
 import games.strategy.thread.LockUtil;
 import games.strategy.triplea.ui.mapdata.MapData;
 import games.strategy.triplea.ui.screen.drawable.DrawableComparator;
@@ -32,6 +34,7 @@ public class Tile {
   public static final LockUtil LOCK_UTIL = LockUtil.INSTANCE;
   private static final boolean DRAW_DEBUG = false;
   private static final Logger logger = Logger.getLogger(Tile.class.getName());
+  private static final Timer drawTimer = Metrics.timer("tile.draw");
 
   // allow the gc to implement memory management
   private SoftReference<Image> imageRef;
@@ -85,7 +88,12 @@ public class Tile {
         g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         g.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
         g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-        draw(g, data, mapData);
+        final long start = drawTimer.start();
+        try {
+          draw(g, data, mapData);
+        } finally {
+          drawTimer.stop(start);
+        }
         g.dispose();
       }
       return image;
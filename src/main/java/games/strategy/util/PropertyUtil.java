@@ -4,16 +4,28 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility for getting/setting java bean style properties on an object.
  */
 public class PropertyUtil {
+  // looking a setter or field up copies all of the methods or throws exceptions, and property changes set the same few
+  // unit properties over and over, when they are made and again whenever the history is browsed
+  private static final ConcurrentMap<PropertyKey, Method> setters = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<PropertyKey, Field> fields = new ConcurrentHashMap<>();
 
   public static void set(final String propertyName, final Object value, final Object subject) {
-    final Method m = getSetter(propertyName, subject, value);
+    final Method m = setters.computeIfAbsent(
+        new PropertyKey(subject.getClass(), propertyName, value == null ? null : value.getClass()),
+        key -> {
+          final Method setter = getSetter(propertyName, subject, value);
+          setter.setAccessible(true);
+          return setter;
+        });
     try {
-      m.setAccessible(true);
       m.invoke(subject, value);
     } catch (final Exception e) {
       throw new IllegalStateException(
@@ -95,11 +107,13 @@ public class PropertyUtil {
     checkNotNull(propertyName);
     checkNotNull(type);
 
-    try {
-      return getFieldIncludingFromSuperClasses(type, "m_" + propertyName, false);
-    } catch (final IllegalStateException ignored) {
-      return getFieldIncludingFromSuperClasses(type, propertyName, false);
-    }
+    return fields.computeIfAbsent(new PropertyKey(type, propertyName, null), key -> {
+      try {
+        return getFieldIncludingFromSuperClasses(type, "m_" + propertyName, false);
+      } catch (final IllegalStateException ignored) {
+        return getFieldIncludingFromSuperClasses(type, propertyName, false);
+      }
+    });
   }
 
   private static String capitalizeFirstLetter(final String str) {
@@ -146,4 +160,30 @@ public class PropertyUtil {
     }
     throw new IllegalStateException("No method called:" + resetterName + " on:" + subject);
   }
+
+  private static final class PropertyKey {
+    private final Class<?> type;
+    private final String propertyName;
+    private final Class<?> valueType;
+
+    private PropertyKey(final Class<?> type, final String propertyName, final Class<?> valueType) {
+      this.type = type;
+      this.propertyName = propertyName;
+      this.valueType = valueType;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof PropertyKey)) {
+        return false;
+      }
+      final PropertyKey other = (PropertyKey) obj;
+      return type == other.type && valueType == other.valueType && propertyName.equals(other.propertyName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(type, propertyName, valueType);
+    }
+  }
 }
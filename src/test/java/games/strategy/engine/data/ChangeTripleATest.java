@@ -1,6 +1,7 @@
 package games.strategy.engine.data;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -78,4 +79,50 @@ public class ChangeTripleATest {
     gameData.performChange(change.invert());
     assertEquals(can.getUnits().getUnitCount(), 2);
   }
+
+  @Test
+  public void testChangeCountsOfChangedFacts() {
+    final long units = gameData.getChangeCount(GameFact.UNITS);
+    final long owners = gameData.getChangeCount(GameFact.TERRITORY_OWNERS);
+    final long resources = gameData.getChangeCount(GameFact.RESOURCES);
+    final PlayerID germans = gameData.getPlayerList().getPlayerID("Germans");
+    gameData.performChange(new CompositeChange(
+        ChangeFactory.addUnits(can, GameDataTestUtil.infantry(gameData).create(1, null)),
+        ChangeFactory.changeOwner(can, germans)));
+    assertTrue(gameData.getChangeCount(GameFact.UNITS) > units);
+    assertTrue(gameData.getChangeCount(GameFact.TERRITORY_OWNERS) > owners);
+    assertEquals(resources, gameData.getChangeCount(GameFact.RESOURCES));
+  }
+
+  @Test
+  public void testChangeCountsOfDirectlyChangedFacts() {
+    final long units = gameData.getChangeCount(GameFact.UNITS);
+    final long owners = gameData.getChangeCount(GameFact.TERRITORY_OWNERS);
+    can.getUnits().addAll(GameDataTestUtil.infantry(gameData).create(1, null));
+    assertTrue(gameData.getChangeCount(GameFact.UNITS) > units);
+    can.setOwner(gameData.getPlayerList().getPlayerID("Germans"));
+    assertTrue(gameData.getChangeCount(GameFact.TERRITORY_OWNERS) > owners);
+  }
+
+  @Test
+  public void testChangeCountsOfDirectlySetPropertiesAndRelationships() {
+    final long properties = gameData.getChangeCount(GameFact.PROPERTIES);
+    final long relationships = gameData.getChangeCount(GameFact.RELATIONSHIPS);
+    gameData.getProperties().set("some property", true);
+    assertTrue(gameData.getChangeCount(GameFact.PROPERTIES) > properties);
+    gameData.getRelationshipTracker().setRelationship(gameData.getPlayerList().getPlayerID("Germans"),
+        gameData.getPlayerList().getPlayerID("Americans"),
+        gameData.getRelationshipTypeList().getDefaultWarRelationship());
+    assertTrue(gameData.getChangeCount(GameFact.RELATIONSHIPS) > relationships);
+  }
+
+  @Test
+  public void testChangeCountOfUnitsInOneTerritory() {
+    final Territory other = gameData.getMap().getTerritory("Eastern Canada");
+    final long canUnits = can.getUnits().getChangeCount();
+    final long otherUnits = other.getUnits().getChangeCount();
+    can.getUnits().addAll(GameDataTestUtil.infantry(gameData).create(1, null));
+    assertTrue(can.getUnits().getChangeCount() > canUnits);
+    assertEquals(otherUnits, other.getUnits().getChangeCount());
+  }
 }
@@ -1,16 +1,21 @@
 package games.strategy.engine.data;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import games.strategy.triplea.delegate.Matches;
+import games.strategy.util.IntegerMap;
+import games.strategy.util.Match;
 
 public class MapTest {
   Territory aa;
@@ -240,4 +245,90 @@ public class MapTest {
     assertTrue(neighbors.contains(bb));
     assertTrue(neighbors.contains(ca));
   }
+
+  @Test
+  public void testDistanceChangesWhenConnectionIsAdded() {
+    assertEquals(6, map.getLandDistance(ad, da));
+    map.addConnection(ad, cd);
+    map.addConnection(cd, da);
+    assertEquals(2, map.getLandDistance(ad, da));
+    assertEquals(2, map.getLandRoute(ad, da).numberOfSteps());
+  }
+
+  @Test
+  public void testDistanceWithCondition() {
+    final Match<Territory> notBb = Match.of(t -> t != bb);
+    assertEquals(2, map.getDistance(ab, cb));
+    assertEquals(4, map.getDistance(ab, cb, notBb));
+    assertEquals(4, map.getRoute(ab, cb, notBb).numberOfSteps());
+    assertFalse(map.getRoute(ab, cb, notBb).getAllTerritories().contains(bb));
+    assertEquals(-1, map.getDistance(ab, bb, notBb));
+  }
+
+  @Test
+  public void testDistanceToSeveralTerritories() {
+    final IntegerMap<Territory> distances =
+        map.getDistance(aa, Arrays.asList(aa, ab, dd, cd, nowhere), Matches.territoryIsLand());
+    assertEquals(0, distances.getInt(aa));
+    assertEquals(1, distances.getInt(ab));
+    assertEquals(-1, distances.getInt(dd));
+    assertEquals(-1, distances.getInt(cd));
+    assertEquals(-1, distances.getInt(nowhere));
+  }
+
+  @Test
+  public void testRouteStartsAtStartAndIsValid() {
+    final Route route = map.getWaterRoute(bc, dd);
+    assertEquals(bc, route.getStart());
+    assertEquals(dd, route.getEnd());
+    assertEquals(3, route.numberOfSteps());
+    assertTrue(map.isValidRoute(route));
+  }
+
+  @Test
+  public void testCheapestRouteGoesAroundExpensiveTerritories() {
+    // going through bb costs 10, anything else 1
+    final MovementCost cost = new MovementCost() {
+      @Override
+      public double getCost(final Territory from, final Territory to) {
+        return to == bb ? 10 : 1;
+      }
+
+      @Override
+      public double getMinimumCost() {
+        return 1;
+      }
+    };
+    final Route route = map.getCheapestRoute(ab, cb, cost);
+    assertEquals(4, route.numberOfSteps());
+    assertFalse(route.getAllTerritories().contains(bb));
+    assertTrue(map.isValidRoute(route));
+    assertEquals(ab, route.getStart());
+    assertEquals(cb, route.getEnd());
+  }
+
+  @Test
+  public void testCheapestRouteWithoutMinimumCost() {
+    final MovementCost landIsExpensive = (from, to) -> to.isWater() ? 1 : 4;
+    final Route route = map.getCheapestRoute(ad, dd, landIsExpensive);
+    // straight down crosses the land of cd, which costs more than the two extra water moves around it
+    assertEquals(Arrays.asList(ad, bd, bc, cc, dc, dd), route.getAllTerritories());
+  }
+
+  @Test
+  public void testCheapestRouteRespectsForbiddenMoves() {
+    assertNull(map.getCheapestRoute(aa, cd, MovementCost.of(Matches.territoryIsLand())));
+    assertNull(map.getCheapestRoute(aa, nowhere, MovementCost.of(Matches.territoryIsLandOrWater())));
+    assertEquals(0, map.getCheapestRoute(aa, aa, MovementCost.of(Matches.territoryIsLand())).numberOfSteps());
+    assertEquals(6, map.getCheapestRoute(ad, da, MovementCost.of(Matches.territoryIsLand())).numberOfSteps());
+  }
+
+  @Test
+  public void testCompositeRoutePrefersCheaperTerritories() {
+    final HashMap<Match<Territory>, Integer> matches = new HashMap<>();
+    matches.put(Matches.territoryIsLand(), 4);
+    matches.put(Matches.territoryIsWater(), 1);
+    final Route route = map.getCompositeRoute(ad, dd, matches);
+    assertEquals(Arrays.asList(ad, bd, bc, cc, dc, dd), route.getAllTerritories());
+  }
 }
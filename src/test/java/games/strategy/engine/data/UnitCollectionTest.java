@@ -9,6 +9,7 @@ import static org.mockito.Mockito.verify;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -272,6 +273,28 @@ public class UnitCollectionTest {
     assertThat(allPlayersUnitCollection.getUnitCount(otherPlayerId), is(equalTo(unitCountOtherPlayer)));
   }
 
+  @Test
+  public void getUnitCountAfterRemovingAndChangingOwner() {
+    final GameData gameData = new GameData();
+    final PlayerID firstPlayerId = new PlayerID("First Player", gameData);
+    final PlayerID secondPlayerId = new PlayerID("Second Player", gameData);
+    final UnitCollection units = new UnitCollection(firstPlayerId, gameData);
+    final Unit unit = new Unit(unitTypeOne, firstPlayerId, gameData);
+    final Unit otherUnit = new Unit(unitTypeOne, firstPlayerId, gameData);
+    units.add(unit);
+    units.add(otherUnit);
+    assertThat(units.getUnitCount(unitTypeOne, firstPlayerId), is(equalTo(2)));
+
+    units.remove(otherUnit);
+    assertThat(units.getUnitCount(unitTypeOne, firstPlayerId), is(equalTo(1)));
+    assertThat(units.contains(otherUnit), is(equalTo(false)));
+
+    unit.setOwner(secondPlayerId);
+    assertThat(units.getUnitCount(unitTypeOne, firstPlayerId), is(equalTo(0)));
+    assertThat(units.getUnitCount(unitTypeOne, secondPlayerId), is(equalTo(1)));
+    assertThat(units.contains(unit), is(equalTo(true)));
+  }
+
   @Test
   public void containsAll() {
     final Collection<Unit> unitsOfDefaultPlayerOfUnitTypeOne = getDefaultPlayerUnitsOfUnitTypeOne();
@@ -280,6 +303,18 @@ public class UnitCollectionTest {
     assertThat(allDefaultPlayerUnitCollection.containsAll(unitsOfDefaultPlayerOfUnitTypeOne), is(equalTo(true)));
   }
 
+  @Test
+  public void containsAllOfManyUnits() {
+    final List<Unit> units = new ArrayList<>();
+    for (int i = 0; i < 600; i++) {
+      units.add(new Unit(unitTypeOne, defaultPlayerId, mockGameData));
+    }
+    unitCollection.addAll(units);
+    assertThat(unitCollection.containsAll(units), is(equalTo(true)));
+    units.add(unitDefaultPlayer1);
+    assertThat(unitCollection.containsAll(units), is(equalTo(false)));
+  }
+
   @Test
   public void getUnitsByUnitTypeAndMaxValue() {
     final UnitCollection allDefaultPlayerUnitCollection = addAllDefaultPlayerUnitsToUnitCollection(unitCollection);
@@ -0,0 +1,103 @@
+package games.strategy.engine.data;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static games.strategy.triplea.delegate.GameDataTestUtil.transport;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class UnitIndexTest {
+  private GameData gameData;
+  private Territory balticSeaZone;
+  private Territory eastEurope;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    balticSeaZone = territory("5 Sea Zone", gameData);
+    eastEurope = territory("Eastern Europe", gameData);
+  }
+
+  @Test
+  public void testIndexFollowsUnitsAndTransports() {
+    final TripleAUnit transport = (TripleAUnit) transport(gameData).create(germans(gameData));
+    final TripleAUnit infantry = (TripleAUnit) infantry(gameData).create(germans(gameData));
+    final UnitIndex index = gameData.getUnitIndex();
+    assertNull(index.getTerritory(transport));
+
+    gameData.performChange(ChangeFactory.addUnits(balticSeaZone, Collections.singleton(transport)));
+    gameData.performChange(ChangeFactory.addUnits(eastEurope, Collections.singleton(infantry)));
+    assertEquals(balticSeaZone, index.getTerritory(transport));
+    assertEquals(eastEurope, index.getTerritory(infantry));
+    assertTrue(transport.getTransporting().isEmpty());
+
+    gameData.performChange(ChangeFactory.moveUnits(eastEurope, balticSeaZone, Collections.singleton(infantry)));
+    gameData.performChange(ChangeFactory.unitPropertyChange(infantry, transport, TripleAUnit.TRANSPORTED_BY));
+    assertEquals(balticSeaZone, index.getTerritory(infantry));
+    assertEquals(Collections.singletonList(infantry), transport.getTransporting());
+
+    gameData.performChange(ChangeFactory.unitPropertyChange(infantry, null, TripleAUnit.TRANSPORTED_BY));
+    assertTrue(transport.getTransporting().isEmpty());
+
+    gameData.performChange(ChangeFactory.removeUnits(balticSeaZone, Collections.singleton(transport)));
+    assertNull(index.getTerritory(transport));
+  }
+
+  @Test
+  public void testIndexIsBuiltFromUnitsAlreadyOnTheMap() {
+    final List<Unit> transports = balticSeaZone.getUnits().getMatches(Matches.unitIsTransport());
+    final TripleAUnit transport = (TripleAUnit) transports.get(0);
+    final TripleAUnit infantry = (TripleAUnit) infantry(gameData).create(germans(gameData));
+    infantry.setTransportedBy(transport);
+    balticSeaZone.getUnits().add(infantry);
+
+    assertEquals(Collections.singletonList(infantry), transport.getTransporting());
+    assertEquals(balticSeaZone, gameData.getUnitIndex().getTerritory(infantry));
+  }
+
+  @Test
+  public void testPrivateUnitsAreOnlySeenByTheThreadThatSetsThem() throws Exception {
+    final TripleAUnit transport = (TripleAUnit) transport(gameData).create(germans(gameData));
+    final TripleAUnit infantry = (TripleAUnit) infantry(gameData).create(germans(gameData));
+    infantry.setTransportedBy(transport);
+    final List<Unit> copies = GameDataUtils.copyUnitsDetachedFromGameData(Arrays.asList(transport, infantry), gameData);
+    final UnitCollection ownUnits = balticSeaZone.getUnits();
+    final UnitCollection privateUnits = gameData.newPrivateUnits(balticSeaZone);
+    privateUnits.addAll(copies);
+
+    gameData.setPrivateUnits(balticSeaZone, privateUnits);
+    try {
+      assertSame(privateUnits, balticSeaZone.getUnits());
+      assertEquals(Collections.singletonList(copies.get(1)), ((TripleAUnit) copies.get(0)).getTransporting());
+      final UnitCollection[] seenByOtherThread = new UnitCollection[1];
+      final Thread thread = new Thread(() -> seenByOtherThread[0] = balticSeaZone.getUnits());
+      thread.start();
+      thread.join();
+      assertSame(ownUnits, seenByOtherThread[0]);
+    } finally {
+      gameData.clearPrivateUnits();
+    }
+    assertSame(ownUnits, balticSeaZone.getUnits());
+
+    privateUnits.clear();
+    assertNull(gameData.getUnitIndex().getTerritory(copies.get(0)));
+    assertFalse(gameData.getUnitIndex().isTransporting(copies.get(0)));
+  }
+}
@@ -0,0 +1,84 @@
+package games.strategy.engine.framework;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class GameDataCopierTest {
+  private GameData gameData;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+  }
+
+  @Test
+  public void copyShouldContainSameTerritoriesAndUnits() throws Exception {
+    final GameData copy = GameDataCopier.snapshotOf(gameData, false, true).copy();
+
+    assertEquals(gameData.getMap().getTerritories().size(), copy.getMap().getTerritories().size());
+    assertEquals(gameData.getUnits().getUnits().size(), copy.getUnits().getUnits().size());
+    final Territory germany = gameData.getMap().getTerritory("Germany");
+    final Territory copiedGermany = copy.getMap().getTerritory("Germany");
+    assertThat(copiedGermany, is(not(sameInstance(germany))));
+    assertEquals(germany.getOwner().getName(), copiedGermany.getOwner().getName());
+    assertEquals(germany.getUnits().size(), copiedGermany.getUnits().size());
+  }
+
+  @Test
+  public void copyShouldPreserveObjectIdentity() throws Exception {
+    final GameData copy = GameDataCopier.snapshotOf(gameData, false, true).copy();
+
+    final Territory germany = copy.getMap().getTerritory("Germany");
+    assertThat(germany.getOwner(), is(sameInstance(copy.getPlayerList().getPlayerID("Germans"))));
+    for (final Unit unit : germany.getUnits().getUnits()) {
+      assertThat(copy.getUnits().get(unit.getID()), is(sameInstance(unit)));
+      assertThat(unit.getData(), is(sameInstance(copy)));
+    }
+  }
+
+  @Test
+  public void copiesShouldBeIndependentOfEachOther() throws Exception {
+    final GameDataCopier copier = GameDataCopier.snapshotOf(gameData, false, true);
+
+    final GameData first = copier.copy();
+    final GameData second = copier.copy();
+
+    assertThat(first, is(not(sameInstance(second))));
+    assertThat(first.getMap().getTerritory("Germany"), is(not(sameInstance(second.getMap().getTerritory("Germany")))));
+  }
+
+  @Test
+  public void copyWithoutHistoryShouldHaveEmptyHistory() throws Exception {
+    final GameData copy = GameDataCopier.snapshotOf(gameData, false, false).copy();
+
+    assertEquals(0, copy.getHistory().getChildCount(copy.getHistory().getRoot()));
+  }
+
+  @Test
+  public void copyWithDelegatesShouldContainDelegates() throws Exception {
+    final GameData copy = GameDataCopier.snapshotOf(gameData, true, false).copy();
+
+    assertEquals(gameData.getDelegateList().size(), copy.getDelegateList().size());
+    assertTrue(copy.getDelegateList().size() > 0);
+  }
+
+  @Test
+  public void snapshotWithoutHistoryShouldNotBeLargerThanWithHistory() throws Exception {
+    final int withHistory = GameDataCopier.snapshotOf(gameData, false, true).getSnapshotSize();
+    final int withoutHistory = GameDataCopier.snapshotOf(gameData, false, false).getSnapshotSize();
+
+    assertTrue(withoutHistory <= withHistory);
+  }
+}
@@ -0,0 +1,146 @@
+package games.strategy.engine.framework;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.british;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class GameDataJournalTest {
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private GameData gameData;
+  private File file;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    file = temporaryFolder.newFile("autosave.tsvg");
+  }
+
+  private void takeTerritory(final String territoryName, final PlayerID player) {
+    final HistoryWriter historyWriter = gameData.getHistory().getHistoryWriter();
+    historyWriter.startNextStep("germanBattle", "battle", player, "Germans Battle");
+    historyWriter.startEvent(player.getName() + " take " + territoryName);
+    final Change change = ChangeFactory.changeOwner(territory(territoryName, gameData), player);
+    gameData.performChange(change);
+    historyWriter.addChange(change);
+  }
+
+  @Test
+  public void testRecordsAreAppendedAndReplayedOnLoad() throws IOException {
+    final GameDataJournal journal = new GameDataJournal(file);
+    journal.take(gameData).write();
+    final long checkpointLength = file.length();
+    takeTerritory("Anglo Egypt", germans(gameData));
+    final Change addUnits = ChangeFactory.addUnits(territory("Anglo Egypt", gameData),
+        infantry(gameData).create(3, germans(gameData)));
+    gameData.performChange(addUnits);
+    gameData.getHistory().getHistoryWriter().addChange(addUnits);
+    gameData.getSequence().next();
+    journal.take(gameData).write();
+    assertTrue(file.length() > checkpointLength);
+
+    final GameData loaded = GameDataManager.loadGame(file);
+    assertEquals(germans(loaded), territory("Anglo Egypt", loaded).getOwner());
+    assertEquals(territory("Anglo Egypt", gameData).getUnits().size(),
+        territory("Anglo Egypt", loaded).getUnits().size());
+    assertEquals(gameData.getSequence().getRound(), loaded.getSequence().getRound());
+    assertEquals(gameData.getSequence().getStepIndex(), loaded.getSequence().getStepIndex());
+    assertEquals("Germans take Anglo Egypt", loaded.getHistory().getLastNode().getTitle());
+  }
+
+  @Test
+  public void testRecordCutOffIsIgnored() throws IOException {
+    final GameDataJournal journal = new GameDataJournal(file);
+    journal.take(gameData).write();
+    takeTerritory("Anglo Egypt", germans(gameData));
+    journal.take(gameData).write();
+    final long lengthBefore = file.length();
+    takeTerritory("Southern Europe", british(gameData));
+    journal.take(gameData).write();
+    try (final RandomAccessFile cutOff = new RandomAccessFile(file, "rw")) {
+      cutOff.setLength((lengthBefore + file.length()) / 2);
+    }
+
+    final GameData loaded = GameDataManager.loadGame(file);
+    assertEquals(germans(loaded), territory("Anglo Egypt", loaded).getOwner());
+    assertEquals(germans(loaded), territory("Southern Europe", loaded).getOwner());
+  }
+
+  @Test
+  public void testCheckpointIsWrittenAfterRecordsPerCheckpoint() throws IOException {
+    final GameDataJournal journal = new GameDataJournal(file, 1);
+    journal.take(gameData).write();
+    final long firstCheckpointLength = file.length();
+    takeTerritory("Anglo Egypt", germans(gameData));
+    journal.take(gameData).write();
+    takeTerritory("Southern Europe", british(gameData));
+    journal.take(gameData).write();
+    assertTrue(file.length() < 2 * firstCheckpointLength);
+    takeTerritory("United Kingdom", germans(gameData));
+    journal.take(gameData).write();
+
+    final GameData loaded = GameDataManager.loadGame(file);
+    assertEquals(germans(loaded), territory("Anglo Egypt", loaded).getOwner());
+    assertEquals(british(loaded), territory("Southern Europe", loaded).getOwner());
+    assertEquals(germans(loaded), territory("United Kingdom", loaded).getOwner());
+  }
+
+  @Test
+  public void testRecordAfterMissedWriteIsSkippedUntilNextCheckpoint() throws IOException {
+    final GameDataJournal journal = new GameDataJournal(file);
+    journal.take(gameData).write();
+    takeTerritory("Anglo Egypt", germans(gameData));
+    // taken, but never written
+    journal.take(gameData);
+    takeTerritory("Southern Europe", british(gameData));
+    journal.take(gameData).write();
+    final GameData missingRecords = GameDataManager.loadGame(file);
+    assertEquals(british(missingRecords), territory("Anglo Egypt", missingRecords).getOwner());
+
+    journal.take(gameData).write();
+    final GameData loaded = GameDataManager.loadGame(file);
+    assertEquals(germans(loaded), territory("Anglo Egypt", loaded).getOwner());
+    assertEquals(british(loaded), territory("Southern Europe", loaded).getOwner());
+  }
+
+  @Test
+  public void testFileChangedByOthersIsReplacedByNextCheckpoint() throws IOException {
+    final GameDataJournal journal = new GameDataJournal(file);
+    journal.take(gameData).write();
+    try (final RandomAccessFile other = new RandomAccessFile(file, "rw")) {
+      other.setLength(other.length() + 1);
+    }
+    takeTerritory("Anglo Egypt", germans(gameData));
+    try {
+      journal.take(gameData).write();
+      fail("appended to a file changed by others");
+    } catch (final IOException expected) {
+      // expected
+    }
+
+    journal.take(gameData).write();
+    final GameData loaded = GameDataManager.loadGame(file);
+    assertEquals(germans(loaded), territory("Anglo Egypt", loaded).getOwner());
+  }
+}
@@ -2,8 +2,10 @@ package games.strategy.engine.framework;
 
 import static games.strategy.engine.data.Matchers.equalToGameData;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -11,17 +13,24 @@ import static org.mockito.Mockito.verify;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.Collections;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.TestGameDataFactory;
 
 public class GameDataManagerTest {
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   @Test
   public void testLoadStoreKeepsGameUuid() throws IOException {
     final GameData data = new GameData();
@@ -31,6 +40,45 @@ public class GameDataManagerTest {
     assertEquals(loaded.getProperties().get(GameData.GAME_UUID), data.getProperties().get(GameData.GAME_UUID));
   }
 
+  @Test
+  public void testSerializedGameIsWrittenLikeSavedGame() throws IOException {
+    final GameData data = new GameData();
+    final GameDataManager.SerializedGame serialized = GameDataManager.serializeGame(data);
+    final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    serialized.writeTo(written);
+    final ByteArrayOutputStream saved = new ByteArrayOutputStream();
+    GameDataManager.saveGame(saved, data);
+    assertArrayEquals(saved.toByteArray(), written.toByteArray());
+  }
+
+  @Test
+  public void testSerializedGameReplacesFile() throws IOException {
+    final File file = temporaryFolder.newFile("autosave.tsvg");
+    Files.write(file.toPath(), new byte[] {1, 2, 3});
+    final GameData data = new GameData();
+    GameDataManager.serializeGame(data).writeTo(file);
+    final GameData loaded = GameDataManager.loadGame(file);
+    assertEquals(data.getProperties().get(GameData.GAME_UUID), loaded.getProperties().get(GameData.GAME_UUID));
+    assertArrayEquals(new String[] {"autosave.tsvg"}, temporaryFolder.getRoot().list());
+  }
+
+  @Test
+  public void testFailedReplaceKeepsFileAndLeavesNoTempFile() throws IOException {
+    final File file = temporaryFolder.newFile("autosave.tsvg");
+    Files.write(file.toPath(), new byte[] {1, 2, 3});
+    try {
+      GameDataManager.replaceFile(file, os -> {
+        os.write(4);
+        throw new IOException("disk full");
+      });
+      fail("replaced the file");
+    } catch (final IOException e) {
+      assertEquals("disk full", e.getMessage());
+    }
+    assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(file.toPath()));
+    assertArrayEquals(new String[] {"autosave.tsvg"}, temporaryFolder.getRoot().list());
+  }
+
   @Test
   public void shouldBeAbleToRoundTripGameDataInProxySerializationFormat() throws Exception {
     final GameData expected = TestGameDataFactory.newValidGameData();
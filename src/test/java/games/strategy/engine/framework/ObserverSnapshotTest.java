@@ -0,0 +1,55 @@
+package games.strategy.engine.framework;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.british;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ObserverSnapshotTest {
+  private GameData gameData;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+  }
+
+  private static GameData load(final byte[] bytes) throws IOException {
+    return GameDataManager.loadGame(new ByteArrayInputStream(bytes), null);
+  }
+
+  @Test
+  public void testObserversShareCheckpointAndGetChangesSinceIt() throws IOException {
+    final ObserverSnapshot snapshot = new ObserverSnapshot();
+    final byte[] first = snapshot.take(gameData);
+    assertEquals(british(load(first)), territory("Anglo Egypt", load(first)).getOwner());
+
+    final HistoryWriter historyWriter = gameData.getHistory().getHistoryWriter();
+    historyWriter.startNextStep("germanBattle", "battle", germans(gameData), "Germans Battle");
+    historyWriter.startEvent("Germans take Anglo Egypt");
+    final Change change = ChangeFactory.changeOwner(territory("Anglo Egypt", gameData), germans(gameData));
+    gameData.performChange(change);
+    historyWriter.addChange(change);
+    final byte[] second = snapshot.take(gameData);
+
+    assertTrue(second.length > first.length);
+    assertArrayEquals(first, Arrays.copyOf(second, first.length));
+    final GameData loaded = load(second);
+    assertEquals(germans(loaded), territory("Anglo Egypt", loaded).getOwner());
+    assertEquals("Germans take Anglo Egypt", loaded.getHistory().getLastNode().getTitle());
+  }
+}
@@ -0,0 +1,71 @@
+package games.strategy.engine.framework.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GameCatalogTest {
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+  private File catalogFile;
+  private File mapFile;
+  private final List<GameCatalog.Game> games = Collections.singletonList(
+      new GameCatalog.Game("file:/maps/test.xml", "Test Game", "test_map", 3, "1.0", "Some notes"));
+
+  @Before
+  public void setUp() throws IOException {
+    catalogFile = new File(temporaryFolder.getRoot(), "gameCatalog.cache");
+    mapFile = temporaryFolder.newFile("test.zip");
+    Files.write(mapFile.toPath(), new byte[] {1, 2, 3});
+  }
+
+  private void catalogGames() {
+    final GameCatalog catalog = GameCatalog.load(catalogFile, "1.9");
+    assertFalse(catalog.getGames(mapFile).isPresent());
+    catalog.putGames(mapFile, games);
+    catalog.save();
+  }
+
+  @Test
+  public void testUnchangedMapFileIsCataloged() {
+    catalogGames();
+
+    final List<GameCatalog.Game> cataloged = GameCatalog.load(catalogFile, "1.9").getGames(mapFile).get();
+    assertEquals(games, cataloged);
+    assertEquals("Test Game", cataloged.get(0).getGameName());
+    assertEquals(3, cataloged.get(0).getPlayerCount());
+  }
+
+  @Test
+  public void testChangedMapFileIsNotCataloged() throws IOException {
+    catalogGames();
+    Files.write(mapFile.toPath(), new byte[] {1, 2, 3, 4});
+
+    assertFalse(GameCatalog.load(catalogFile, "1.9").getGames(mapFile).isPresent());
+  }
+
+  @Test
+  public void testCatalogOfOtherEngineVersionIsDropped() {
+    catalogGames();
+
+    assertFalse(GameCatalog.load(catalogFile, "2.0").getGames(mapFile).isPresent());
+  }
+
+  @Test
+  public void testMapFilesNotScannedAreDropped() {
+    catalogGames();
+    GameCatalog.load(catalogFile, "1.9").save();
+
+    assertFalse(GameCatalog.load(catalogFile, "1.9").getGames(mapFile).isPresent());
+  }
+}
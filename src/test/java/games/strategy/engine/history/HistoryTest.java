@@ -0,0 +1,140 @@
+package games.strategy.engine.history;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class HistoryTest {
+  private GameData gameData;
+  private HistoryWriter historyWriter;
+  private PlayerID germans;
+  private Resource pus;
+  private TripleAUnit unit;
+  private Territory karelia;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    historyWriter = gameData.getHistory().getHistoryWriter();
+    germans = germans(gameData);
+    pus = gameData.getResourceList().getResource(Constants.PUS);
+    unit = (TripleAUnit) territory("Germany", gameData).getUnits().getUnits().iterator().next();
+    karelia = territory("Karelia S.S.R.", gameData);
+  }
+
+  private void change(final Change change) {
+    gameData.performChange(change);
+    historyWriter.addChange(change);
+  }
+
+  private void playRound(final int round) {
+    historyWriter.startNextRound(round);
+    historyWriter.startNextStep("germanCombatMove", "move", germans, "Germans Combat Move");
+    for (int moves = 1; moves <= 3; moves++) {
+      historyWriter.startEvent("Move " + moves);
+      change(ChangeFactory.unitPropertyChange(unit, moves, TripleAUnit.ALREADY_MOVED));
+      change(ChangeFactory.changeResourcesChange(germans, pus, -moves));
+    }
+    historyWriter.startEvent("Battle");
+    change(ChangeFactory.changeOwner(karelia, round % 2 == 0 ? russians(gameData) : germans));
+    historyWriter.startNextStep("germanEndTurn", "endTurn", germans, "Germans End Turn");
+    historyWriter.startEvent("End turn");
+    change(new CompositeChange(ChangeFactory.unitPropertyChange(unit, 0, TripleAUnit.ALREADY_MOVED),
+        ChangeFactory.changeResourcesChange(germans, pus, 10)));
+  }
+
+  private List<Object> getState() {
+    final List<Object> state = new ArrayList<>();
+    state.add(unit.getAlreadyMoved());
+    state.add(germans.getResources().getQuantity(pus));
+    state.add(karelia.getOwner());
+    return state;
+  }
+
+  @Test
+  public void testGoingToNodesRoundsApartGivesTheirState() {
+    final List<HistoryNode> nodes = new ArrayList<>();
+    final List<List<Object>> states = new ArrayList<>();
+    for (int round = 1; round <= 6; round++) {
+      playRound(round);
+      nodes.add(gameData.getHistory().getLastNode());
+      states.add(getState());
+      historyWriter.startEvent("After round " + round);
+      change(ChangeFactory.unitPropertyChange(unit, 1, TripleAUnit.ALREADY_MOVED));
+    }
+    final History history = gameData.getHistory();
+    final HistoryNode last = history.getLastNode();
+    final List<Object> lastState = getState();
+
+    for (int i : new int[] {0, 5, 2, 4, 1, 3}) {
+      history.gotoNode(nodes.get(i));
+      assertEquals(states.get(i), getState());
+    }
+    history.gotoNode(last);
+    assertEquals(lastState, getState());
+  }
+
+  @Test
+  public void testRoundsInBetweenAreCompacted() {
+    for (int round = 1; round <= 4; round++) {
+      playRound(round);
+    }
+    final History history = gameData.getHistory();
+    final HistoryNode root = (HistoryNode) history.getRoot();
+    final int changes = countChanges(new CompositeChange(history.getChanges()));
+    final int deltaChanges = countChanges(history.getDelta(root, history.getLastNode()));
+    assertTrue(deltaChanges + " changes should be at most half of " + changes, deltaChanges * 2 <= changes);
+  }
+
+  private static int countChanges(final Change change) {
+    if (!(change instanceof CompositeChange)) {
+      return 1;
+    }
+    int count = 0;
+    for (final Change child : ((CompositeChange) change).getChanges()) {
+      count += countChanges(child);
+    }
+    return count;
+  }
+
+  @Test
+  public void testRecordedOperationsAreKeptUntilNoReaderNeedsThem() {
+    final Object firstReader = new Object();
+    final Object secondReader = new Object();
+    historyWriter.startRecording();
+    historyWriter.trimTo(secondReader, 0);
+    playRound(1);
+    final int afterFirstRound = historyWriter.getRecordedCount();
+    historyWriter.trimTo(firstReader, afterFirstRound);
+    playRound(2);
+    final int afterSecondRound = historyWriter.getRecordedCount();
+    historyWriter.trimTo(firstReader, afterSecondRound);
+    assertTrue(historyWriter.isRecordedSince(0));
+
+    historyWriter.trimTo(secondReader, afterFirstRound);
+    assertFalse(historyWriter.isRecordedSince(0));
+    assertTrue(historyWriter.isRecordedSince(afterFirstRound));
+    assertEquals(afterSecondRound, historyWriter.getRecordedCount());
+    assertEquals(afterSecondRound - afterFirstRound, historyWriter.getRecordedSince(afterFirstRound).size());
+  }
+}
@@ -1,9 +1,14 @@
 package games.strategy.engine.message;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -18,4 +23,26 @@ public class RemoteInterfaceHelperTest {
     assertEquals(0, RemoteInterfaceHelper.getNumber("add", TestUtil.getClassArrayFrom(Object.class), Collection.class));
     assertEquals(2, RemoteInterfaceHelper.getNumber("clear", TestUtil.getClassArrayFrom(), Collection.class));
   }
+
+  @Test
+  public void testMethodIsLookedUpOnce() {
+    assertSame(RemoteInterfaceHelper.getMethod(0, Collection.class),
+        RemoteInterfaceHelper.getMethod(0, Collection.class));
+    assertSame(RemoteInterfaceHelper.getMethodHandle(0, Collection.class),
+        RemoteInterfaceHelper.getMethodHandle(0, Collection.class));
+  }
+
+  @Test
+  public void testMethodHandleCallsMethod() throws Throwable {
+    final List<Object> list = new ArrayList<>();
+    final MethodHandle add = RemoteInterfaceHelper.getMethodHandle(
+        RemoteInterfaceHelper.getNumber("add", TestUtil.getClassArrayFrom(Object.class), Collection.class),
+        Collection.class);
+    assertEquals(true, add.invokeExact((Object) list, new Object[] {"a"}));
+    assertEquals(1, list.size());
+    final MethodHandle clear = RemoteInterfaceHelper.getMethodHandle(
+        RemoteInterfaceHelper.getNumber("clear", TestUtil.getClassArrayFrom(), Collection.class), Collection.class);
+    assertNull(clear.invokeExact((Object) list, (Object[]) null));
+    assertEquals(0, list.size());
+  }
 }
@@ -4,6 +4,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
@@ -14,7 +17,9 @@ import games.strategy.engine.message.ChannelMessenger;
 import games.strategy.engine.message.IChannelSubscribor;
 import games.strategy.engine.message.RemoteName;
 import games.strategy.engine.message.UnifiedMessengerHub;
+import games.strategy.net.ClassTable;
 import games.strategy.net.ClientMessenger;
+import games.strategy.net.DefaultObjectStreamFactory;
 import games.strategy.net.IMessenger;
 import games.strategy.net.IServerMessenger;
 import games.strategy.net.MacFinder;
@@ -105,6 +110,34 @@ public class ChannelMessengerTest {
     assertCallCountIs(client1Subscribor, 1);
   }
 
+  @Test
+  public void testClientWithOtherClassTable() throws Exception {
+    final RemoteName test = new RemoteName(IChannelBase.class, "testOtherClassTable");
+    final ChannelSubscribor client1Subscribor = new ChannelSubscribor();
+    clientChannelMessenger.registerChannelSubscriber(client1Subscribor, test);
+    assertHasChannel(test, unifiedMessengerHub);
+    // a client of another version, which can only talk to the server with plain serialization
+    final ClassTable otherClassTable = ClassTable.BASIC.extend(Collections.singletonList(StringBuilder.class));
+    final String mac = MacFinder.getHashedMacAddress();
+    final ClientMessenger clientMessenger2 = new ClientMessenger("localhost", serverPort, "client2", mac,
+        new DefaultObjectStreamFactory() {
+          @Override
+          public ClassTable getClassTable() {
+            return otherClassTable;
+          }
+        });
+    final ChannelMessenger client2 = new ChannelMessenger(new UnifiedMessenger(clientMessenger2));
+    final ChannelSubscribor client2Subscribor = new ChannelSubscribor();
+    client2.registerChannelSubscriber(client2Subscribor, test);
+    ((IChannelBase) client2.getChannelBroadcastor(test)).testString("a");
+    assertCallCountIs(client1Subscribor, 1);
+    // the broadcast is written once for the compact client and once for the plain one
+    ((IChannelBase) serverChannelMessenger.getChannelBroadcastor(test)).testString("b");
+    assertCallCountIs(client1Subscribor, 2);
+    // client2 also got its own call
+    assertCallCountIs(client2Subscribor, 2);
+  }
+
   @Test
   public void testMultipleChannels() {
     final RemoteName testRemote2 = new RemoteName(IChannelBase.class, "testRemote2");
@@ -123,6 +156,32 @@ public class ChannelMessengerTest {
     assertCallCountIs(subscribor3, 1);
   }
 
+  @Test
+  public void testBatchedRemoteCallsKeepOrder() {
+    final RemoteName testRemote = new RemoteName(IChannelBase.class, "testBatched");
+    final RemoteName otherRemote = new RemoteName(IChannelBase.class, "testBatchedOther");
+    final ChannelSubscribor subscribor = new ChannelSubscribor();
+    final ChannelSubscribor otherSubscribor = new ChannelSubscribor();
+    serverChannelMessenger.registerChannelSubscriber(subscribor, testRemote);
+    serverChannelMessenger.registerChannelSubscriber(otherSubscribor, otherRemote);
+    assertHasChannel(testRemote, unifiedMessengerHub);
+    assertHasChannel(otherRemote, unifiedMessengerHub);
+    clientChannelMessenger.getUnifiedMessenger().setBatchWindow(50);
+    final IChannelBase channelTest = (IChannelBase) clientChannelMessenger.getChannelBroadcastor(testRemote);
+    final IChannelBase otherTest = (IChannelBase) clientChannelMessenger.getChannelBroadcastor(otherRemote);
+    final List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      channelTest.testString(String.valueOf(i));
+      expected.add(String.valueOf(i));
+      if (i % 10 == 0) {
+        otherTest.testNoParams();
+      }
+    }
+    assertCallCountIs(subscribor, 100);
+    assertCallCountIs(otherSubscribor, 10);
+    assertEquals(expected, subscribor.getStrings());
+  }
+
   private static void assertHasChannel(final RemoteName descriptor, final UnifiedMessengerHub hub) {
     int waitCount = 0;
     while (waitCount < 10 && !hub.hasImplementors(descriptor.getName())) {
@@ -155,6 +214,7 @@ public class ChannelMessengerTest {
 
   private static class ChannelSubscribor implements IChannelBase {
     private int callCount = 0;
+    private final List<String> strings = new ArrayList<>();
 
     private synchronized void incrementCount() {
       callCount++;
@@ -164,6 +224,10 @@ public class ChannelMessengerTest {
       return callCount;
     }
 
+    public synchronized List<String> getStrings() {
+      return new ArrayList<>(strings);
+    }
+
     @Override
     public void testNoParams() {
       incrementCount();
@@ -176,6 +240,9 @@ public class ChannelMessengerTest {
 
     @Override
     public void testString(final String a) {
+      synchronized (this) {
+        strings.add(a);
+      }
       incrementCount();
     }
 
@@ -1,9 +1,20 @@
 package games.strategy.engine.message.unifiedmessenger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 
@@ -23,4 +34,67 @@ public class EndPointTest {
     assertEquals(results.size(), 1);
     assertEquals(2, (results.iterator().next()).getRVal());
   }
+
+  @Test
+  public void testExceptionOfImplementorIsReturned() {
+    final EndPoint endPoint = new EndPoint("", Comparator.class, false);
+    final IllegalStateException exception = new IllegalStateException();
+    endPoint.addImplementor((Comparator<Object>) (o1, o2) -> {
+      throw exception;
+    });
+    final RemoteMethodCall call = new RemoteMethodCall("", "compare", new Object[] {"", ""},
+        TestUtil.getClassArrayFrom(Object.class, Object.class), Comparator.class);
+    final List<RemoteMethodCallResults> results = endPoint.invokeLocal(call, endPoint.takeANumber(), null);
+    assertSame(exception, results.get(0).getException());
+  }
+
+  @Test(expected = StackOverflowError.class)
+  public void testVirtualMachineErrorOfImplementorIsThrown() {
+    final EndPoint endPoint = new EndPoint("", Comparator.class, false);
+    endPoint.addImplementor((Comparator<Object>) (o1, o2) -> {
+      throw new StackOverflowError();
+    });
+    final RemoteMethodCall call = new RemoteMethodCall("", "compare", new Object[] {"", ""},
+        TestUtil.getClassArrayFrom(Object.class, Object.class), Comparator.class);
+    endPoint.invokeLocal(call, endPoint.takeANumber(), null);
+  }
+
+  @Test
+  public void testSingleThreadedInvocationsRunInOrderOneAtATime() throws Exception {
+    final EndPoint endPoint = new EndPoint("", Comparator.class, true);
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final int count = 200;
+      final List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+      final AtomicInteger running = new AtomicInteger();
+      final AtomicInteger maxRunning = new AtomicInteger();
+      final CountDownLatch done = new CountDownLatch(count);
+      for (int i = 0; i < count; i++) {
+        final int number = i;
+        endPoint.execute(() -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          ran.add(number);
+          running.decrementAndGet();
+          done.countDown();
+        }, executor);
+      }
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      assertEquals(IntStream.range(0, count).boxed().collect(Collectors.toList()), ran);
+      assertEquals(1, maxRunning.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testInvocationsAreMeasured() {
+    final InvocationMetrics metrics = new InvocationMetrics();
+    final Runnable invocation = metrics.measure(() -> {
+    });
+    assertEquals(1, metrics.getQueueDepth());
+    invocation.run();
+    assertEquals(0, metrics.getQueueDepth());
+    assertEquals(0, metrics.getRunning());
+    assertEquals(1, metrics.getCompleted());
+  }
 }
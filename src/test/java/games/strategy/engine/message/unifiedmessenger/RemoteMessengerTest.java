@@ -12,8 +12,11 @@ import static org.mockito.Mockito.when;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -28,6 +31,8 @@ import games.strategy.engine.message.ConnectionLostException;
 import games.strategy.engine.message.IRemote;
 import games.strategy.engine.message.MessageContext;
 import games.strategy.engine.message.RemoteMessenger;
+import games.strategy.engine.message.RemoteMethodCall;
+import games.strategy.engine.message.RemoteMethodCallResults;
 import games.strategy.engine.message.RemoteName;
 import games.strategy.engine.message.RemoteNotFoundException;
 import games.strategy.engine.message.UnifiedMessengerHub;
@@ -230,6 +235,33 @@ public class RemoteMessengerTest {
     }
   }
 
+  @Test
+  public void testPipelinedRemoteCalls() throws Exception {
+    final RemoteName test = new RemoteName(ITestRemote.class, "test");
+    ServerMessenger server = null;
+    ClientMessenger client = null;
+    try {
+      server = new ServerMessenger("server", serverPort);
+      server.setAcceptNewConnections(true);
+      final String mac = MacFinder.getHashedMacAddress();
+      client = new ClientMessenger("localhost", serverPort, "client", mac);
+      final RemoteMessenger serverRemoteMessenger = new RemoteMessenger(new UnifiedMessenger(server));
+      serverRemoteMessenger.registerRemote(new TestRemote(), test);
+      final UnifiedMessenger clientUnifiedMessenger = new UnifiedMessenger(client);
+      // send all the calls before waiting for any of the results
+      final List<CompletableFuture<RemoteMethodCallResults>> results = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        results.add(clientUnifiedMessenger.invokeAsync(test.getName(), new RemoteMethodCall(test.getName(),
+            "increment", new Object[] {i}, new Class<?>[] {int.class}, ITestRemote.class)));
+      }
+      for (int i = 0; i < 10; i++) {
+        assertEquals(i + 1, results.get(i).get(5, TimeUnit.SECONDS).getRVal());
+      }
+    } finally {
+      shutdownServerAndClient(server, client);
+    }
+  }
+
   @Test
   public void testShutDownClient() throws Exception {
     // when the client shutdown, remotes created
@@ -0,0 +1,99 @@
+package games.strategy.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import games.strategy.util.Tuple;
+
+public class CompactObjectOutputStreamTest {
+
+  @Test
+  public void testReadsWhatIsWritten() throws Exception {
+    final Map<String, Object> map = new HashMap<>();
+    map.put("a", 1);
+    map.put("b", Arrays.asList(1L, true, 2.5));
+    map.put("c", Tuple.of(new GUID(), new StringBuilder("not in the table")));
+    final Object read = read(write(map, ClassTable.BASIC), ClassTable.BASIC);
+    assertEquals(map.toString(), read.toString());
+  }
+
+  @Test
+  public void testWritesLessThanJavaSerialization() throws Exception {
+    final List<Object> list = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      list.add(Tuple.of(i, "some string"));
+    }
+    final ByteArrayOutputStream plain = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(plain)) {
+      out.writeObject(list);
+    }
+    assertTrue(write(list, ClassTable.BASIC).length < plain.size() * 3 / 4);
+  }
+
+  @Test
+  public void testEqualStringsAreWrittenOnce() throws Exception {
+    final List<String> strings = Arrays.asList(new String("repeated"), new String("repeated"));
+    @SuppressWarnings("unchecked")
+    final List<String> read = (List<String>) read(write(strings, ClassTable.BASIC), ClassTable.BASIC);
+    assertEquals(strings, read);
+    assertSame(read.get(0), read.get(1));
+  }
+
+  @Test
+  public void testReadsStringsWrittenAfterTooManyDifferentOnes() throws Exception {
+    final List<String> strings = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      strings.add("string " + (i % 5000));
+    }
+    assertEquals(strings, read(write(strings, ClassTable.BASIC), ClassTable.BASIC));
+  }
+
+  @Test
+  public void testRejectsOtherClassTable() throws Exception {
+    final ClassTable other = ClassTable.BASIC.extend(Arrays.asList(StringBuilder.class));
+    try {
+      read(write("a", other), ClassTable.BASIC);
+      fail("read with the wrong class table");
+    } catch (final StreamCorruptedException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testWritesPlainSerializationWithoutClassTable() throws Exception {
+    final List<Object> list = Arrays.asList("a", Tuple.of(1, new GUID()));
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(write(list, null)))) {
+      assertEquals(list.toString(), in.readObject().toString());
+    }
+  }
+
+  private static byte[] write(final Object object, final ClassTable classTable) throws IOException {
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new CompactObjectOutputStream(sink, classTable)) {
+      out.writeObject(object);
+    }
+    return sink.toByteArray();
+  }
+
+  private static Object read(final byte[] bytes, final ClassTable classTable) throws Exception {
+    try (ObjectInputStream in = new CompactObjectInputStream(new ByteArrayInputStream(bytes), classTable)) {
+      return in.readObject();
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package games.strategy.net.nio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class ByteBufferPoolTest {
+  private final ByteBufferPool pool = new ByteBufferPool();
+
+  @Test
+  public void testAcquiredBufferIsLimitedToRequestedSize() {
+    final ByteBuffer buffer = pool.acquire(1500);
+    assertTrue(buffer.isDirect());
+    assertEquals(2048, buffer.capacity());
+    assertEquals(0, buffer.position());
+    assertEquals(1500, buffer.limit());
+  }
+
+  @Test
+  public void testReleasedBufferIsReused() {
+    final ByteBuffer buffer = pool.acquire(100);
+    buffer.put((byte) 1);
+    pool.release(buffer);
+    assertEquals(1, pool.getFreeCount());
+    final ByteBuffer reused = pool.acquire(ByteBufferPool.MIN_POOLED_SIZE);
+    assertSame(buffer, reused);
+    assertEquals(0, reused.position());
+    assertEquals(ByteBufferPool.MIN_POOLED_SIZE, reused.limit());
+    assertEquals(0, pool.getFreeCount());
+    assertNotSame(buffer, pool.acquire(100));
+  }
+
+  @Test
+  public void testLargeBuffersAreNotPooled() {
+    final ByteBuffer buffer = pool.acquire(ByteBufferPool.MAX_POOLED_SIZE + 1);
+    assertFalse(buffer.isDirect());
+    assertEquals(ByteBufferPool.MAX_POOLED_SIZE + 1, buffer.limit());
+    pool.release(buffer);
+    assertEquals(0, pool.getFreeCount());
+  }
+
+  @Test
+  public void testPoolSizeIsBounded() {
+    for (int i = 0; i < ByteBufferPool.MAX_POOLED_PER_SIZE + 10; i++) {
+      pool.release(ByteBuffer.allocateDirect(ByteBufferPool.MIN_POOLED_SIZE));
+    }
+    assertEquals(ByteBufferPool.MAX_POOLED_PER_SIZE, pool.getFreeCount());
+  }
+}
@@ -0,0 +1,27 @@
+package games.strategy.net.nio;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.Test;
+
+public class SocketWriteDataTest {
+  private final ByteBufferPool pool = new ByteBufferPool();
+
+  @Test
+  public void testSharedBufferIsReleasedByLastPacket() {
+    final ByteBuffer data = pool.acquire(SocketWriteData.HEADER_SIZE + 3);
+    SocketWriteData.writeSizeHeader(data, 3);
+    data.put(new byte[] {1, 2, 3});
+    data.flip();
+    final List<SocketWriteData> packets = SocketWriteData.share(data, pool, 3);
+    assertEquals(3, packets.size());
+    packets.get(0).release();
+    packets.get(1).release();
+    assertEquals(0, pool.getFreeCount());
+    packets.get(2).release();
+    assertEquals(1, pool.getFreeCount());
+  }
+}
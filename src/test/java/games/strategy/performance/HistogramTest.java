@@ -0,0 +1,60 @@
+package games.strategy.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class HistogramTest {
+  @Test
+  public void testSmallValuesAreExact() {
+    final Histogram histogram = new Histogram();
+    for (int i = 1; i <= 10; i++) {
+      histogram.record(i);
+    }
+    assertEquals(10, histogram.getCount());
+    assertEquals(55, histogram.getSum());
+    assertEquals(10, histogram.getMax());
+    assertEquals(5.5, histogram.getMean(), 0);
+    assertEquals(5, histogram.getValueAtPercentile(50));
+    assertEquals(9, histogram.getValueAtPercentile(90));
+    assertEquals(10, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void testLargeValuesAreWithinBucketPrecision() {
+    final Histogram histogram = new Histogram();
+    for (long i = 1; i <= 1000; i++) {
+      histogram.record(i * 1_000_000);
+    }
+    final long median = histogram.getValueAtPercentile(50);
+    assertTrue(median >= 500_000_000 && median <= 500_000_000 * (1 + 1.0 / Histogram.SUB_BUCKETS));
+    assertEquals(1_000_000_000, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void testBucketsCoverAllValues() {
+    long previousHighest = -1;
+    for (int bucket = 0; Histogram.getHighestValueInBucket(bucket) > previousHighest
+        && previousHighest < Long.MAX_VALUE; bucket++) {
+      final long highest = Histogram.getHighestValueInBucket(bucket);
+      assertEquals(bucket, Histogram.getBucket(previousHighest + 1));
+      assertEquals(bucket, Histogram.getBucket(highest));
+      previousHighest = highest;
+    }
+    assertEquals(Long.MAX_VALUE, previousHighest);
+  }
+
+  @Test
+  public void testEmptyAndReset() {
+    final Histogram histogram = new Histogram();
+    assertEquals(0, histogram.getValueAtPercentile(50));
+    histogram.record(-5);
+    histogram.record(100);
+    assertEquals(2, histogram.getCount());
+    assertEquals(0, histogram.getValueAtPercentile(50));
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+  }
+}
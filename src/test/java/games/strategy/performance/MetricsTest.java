@@ -0,0 +1,46 @@
+package games.strategy.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class MetricsTest {
+  @Test
+  public void testSameNameGivesSameMetric() {
+    assertSame(Metrics.counter("test.same"), Metrics.counter("test.same"));
+    assertSame(Metrics.histogram("test.same"), Metrics.histogram("test.same"));
+    assertSame(Metrics.timer("test.same"), Metrics.timer("test.same"));
+  }
+
+  @Test
+  public void testTimerRecordsWhileEnabled() {
+    final Timer timer = Metrics.timer("test.timer");
+    final long before = timer.getHistogram().getCount();
+    timer.stop(timer.start());
+    assertEquals(before + 1, timer.getHistogram().getCount());
+    Metrics.setEnabled(false);
+    try {
+      timer.stop(timer.start());
+    } finally {
+      Metrics.setEnabled(true);
+    }
+    assertEquals(before + 1, timer.getHistogram().getCount());
+  }
+
+  @Test
+  public void testReport() {
+    Metrics.counter("test.report.counter").add(3);
+    Metrics.timer("test.report.timer").record(2, TimeUnit.MILLISECONDS);
+    Metrics.gauge("test.report.gauge", () -> 7);
+    Metrics.counter("test.report.unused");
+    final String report = Metrics.report();
+    assertTrue(report, report.contains("test.report.counter count=3\n"));
+    assertTrue(report, report.contains("test.report.gauge value=7\n"));
+    assertTrue(report, report.contains("test.report.timer count=1 mean=2.00"));
+    assertTrue(report, !report.contains("test.report.unused"));
+  }
+}
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
@@ -28,14 +29,19 @@ public final class LockUtilTest {
 
   private LockUtil.ErrorReporter oldErrorReporter;
 
+  private LockUtil.Mode oldMode;
+
   @Before
   public void setUp() {
     oldErrorReporter = lockUtil.setErrorReporter(errorReporter);
+    oldMode = lockUtil.getMode();
+    lockUtil.setMode(LockUtil.Mode.FULL);
   }
 
   @After
   public void tearDown() {
     lockUtil.setErrorReporter(oldErrorReporter);
+    lockUtil.setMode(oldMode);
   }
 
   @Test
@@ -93,6 +99,46 @@ public final class LockUtilTest {
     assertFalse(lockUtil.isLockHeld(l1));
   }
 
+  @Test
+  public void testNothingIsCheckedWhenOff() {
+    lockUtil.setMode(LockUtil.Mode.OFF);
+    final Lock l1 = new ReentrantLock();
+    final Lock l2 = new ReentrantLock();
+    lockUtil.acquireLock(l1);
+    lockUtil.acquireLock(l2);
+    lockUtil.releaseLock(l2);
+    lockUtil.releaseLock(l1);
+    lockUtil.acquireLock(l2);
+    lockUtil.acquireLock(l1);
+    assertTrue(lockUtil.isLockHeld(l1));
+    assertTrue(lockUtil.isLockHeld(l2));
+    lockUtil.releaseLock(l1);
+    lockUtil.releaseLock(l2);
+    assertFalse(lockUtil.isLockHeld(l1));
+    assertNoErrorOccurred();
+  }
+
+  @Test
+  public void testSampledFindsRepeatedWrongOrder() {
+    lockUtil.setMode(LockUtil.Mode.SAMPLED);
+    final Lock l1 = new ReentrantLock();
+    final Lock l2 = new ReentrantLock();
+    for (int i = 0; i < LockUtil.SAMPLE_RATE * 50; i++) {
+      lockUtil.acquireLock(l1);
+      lockUtil.acquireLock(l2);
+      lockUtil.releaseLock(l2);
+      lockUtil.releaseLock(l1);
+    }
+    assertNoErrorOccurred();
+    for (int i = 0; i < LockUtil.SAMPLE_RATE * 50; i++) {
+      lockUtil.acquireLock(l2);
+      lockUtil.acquireLock(l1);
+      lockUtil.releaseLock(l1);
+      lockUtil.releaseLock(l2);
+    }
+    verify(errorReporter, atLeastOnce()).reportError(l1, l2);
+  }
+
   private void assertErrorOccurred() {
     verify(errorReporter).reportError(isA(Lock.class), isA(Lock.class));
   }
@@ -0,0 +1,72 @@
+package games.strategy.triplea.delegate;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.armour;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class OrderOfLossCacheTest {
+  private UnitType infantry;
+  private UnitType armour;
+
+  @Before
+  public void setUp() throws Exception {
+    final GameData gameData = TestMapGameData.REVISED.getGameData();
+    infantry = infantry(gameData);
+    armour = armour(gameData);
+  }
+
+  private static OrderOfLossCache.Key key(final UnitType... targets) {
+    return new OrderOfLossCache.Key("Germans", "Germany", true, false, Arrays.asList(targets),
+        Collections.emptyList());
+  }
+
+  @Test
+  public void testKeyCountsUnitsByType() {
+    assertEquals(key(infantry, armour, infantry), key(armour, infantry, infantry));
+    assertEquals(key(infantry, armour, infantry).hashCode(), key(armour, infantry, infantry).hashCode());
+    assertNotEquals(key(infantry, armour), key(infantry, infantry));
+    assertNotEquals(key(infantry, armour), key(infantry, armour, armour));
+    assertNotEquals(key(infantry), new OrderOfLossCache.Key("Germans", "Germany", false, false,
+        Collections.singletonList(infantry), Collections.emptyList()));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedAreEvicted() {
+    final OrderOfLossCache cache = new OrderOfLossCache(2, 100);
+    final List<String> orderOfLoss = Collections.singletonList(infantry.getName());
+    cache.put(key(infantry), orderOfLoss);
+    cache.put(key(armour), orderOfLoss);
+    assertNotNull(cache.get(key(infantry)));
+    cache.put(key(infantry, armour), orderOfLoss);
+
+    assertEquals(2, cache.size());
+    assertNull(cache.get(key(armour)));
+    assertEquals(orderOfLoss, cache.get(key(infantry)));
+  }
+
+  @Test
+  public void testUnitTypesAreBounded() {
+    final OrderOfLossCache cache = new OrderOfLossCache(100, 6);
+    cache.put(key(infantry), Collections.singletonList(infantry.getName()));
+    cache.put(key(infantry, armour), Arrays.asList(infantry.getName(), armour.getName()));
+    assertEquals(2, cache.size());
+    cache.put(key(armour), Collections.singletonList(armour.getName()));
+
+    assertEquals(2, cache.size());
+    assertNull(cache.get(key(infantry)));
+  }
+}
@@ -0,0 +1,154 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.british;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.IBattle.WhoWon;
+import games.strategy.triplea.util.TuvUtils;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.Tuple;
+
+public class AggregateResultsTest {
+  private GameData gameData;
+  private List<Unit> attackers;
+  private List<Unit> defenders;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    attackers = infantry(gameData).create(4, germans(gameData));
+    defenders = infantry(gameData).create(4, british(gameData));
+  }
+
+  private BattleResults attackerWon(final int attackersLeft, final int rounds) {
+    return new BattleResults(rounds, new ArrayList<>(attackers.subList(0, attackersLeft)), new ArrayList<>(),
+        WhoWon.ATTACKER, gameData);
+  }
+
+  private BattleResults defenderWon(final int defendersLeft, final int rounds) {
+    return new BattleResults(rounds, new ArrayList<>(), new ArrayList<>(defenders.subList(0, defendersLeft)),
+        WhoWon.DEFENDER, gameData);
+  }
+
+  @Test
+  public void testEmptyResults() {
+    final AggregateResults results = new AggregateResults();
+    assertEquals(0, results.getRollCount());
+    assertEquals(0.0, results.getAttackerWinPercent(), 0.0);
+    assertEquals(0.0, results.getAverageBattleRoundsFought(), 0.0);
+    assertNull(results.getBattleResultsClosestToAverage());
+    assertEquals(0, results.getAverageAttackingUnitsRemaining().size());
+  }
+
+  @Test
+  public void testStatisticsAreAccumulated() {
+    final AggregateResults results = new AggregateResults();
+    results.addResult(attackerWon(2, 2));
+    results.addResult(attackerWon(4, 1));
+    results.addResult(defenderWon(1, 3));
+    results.addResult(new BattleResults(2, new ArrayList<>(), new ArrayList<>(), WhoWon.DEFENDER, gameData));
+    assertEquals(4, results.getRollCount());
+    assertEquals(0.5, results.getAttackerWinPercent(), 0.0001);
+    assertEquals(0.25, results.getDefenderWinPercent(), 0.0001);
+    assertEquals(0.25, results.getDrawPercent(), 0.0001);
+    assertEquals(2.0, results.getAverageBattleRoundsFought(), 0.0001);
+    assertEquals(1.5, results.getAverageAttackingUnitsLeft(), 0.0001);
+    assertEquals(3.0, results.getAverageAttackingUnitsLeftWhenAttackerWon(), 0.0001);
+    assertEquals(0.25, results.getAverageDefendingUnitsLeft(), 0.0001);
+    assertEquals(1.0, results.getAverageDefendingUnitsLeftWhenDefenderWon(), 0.0001);
+  }
+
+  @Test
+  public void testAverageTuvIsWeightedByOutcomeCount() {
+    final AggregateResults results = new AggregateResults();
+    results.addResult(attackerWon(2, 1));
+    results.addResult(attackerWon(2, 1));
+    results.addResult(defenderWon(1, 1));
+    final int infantryCost = TuvUtils.getCostsForTuv(germans(gameData), gameData).getInt(infantry(gameData));
+    assertEquals(4.0 / 3 * infantryCost,
+        results.getAverageTUVofUnitsLeftOver(TuvUtils.getCostsForTuv(germans(gameData), gameData),
+            TuvUtils.getCostsForTuv(british(gameData), gameData)).getFirst(),
+        0.0001);
+    assertEquals(0.0, new AggregateResults().getTUVswingStandardDeviation(germans(gameData), british(gameData),
+        gameData), 0.0);
+  }
+
+  @Test
+  public void testClosestToAverageIsFirstResultOfBestOutcome() {
+    final AggregateResults results = new AggregateResults();
+    final BattleResults first = attackerWon(2, 1);
+    results.addResult(attackerWon(4, 1));
+    results.addResult(first);
+    results.addResult(attackerWon(2, 2));
+    results.addResult(attackerWon(1, 1));
+    assertSame(first, results.getBattleResultsClosestToAverage());
+  }
+
+  @Test
+  public void testOutcomesWithTheSameUnitTypesLeftAreCountedTogether() {
+    final AggregateResults results = new AggregateResults();
+    results.addResult(attackerWon(2, 1));
+    results.addResult(new BattleResults(1, new ArrayList<>(attackers.subList(2, 4)), new ArrayList<>(),
+        WhoWon.ATTACKER, gameData));
+    results.addResult(defenderWon(2, 1));
+    assertEquals(2, results.getOutcomeCount());
+  }
+
+  @Test
+  public void testMergeIsTheSameAsAddingAllResults() {
+    final AggregateResults all = new AggregateResults();
+    final AggregateResults first = new AggregateResults();
+    final AggregateResults second = new AggregateResults();
+    final BattleResults[] battles = {attackerWon(3, 1), defenderWon(2, 4), attackerWon(3, 2), attackerWon(1, 1)};
+    for (int i = 0; i < battles.length; i++) {
+      all.addResult(battles[i]);
+      (i < 2 ? first : second).addResult(battles[i]);
+    }
+    first.merge(second);
+    assertEquals(all.getRollCount(), first.getRollCount());
+    assertEquals(all.getAttackerWinPercent(), first.getAttackerWinPercent(), 0.0);
+    assertEquals(all.getAverageBattleRoundsFought(), first.getAverageBattleRoundsFought(), 0.0);
+    assertEquals(all.getAverageDefendingUnitsLeft(), first.getAverageDefendingUnitsLeft(), 0.0);
+    assertSame(all.getBattleResultsClosestToAverage(), first.getBattleResultsClosestToAverage());
+    assertEquals(all.getTUVswingStandardDeviation(germans(gameData), british(gameData), gameData),
+        first.getTUVswingStandardDeviation(germans(gameData), british(gameData), gameData), 0.0001);
+  }
+
+  @Test
+  public void testWinPercentConfidenceInterval() {
+    assertEquals(0.5, new AggregateResults().getAttackerWinPercentPrecision(), 0.0);
+    final AggregateResults results = new AggregateResults();
+    for (int i = 0; i < 100; i++) {
+      results.addResult(i % 2 == 0 ? attackerWon(1, 1) : defenderWon(1, 1));
+    }
+    final Tuple<Double, Double> interval = results.getAttackerWinPercentConfidenceInterval();
+    assertEquals(0.404, interval.getFirst(), 0.001);
+    assertEquals(0.596, interval.getSecond(), 0.001);
+    assertEquals(0.096, results.getAttackerWinPercentPrecision(), 0.001);
+  }
+
+  @Test
+  public void testWinPercentConfidenceIntervalStaysInsideZeroToOne() {
+    final AggregateResults results = new AggregateResults();
+    for (int i = 0; i < 10; i++) {
+      results.addResult(attackerWon(4, 1));
+    }
+    final Tuple<Double, Double> interval = results.getAttackerWinPercentConfidenceInterval();
+    assertTrue(interval.getFirst() > 0.6);
+    assertTrue(interval.getFirst() < 1.0);
+    assertEquals(1.0, interval.getSecond(), 0.0001);
+  }
+}
@@ -0,0 +1,87 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.aaGun;
+import static games.strategy.triplea.delegate.GameDataTestUtil.armour;
+import static games.strategy.triplea.delegate.GameDataTestUtil.battleship;
+import static games.strategy.triplea.delegate.GameDataTestUtil.british;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.submarine;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class BattleSimulationKernelTest {
+  private GameData gameData;
+
+  @Before
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+  }
+
+  private BattleSimulationKernel newKernel(final Territory location, final List<Unit> attacking,
+      final List<Unit> defending) {
+    return BattleSimulationKernel.newInstanceIfSupported(gameData, germans(gameData), british(gameData), location,
+        attacking, defending, Collections.emptyList(), null, null);
+  }
+
+  @Test
+  public void testPlainLandBattleIsSupported() {
+    final List<Unit> attacking = infantry(gameData).create(3, germans(gameData));
+    attacking.addAll(armour(gameData).create(2, germans(gameData)));
+    final List<Unit> defending = infantry(gameData).create(4, british(gameData));
+    assertNotNull(newKernel(territory("Eastern Canada", gameData), attacking, defending));
+  }
+
+  @Test
+  public void testBattleWithAaIsNotSupported() {
+    final List<Unit> attacking = infantry(gameData).create(3, germans(gameData));
+    final List<Unit> defending = infantry(gameData).create(4, british(gameData));
+    defending.addAll(aaGun(gameData).create(1, british(gameData)));
+    assertNull(newKernel(territory("Eastern Canada", gameData), attacking, defending));
+  }
+
+  @Test
+  public void testBattleWithSubmarinesIsNotSupported() {
+    final List<Unit> attacking = submarine(gameData).create(2, germans(gameData));
+    final List<Unit> defending = battleship(gameData).create(1, british(gameData));
+    assertNull(newKernel(territory("1 Sea Zone", gameData), attacking, defending));
+  }
+
+  @Test
+  public void testLandUnitsAtSeaAreNotSupported() {
+    final List<Unit> attacking = infantry(gameData).create(1, germans(gameData));
+    final List<Unit> defending = battleship(gameData).create(1, british(gameData));
+    assertNull(newKernel(territory("1 Sea Zone", gameData), attacking, defending));
+  }
+
+  @Test
+  public void testTwoHitUnitsAreDamagedBeforeTheyDie() {
+    // each battleship scores at most one hit per round, so no battleship can sink in the first round
+    final List<Unit> attacking = battleship(gameData).create(1, germans(gameData));
+    final List<Unit> defending = battleship(gameData).create(1, british(gameData));
+    final BattleSimulationKernel kernel = newKernel(territory("1 Sea Zone", gameData), attacking, defending);
+    assertNotNull(kernel);
+    for (int i = 0; i < 100; i++) {
+      final BattleResults results = kernel.fight();
+      assertTrue(results.getBattleRoundsFought() >= 2);
+      assertEquals(results.attackerWon(), !results.getRemainingAttackingUnits().isEmpty());
+      assertEquals(results.defenderWon(), !results.getRemainingDefendingUnits().isEmpty());
+    }
+    assertEquals(0, attacking.get(0).getHits());
+    assertEquals(0, defending.get(0).getHits());
+  }
+}
@@ -1,6 +1,7 @@
 package games.strategy.triplea.oddsCalculator.ta;
 
 import static games.strategy.triplea.delegate.GameDataTestUtil.americans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.battleship;
 import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
 import static games.strategy.triplea.delegate.GameDataTestUtil.submarine;
 import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
@@ -20,9 +21,13 @@ import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.engine.framework.GameDataUtils;
 import games.strategy.triplea.delegate.GameDataTestUtil;
 import games.strategy.triplea.delegate.TerritoryEffectHelper;
+import games.strategy.triplea.util.TuvUtils;
 import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.IntegerMap;
 
 public class OddsCalculatorTest {
   private GameData gameData;
@@ -100,4 +105,148 @@ public class OddsCalculatorTest {
     assertEquals(results.getAttackerWinPercent(), 1.0, 0.0);
     assertEquals(results.getDefenderWinPercent(), 0.0, 0.0);
   }
+
+  @Test
+  public void testConcurrentWorkersFightInTheirOwnCopies() {
+    final Territory sz1 = territory("1 Sea Zone", gameData);
+    final List<Unit> attacking = transport(gameData).create(2, americans(gameData));
+    final List<Unit> defending = submarine(gameData).create(2, germans(gameData));
+    final List<Unit> unitsBefore = new ArrayList<>(sz1.getUnits().getUnits());
+    final ConcurrentOddsCalculator calculator = new ConcurrentOddsCalculator("test");
+    calculator.setGameData(gameData);
+    calculator.setKeepOneAttackingLandUnit(false);
+    final AggregateResults results = calculator.setCalculateDataAndCalculate(americans(gameData), germans(gameData),
+        sz1, attacking, defending, Collections.emptyList(), TerritoryEffectHelper.getEffects(sz1), 100);
+    calculator.shutdown();
+    assertEquals(100, results.getRollCount());
+    assertEquals(0.0, results.getAttackerWinPercent(), 0.0);
+    assertEquals(1.0, results.getDefenderWinPercent(), 0.0);
+    assertEquals(unitsBefore, new ArrayList<>(sz1.getUnits().getUnits()));
+  }
+
+  @Test
+  public void testCalculatorsSharingGameDataFightTheirOwnBattles() throws Exception {
+    final GameData sharedData = GameDataUtils.cloneGameData(gameData, false, false);
+    final Territory sz1 = territory("1 Sea Zone", gameData);
+    final List<Unit> unitsBefore = new ArrayList<>(territory("1 Sea Zone", sharedData).getUnits().getUnits());
+    final OddsCalculator battleships = new OddsCalculator(sharedData, true, true);
+    battleships.setUseSimulationKernel(false);
+    battleships.setCalculateData(americans(gameData), germans(gameData), sz1,
+        battleship(gameData).create(3, americans(gameData)), battleship(gameData).create(1, germans(gameData)),
+        Collections.emptyList(), TerritoryEffectHelper.getEffects(sz1), 200);
+    final OddsCalculator transports = new OddsCalculator(sharedData, true, true);
+    transports.setUseSimulationKernel(false);
+    transports.setCalculateData(americans(gameData), germans(gameData), sz1,
+        transport(gameData).create(2, americans(gameData)), submarine(gameData).create(2, germans(gameData)),
+        Collections.emptyList(), TerritoryEffectHelper.getEffects(sz1), 200);
+    final AggregateResults[] battleshipResults = new AggregateResults[1];
+    final Thread thread = new Thread(() -> battleshipResults[0] = battleships.calculate());
+    thread.start();
+    final AggregateResults transportResults = transports.calculate();
+    thread.join();
+
+    assertEquals(200, battleshipResults[0].getRollCount());
+    assertTrue(battleshipResults[0].getAttackerWinPercent() > 0.9);
+    assertEquals(200, transportResults.getRollCount());
+    assertEquals(1.0, transportResults.getDefenderWinPercent(), 0.0);
+    final Collection<Unit> sharedUnits = territory("1 Sea Zone", sharedData).getUnits().getUnits();
+    assertEquals(unitsBefore, new ArrayList<>(sharedUnits));
+    for (final Unit unit : sharedUnits) {
+      assertEquals(0, unit.getHits());
+    }
+  }
+
+  @Test
+  public void testSimulationKernelMatchesFullBattle() {
+    final Territory eastCanada = territory("Eastern Canada", gameData);
+    final PlayerID germans = germans(gameData);
+    final PlayerID british = GameDataTestUtil.british(gameData);
+    final List<Unit> attacking = GameDataTestUtil.infantry(gameData).create(5, germans);
+    attacking.addAll(GameDataTestUtil.armour(gameData).create(3, germans));
+    final List<Unit> defending = GameDataTestUtil.infantry(gameData).create(6, british);
+    final AggregateResults kernelResults = calculate(true, germans, british, eastCanada, attacking, defending);
+    final AggregateResults fullResults = calculate(false, germans, british, eastCanada, attacking, defending);
+    assertEquals(fullResults.getAttackerWinPercent(), kernelResults.getAttackerWinPercent(), 0.05);
+    assertEquals(fullResults.getDefenderWinPercent(), kernelResults.getDefenderWinPercent(), 0.05);
+    assertEquals(fullResults.getAverageBattleRoundsFought(), kernelResults.getAverageBattleRoundsFought(), 0.2);
+    assertEquals(fullResults.getAverageAttackingUnitsLeft(), kernelResults.getAverageAttackingUnitsLeft(), 0.3);
+  }
+
+  @Test
+  public void testSimulationKernelMatchesFullBattleWithTwoHitUnits() {
+    final Territory sz1 = territory("1 Sea Zone", gameData);
+    final List<Unit> attacking = battleship(gameData).create(2, americans(gameData));
+    attacking.addAll(GameDataTestUtil.destroyer(gameData).create(1, americans(gameData)));
+    final List<Unit> defending = battleship(gameData).create(1, germans(gameData));
+    defending.addAll(GameDataTestUtil.destroyer(gameData).create(3, germans(gameData)));
+    final AggregateResults kernelResults =
+        calculate(true, americans(gameData), germans(gameData), sz1, attacking, defending);
+    final AggregateResults fullResults =
+        calculate(false, americans(gameData), germans(gameData), sz1, attacking, defending);
+    assertEquals(fullResults.getAttackerWinPercent(), kernelResults.getAttackerWinPercent(), 0.05);
+    assertEquals(fullResults.getAverageBattleRoundsFought(), kernelResults.getAverageBattleRoundsFought(), 0.2);
+    assertEquals(fullResults.getAverageDefendingUnitsLeft(), kernelResults.getAverageDefendingUnitsLeft(), 0.3);
+  }
+
+  @Test
+  public void testChangedOrderOfLossIsUsedByTheNextCalculation() {
+    final Territory eastCanada = territory("Eastern Canada", gameData);
+    final PlayerID germans = germans(gameData);
+    final List<Unit> attacking = GameDataTestUtil.infantry(gameData).create(5, germans);
+    attacking.addAll(GameDataTestUtil.armour(gameData).create(5, germans));
+    final List<Unit> defending = GameDataTestUtil.infantry(gameData).create(4, GameDataTestUtil.british(gameData));
+    final IntegerMap<UnitType> costs = TuvUtils.getCostsForTuv(germans, gameData);
+    final IOddsCalculator calculator = new OddsCalculator(gameData);
+    calculator.setCalculateData(germans, GameDataTestUtil.british(gameData), eastCanada, attacking, defending,
+        Collections.emptyList(), TerritoryEffectHelper.getEffects(eastCanada), 500);
+    final double tuvLeft = calculator.calculate().getAverageTUVofUnitsLeftOver(costs, costs).getFirst();
+    calculator.setAttackerOrderOfLosses(OddsCalculator.OOL_ALL + OddsCalculator.OOL_AMOUNT_DESCRIPTOR + "armour");
+    final double tuvLeftLosingArmourFirst =
+        calculator.calculate().getAverageTUVofUnitsLeftOver(costs, costs).getFirst();
+    calculator.shutdown();
+    assertTrue(tuvLeftLosingArmourFirst < tuvLeft);
+  }
+
+  @Test
+  public void testEarlyStoppingOnceWinPercentIsPrecise() {
+    final Territory eastCanada = territory("Eastern Canada", gameData);
+    final List<Unit> attacking = GameDataTestUtil.armour(gameData).create(10, germans(gameData));
+    final List<Unit> defending = GameDataTestUtil.infantry(gameData).create(1, GameDataTestUtil.british(gameData));
+    final IOddsCalculator calculator = new OddsCalculator(gameData);
+    calculator.setEarlyStopping(0.05, 0);
+    final AggregateResults results = calculator.setCalculateDataAndCalculate(germans(gameData),
+        GameDataTestUtil.british(gameData), eastCanada, attacking, defending, Collections.emptyList(),
+        TerritoryEffectHelper.getEffects(eastCanada), 5000);
+    calculator.shutdown();
+    assertTrue(results.getRollCount() < 5000);
+    assertEquals(0, results.getRollCount() % OddsCalculator.EARLY_STOPPING_BATCH_SIZE);
+    assertTrue(results.getAttackerWinPercentPrecision() <= 0.05);
+    assertTrue(results.getAttackerWinPercent() > 0.9);
+  }
+
+  @Test
+  public void testConcurrentEarlyStoppingOnceTimeIsUp() {
+    final Territory eastCanada = territory("Eastern Canada", gameData);
+    final List<Unit> attacking = GameDataTestUtil.infantry(gameData).create(4, germans(gameData));
+    final List<Unit> defending = GameDataTestUtil.infantry(gameData).create(4, GameDataTestUtil.british(gameData));
+    final IOddsCalculator calculator = new ConcurrentOddsCalculator("Test");
+    calculator.setGameData(gameData);
+    calculator.setEarlyStopping(0, 1);
+    final AggregateResults results = calculator.setCalculateDataAndCalculate(germans(gameData),
+        GameDataTestUtil.british(gameData), eastCanada, attacking, defending, Collections.emptyList(),
+        TerritoryEffectHelper.getEffects(eastCanada), 20000);
+    calculator.shutdown();
+    assertTrue(results.getRollCount() > 0);
+    assertTrue(results.getRollCount() < 20000);
+  }
+
+  private AggregateResults calculate(final boolean useSimulationKernel, final PlayerID attacker,
+      final PlayerID defender, final Territory location, final List<Unit> attacking, final List<Unit> defending) {
+    final OddsCalculator calculator = new OddsCalculator(gameData);
+    calculator.setUseSimulationKernel(useSimulationKernel);
+    final AggregateResults results = calculator.setCalculateDataAndCalculate(attacker, defender, location, attacking,
+        defending, Collections.emptyList(), TerritoryEffectHelper.getEffects(location), 3000);
+    calculator.shutdown();
+    return results;
+  }
 }